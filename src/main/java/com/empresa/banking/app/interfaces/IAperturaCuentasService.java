@@ -0,0 +1,14 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.AperturaCuentasService.ResultadoApertura;
+import com.empresa.banking.infrastructure.controllers.ProductoController;
+
+import java.util.List;
+
+public interface IAperturaCuentasService {
+
+    /**
+     * Abre varios productos en lote y reporta el resultado de cada solicitud
+     */
+    ResultadoApertura abrirCuentas(List<ProductoController.CrearProductoRequest> solicitudes);
+}
@@ -1,5 +1,6 @@
 package com.empresa.banking.app.interfaces;
 
+import com.empresa.banking.app.services.ConsultaPorIds;
 import com.empresa.banking.domain.entities.Cliente;
 import com.empresa.banking.infrastructure.controllers.ClienteController;
 
@@ -18,6 +19,11 @@ public interface IClienteService {
      */
     Optional<Cliente> buscarClientePorId(Long id);
 
+    /**
+     * Busca varios clientes por ID, en el orden solicitado, indicando los que no existen
+     */
+    ConsultaPorIds<Cliente> buscarClientesPorIds(List<Long> ids);
+
     /**
      * Obtiene todos los clientes
      */
@@ -0,0 +1,12 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.ConciliacionService.ReporteConciliacion;
+
+import java.util.Optional;
+
+public interface IConciliacionService {
+
+    ReporteConciliacion conciliar();
+
+    Optional<ReporteConciliacion> obtenerUltimoReporte();
+}
@@ -0,0 +1,10 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.EstadosCuentaMensualesService.ResultadoGeneracion;
+
+import java.time.YearMonth;
+
+public interface IEstadosCuentaMensualesService {
+
+    ResultadoGeneracion generar(YearMonth periodo);
+}
@@ -0,0 +1,10 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.EventosSaldoService.PoliticaDesborde;
+import com.empresa.banking.app.services.EventosSaldoService.Receptor;
+import com.empresa.banking.app.services.EventosSaldoService.Suscripcion;
+
+public interface IEventosSaldoService {
+
+    Suscripcion suscribir(Long cuentaId, PoliticaDesborde politica, Receptor receptor);
+}
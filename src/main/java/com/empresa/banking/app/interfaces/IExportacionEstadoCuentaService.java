@@ -0,0 +1,10 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.ExportacionEstadoCuentaService.ExportacionEstadoCuenta;
+
+import java.time.LocalDate;
+
+public interface IExportacionEstadoCuentaService {
+
+    ExportacionEstadoCuenta prepararExportacion(Long cuentaId, String formato, LocalDate desde, LocalDate hasta);
+}
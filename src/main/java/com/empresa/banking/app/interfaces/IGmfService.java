@@ -0,0 +1,10 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.GmfService.ReporteGmfDto;
+
+import java.time.YearMonth;
+
+public interface IGmfService {
+
+    ReporteGmfDto generarReporte(YearMonth periodo);
+}
@@ -0,0 +1,14 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.ImportacionClientesService.ResultadoImportacion;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface IImportacionClientesService {
+
+    /**
+     * Importa los clientes de un archivo CSV o NDJSON y reporta los errores por fila
+     */
+    ResultadoImportacion importar(InputStream entrada, String formato) throws IOException;
+}
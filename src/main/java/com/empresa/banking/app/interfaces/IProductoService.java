@@ -1,5 +1,6 @@
 package com.empresa.banking.app.interfaces;
 
+import com.empresa.banking.app.services.ConsultaPorIds;
 import com.empresa.banking.domain.entities.Producto;
 import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
@@ -8,6 +9,7 @@ import com.empresa.banking.infrastructure.controllers.ProductoController;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface IProductoService {
@@ -18,8 +20,12 @@ public interface IProductoService {
 
     Optional<Producto> buscarProductoPorNumeroCuenta(String numeroCuenta);
 
+    ConsultaPorIds<Producto> buscarProductosPorIds(List<Long> ids);
+
     List<Producto> obtenerTodosLosProductos();
 
+    List<Map<String, Object>> obtenerProductos(String campos);
+
     List<Producto> obtenerProductosPorCliente(Long clienteId);
 
     Producto cambiarEstadoProducto(Long productoId, EstadoCuenta nuevoEstado);
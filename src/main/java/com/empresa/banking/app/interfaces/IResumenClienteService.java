@@ -0,0 +1,13 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.app.services.ResumenClienteService.ResumenCliente;
+
+import java.util.Optional;
+
+public interface IResumenClienteService {
+
+    /**
+     * Cliente, sus productos con saldo y los últimos movimientos de cada producto; vacío si el cliente no existe
+     */
+    Optional<ResumenCliente> resumen(Long clienteId, Integer movimientosPorCuenta);
+}
@@ -1,10 +1,15 @@
 package com.empresa.banking.app.interfaces;
 
 import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.app.services.ConsultaPorIds;
+import com.empresa.banking.app.services.TransaccionService.CambiosCuentaDto;
 import com.empresa.banking.app.services.TransaccionService.EstadoCuentaDto;
+import com.empresa.banking.app.services.TransaccionService.ResultadoDispersion;
+import com.empresa.banking.infrastructure.controllers.TransaccionController;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ITransaccionService {
@@ -16,13 +21,21 @@ public interface ITransaccionService {
     List<Transaccion> realizarTransferencia(Long cuentaOrigenId, Long cuentaDestinoId,
                                             BigDecimal monto, String descripcion);
 
+    ResultadoDispersion realizarDispersion(TransaccionController.DispersionRequest request);
+
     List<Transaccion> obtenerHistorialTransacciones(Long cuentaId);
 
+    CambiosCuentaDto consultarCambios(Long cuentaId, long desde, Integer limite);
+
     Optional<Transaccion> buscarTransaccionPorId(Long transaccionId);
 
+    ConsultaPorIds<Transaccion> buscarTransaccionesPorIds(List<Long> ids);
+
     List<Transaccion> obtenerTodasLasTransacciones();
 
     EstadoCuentaDto consultarEstadoCuenta(Long cuentaId);
 
+    Map<String, Object> consultarEstadoCuenta(Long cuentaId, String campos);
+
     void eliminarTransaccion(Long transaccionId);
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.empresa.banking.app.interfaces;
+
+import com.empresa.banking.domain.entities.VersionRecurso;
+
+import java.util.Optional;
+
+public interface IVersionesService {
+
+    /**
+     * Versión del cliente; vacía si no existe
+     */
+    Optional<VersionRecurso> cliente(Long clienteId);
+
+    /**
+     * Versión del producto incluyendo su saldo pendiente de compensación; vacía si no existe
+     */
+    Optional<VersionRecurso> producto(Long productoId);
+
+    /**
+     * Versión de la lista de productos del cliente
+     */
+    Optional<VersionRecurso> productosDeCliente(Long clienteId);
+
+    /**
+     * Versión del resumen 360 del cliente; vacía si el cliente no existe
+     */
+    Optional<VersionRecurso> resumenCliente(Long clienteId);
+
+    /**
+     * Versión de una transacción; vacía si no existe
+     */
+    Optional<VersionRecurso> transaccion(Long transaccionId);
+
+    /**
+     * Versión del historial de movimientos de la cuenta
+     */
+    Optional<VersionRecurso> movimientosDeCuenta(Long cuentaId);
+
+    /**
+     * Versión del estado de cuenta (saldo y movimientos); vacía si la cuenta no existe
+     */
+    Optional<VersionRecurso> estadoCuenta(Long cuentaId);
+}
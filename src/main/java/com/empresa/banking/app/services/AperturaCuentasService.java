@@ -0,0 +1,237 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IAperturaCuentasService;
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ClienteRepository;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.infrastructure.controllers.ProductoController;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Apertura masiva de productos, por ejemplo una cuenta de ahorros por cada empleado de un cliente empresarial.
+ * Los clientes se validan una vez por ID distinto con consultas por conjunto, los números de cuenta de cada lote
+ * se asignan juntos contra el índice de números en memoria (sin consultas por número) y cada lote se inserta
+ * con un batch JDBC en su propia transacción. Si otro proceso tomó un número entre la asignación y la inserción,
+ * el lote se reintenta con números nuevos.
+ */
+@Service
+public class AperturaCuentasService implements IAperturaCuentasService {
+
+    private static final Logger log = LoggerFactory.getLogger(AperturaCuentasService.class);
+
+    static final int PRODUCTOS_POR_LOTE = 500;
+    private static final int CLIENTES_POR_CONSULTA = 1000;
+    private static final int INTENTOS_POR_LOTE = 3;
+    private static final int RANGO_SUFIJO = 100_000_000;
+
+    private final ProductoRepository productoRepository;
+    private final ClienteRepository clienteRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public AperturaCuentasService(ProductoRepository productoRepository,
+                                  ClienteRepository clienteRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.productoRepository = productoRepository;
+        this.clienteRepository = clienteRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ResultadoApertura abrirCuentas(List<ProductoController.CrearProductoRequest> solicitudes) {
+        if (solicitudes == null || solicitudes.isEmpty()) {
+            throw new SolicitudInvalidaException("Debe indicar al menos un producto para abrir");
+        }
+        long inicio = System.nanoTime();
+        Set<Long> clientes = clientesExistentes(solicitudes);
+
+        List<ResultadoCuenta> resultados = new ArrayList<>(solicitudes.size());
+        List<Integer> lote = new ArrayList<>(PRODUCTOS_POR_LOTE);
+        for (int i = 0; i < solicitudes.size(); i++) {
+            ProductoController.CrearProductoRequest solicitud = solicitudes.get(i);
+            Long clienteId = solicitud != null ? solicitud.getClienteId() : null;
+            String error = validar(solicitud, clientes);
+            resultados.add(new ResultadoCuenta(i, clienteId, null, null, error));
+            if (error == null) {
+                lote.add(i);
+                if (lote.size() == PRODUCTOS_POR_LOTE) {
+                    procesar(lote, solicitudes, resultados);
+                    lote = new ArrayList<>(PRODUCTOS_POR_LOTE);
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            procesar(lote, solicitudes, resultados);
+        }
+
+        long abiertas = resultados.stream().filter(resultado -> resultado.getError() == null).count();
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Apertura masiva: {} cuentas abiertas de {} solicitadas para {} clientes en {} ms",
+                abiertas, solicitudes.size(), clientes.size(), duracionMs);
+        return new ResultadoApertura(solicitudes.size(), abiertas, solicitudes.size() - abiertas, duracionMs, resultados);
+    }
+
+    /**
+     * IDs de cliente existentes entre los solicitados, con una consulta por cada bloque de IDs distintos
+     */
+    private Set<Long> clientesExistentes(List<ProductoController.CrearProductoRequest> solicitudes) {
+        Set<Long> distintos = new LinkedHashSet<>();
+        for (ProductoController.CrearProductoRequest solicitud : solicitudes) {
+            if (solicitud != null && solicitud.getClienteId() != null) {
+                distintos.add(solicitud.getClienteId());
+            }
+        }
+        Set<Long> existentes = new HashSet<>();
+        List<Long> bloque = new ArrayList<>(Math.min(distintos.size(), CLIENTES_POR_CONSULTA));
+        for (Long clienteId : distintos) {
+            bloque.add(clienteId);
+            if (bloque.size() == CLIENTES_POR_CONSULTA) {
+                clienteRepository.findAllById(bloque).stream().map(Cliente::getId).forEach(existentes::add);
+                bloque.clear();
+            }
+        }
+        if (!bloque.isEmpty()) {
+            clienteRepository.findAllById(bloque).stream().map(Cliente::getId).forEach(existentes::add);
+        }
+        return existentes;
+    }
+
+    private static String validar(ProductoController.CrearProductoRequest solicitud, Set<Long> clientes) {
+        if (solicitud == null) {
+            return "La solicitud del producto es obligatoria";
+        }
+        if (solicitud.getTipoCuenta() == null) {
+            return "El tipo de cuenta es obligatorio";
+        }
+        if (solicitud.getClienteId() == null) {
+            return "El ID del cliente es obligatorio";
+        }
+        if (!clientes.contains(solicitud.getClienteId())) {
+            return "Cliente no encontrado con ID: " + solicitud.getClienteId();
+        }
+        if (solicitud.getSaldoInicial() != null && solicitud.getSaldoInicial().signum() < 0) {
+            return "El saldo inicial no puede ser negativo";
+        }
+        return null;
+    }
+
+    private void procesar(List<Integer> lote, List<ProductoController.CrearProductoRequest> solicitudes,
+                          List<ResultadoCuenta> resultados) {
+        for (int intento = 1; intento <= INTENTOS_POR_LOTE; intento++) {
+            List<Producto> productos = asignarNumeros(lote, solicitudes);
+            try {
+                List<Producto> guardados = transactionTemplate.execute(status -> productoRepository.insertarLote(productos));
+                for (int i = 0; i < lote.size(); i++) {
+                    Producto guardado = guardados.get(i);
+                    resultados.set(lote.get(i), new ResultadoCuenta(lote.get(i), guardado.getClienteId(),
+                            guardado.getId(), guardado.getNumeroCuenta(), null));
+                }
+                return;
+            } catch (DuplicateKeyException e) {
+                log.warn("Número de cuenta ya tomado en el lote que inicia en la posición {} (intento {} de {})",
+                        lote.get(0), intento, INTENTOS_POR_LOTE);
+            } catch (DataAccessException e) {
+                log.error("No se pudo abrir el lote de cuentas que inicia en la posición {}", lote.get(0), e);
+                break;
+            }
+        }
+        for (Integer indice : lote) {
+            resultados.set(indice, new ResultadoCuenta(indice, solicitudes.get(indice).getClienteId(), null, null,
+                    "No se pudo abrir la cuenta: error al guardar el lote"));
+        }
+    }
+
+    /**
+     * Asigna a todo el lote números sin repetir entre sí ni con los ya registrados
+     */
+    private List<Producto> asignarNumeros(List<Integer> lote, List<ProductoController.CrearProductoRequest> solicitudes) {
+        Set<String> asignados = new HashSet<>(lote.size() * 2);
+        List<Producto> productos = new ArrayList<>(lote.size());
+        for (Integer indice : lote) {
+            ProductoController.CrearProductoRequest solicitud = solicitudes.get(indice);
+            productos.add(new Producto(
+                    null,
+                    solicitud.getTipoCuenta(),
+                    numeroLibre(solicitud.getTipoCuenta(), asignados),
+                    EstadoCuenta.ACTIVA,
+                    solicitud.getSaldoInicial() != null ? solicitud.getSaldoInicial() : BigDecimal.ZERO,
+                    solicitud.getExentaGmf(),
+                    null,
+                    null,
+                    solicitud.getClienteId()));
+        }
+        return productos;
+    }
+
+    private String numeroLibre(TipoCuenta tipoCuenta, Set<String> asignados) {
+        String numero;
+        do {
+            numero = tipoCuenta.getPrefijo() + String.format("%08d", ThreadLocalRandom.current().nextInt(RANGO_SUFIJO));
+        } while (!asignados.add(numero) || productoRepository.existByNumeroCuenta(numero));
+        return numero;
+    }
+
+    public static class ResultadoCuenta {
+        private final int indice;
+        private final Long clienteId;
+        private final Long productoId;
+        private final String numeroCuenta;
+        private final String error;
+
+        public ResultadoCuenta(int indice, Long clienteId, Long productoId, String numeroCuenta, String error) {
+            this.indice = indice;
+            this.clienteId = clienteId;
+            this.productoId = productoId;
+            this.numeroCuenta = numeroCuenta;
+            this.error = error;
+        }
+
+        // Getters
+        public int getIndice() { return indice; }
+        public Long getClienteId() { return clienteId; }
+        public Long getProductoId() { return productoId; }
+        public String getNumeroCuenta() { return numeroCuenta; }
+        public String getError() { return error; }
+    }
+
+    public static class ResultadoApertura {
+        private final int solicitadas;
+        private final long abiertas;
+        private final long rechazadas;
+        private final long duracionMs;
+        private final List<ResultadoCuenta> cuentas;
+
+        public ResultadoApertura(int solicitadas, long abiertas, long rechazadas, long duracionMs,
+                                 List<ResultadoCuenta> cuentas) {
+            this.solicitadas = solicitadas;
+            this.abiertas = abiertas;
+            this.rechazadas = rechazadas;
+            this.duracionMs = duracionMs;
+            this.cuentas = cuentas;
+        }
+
+        // Getters
+        public int getSolicitadas() { return solicitadas; }
+        public long getAbiertas() { return abiertas; }
+        public long getRechazadas() { return rechazadas; }
+        public long getDuracionMs() { return duracionMs; }
+        public List<ResultadoCuenta> getCuentas() { return cuentas; }
+    }
+}
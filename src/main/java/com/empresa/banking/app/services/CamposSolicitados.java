@@ -0,0 +1,52 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Interpreta el parámetro fields (nombres separados por coma) contra los campos disponibles de un recurso
+ */
+final class CamposSolicitados {
+
+    private CamposSolicitados() {
+    }
+
+    /**
+     * Campos pedidos sin repetir y en el orden de la solicitud; rechaza la lista vacía y los nombres desconocidos
+     */
+    static <T> Set<T> resolver(String fields, Function<String, Optional<T>> porNombre, Collection<String> disponibles) {
+        Set<T> campos = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String nombre : fields.split(",")) {
+                String limpio = nombre.trim();
+                if (limpio.isEmpty()) {
+                    continue;
+                }
+                campos.add(porNombre.apply(limpio).orElseThrow(() -> new SolicitudInvalidaException(
+                        "Campo desconocido: " + limpio + ". Campos disponibles: " + String.join(", ", disponibles))));
+            }
+        }
+        if (campos.isEmpty()) {
+            throw new SolicitudInvalidaException("Debe indicar al menos un campo en fields");
+        }
+        return campos;
+    }
+
+    /**
+     * Representación con solo los campos pedidos, en el mismo orden
+     */
+    static <T> Map<String, Object> seleccionar(Set<T> campos, Function<T, String> nombre, Function<T, Object> valor) {
+        Map<String, Object> seleccion = new LinkedHashMap<>(campos.size() * 2);
+        for (T campo : campos) {
+            seleccion.put(nombre.apply(campo), valor.apply(campo));
+        }
+        return seleccion;
+    }
+}
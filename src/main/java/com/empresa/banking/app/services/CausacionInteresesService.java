@@ -0,0 +1,301 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.CausacionInteresRepository;
+import com.empresa.banking.domain.repositories.CausacionInteresRepository.RangoIds;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Causación diaria de intereses sobre las cuentas de ahorro activas.
+ * Las cuentas se reparten en rangos fijos de IDs; cada rango se procesa en su propia transacción
+ * (lectura con bloqueo, un ajuste de saldos por lote, inserción por lote de los abonos y registro del lote).
+ * El registro del lote es el punto de control: tras un fallo, una nueva ejecución para la misma fecha
+ * omite los rangos ya confirmados y continúa con los pendientes.
+ */
+@Service
+public class CausacionInteresesService {
+
+    private static final Logger log = LoggerFactory.getLogger(CausacionInteresesService.class);
+
+    public static final String DESCRIPCION_ABONO = "Causación de intereses";
+
+    private static final int DIAS_ANIO = 365;
+
+    private final CausacionInteresRepository causacionRepository;
+    private final ProductoRepository productoRepository;
+    private final TransaccionRepository transaccionRepository;
+    private final CompensacionSaldosService compensacionSaldos;
+    private final TransactionTemplate transactionTemplate;
+    private final BigDecimal tasaDiaria;
+    private final long tamanoLote;
+    private final int hilos;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+
+    public CausacionInteresesService(CausacionInteresRepository causacionRepository,
+                                     ProductoRepository productoRepository,
+                                     TransaccionRepository transaccionRepository,
+                                     CompensacionSaldosService compensacionSaldos,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${banking.intereses.tasa-efectiva-anual:0.015}") BigDecimal tasaEfectivaAnual,
+                                     @Value("${banking.intereses.tamano-lote:2000}") long tamanoLote,
+                                     @Value("${banking.intereses.hilos:2}") int hilos) {
+        if (tamanoLote <= 0 || hilos <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote y el número de hilos de causación deben ser positivos");
+        }
+        this.causacionRepository = causacionRepository;
+        this.productoRepository = productoRepository;
+        this.transaccionRepository = transaccionRepository;
+        this.compensacionSaldos = compensacionSaldos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tasaDiaria = tasaDiaria(tasaEfectivaAnual);
+        this.tamanoLote = tamanoLote;
+        this.hilos = hilos;
+    }
+
+    /**
+     * Ejecución nocturna programada
+     */
+    @Scheduled(cron = "${banking.intereses.cron:0 0 2 * * *}")
+    public void causarDiario() {
+        causar(LocalDate.now());
+    }
+
+    /**
+     * Al arrancar se retoma la última fecha causada: si quedó interrumpida, solo se procesan los rangos pendientes
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarPendiente() {
+        causacionRepository.ultimaFechaCausada().ifPresent(this::causar);
+    }
+
+    /**
+     * Causa los intereses de la fecha indicada. Si ya hay una ejecución en curso, no hace nada.
+     */
+    public ResultadoCausacion causar(LocalDate fecha) {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            log.warn("Causación de intereses del {} omitida: ya hay una ejecución en curso", fecha);
+            return ResultadoCausacion.vacio(fecha);
+        }
+        try {
+            return ejecutar(fecha);
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    private ResultadoCausacion ejecutar(LocalDate fecha) {
+        long inicio = System.nanoTime();
+        RangoIds rango = causacionRepository.rangoIdsCuentasAhorro().orElse(null);
+        if (rango == null) {
+            return ResultadoCausacion.vacio(fecha);
+        }
+
+        // Los rangos se alinean a múltiplos del tamaño de lote para que sean los mismos en cada reintento
+        Set<Long> causados = causacionRepository.lotesCausados(fecha);
+        long primerLote = (rango.minimo() - 1) / tamanoLote;
+        long ultimoLote = (rango.maximo() - 1) / tamanoLote;
+        AtomicLong siguiente = new AtomicLong(primerLote);
+
+        AtomicInteger procesados = new AtomicInteger();
+        AtomicInteger omitidos = new AtomicInteger();
+        AtomicInteger fallidos = new AtomicInteger();
+        AtomicLong cuentas = new AtomicLong();
+        AtomicLong centavos = new AtomicLong();
+
+        // Cada hilo toma una conexión durante su lote: el pool de trabajo debe quedar por debajo del de conexiones
+        AtomicInteger numeroHilo = new AtomicInteger();
+        ExecutorService trabajadores = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "causacion-intereses-" + numeroHilo.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        try {
+            List<Future<?>> tareas = new ArrayList<>(hilos);
+            for (int i = 0; i < hilos; i++) {
+                tareas.add(trabajadores.submit(() -> {
+                    long lote;
+                    while ((lote = siguiente.getAndIncrement()) <= ultimoLote) {
+                        long idDesde = lote * tamanoLote + 1;
+                        if (causados.contains(idDesde)) {
+                            omitidos.incrementAndGet();
+                            continue;
+                        }
+                        try {
+                            Lote resultado = causarLote(fecha, idDesde, idDesde + tamanoLote - 1);
+                            procesados.incrementAndGet();
+                            cuentas.addAndGet(resultado.cuentas());
+                            centavos.addAndGet(resultado.total().getCentavos());
+                        } catch (RuntimeException e) {
+                            // El lote queda sin registrar y se reintenta en la próxima ejecución de la fecha
+                            fallidos.incrementAndGet();
+                            log.error("Falló la causación de intereses del {} para el rango desde {}", fecha, idDesde, e);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Causación de intereses interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error en la causación de intereses", e.getCause());
+        } finally {
+            trabajadores.shutdownNow();
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Causación de intereses del {}: {} lotes procesados, {} omitidos, {} fallidos, {} cuentas, " +
+                        "total {} en {} ms ({} cuentas/s)", fecha, procesados.get(), omitidos.get(), fallidos.get(),
+                cuentas.get(), Money.deCentavos(centavos.get()), duracionMs,
+                duracionMs > 0 ? cuentas.get() * 1000 / duracionMs : cuentas.get());
+
+        return new ResultadoCausacion(fecha, procesados.get(), omitidos.get(), fallidos.get(), cuentas.get(),
+                Money.deCentavos(centavos.get()).toBigDecimal(), duracionMs);
+    }
+
+    /**
+     * Causa un rango de IDs en una transacción propia y lo registra como confirmado
+     */
+    private Lote causarLote(LocalDate fecha, long idDesde, long idHasta) {
+        return transactionTemplate.execute(status -> {
+            compensacionSaldos.bloquearEntre(idDesde, idHasta);
+            List<Producto> cuentasRango = causacionRepository.cuentasParaCausar(idDesde, idHasta);
+            Map<Long, BigDecimal> deltas = new HashMap<>(cuentasRango.size() * 2);
+            List<Transaccion> abonos = new ArrayList<>(cuentasRango.size());
+            Money total = Money.CERO;
+
+            for (Producto cuenta : cuentasRango) {
+                Money saldo = compensacionSaldos.conSaldoPendiente(cuenta).saldo();
+                Money interes = calcularInteres(saldo);
+                if (interes.esCero()) {
+                    continue;
+                }
+
+                Transaccion abono = Transaccion.crear(
+                        TipoTransaccion.CONSIGNACION,
+                        interes,
+                        cuenta.getId(),
+                        null,
+                        DESCRIPCION_ABONO
+                );
+                abonos.add(abono.conSaldos(saldo, saldo.plus(interes)));
+                total = total.plus(interes);
+
+                if (compensacionSaldos.esCuentaCompensada(cuenta.getId())) {
+                    compensacionSaldos.acumular(cuenta.getId(), interes.toBigDecimal());
+                } else {
+                    deltas.put(cuenta.getId(), interes.toBigDecimal());
+                }
+            }
+
+            if (!deltas.isEmpty()) {
+                productoRepository.ajustarSaldos(deltas);
+            }
+            if (!abonos.isEmpty()) {
+                transaccionRepository.saveAll(SecuenciasMovimientos.numerar(transaccionRepository, abonos));
+            }
+            causacionRepository.registrarLote(fecha, idDesde, idHasta, abonos.size(), total);
+            return new Lote(abonos.size(), total);
+        });
+    }
+
+    /**
+     * Interés del día = saldo × tasa diaria, redondeado HALF_UP al centavo. Los saldos no positivos no causan.
+     */
+    Money calcularInteres(Money saldo) {
+        if (saldo.signum() <= 0) {
+            return Money.CERO;
+        }
+        long interes = BigDecimal.valueOf(saldo.getCentavos())
+                .multiply(tasaDiaria)
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+        return Money.deCentavos(interes);
+    }
+
+    /**
+     * Tasa diaria equivalente a la efectiva anual: (1 + EA)^(1/365) - 1
+     */
+    private static BigDecimal tasaDiaria(BigDecimal tasaEfectivaAnual) {
+        if (tasaEfectivaAnual.signum() < 0) {
+            throw new IllegalArgumentException("La tasa efectiva anual no puede ser negativa");
+        }
+        double diaria = Math.pow(1 + tasaEfectivaAnual.doubleValue(), 1.0 / DIAS_ANIO) - 1;
+        return new BigDecimal(diaria, MathContext.DECIMAL64);
+    }
+
+    private record Lote(int cuentas, Money total) {
+    }
+
+    /**
+     * Resumen de una ejecución de la causación, con su duración
+     */
+    public static class ResultadoCausacion {
+        private final LocalDate fecha;
+        private final int lotesProcesados;
+        private final int lotesOmitidos;
+        private final int lotesFallidos;
+        private final long cuentas;
+        private final BigDecimal totalIntereses;
+        private final long duracionMs;
+
+        public ResultadoCausacion(LocalDate fecha, int lotesProcesados, int lotesOmitidos, int lotesFallidos,
+                                  long cuentas, BigDecimal totalIntereses, long duracionMs) {
+            this.fecha = fecha;
+            this.lotesProcesados = lotesProcesados;
+            this.lotesOmitidos = lotesOmitidos;
+            this.lotesFallidos = lotesFallidos;
+            this.cuentas = cuentas;
+            this.totalIntereses = totalIntereses;
+            this.duracionMs = duracionMs;
+        }
+
+        static ResultadoCausacion vacio(LocalDate fecha) {
+            return new ResultadoCausacion(fecha, 0, 0, 0, 0, BigDecimal.ZERO, 0);
+        }
+
+        // Getters
+        public LocalDate getFecha() { return fecha; }
+        public int getLotesProcesados() { return lotesProcesados; }
+        public int getLotesOmitidos() { return lotesOmitidos; }
+        public int getLotesFallidos() { return lotesFallidos; }
+        public long getCuentas() { return cuentas; }
+        public BigDecimal getTotalIntereses() { return totalIntereses; }
+        public long getDuracionMs() { return duracionMs; }
+    }
+}
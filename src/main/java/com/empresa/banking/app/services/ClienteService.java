@@ -2,6 +2,9 @@ package com.empresa.banking.app.services;
 
 import com.empresa.banking.app.interfaces.IClienteService;
 import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.exceptions.RecursoNoEncontradoException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
 import com.empresa.banking.domain.repositories.ClienteRepository;
 import com.empresa.banking.domain.repositories.ProductoRepository;
 import com.empresa.banking.infrastructure.controllers.ClienteController;
@@ -30,7 +33,7 @@ public class ClienteService implements IClienteService {
 
         // Verificar si el cliente ya existe
         if (existeClientePorIdentificacion(request.getNumeroIdentificacion())) {
-            throw new IllegalArgumentException("Ya existe un cliente con el número de identificación: " + request.getNumeroIdentificacion());
+            throw new SolicitudInvalidaException("Ya existe un cliente con el número de identificación: " + request.getNumeroIdentificacion());
         }
 
         Cliente nuevoCliente = Cliente.crear(request.getTipoIdentificacion(), request.getNumeroIdentificacion(), request.getNombres(),request.getApellido(), request.getCorreoElectronico(),
@@ -47,6 +50,14 @@ public class ClienteService implements IClienteService {
         return clienteRepository.findById(id);
     }
 
+    /**
+     * Busca varios clientes por ID con una sola consulta
+     */
+    @Transactional(readOnly = true)
+    public ConsultaPorIds<Cliente> buscarClientesPorIds(List<Long> ids) {
+        return ConsultaPorIds.resolver(ids, clienteRepository::findAllById, Cliente::getId);
+    }
+
     /**
      * Obtiene todos los clientes
      */
@@ -60,7 +71,7 @@ public class ClienteService implements IClienteService {
      */
     public Cliente actualizarCliente(Long id, ClienteController.ActualizarClienteRequest request) {
         Cliente clienteExistente = clienteRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado con ID: " + id));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Cliente no encontrado con ID: " + id));
 
         Cliente clienteActualizado = clienteExistente.actualizar(request.getNombres(), request.getApellido(), request.getCorreoElectronico());
 
@@ -72,11 +83,11 @@ public class ClienteService implements IClienteService {
      */
     public void eliminarCliente(Long id) {
         Cliente cliente = clienteRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado con ID: " + id));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Cliente no encontrado con ID: " + id));
 
         // Verificar si el cliente tiene productos vinculados
         if (tieneProductosVinculados(id)) {
-            throw new IllegalStateException("No se puede eliminar un cliente que tiene productos vinculados");
+            throw new OperacionRechazadaException("No se puede eliminar un cliente que tiene productos vinculados");
         }
 
         clienteRepository.deleteById(id);
@@ -106,6 +117,6 @@ public class ClienteService implements IClienteService {
     @Transactional(readOnly = true)
     public Cliente validarExistenciaCliente(Long clienteId) {
         return clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado con ID: " + clienteId));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Cliente no encontrado con ID: " + clienteId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,281 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.SaldoPendiente;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Compensación (netting) de saldos para cuentas internas de alto volumen.
+ * Los movimientos de las cuentas marcadas se registran en el diario de transacciones
+ * de inmediato, pero el saldo de productos se acumula en memoria y se aplica como
+ * un único delta neto por cuenta en cada ventana.
+ * Cada delta también se inserta en saldos_pendientes dentro de la transacción del movimiento (una inserción,
+ * sin tocar la fila de la cuenta); al arrancar se recargan, así que un reinicio no pierde movimientos confirmados.
+ * Como el delta solo llega a memoria tras el commit, los movimientos de una misma cuenta compensada se serializan
+ * en este proceso desde antes de leer el saldo hasta que termina su transacción.
+ * La compensación quita la contención sobre la fila de la cuenta, no sobre la numeración del diario: la fila de
+ * secuencias_cuenta también queda tomada hasta el commit, con el mismo efecto que el candado por cuenta.
+ */
+@Service
+public class CompensacionSaldosService {
+
+    private final ProductoRepository productoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Long> cuentasCompensadas;
+    private final Map<Long, Pendiente> pendientes = new ConcurrentHashMap<>();
+
+    // Las lecturas de saldo toman el lock de lectura; la aplicación del delta toma el de escritura
+    // para que nunca se observe el delta aplicado en base de datos y pendiente en memoria a la vez
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Un movimiento a la vez por cuenta compensada; cada candado se libera al terminar la transacción que lo tomó
+    private final Map<Long, ReentrantLock> candados = new ConcurrentHashMap<>();
+
+    public CompensacionSaldosService(ProductoRepository productoRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${banking.compensacion.cuentas:}") Set<Long> cuentasCompensadas) {
+        this.productoRepository = productoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.cuentasCompensadas = Set.copyOf(cuentasCompensadas);
+    }
+
+    /**
+     * Recarga los deltas registrados y no aplicados antes del último apagado (o caída)
+     */
+    @PostConstruct
+    public void recuperarPendientes() {
+        for (SaldoPendiente registro : productoRepository.findSaldosPendientes()) {
+            sumar(registro.getCuentaId(), registro.getDelta(), registro.getId());
+        }
+    }
+
+    /**
+     * Indica si la cuenta opera en modo compensación
+     */
+    public boolean esCuentaCompensada(Long cuentaId) {
+        return cuentaId != null && cuentasCompensadas.contains(cuentaId);
+    }
+
+    /**
+     * Bloquea las cuentas compensadas indicadas hasta que termine la transacción en curso, de modo que la validación
+     * de fondos y el saldo anterior de cada movimiento ya incluyan el delta del anterior. Se llama antes de leer
+     * saldos y de tomar bloqueos en base de datos; los candados se toman en orden de ID.
+     */
+    public void bloquear(Collection<Long> cuentaIds) {
+        List<Long> compensadas = cuentaIds.stream().filter(this::esCuentaCompensada).distinct().sorted().toList();
+        if (compensadas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Los movimientos de cuentas compensadas requieren una transacción");
+        }
+
+        for (Long cuentaId : compensadas) {
+            ReentrantLock candado = candados.computeIfAbsent(cuentaId, id -> new ReentrantLock());
+            candado.lock();
+            // afterCompletion corre después de todos los afterCommit: el delta ya está en memoria al liberar
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    candado.unlock();
+                }
+            });
+        }
+    }
+
+    /**
+     * Bloquea las cuentas compensadas con ID en el rango indicado (ambos extremos incluidos)
+     */
+    public void bloquearEntre(long idDesde, long idHasta) {
+        bloquear(cuentasCompensadas.stream().filter(id -> id >= idDesde && id <= idHasta).toList());
+    }
+
+    /**
+     * Lee una cuenta y le suma el delta pendiente de forma consistente con la aplicación de ventanas
+     */
+    public Optional<Producto> leerConSaldoPendiente(Long cuentaId, Function<Long, Optional<Producto>> lector) {
+        if (!esCuentaCompensada(cuentaId)) {
+            return lector.apply(cuentaId);
+        }
+
+        lock.readLock().lock();
+        try {
+            return lector.apply(cuentaId).map(this::conSaldoPendiente);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lee varias cuentas en una sola pasada y les suma el delta pendiente; el lock de lectura se toma una vez
+     * para toda la pasada y solo si alguna de las cuentas está compensada
+     */
+    public List<Producto> leerTodasConSaldoPendiente(List<Long> cuentaIds, Function<List<Long>, List<Producto>> lector) {
+        if (cuentaIds.stream().noneMatch(this::esCuentaCompensada)) {
+            return lector.apply(cuentaIds);
+        }
+
+        lock.readLock().lock();
+        try {
+            return lector.apply(cuentaIds).stream().map(this::conSaldoPendiente).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Delta pendiente de la cuenta, cero si no tiene
+     */
+    public BigDecimal pendiente(Long cuentaId) {
+        Pendiente pendiente = pendientes.get(cuentaId);
+        return pendiente != null ? pendiente.delta() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Momento en que se sumó el último delta pendiente de la cuenta, nulo si no tiene. El saldo vigente cambió
+     * entonces aunque la fecha de modificación de la fila no; al aplicarse la ventana, la fila toma una fecha posterior.
+     */
+    public LocalDateTime ultimoPendiente(Long cuentaId) {
+        Pendiente pendiente = pendientes.get(cuentaId);
+        return pendiente != null ? pendiente.ultimoRegistro() : null;
+    }
+
+    /**
+     * Devuelve el producto con el saldo vigente (saldo persistido + delta pendiente)
+     */
+    public Producto conSaldoPendiente(Producto producto) {
+        BigDecimal pendiente = pendiente(producto.getId());
+        if (pendiente.signum() == 0) {
+            return producto;
+        }
+
+        return Producto.rehidratar(producto.getId(), producto.getTipoCuenta(), producto.getNumeroCuenta(),
+                producto.getEstado(), producto.saldo().plus(Money.of(pendiente)), producto.getExentaGmf(),
+                producto.getFechaCreacion(), producto.getFechaModificacion(), producto.getClienteId());
+    }
+
+    /**
+     * Acumula un delta de saldo. El registro durable va en la transacción del movimiento; en memoria solo se
+     * acumula tras el commit, de modo que un rollback no deja deltas huérfanos.
+     */
+    public void acumular(Long cuentaId, BigDecimal delta) {
+        Long registro = productoRepository.registrarSaldoPendiente(cuentaId, delta);
+        if (registro == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sumar(cuentaId, delta, registro);
+                }
+            });
+        } else {
+            sumar(cuentaId, delta, registro);
+        }
+    }
+
+    /**
+     * Aplica de inmediato el delta pendiente de una cuenta (antes de cambios administrativos). La cuenta queda
+     * bloqueada hasta el fin de la transacción: lo que se lea y guarde después no compite con movimientos en curso
+     * ni con la ventana, y un saldo cero leído sigue siéndolo al guardar.
+     */
+    public void consolidar(Long cuentaId) {
+        if (!esCuentaCompensada(cuentaId)) {
+            return;
+        }
+
+        bloquear(List.of(cuentaId));
+        lock.writeLock().lock();
+        try {
+            aplicarPendiente(cuentaId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica los deltas netos acumulados en la ventana con una actualización por cuenta
+     */
+    @Scheduled(fixedDelayString = "${banking.compensacion.ventana-ms:1000}")
+    public void aplicarPendientes() {
+        if (pendientes.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Long cuentaId : pendientes.keySet()) {
+                aplicarPendiente(cuentaId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void aplicarPendiente(Long cuentaId) {
+        Pendiente aplicado = pendientes.get(cuentaId);
+        if (aplicado == null) {
+            return;
+        }
+
+        // También con delta neto cero: los registros se eliminan aunque el saldo no cambie
+        transactionTemplate.executeWithoutResult(status ->
+                productoRepository.aplicarSaldosPendientes(cuentaId, aplicado.registros()));
+
+        // Solo se descuenta lo aplicado: los deltas que llegaron durante la actualización quedan para la siguiente ventana
+        pendientes.computeIfPresent(cuentaId, (id, actual) -> actual.sin(aplicado));
+    }
+
+    private void sumar(Long cuentaId, BigDecimal delta, Long registro) {
+        pendientes.merge(cuentaId, new Pendiente(delta, List.of(registro), LocalDateTime.now()), Pendiente::mas);
+    }
+
+    /**
+     * Delta neto pendiente de una cuenta y los registros de saldos_pendientes que lo componen; se reemplaza
+     * entero en cada cambio para que la ventana siempre aplique y elimine exactamente lo mismo
+     */
+    private record Pendiente(BigDecimal delta, List<Long> registros, LocalDateTime ultimoRegistro) {
+
+        Pendiente mas(Pendiente otro) {
+            List<Long> todos = new ArrayList<>(registros.size() + otro.registros.size());
+            todos.addAll(registros);
+            todos.addAll(otro.registros);
+            return new Pendiente(delta.add(otro.delta), todos,
+                    otro.ultimoRegistro.isAfter(ultimoRegistro) ? otro.ultimoRegistro : ultimoRegistro);
+        }
+
+        Pendiente sin(Pendiente aplicado) {
+            Set<Long> quitar = new HashSet<>(aplicado.registros);
+            List<Long> resto = registros.stream().filter(registro -> !quitar.contains(registro)).toList();
+            return resto.isEmpty() ? null : new Pendiente(delta.subtract(aplicado.delta), resto, ultimoRegistro);
+        }
+    }
+}
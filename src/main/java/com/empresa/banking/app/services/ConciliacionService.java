@@ -0,0 +1,333 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IConciliacionService;
+import com.empresa.banking.domain.entities.Enums.TipoDiscrepancia;
+import com.empresa.banking.domain.entities.MarcaConciliacion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.ConciliacionRepository;
+import com.empresa.banking.domain.repositories.ConciliacionRepository.RangoCuentas;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Conciliación incremental de saldos. Verifica que cada movimiento parta del saldo que dejó el anterior
+ * (en orden de secuencia de la cuenta, que es el orden de commit), que su saldo posterior sea el anterior más o menos el monto, y que el saldo
+ * del producto coincida con el del último movimiento.
+ * Las cuentas se reparten por rangos de ID en un ForkJoinPool; cada rango se lee en una transacción
+ * REPEATABLE_READ para comparar movimientos y saldos de un mismo instante. Por cada cuenta se guarda una
+ * marca con el último movimiento verificado, así que las ejecuciones siguientes solo recorren lo nuevo.
+ * Una cuenta con discrepancias conserva su marca anterior y se vuelve a reportar hasta que se corrija.
+ */
+@Service
+public class ConciliacionService implements IConciliacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConciliacionService.class);
+
+    private static final int MAXIMO_DISCREPANCIAS_REPORTE = 1000;
+
+    private final ConciliacionRepository conciliacionRepository;
+    private final CompensacionSaldosService compensacionSaldos;
+    private final TransactionTemplate transactionTemplate;
+    private final long tamanoLote;
+    private final int paralelismo;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+    private volatile ReporteConciliacion ultimoReporte;
+
+    public ConciliacionService(ConciliacionRepository conciliacionRepository,
+                               CompensacionSaldosService compensacionSaldos,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${banking.conciliacion.tamano-lote:1000}") long tamanoLote,
+                               @Value("${banking.conciliacion.paralelismo:2}") int paralelismo) {
+        if (tamanoLote <= 0 || paralelismo <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote y el paralelismo de la conciliación deben ser positivos");
+        }
+        this.conciliacionRepository = conciliacionRepository;
+        this.compensacionSaldos = compensacionSaldos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.tamanoLote = tamanoLote;
+        this.paralelismo = paralelismo;
+    }
+
+    @Scheduled(cron = "${banking.conciliacion.cron:0 15 * * * *}")
+    public void conciliarPeriodicamente() {
+        conciliar();
+    }
+
+    /**
+     * Ejecuta una conciliación incremental. Si ya hay una en curso, devuelve el último reporte.
+     */
+    @Override
+    public ReporteConciliacion conciliar() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            log.warn("Conciliación omitida: ya hay una ejecución en curso");
+            return ultimoReporte;
+        }
+        try {
+            ReporteConciliacion reporte = ejecutar();
+            ultimoReporte = reporte;
+            return reporte;
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    @Override
+    public Optional<ReporteConciliacion> obtenerUltimoReporte() {
+        return Optional.ofNullable(ultimoReporte);
+    }
+
+    private ReporteConciliacion ejecutar() {
+        LocalDateTime fechaInicio = LocalDateTime.now();
+        long inicio = System.nanoTime();
+        Acumulado acumulado = new Acumulado();
+
+        Optional<RangoCuentas> rango = conciliacionRepository.rangoIdsCuentas();
+        if (rango.isPresent()) {
+            ForkJoinPool pool = new ForkJoinPool(paralelismo);
+            try {
+                pool.invoke(new TareaConciliacion(rango.get().minimo(), rango.get().maximo(), acumulado));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        ReporteConciliacion reporte = acumulado.reporte(fechaInicio, duracionMs);
+        log.info("Conciliación: {} cuentas, {} movimientos nuevos, {} discrepancias en {} ms",
+                reporte.getCuentas(), reporte.getMovimientos(), reporte.getTotalDiscrepancias(), duracionMs);
+        return reporte;
+    }
+
+    /**
+     * Concilia un rango de cuentas y avanza la marca de las que no tienen discrepancias
+     */
+    void conciliarRango(long idDesde, long idHasta, Acumulado acumulado) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, MarcaConciliacion> marcas = conciliacionRepository.marcasEnRango(idDesde, idHasta);
+            Map<Long, Cadena> cadenas = new HashMap<>();
+
+            conciliacionRepository.recorrerMovimientosPendientes(idDesde, idHasta, movimiento -> {
+                Cadena cadena = cadenas.computeIfAbsent(movimiento.getCuentaOrigenId(),
+                        id -> new Cadena(marcas.get(id)));
+                cadena.verificar(movimiento);
+                acumulado.movimientos.increment();
+            });
+
+            List<MarcaConciliacion> nuevasMarcas = new ArrayList<>();
+            LocalDateTime ahora = LocalDateTime.now();
+            for (Producto cuenta : conciliacionRepository.cuentasEnRango(idDesde, idHasta)) {
+                acumulado.cuentas.increment();
+                MarcaConciliacion marca = marcas.get(cuenta.getId());
+                Cadena cadena = cadenas.get(cuenta.getId());
+                if (cadena == null) {
+                    cadena = new Cadena(marca);
+                }
+
+                // En las cuentas en compensación el saldo persistido va detrás del diario hasta que se aplica la ventana
+                if (!compensacionSaldos.esCuentaCompensada(cuenta.getId()) && cadena.esperado != null
+                        && !cadena.esperado.equals(cuenta.saldo())) {
+                    cadena.reportar(new DiscrepanciaDto(cuenta.getId(), null, TipoDiscrepancia.SALDO_PRODUCTO,
+                            cadena.esperado.toBigDecimal(), cuenta.getSaldo()));
+                }
+
+                if (!cadena.discrepancias.isEmpty()) {
+                    acumulado.agregar(cadena.discrepancias);
+                } else if (cadena.ultima != null) {
+                    nuevasMarcas.add(new MarcaConciliacion(cuenta.getId(), cadena.ultima.getId(),
+                            cadena.ultima.getFechaTransaccion(), cadena.ultima.getSecuencia(),
+                            cadena.esperado != null ? cadena.esperado : cuenta.saldo(), ahora));
+                } else if (marca == null) {
+                    nuevasMarcas.add(new MarcaConciliacion(cuenta.getId(), null, null, null, cuenta.saldo(), ahora));
+                }
+            }
+
+            if (!nuevasMarcas.isEmpty()) {
+                conciliacionRepository.guardarMarcas(nuevasMarcas);
+            }
+        });
+    }
+
+    /**
+     * Divide el rango de IDs por mitades hasta el tamaño de lote
+     */
+    private class TareaConciliacion extends RecursiveAction {
+        private final long idDesde;
+        private final long idHasta;
+        private final Acumulado acumulado;
+
+        TareaConciliacion(long idDesde, long idHasta, Acumulado acumulado) {
+            this.idDesde = idDesde;
+            this.idHasta = idHasta;
+            this.acumulado = acumulado;
+        }
+
+        @Override
+        protected void compute() {
+            if (idHasta - idDesde + 1 <= tamanoLote) {
+                try {
+                    conciliarRango(idDesde, idHasta, acumulado);
+                } catch (RuntimeException e) {
+                    // El rango conserva sus marcas y se reintenta en la próxima ejecución
+                    acumulado.rangosFallidos.increment();
+                    log.error("Falló la conciliación del rango {}-{}", idDesde, idHasta, e);
+                }
+                return;
+            }
+            long mitad = idDesde + (idHasta - idDesde) / 2;
+            invokeAll(new TareaConciliacion(idDesde, mitad, acumulado),
+                    new TareaConciliacion(mitad + 1, idHasta, acumulado));
+        }
+    }
+
+    /**
+     * Estado de verificación de la cadena de saldos de una cuenta mientras se recorren sus movimientos
+     */
+    private static final class Cadena {
+        private Money esperado;
+        private Transaccion ultima;
+        private final List<DiscrepanciaDto> discrepancias = new ArrayList<>();
+
+        Cadena(MarcaConciliacion marca) {
+            this.esperado = marca != null ? marca.saldo() : null;
+        }
+
+        void verificar(Transaccion movimiento) {
+            Money anterior = movimiento.saldoAnterior();
+            if (anterior != null && esperado != null && !anterior.equals(esperado)) {
+                reportar(new DiscrepanciaDto(movimiento.getCuentaOrigenId(), movimiento.getId(),
+                        TipoDiscrepancia.CADENA_SALDOS, esperado.toBigDecimal(), anterior.toBigDecimal()));
+            }
+
+            Money base = anterior != null ? anterior : esperado;
+            Money calculado = null;
+            if (base != null) {
+                calculado = movimiento.esDebito() ? base.minus(movimiento.monto()) : base.plus(movimiento.monto());
+                Money posterior = movimiento.saldoActual();
+                if (posterior != null && !posterior.equals(calculado)) {
+                    reportar(new DiscrepanciaDto(movimiento.getCuentaOrigenId(), movimiento.getId(),
+                            TipoDiscrepancia.MOVIMIENTO, calculado.toBigDecimal(), posterior.toBigDecimal()));
+                }
+            }
+
+            esperado = movimiento.saldoActual() != null ? movimiento.saldoActual() : calculado;
+            ultima = movimiento;
+        }
+
+        void reportar(DiscrepanciaDto discrepancia) {
+            discrepancias.add(discrepancia);
+        }
+    }
+
+    /**
+     * Totales compartidos por las tareas del pool
+     */
+    static final class Acumulado {
+        private final LongAdder cuentas = new LongAdder();
+        private final LongAdder movimientos = new LongAdder();
+        private final LongAdder totalDiscrepancias = new LongAdder();
+        private final LongAdder rangosFallidos = new LongAdder();
+        private final List<DiscrepanciaDto> discrepancias = new ArrayList<>();
+
+        void agregar(List<DiscrepanciaDto> nuevas) {
+            totalDiscrepancias.add(nuevas.size());
+            synchronized (discrepancias) {
+                for (DiscrepanciaDto discrepancia : nuevas) {
+                    if (discrepancias.size() >= MAXIMO_DISCREPANCIAS_REPORTE) {
+                        return;
+                    }
+                    discrepancias.add(discrepancia);
+                }
+            }
+        }
+
+        ReporteConciliacion reporte(LocalDateTime fechaInicio, long duracionMs) {
+            synchronized (discrepancias) {
+                return new ReporteConciliacion(fechaInicio, duracionMs, cuentas.sum(), movimientos.sum(),
+                        totalDiscrepancias.sum(), rangosFallidos.intValue(), List.copyOf(discrepancias));
+            }
+        }
+    }
+
+    /**
+     * Discrepancia encontrada en una cuenta; transaccionId es nulo cuando se trata del saldo del producto
+     */
+    public static class DiscrepanciaDto {
+        private final Long cuentaId;
+        private final Long transaccionId;
+        private final TipoDiscrepancia tipo;
+        private final BigDecimal esperado;
+        private final BigDecimal encontrado;
+
+        public DiscrepanciaDto(Long cuentaId, Long transaccionId, TipoDiscrepancia tipo,
+                               BigDecimal esperado, BigDecimal encontrado) {
+            this.cuentaId = cuentaId;
+            this.transaccionId = transaccionId;
+            this.tipo = tipo;
+            this.esperado = esperado;
+            this.encontrado = encontrado;
+        }
+
+        // Getters
+        public Long getCuentaId() { return cuentaId; }
+        public Long getTransaccionId() { return transaccionId; }
+        public TipoDiscrepancia getTipo() { return tipo; }
+        public BigDecimal getEsperado() { return esperado; }
+        public BigDecimal getEncontrado() { return encontrado; }
+    }
+
+    /**
+     * Resultado de una ejecución; la lista de discrepancias se recorta, el total no
+     */
+    public static class ReporteConciliacion {
+        private final LocalDateTime fechaInicio;
+        private final long duracionMs;
+        private final long cuentas;
+        private final long movimientos;
+        private final long totalDiscrepancias;
+        private final int rangosFallidos;
+        private final List<DiscrepanciaDto> discrepancias;
+
+        public ReporteConciliacion(LocalDateTime fechaInicio, long duracionMs, long cuentas, long movimientos,
+                                   long totalDiscrepancias, int rangosFallidos, List<DiscrepanciaDto> discrepancias) {
+            this.fechaInicio = fechaInicio;
+            this.duracionMs = duracionMs;
+            this.cuentas = cuentas;
+            this.movimientos = movimientos;
+            this.totalDiscrepancias = totalDiscrepancias;
+            this.rangosFallidos = rangosFallidos;
+            this.discrepancias = discrepancias;
+        }
+
+        // Getters
+        public LocalDateTime getFechaInicio() { return fechaInicio; }
+        public long getDuracionMs() { return duracionMs; }
+        public long getCuentas() { return cuentas; }
+        public long getMovimientos() { return movimientos; }
+        public long getTotalDiscrepancias() { return totalDiscrepancias; }
+        public int getRangosFallidos() { return rangosFallidos; }
+        public List<DiscrepanciaDto> getDiscrepancias() { return discrepancias; }
+    }
+}
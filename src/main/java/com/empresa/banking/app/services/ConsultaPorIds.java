@@ -0,0 +1,68 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Resultado de una consulta por varios IDs: los registros encontrados en el orden en que se pidieron
+ * (sin repetir) y los IDs que no existen, resueltos con una sola consulta al repositorio.
+ */
+public class ConsultaPorIds<T> {
+
+    static final int MAXIMO_IDS = 100;
+
+    private final List<T> encontrados;
+    private final List<Long> noEncontrados;
+
+    public ConsultaPorIds(List<T> encontrados, List<Long> noEncontrados) {
+        this.encontrados = encontrados;
+        this.noEncontrados = noEncontrados;
+    }
+
+    /**
+     * Valida los IDs solicitados, los busca de una vez y ordena el resultado según la solicitud
+     */
+    static <T> ConsultaPorIds<T> resolver(List<Long> ids, Function<Collection<Long>, List<T>> buscador,
+                                          Function<T, Long> idDe) {
+        if (ids == null || ids.isEmpty()) {
+            throw new SolicitudInvalidaException("Debe indicar al menos un ID");
+        }
+        // List.of (y otras listas inmutables) lanza NullPointerException en contains(null)
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new SolicitudInvalidaException("Los IDs no pueden ser nulos");
+        }
+        Set<Long> distintos = new LinkedHashSet<>(ids);
+        if (distintos.size() > MAXIMO_IDS) {
+            throw new SolicitudInvalidaException("Se permiten máximo " + MAXIMO_IDS + " IDs por consulta");
+        }
+
+        Map<Long, T> porId = new HashMap<>(distintos.size() * 2);
+        for (T registro : buscador.apply(distintos)) {
+            porId.put(idDe.apply(registro), registro);
+        }
+        List<T> encontrados = new ArrayList<>(porId.size());
+        List<Long> noEncontrados = new ArrayList<>();
+        for (Long id : distintos) {
+            T registro = porId.get(id);
+            if (registro != null) {
+                encontrados.add(registro);
+            } else {
+                noEncontrados.add(id);
+            }
+        }
+        return new ConsultaPorIds<>(encontrados, noEncontrados);
+    }
+
+    // Getters
+    public List<T> getEncontrados() { return encontrados; }
+    public List<Long> getNoEncontrados() { return noEncontrados; }
+}
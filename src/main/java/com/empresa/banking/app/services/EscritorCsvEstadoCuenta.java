@@ -0,0 +1,72 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Estado de cuenta en CSV (RFC 4180, UTF-8): una fila por movimiento con débito, crédito y saldo corrido
+ */
+final class EscritorCsvEstadoCuenta implements EscritorEstadoCuenta {
+
+    private static final String ENCABEZADO = "fecha,transaccion_id,tipo,descripcion,debito,credito,saldo";
+
+    private final Writer salida;
+
+    EscritorCsvEstadoCuenta(OutputStream salida) {
+        this.salida = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void encabezado(Producto cuenta, LocalDate desde, LocalDate hasta) throws IOException {
+        salida.write(ENCABEZADO);
+        salida.write("\r\n");
+        // El primer byte sale antes de consultar los movimientos
+        salida.flush();
+    }
+
+    @Override
+    public void movimiento(Transaccion movimiento, Money saldo) throws IOException {
+        String importe = EscritorEstadoCuenta.importe(movimiento.monto());
+        salida.write(movimiento.getFechaTransaccion().format(FORMATO_FECHA));
+        salida.write(',');
+        salida.write(String.valueOf(movimiento.getId()));
+        salida.write(',');
+        salida.write(movimiento.getTipoTransaccion().name());
+        salida.write(',');
+        salida.write(campo(movimiento.getDescripcion()));
+        salida.write(',');
+        salida.write(movimiento.esDebito() ? importe : "");
+        salida.write(',');
+        salida.write(movimiento.esDebito() ? "" : importe);
+        salida.write(',');
+        salida.write(EscritorEstadoCuenta.importe(saldo));
+        salida.write("\r\n");
+    }
+
+    @Override
+    public void cierre(long movimientos, Money saldoFinal) throws IOException {
+        salida.flush();
+    }
+
+    /**
+     * Entrecomilla el texto si contiene separadores, comillas o saltos de línea
+     */
+    static String campo(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
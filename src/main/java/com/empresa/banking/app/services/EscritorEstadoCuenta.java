@@ -0,0 +1,32 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+
+import java.io.IOException;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formato de salida de un estado de cuenta exportado. Recibe los movimientos de uno en uno
+ * y los escribe de inmediato: ninguna implementación acumula el historial.
+ */
+interface EscritorEstadoCuenta {
+
+    DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * Datos de la cuenta y del periodo; desde y hasta pueden ser nulos (sin límite)
+     */
+    void encabezado(Producto cuenta, LocalDate desde, LocalDate hasta) throws IOException;
+
+    void movimiento(Transaccion movimiento, Money saldo) throws IOException;
+
+    void cierre(long movimientos, Money saldoFinal) throws IOException;
+
+    static String importe(Money monto) {
+        return monto.toBigDecimal().setScale(2, RoundingMode.UNNECESSARY).toPlainString();
+    }
+}
@@ -0,0 +1,210 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado de cuenta en PDF 1.4 escrito en un solo recorrido, sin librerías externas.
+ * Cada página se arma en memoria (unas decenas de filas) y se escribe al completarse; el árbol de páginas
+ * y la tabla xref van al final del archivo, así que solo se conservan los desplazamientos de los objetos.
+ * Usa las fuentes estándar Courier y Courier-Bold (ancho fijo para alinear columnas) con WinAnsiEncoding.
+ */
+final class EscritorPdfEstadoCuenta implements EscritorEstadoCuenta {
+
+    private static final int ANCHO_PAGINA = 842;
+    private static final int ALTO_PAGINA = 595;
+    private static final int MARGEN = 36;
+    private static final int INTERLINEA = 11;
+    private static final int LINEAS_ENCABEZADO = 4;
+    static final int FILAS_POR_PAGINA = (ALTO_PAGINA - 2 * MARGEN) / INTERLINEA - LINEAS_ENCABEZADO;
+
+    private static final String FORMATO_FILA = "%-19s %10s %-13s %-44s %16s %16s %16s";
+    private static final int ANCHO_DESCRIPCION = 44;
+
+    private static final int OBJETO_CATALOGO = 1;
+    private static final int OBJETO_PAGINAS = 2;
+    private static final int OBJETO_FUENTE = 3;
+    private static final int OBJETO_FUENTE_NEGRITA = 4;
+
+    private final OutputStream salida;
+    private long posicion;
+    // Índice = número de objeto; el 0 es la entrada libre obligatoria de la tabla xref
+    private final List<Long> desplazamientos = new ArrayList<>();
+    private final List<Integer> paginas = new ArrayList<>();
+
+    private final StringBuilder contenido = new StringBuilder();
+    private int filasEnPagina;
+    private String titulo;
+    private String subtitulo;
+
+    EscritorPdfEstadoCuenta(OutputStream salida) {
+        this.salida = new BufferedOutputStream(salida);
+        for (int i = 0; i <= OBJETO_FUENTE_NEGRITA; i++) {
+            desplazamientos.add(null);
+        }
+    }
+
+    @Override
+    public void encabezado(Producto cuenta, LocalDate desde, LocalDate hasta) throws IOException {
+        titulo = "Estado de cuenta " + cuenta.getNumeroCuenta() + " - " + cuenta.getTipoCuenta().getDescripcion();
+        subtitulo = "Periodo: " + (desde != null ? desde : "inicio") + " a " + (hasta != null ? hasta : "hoy")
+                + "    Generado: " + LocalDateTime.now().format(FORMATO_FECHA);
+
+        escribir("%PDF-1.4\n");
+        // Comentario con bytes altos: marca el archivo como binario para los transportes que lo revisan
+        escribir(new byte[]{'%', (byte) 0xE2, (byte) 0xE3, (byte) 0xCF, (byte) 0xD3, '\n'});
+        escribirObjeto(OBJETO_CATALOGO, "<< /Type /Catalog /Pages " + OBJETO_PAGINAS + " 0 R >>");
+        escribirObjeto(OBJETO_FUENTE, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier /Encoding /WinAnsiEncoding >>");
+        escribirObjeto(OBJETO_FUENTE_NEGRITA, "<< /Type /Font /Subtype /Type1 /BaseFont /Courier-Bold /Encoding /WinAnsiEncoding >>");
+        salida.flush();
+    }
+
+    @Override
+    public void movimiento(Transaccion movimiento, Money saldo) throws IOException {
+        String importe = EscritorEstadoCuenta.importe(movimiento.monto());
+        String descripcion = movimiento.getDescripcion() != null ? movimiento.getDescripcion() : "";
+        if (descripcion.length() > ANCHO_DESCRIPCION) {
+            descripcion = descripcion.substring(0, ANCHO_DESCRIPCION - 3) + "...";
+        }
+        fila(String.format(FORMATO_FILA,
+                movimiento.getFechaTransaccion().format(FORMATO_FECHA),
+                movimiento.getId(),
+                movimiento.getTipoTransaccion().getDescripcion(),
+                descripcion,
+                movimiento.esDebito() ? importe : "",
+                movimiento.esDebito() ? "" : importe,
+                EscritorEstadoCuenta.importe(saldo)), false);
+    }
+
+    @Override
+    public void cierre(long movimientos, Money saldoFinal) throws IOException {
+        fila("", false);
+        fila("Movimientos: " + movimientos + (saldoFinal != null
+                ? "    Saldo final: " + EscritorEstadoCuenta.importe(saldoFinal) : ""), true);
+        cerrarPagina();
+
+        StringBuilder hijos = new StringBuilder();
+        for (Integer pagina : paginas) {
+            hijos.append(pagina).append(" 0 R ");
+        }
+        escribirObjeto(OBJETO_PAGINAS, "<< /Type /Pages /Kids [" + hijos + "] /Count " + paginas.size() + " >>");
+
+        long inicioXref = posicion;
+        StringBuilder xref = new StringBuilder("xref\n0 ").append(desplazamientos.size()).append('\n');
+        xref.append("0000000000 65535 f \n");
+        escribir(xref.toString());
+        for (int i = 1; i < desplazamientos.size(); i++) {
+            escribir(String.format("%010d 00000 n \n", desplazamientos.get(i)));
+        }
+        escribir("trailer\n<< /Size " + desplazamientos.size() + " /Root " + OBJETO_CATALOGO + " 0 R >>\n"
+                + "startxref\n" + inicioXref + "\n%%EOF\n");
+        salida.flush();
+    }
+
+    private void fila(String texto, boolean negrita) throws IOException {
+        if (filasEnPagina == FILAS_POR_PAGINA) {
+            cerrarPagina();
+        }
+        if (contenido.isEmpty()) {
+            iniciarPagina();
+        }
+        if (negrita) {
+            contenido.append("/F2 8 Tf ").append(literal(texto)).append(" Tj T* /F1 8 Tf\n");
+        } else {
+            contenido.append(literal(texto)).append(" Tj T*\n");
+        }
+        filasEnPagina++;
+    }
+
+    private void iniciarPagina() {
+        contenido.append("BT\n")
+                .append(MARGEN).append(' ').append(ALTO_PAGINA - MARGEN).append(" Td ")
+                .append(INTERLINEA).append(" TL\n")
+                .append("/F2 10 Tf ").append(literal(titulo)).append(" Tj T*\n")
+                .append("/F1 8 Tf ").append(literal(subtitulo)).append(" Tj T* T*\n")
+                .append("/F2 8 Tf ").append(literal(String.format(FORMATO_FILA,
+                        "Fecha", "ID", "Tipo", "Descripción", "Débito", "Crédito", "Saldo")))
+                .append(" Tj T*\n")
+                .append("/F1 8 Tf\n");
+    }
+
+    private void cerrarPagina() throws IOException {
+        if (contenido.isEmpty()) {
+            return;
+        }
+        contenido.append("ET\n")
+                .append("BT /F1 7 Tf ").append(MARGEN).append(' ').append(MARGEN / 2).append(" Td ")
+                .append(literal("Página " + (paginas.size() + 1))).append(" Tj ET\n");
+
+        byte[] flujo = contenido.toString().getBytes(StandardCharsets.ISO_8859_1);
+        int objetoContenido = nuevoObjeto();
+        iniciarObjeto(objetoContenido);
+        escribir("<< /Length " + flujo.length + " >>\nstream\n");
+        escribir(flujo);
+        escribir("\nendstream\nendobj\n");
+
+        int objetoPagina = nuevoObjeto();
+        escribirObjeto(objetoPagina, "<< /Type /Page /Parent " + OBJETO_PAGINAS + " 0 R "
+                + "/MediaBox [0 0 " + ANCHO_PAGINA + " " + ALTO_PAGINA + "] "
+                + "/Resources << /Font << /F1 " + OBJETO_FUENTE + " 0 R /F2 " + OBJETO_FUENTE_NEGRITA + " 0 R >> >> "
+                + "/Contents " + objetoContenido + " 0 R >>");
+        paginas.add(objetoPagina);
+
+        contenido.setLength(0);
+        filasEnPagina = 0;
+    }
+
+    private int nuevoObjeto() {
+        desplazamientos.add(null);
+        return desplazamientos.size() - 1;
+    }
+
+    private void iniciarObjeto(int numero) throws IOException {
+        desplazamientos.set(numero, posicion);
+        escribir(numero + " 0 obj\n");
+    }
+
+    private void escribirObjeto(int numero, String diccionario) throws IOException {
+        iniciarObjeto(numero);
+        escribir(diccionario + "\nendobj\n");
+    }
+
+    private void escribir(String texto) throws IOException {
+        escribir(texto.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private void escribir(byte[] bytes) throws IOException {
+        salida.write(bytes);
+        posicion += bytes.length;
+    }
+
+    /**
+     * Cadena literal PDF; los caracteres fuera de Latin-1 se reemplazan por '?'
+     */
+    static String literal(String texto) {
+        StringBuilder resultado = new StringBuilder(texto.length() + 2).append('(');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                resultado.append('\\').append(c);
+            } else if (c < ' ') {
+                resultado.append(' ');
+            } else if (c > 0xFF) {
+                resultado.append('?');
+            } else {
+                resultado.append(c);
+            }
+        }
+        return resultado.append(')').toString();
+    }
+}
@@ -0,0 +1,621 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IEstadosCuentaMensualesService;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.EstadoCuentaMensualRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generación mensual de estados de cuenta para todas las cuentas activas.
+ * Los movimientos del mes se leen en un solo recorrido ordenado por cuenta, fecha e ID; el recorrido se corta
+ * por cuenta al vuelo y cada cuenta se escribe en su propio archivo desde un pool de escritores.
+ * Los bloques de una misma cuenta se encadenan para conservar el orden, y un semáforo limita los bloques en vuelo,
+ * así que la memoria no depende del volumen del mes.
+ * En la carpeta del periodo quedan el manifiesto (una línea por estado terminado) y el progreso: la marca de
+ * cuenta hasta la cual todo está escrito. Una ejecución interrumpida retoma desde esa marca y omite las cuentas
+ * que ya figuran en el manifiesto.
+ */
+@Service
+public class EstadosCuentaMensualesService implements IEstadosCuentaMensualesService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadosCuentaMensualesService.class);
+
+    private static final int FILAS_POR_BLOQUE = 1000;
+    private static final int CUENTAS_POR_PAGINA = 1000;
+    private static final int BLOQUES_EN_VUELO_POR_HILO = 4;
+    private static final int ESTADOS_ENTRE_PROGRESOS = 1000;
+
+    static final String ARCHIVO_MANIFIESTO = "manifiesto.csv";
+    static final String ARCHIVO_PROGRESO = "progreso.properties";
+    private static final String ENCABEZADO_MANIFIESTO = "cuenta_id,numero_cuenta,archivo,movimientos,saldo_final";
+
+    private final EstadoCuentaMensualRepository estadoCuentaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directorio;
+    private final ExportacionEstadoCuentaService.FormatoExportacion formato;
+    private final int hilos;
+
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+
+    public EstadosCuentaMensualesService(EstadoCuentaMensualRepository estadoCuentaRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${banking.estados-cuenta.directorio:./data/estados-cuenta}") String directorio,
+                                         @Value("${banking.estados-cuenta.formato:csv}") String formato,
+                                         @Value("${banking.estados-cuenta.hilos:4}") int hilos) {
+        if (hilos <= 0) {
+            throw new IllegalArgumentException("El número de hilos de los estados de cuenta debe ser positivo");
+        }
+        this.estadoCuentaRepository = estadoCuentaRepository;
+        // Una sola instantánea para las páginas de cuentas y el cursor de movimientos
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.directorio = Paths.get(directorio);
+        this.formato = ExportacionEstadoCuentaService.FormatoExportacion.desde(formato);
+        this.hilos = hilos;
+    }
+
+    /**
+     * El primer día de cada mes genera los estados del mes anterior
+     */
+    @Scheduled(cron = "${banking.estados-cuenta.cron:0 0 3 1 * *}")
+    public void generarMesAnterior() {
+        generar(YearMonth.now().minusMonths(1));
+    }
+
+    @Override
+    public ResultadoGeneracion generar(YearMonth periodo) {
+        if (!periodo.isBefore(YearMonth.now())) {
+            throw new SolicitudInvalidaException("Solo se generan estados de cuenta de meses cerrados");
+        }
+        if (!enEjecucion.compareAndSet(false, true)) {
+            throw new OperacionRechazadaException("Ya hay una generación de estados de cuenta en curso");
+        }
+        try {
+            return ejecutar(periodo);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudieron escribir los estados de cuenta de " + periodo, e);
+        } finally {
+            enEjecucion.set(false);
+        }
+    }
+
+    private ResultadoGeneracion ejecutar(YearMonth periodo) throws IOException {
+        Path carpeta = directorio.resolve(periodo.toString());
+        Files.createDirectories(carpeta);
+
+        Progreso progreso = Progreso.leer(carpeta.resolve(ARCHIVO_PROGRESO));
+        if (progreso.completado) {
+            log.info("Los estados de cuenta de {} ya estaban generados en {}", periodo, carpeta);
+            return progreso.resultado(periodo, carpeta, 0);
+        }
+        Set<Long> yaGenerados = leerManifiesto(carpeta.resolve(ARCHIVO_MANIFIESTO), progreso.cuentaHasta);
+        if (progreso.cuentaHasta > 0) {
+            log.info("Reanudando los estados de cuenta de {} después de la cuenta {}", periodo, progreso.cuentaHasta);
+        }
+
+        long inicio = System.nanoTime();
+        AtomicInteger numeroHilo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "estados-cuenta-" + numeroHilo.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        Generacion generacion;
+        try (Manifiesto manifiesto = new Manifiesto(carpeta.resolve(ARCHIVO_MANIFIESTO))) {
+            generacion = new Generacion(periodo, carpeta, progreso, yaGenerados, manifiesto, pool);
+            LocalDateTime desde = periodo.atDay(1).atStartOfDay();
+            LocalDateTime hasta = periodo.plusMonths(1).atDay(1).atStartOfDay();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    generacion.netoPosterior = estadoCuentaRepository.netoPorCuentaDesde(hasta);
+                    estadoCuentaRepository.recorrerMovimientosPeriodo(desde, hasta, progreso.cuentaHasta,
+                            generacion::movimiento);
+                    generacion.cerrarActual();
+                    generacion.despacharCuentasHasta(Long.MAX_VALUE);
+                });
+            } finally {
+                // Aun si la lectura falla, se espera a los escritores para dejar el progreso consistente
+                generacion.abandonarActual();
+                generacion.esperar();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        progreso.completado = generacion.fallidos.sum() == 0;
+        progreso.cuentaHasta = generacion.marca();
+        progreso.guardar(carpeta.resolve(ARCHIVO_PROGRESO));
+
+        ResultadoGeneracion resultado = progreso.resultado(periodo, carpeta, duracionMs);
+        log.info("Estados de cuenta de {}: {} generados ({} ya existentes, {} fallidos), {} movimientos en {} ms ({} estados/s)",
+                periodo, generacion.generados.sum(), yaGenerados.size(), generacion.fallidos.sum(),
+                generacion.movimientos.sum(), duracionMs, String.format("%.1f", generacion.porSegundo(duracionMs)));
+        return resultado;
+    }
+
+    /**
+     * Cuentas del manifiesto posteriores a la marca: terminadas, pero fuera del tramo contiguo ya confirmado
+     */
+    private static Set<Long> leerManifiesto(Path archivo, long cuentaHasta) throws IOException {
+        Set<Long> cuentas = new HashSet<>();
+        if (!Files.exists(archivo)) {
+            return cuentas;
+        }
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            lector.readLine();
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                int coma = linea.indexOf(',');
+                if (coma > 0) {
+                    long cuentaId = Long.parseLong(linea.substring(0, coma));
+                    if (cuentaId > cuentaHasta) {
+                        cuentas.add(cuentaId);
+                    }
+                }
+            }
+        }
+        return cuentas;
+    }
+
+    /**
+     * Estado de una ejecución: lo modifica el hilo del cursor, salvo los contadores y la marca,
+     * que también actualizan los escritores al terminar cada cuenta
+     */
+    private class Generacion {
+        private final YearMonth periodo;
+        private final Path carpeta;
+        private final Progreso progreso;
+        private final Set<Long> yaGenerados;
+        private final Manifiesto manifiesto;
+        private final ExecutorService pool;
+        private final int permisos = hilos * BLOQUES_EN_VUELO_POR_HILO;
+        private final Semaphore enVuelo = new Semaphore(permisos);
+
+        private Map<Long, Money> netoPosterior = Map.of();
+        private final Deque<Producto> paginaCuentas = new ArrayDeque<>();
+        private long ultimaCuentaLeida;
+        private boolean sinMasCuentas;
+
+        private EstadoEnCurso actual;
+        private List<Transaccion> bloque = new ArrayList<>(FILAS_POR_BLOQUE);
+        private long cuentaOmitida = -1;
+
+        // Cuentas despachadas sin terminar; con la última despachada definen la marca de progreso
+        private final ConcurrentSkipListSet<Long> pendientes = new ConcurrentSkipListSet<>();
+        private volatile long ultimaDespachada;
+
+        private final LongAdder generados = new LongAdder();
+        private final LongAdder fallidos = new LongAdder();
+        private final LongAdder movimientos = new LongAdder();
+        private final AtomicInteger desdeUltimoProgreso = new AtomicInteger();
+
+        Generacion(YearMonth periodo, Path carpeta, Progreso progreso, Set<Long> yaGenerados,
+                   Manifiesto manifiesto, ExecutorService pool) {
+            this.periodo = periodo;
+            this.carpeta = carpeta;
+            this.progreso = progreso;
+            this.yaGenerados = yaGenerados;
+            this.manifiesto = manifiesto;
+            this.pool = pool;
+            this.ultimaCuentaLeida = progreso.cuentaHasta;
+            this.ultimaDespachada = progreso.cuentaHasta;
+        }
+
+        void movimiento(Transaccion movimiento) {
+            long cuentaId = movimiento.getCuentaOrigenId();
+            if (cuentaId == cuentaOmitida) {
+                return;
+            }
+            if (actual == null || actual.cuenta.getId() != cuentaId) {
+                cerrarActual();
+                despacharCuentasHasta(cuentaId);
+                Producto siguiente = siguienteCuenta();
+                if (siguiente != null && siguiente.getId() == cuentaId) {
+                    paginaCuentas.poll();
+                    actual = abrir(siguiente);
+                }
+                if (actual == null) {
+                    // Cuenta inactiva o ya generada: se saltan sus movimientos
+                    cuentaOmitida = cuentaId;
+                    return;
+                }
+            }
+            bloque.add(movimiento);
+            if (bloque.size() == FILAS_POR_BLOQUE) {
+                enviarBloque();
+            }
+        }
+
+        /**
+         * Despacha como estados sin movimientos las cuentas activas con ID menor al indicado
+         */
+        void despacharCuentasHasta(long cuentaId) {
+            Producto siguiente;
+            while ((siguiente = siguienteCuenta()) != null && siguiente.getId() < cuentaId) {
+                paginaCuentas.poll();
+                actual = abrir(siguiente);
+                cerrarActual();
+            }
+        }
+
+        private Producto siguienteCuenta() {
+            if (paginaCuentas.isEmpty() && !sinMasCuentas) {
+                List<Producto> pagina = estadoCuentaRepository.cuentasActivasDespuesDe(ultimaCuentaLeida, CUENTAS_POR_PAGINA);
+                sinMasCuentas = pagina.size() < CUENTAS_POR_PAGINA;
+                if (!pagina.isEmpty()) {
+                    ultimaCuentaLeida = pagina.get(pagina.size() - 1).getId();
+                }
+                paginaCuentas.addAll(pagina);
+            }
+            return paginaCuentas.peek();
+        }
+
+        private EstadoEnCurso abrir(Producto cuenta) {
+            if (yaGenerados.contains(cuenta.getId())) {
+                return null;
+            }
+            pendientes.add(cuenta.getId());
+            ultimaDespachada = cuenta.getId();
+            Money saldoSinMovimientos = cuenta.saldo().minus(netoPosterior.getOrDefault(cuenta.getId(), Money.CERO));
+            return new EstadoEnCurso(cuenta, carpeta.resolve(nombreArchivo(cuenta)), periodo, saldoSinMovimientos);
+        }
+
+        private void enviarBloque() {
+            List<Transaccion> lote = bloque;
+            bloque = new ArrayList<>(FILAS_POR_BLOQUE);
+            EstadoEnCurso estado = actual;
+            encadenar(estado, error -> {
+                if (error == null) {
+                    estado.escribir(lote);
+                }
+            });
+        }
+
+        void cerrarActual() {
+            if (actual == null) {
+                return;
+            }
+            if (!bloque.isEmpty()) {
+                enviarBloque();
+            }
+            EstadoEnCurso estado = actual;
+            actual = null;
+            encadenar(estado, error -> terminar(estado, error));
+        }
+
+        /**
+         * Descarta la cuenta a medio leer cuando el recorrido se interrumpe; queda pendiente para la reanudación
+         */
+        void abandonarActual() {
+            if (actual != null) {
+                EstadoEnCurso estado = actual;
+                actual = null;
+                encadenar(estado, error -> estado.descartar());
+            }
+        }
+
+        /**
+         * Encadena un paso a la cuenta: los pasos de una cuenta corren en orden, los de cuentas distintas en paralelo.
+         * Si un paso falla, los siguientes reciben el error y el último lo registra.
+         */
+        private void encadenar(EstadoEnCurso estado, Paso paso) {
+            enVuelo.acquireUninterruptibly();
+            estado.cadena = estado.cadena.handleAsync((resultado, error) -> {
+                try {
+                    paso.ejecutar(error);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    enVuelo.release();
+                }
+                if (error != null) {
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                }
+                return null;
+            }, pool);
+        }
+
+        private void terminar(EstadoEnCurso estado, Throwable error) {
+            Long cuentaId = estado.cuenta.getId();
+            if (error == null) {
+                try {
+                    estado.cerrar();
+                    manifiesto.registrar(cuentaId, estado.cuenta.getNumeroCuenta(),
+                            estado.archivo.getFileName().toString(), estado.saldo.movimientos(), estado.saldoFinal());
+                } catch (IOException | RuntimeException e) {
+                    error = e;
+                }
+            }
+            if (error != null) {
+                // La cuenta queda pendiente: la marca de progreso no la pasa y se reintenta al reanudar
+                estado.descartar();
+                fallidos.increment();
+                log.error("No se pudo generar el estado de cuenta de la cuenta {}", cuentaId, error);
+                return;
+            }
+            generados.increment();
+            movimientos.add(estado.saldo.movimientos());
+            pendientes.remove(cuentaId);
+            if (desdeUltimoProgreso.incrementAndGet() % ESTADOS_ENTRE_PROGRESOS == 0) {
+                guardarProgreso();
+            }
+        }
+
+        /**
+         * Cuenta hasta la cual todos los estados despachados terminaron. Se lee la última despachada antes que
+         * los pendientes: toda cuenta menor o igual ya estaba en el conjunto cuando se publicó.
+         */
+        long marca() {
+            long ultima = ultimaDespachada;
+            Long primeraPendiente = pendientes.isEmpty() ? null : pendientes.first();
+            return primeraPendiente == null ? ultima : Math.min(ultima, primeraPendiente - 1);
+        }
+
+        private synchronized void guardarProgreso() {
+            try {
+                manifiesto.sincronizar();
+                progreso.cuentaHasta = marca();
+                progreso.estados = progreso.estadosPrevios + generados.sum();
+                progreso.movimientos = progreso.movimientosPrevios + movimientos.sum();
+                progreso.guardar(carpeta.resolve(ARCHIVO_PROGRESO));
+            } catch (IOException e) {
+                // No detiene la generación: en el peor caso se reanuda desde una marca anterior
+                log.warn("No se pudo guardar el progreso de los estados de cuenta de {}", periodo, e);
+            }
+        }
+
+        void esperar() {
+            enVuelo.acquireUninterruptibly(permisos);
+            enVuelo.release(permisos);
+            progreso.estados = progreso.estadosPrevios + generados.sum();
+            progreso.movimientos = progreso.movimientosPrevios + movimientos.sum();
+        }
+
+        double porSegundo(long duracionMs) {
+            return duracionMs > 0 ? generados.sum() * 1000.0 / duracionMs : generados.sum();
+        }
+
+        private String nombreArchivo(Producto cuenta) {
+            return "estado-cuenta-" + cuenta.getNumeroCuenta() + "-" + periodo + "." + formato.getExtension();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Paso {
+        void ejecutar(Throwable errorPrevio) throws IOException;
+    }
+
+    /**
+     * Archivo de una cuenta en escritura; solo lo tocan sus pasos encadenados, nunca dos hilos a la vez
+     */
+    private class EstadoEnCurso {
+        private final Producto cuenta;
+        private final Path archivo;
+        private final YearMonth periodo;
+        private final Money saldoSinMovimientos;
+        private final SaldoCorrido saldo = new SaldoCorrido();
+        private CompletableFuture<Object> cadena = CompletableFuture.completedFuture(null);
+        private FileChannel canal;
+        private EscritorEstadoCuenta escritor;
+
+        EstadoEnCurso(Producto cuenta, Path archivo, YearMonth periodo, Money saldoSinMovimientos) {
+            this.cuenta = cuenta;
+            this.archivo = archivo;
+            this.periodo = periodo;
+            this.saldoSinMovimientos = saldoSinMovimientos;
+        }
+
+        void escribir(List<Transaccion> lote) throws IOException {
+            abrirArchivo();
+            for (Transaccion movimiento : lote) {
+                escritor.movimiento(movimiento, saldo.aplicar(movimiento));
+            }
+        }
+
+        void cerrar() throws IOException {
+            abrirArchivo();
+            escritor.cierre(saldo.movimientos(), saldoFinal());
+            canal.close();
+        }
+
+        void descartar() {
+            try {
+                if (canal != null) {
+                    canal.close();
+                }
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                log.warn("No se pudo descartar el archivo incompleto {}", archivo, e);
+            }
+        }
+
+        Money saldoFinal() {
+            return saldo.actual() != null ? saldo.actual() : saldoSinMovimientos;
+        }
+
+        private void abrirArchivo() throws IOException {
+            if (canal != null) {
+                return;
+            }
+            // Un archivo de una ejecución interrumpida se reescribe desde cero
+            canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            OutputStream salida = Channels.newOutputStream(canal);
+            escritor = formato == ExportacionEstadoCuentaService.FormatoExportacion.PDF
+                    ? new EscritorPdfEstadoCuenta(salida)
+                    : new EscritorCsvEstadoCuenta(salida);
+            escritor.encabezado(cuenta, periodo.atDay(1), periodo.atEndOfMonth());
+        }
+    }
+
+    /**
+     * Manifiesto del periodo: una línea por estado terminado, compartido por todos los escritores
+     */
+    private static final class Manifiesto implements AutoCloseable {
+        private final FileChannel canal;
+        private final Writer salida;
+
+        Manifiesto(Path archivo) throws IOException {
+            boolean nuevo = !Files.exists(archivo) || Files.size(archivo) == 0;
+            canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            salida = new BufferedWriter(Channels.newWriter(canal, StandardCharsets.UTF_8));
+            if (nuevo) {
+                salida.write(ENCABEZADO_MANIFIESTO);
+                salida.write('\n');
+            }
+        }
+
+        synchronized void registrar(Long cuentaId, String numeroCuenta, String archivo, long movimientos,
+                                    Money saldoFinal) throws IOException {
+            salida.write(cuentaId + "," + numeroCuenta + "," + archivo + "," + movimientos + ","
+                    + EscritorEstadoCuenta.importe(saldoFinal) + "\n");
+        }
+
+        /**
+         * Lleva al disco las líneas escritas antes de publicar una marca de progreso que dependa de ellas
+         */
+        synchronized void sincronizar() throws IOException {
+            salida.flush();
+            canal.force(false);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            sincronizar();
+            salida.close();
+        }
+    }
+
+    /**
+     * Progreso persistido del periodo. Se reemplaza con un movimiento atómico para no dejarlo a medias.
+     */
+    private static final class Progreso {
+        private long cuentaHasta;
+        private boolean completado;
+        private long estados;
+        private long movimientos;
+        private long estadosPrevios;
+        private long movimientosPrevios;
+
+        static Progreso leer(Path archivo) throws IOException {
+            Progreso progreso = new Progreso();
+            if (Files.exists(archivo)) {
+                Properties propiedades = new Properties();
+                try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+                    propiedades.load(lector);
+                }
+                progreso.cuentaHasta = Long.parseLong(propiedades.getProperty("cuenta-hasta", "0"));
+                progreso.completado = Boolean.parseBoolean(propiedades.getProperty("completado", "false"));
+                progreso.estados = Long.parseLong(propiedades.getProperty("estados", "0"));
+                progreso.movimientos = Long.parseLong(propiedades.getProperty("movimientos", "0"));
+                progreso.estadosPrevios = progreso.estados;
+                progreso.movimientosPrevios = progreso.movimientos;
+            }
+            return progreso;
+        }
+
+        void guardar(Path archivo) throws IOException {
+            Properties propiedades = new Properties();
+            propiedades.setProperty("cuenta-hasta", String.valueOf(cuentaHasta));
+            propiedades.setProperty("completado", String.valueOf(completado));
+            propiedades.setProperty("estados", String.valueOf(estados));
+            propiedades.setProperty("movimientos", String.valueOf(movimientos));
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            try (Writer salida = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                propiedades.store(salida, null);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        ResultadoGeneracion resultado(YearMonth periodo, Path carpeta, long duracionMs) {
+            long generadosAhora = estados - estadosPrevios;
+            double porSegundo = duracionMs > 0 ? generadosAhora * 1000.0 / duracionMs : 0;
+            return new ResultadoGeneracion(periodo.toString(), carpeta.toAbsolutePath().toString(), completado,
+                    estados, generadosAhora, movimientos, duracionMs, porSegundo);
+        }
+    }
+
+    /**
+     * Resultado de una ejecución; los totales incluyen lo generado en ejecuciones anteriores del mismo periodo
+     */
+    public static class ResultadoGeneracion {
+        private final String periodo;
+        private final String directorio;
+        private final boolean completado;
+        private final long estadosTotales;
+        private final long estadosGenerados;
+        private final long movimientos;
+        private final long duracionMs;
+        private final double estadosPorSegundo;
+
+        public ResultadoGeneracion(String periodo, String directorio, boolean completado, long estadosTotales,
+                                   long estadosGenerados, long movimientos, long duracionMs, double estadosPorSegundo) {
+            this.periodo = periodo;
+            this.directorio = directorio;
+            this.completado = completado;
+            this.estadosTotales = estadosTotales;
+            this.estadosGenerados = estadosGenerados;
+            this.movimientos = movimientos;
+            this.duracionMs = duracionMs;
+            this.estadosPorSegundo = estadosPorSegundo;
+        }
+
+        // Getters
+        public String getPeriodo() { return periodo; }
+        public String getDirectorio() { return directorio; }
+        public boolean isCompletado() { return completado; }
+        public long getEstadosTotales() { return estadosTotales; }
+        public long getEstadosGenerados() { return estadosGenerados; }
+        public long getMovimientos() { return movimientos; }
+        public long getDuracionMs() { return duracionMs; }
+        public double getEstadosPorSegundo() { return estadosPorSegundo; }
+    }
+}
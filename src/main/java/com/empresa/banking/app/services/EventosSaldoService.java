@@ -0,0 +1,331 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IEventosSaldoService;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difusión en proceso de los cambios de saldo a los suscriptores de cada cuenta (stream SSE de productos).
+ * Los eventos se publican después del commit. Cada suscriptor tiene un buffer acotado: publicar nunca se
+ * bloquea y un consumidor lento solo pierde eventos intermedios según su política, nunca el último saldo.
+ * Un suscriptor sin eventos no ocupa hilo; unos pocos hilos de entrega vacían los buffers con eventos.
+ */
+@Service
+public class EventosSaldoService implements IEventosSaldoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosSaldoService.class);
+
+    private final Map<Long, Set<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+    private final ExecutorService entregas;
+    private final int capacidad;
+
+    public EventosSaldoService(@Value("${banking.eventos.hilos-entrega:4}") int hilos,
+                               @Value("${banking.eventos.capacidad-buffer:16}") int capacidad) {
+        if (hilos <= 0 || capacidad <= 0) {
+            throw new IllegalArgumentException("Los hilos de entrega y la capacidad del buffer deben ser positivos");
+        }
+        AtomicInteger numeroHilo = new AtomicInteger();
+        this.entregas = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "eventos-saldo-" + numeroHilo.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Registra un suscriptor de la cuenta; recibe los eventos publicados desde este momento
+     */
+    public Suscripcion suscribir(Long cuentaId, PoliticaDesborde politica, Receptor receptor) {
+        Suscripcion suscripcion = new Suscripcion(cuentaId, politica, receptor);
+        suscripciones.compute(cuentaId, (id, actuales) -> {
+            Set<Suscripcion> conjunto = actuales != null ? actuales : ConcurrentHashMap.newKeySet();
+            conjunto.add(suscripcion);
+            return conjunto;
+        });
+        return suscripcion;
+    }
+
+    public void publicar(Transaccion movimiento) {
+        publicar(List.of(movimiento));
+    }
+
+    /**
+     * Publica el saldo que dejó cada movimiento en su cuenta origen. Dentro de una transacción se difunde solo
+     * si se confirma; los movimientos de cuentas sin suscriptores se descartan sin registrar nada.
+     */
+    public void publicar(Collection<Transaccion> movimientos) {
+        List<EventoSaldo> eventos = new ArrayList<>();
+        for (Transaccion movimiento : movimientos) {
+            if (suscripciones.containsKey(movimiento.getCuentaOrigenId())) {
+                eventos.add(EventoSaldo.de(movimiento));
+            }
+        }
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventos.forEach(EventosSaldoService.this::difundir);
+                }
+            });
+        } else {
+            eventos.forEach(this::difundir);
+        }
+    }
+
+    public int suscriptores() {
+        return suscripciones.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Comentario periódico a todos los suscriptores: mantiene abiertas las conexiones inactivas a través de
+     * proxies y detecta las que se cerraron sin aviso
+     */
+    @Scheduled(fixedDelayString = "${banking.eventos.latido-ms:25000}")
+    public void latir() {
+        suscripciones.values().forEach(conjunto -> conjunto.forEach(Suscripcion::latir));
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        entregas.shutdownNow();
+    }
+
+    private void difundir(EventoSaldo evento) {
+        Set<Suscripcion> conjunto = suscripciones.get(evento.getCuentaId());
+        if (conjunto != null) {
+            conjunto.forEach(suscripcion -> suscripcion.encolar(evento));
+        }
+    }
+
+    /**
+     * Qué hacer cuando llega un evento con el buffer del suscriptor lleno. En ambos casos el evento nuevo entra,
+     * así que el último saldo siempre llega; el siguiente evento entregado informa cuántos se omitieron.
+     */
+    public enum PoliticaDesborde {
+        // El evento nuevo reemplaza al último pendiente: se conservan los más antiguos y el saldo final
+        COALESCER,
+        // Se descarta el evento pendiente más antiguo: se conservan los más recientes
+        DESCARTAR_ANTIGUOS
+    }
+
+    /**
+     * Destino de los eventos de un suscriptor (p. ej. una conexión SSE). Si lanza una excepción la suscripción
+     * se cancela.
+     */
+    public interface Receptor {
+        void recibir(EventoSaldo evento) throws Exception;
+
+        void latido() throws Exception;
+    }
+
+    /**
+     * Suscripción de un receptor a una cuenta, con su buffer de eventos pendientes. A lo sumo hay una entrega
+     * en curso por suscripción, así que el receptor recibe los eventos en orden y desde un solo hilo a la vez.
+     */
+    public final class Suscripcion {
+        private final Long cuentaId;
+        private final PoliticaDesborde politica;
+        private final Receptor receptor;
+
+        // Se crea con el primer evento: un suscriptor inactivo no reserva el buffer
+        private ArrayDeque<EventoSaldo> pendientes;
+        private int omitidos;
+        // Los commits concurrentes pueden difundir fuera de orden: no se entrega un saldo anterior al último
+        private long ultimaSecuencia;
+        private boolean latidoPendiente;
+        private boolean entregaProgramada;
+        private volatile boolean activa = true;
+
+        private Suscripcion(Long cuentaId, PoliticaDesborde politica, Receptor receptor) {
+            this.cuentaId = cuentaId;
+            this.politica = politica;
+            this.receptor = receptor;
+        }
+
+        /**
+         * Pone un evento antes de todos los pendientes (el estado inicial que se lee después de suscribirse)
+         */
+        public synchronized void iniciar(EventoSaldo evento) {
+            if (activa) {
+                buffer().addFirst(evento);
+                programarEntrega();
+            }
+        }
+
+        public void cancelar() {
+            activa = false;
+            synchronized (this) {
+                pendientes = null;
+            }
+            suscripciones.computeIfPresent(cuentaId, (id, conjunto) -> {
+                conjunto.remove(this);
+                return conjunto.isEmpty() ? null : conjunto;
+            });
+        }
+
+        public boolean isActiva() {
+            return activa;
+        }
+
+        synchronized void encolar(EventoSaldo evento) {
+            if (!activa) {
+                return;
+            }
+            ArrayDeque<EventoSaldo> buffer = buffer();
+            if (buffer.size() >= capacidad) {
+                if (politica == PoliticaDesborde.COALESCER) {
+                    buffer.pollLast();
+                } else {
+                    buffer.pollFirst();
+                }
+                omitidos++;
+            }
+            buffer.addLast(evento);
+            programarEntrega();
+        }
+
+        synchronized void latir() {
+            if (activa) {
+                latidoPendiente = true;
+                programarEntrega();
+            }
+        }
+
+        private ArrayDeque<EventoSaldo> buffer() {
+            if (pendientes == null) {
+                pendientes = new ArrayDeque<>(Math.min(capacidad, 4));
+            }
+            return pendientes;
+        }
+
+        private void programarEntrega() {
+            if (!entregaProgramada) {
+                entregaProgramada = true;
+                entregas.execute(this::entregar);
+            }
+        }
+
+        /**
+         * Vacía el buffer fuera del lock, para que publicar no espere a un receptor lento
+         */
+        private void entregar() {
+            while (activa) {
+                EventoSaldo evento;
+                boolean latido;
+                synchronized (this) {
+                    evento = pendientes != null ? pendientes.pollFirst() : null;
+                    latido = evento == null && latidoPendiente;
+                    latidoPendiente = false;
+                    if (evento == null && !latido) {
+                        // Buffer vacío: se libera para que el suscriptor inactivo vuelva a ocupar lo mínimo
+                        pendientes = null;
+                        entregaProgramada = false;
+                        return;
+                    }
+                    if (evento != null && evento.getSecuencia() != null) {
+                        if (evento.getSecuencia() <= ultimaSecuencia) {
+                            continue;
+                        }
+                        ultimaSecuencia = evento.getSecuencia();
+                    }
+                    if (evento != null && omitidos > 0) {
+                        evento = evento.conOmitidos(omitidos);
+                        omitidos = 0;
+                    }
+                }
+                try {
+                    if (evento != null) {
+                        receptor.recibir(evento);
+                    } else {
+                        receptor.latido();
+                    }
+                } catch (Exception e) {
+                    log.debug("Suscripción a eventos de la cuenta {} cancelada: {}", cuentaId, e.getMessage());
+                    cancelar();
+                }
+            }
+        }
+    }
+
+    /**
+     * Evento de cambio de saldo de una cuenta
+     */
+    public static class EventoSaldo {
+        private final Long cuentaId;
+        private final BigDecimal saldo;
+        private final Long secuencia;
+        private final Long transaccionId;
+        private final TipoTransaccion tipoTransaccion;
+        private final BigDecimal monto;
+        private final LocalDateTime fecha;
+        private final int omitidos;
+
+        public EventoSaldo(Long cuentaId, BigDecimal saldo, Long secuencia, Long transaccionId,
+                           TipoTransaccion tipoTransaccion, BigDecimal monto, LocalDateTime fecha, int omitidos) {
+            this.cuentaId = cuentaId;
+            this.saldo = saldo;
+            this.secuencia = secuencia;
+            this.transaccionId = transaccionId;
+            this.tipoTransaccion = tipoTransaccion;
+            this.monto = monto;
+            this.fecha = fecha;
+            this.omitidos = omitidos;
+        }
+
+        static EventoSaldo de(Transaccion movimiento) {
+            return new EventoSaldo(movimiento.getCuentaOrigenId(), movimiento.getSaldoActual(),
+                    movimiento.getSecuencia(), movimiento.getId(), movimiento.getTipoTransaccion(),
+                    movimiento.getMonto(), movimiento.getFechaTransaccion(), 0);
+        }
+
+        /**
+         * Saldo de la cuenta al suscribirse, sin movimiento asociado
+         */
+        public static EventoSaldo inicial(Producto cuenta) {
+            return new EventoSaldo(cuenta.getId(), cuenta.getSaldo(), null, null, null, null,
+                    LocalDateTime.now(), 0);
+        }
+
+        EventoSaldo conOmitidos(int omitidos) {
+            return new EventoSaldo(cuentaId, saldo, secuencia, transaccionId, tipoTransaccion, monto, fecha,
+                    this.omitidos + omitidos);
+        }
+
+        // Getters
+        public Long getCuentaId() { return cuentaId; }
+        public BigDecimal getSaldo() { return saldo; }
+        public Long getSecuencia() { return secuencia; }
+        public Long getTransaccionId() { return transaccionId; }
+        public TipoTransaccion getTipoTransaccion() { return tipoTransaccion; }
+        public BigDecimal getMonto() { return monto; }
+        public LocalDateTime getFecha() { return fecha; }
+        public int getOmitidos() { return omitidos; }
+    }
+}
@@ -0,0 +1,142 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IExportacionEstadoCuentaService;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.exceptions.RecursoNoEncontradoException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+/**
+ * Exportación del estado de cuenta en CSV o PDF. Los movimientos se leen con un cursor y cada fila
+ * se escribe en la respuesta apenas llega, con el saldo corrido calculado sobre la marcha:
+ * la memoria no depende del largo del historial y el encabezado sale antes de la consulta.
+ */
+@Service
+public class ExportacionEstadoCuentaService implements IExportacionEstadoCuentaService {
+
+    private final TransaccionRepository transaccionRepository;
+    private final ProductoRepository productoRepository;
+    private final CompensacionSaldosService compensacionSaldos;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportacionEstadoCuentaService(TransaccionRepository transaccionRepository,
+                                          ProductoRepository productoRepository,
+                                          CompensacionSaldosService compensacionSaldos,
+                                          PlatformTransactionManager transactionManager) {
+        this.transaccionRepository = transaccionRepository;
+        this.productoRepository = productoRepository;
+        this.compensacionSaldos = compensacionSaldos;
+        // El cursor del driver solo lee por bloques dentro de una transacción
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Valida la solicitud antes de empezar a responder; los errores posteriores ya no pueden cambiar el estado HTTP
+     */
+    @Override
+    public ExportacionEstadoCuenta prepararExportacion(Long cuentaId, String formato, LocalDate desde, LocalDate hasta) {
+        FormatoExportacion formatoExportacion = FormatoExportacion.desde(formato);
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            throw new SolicitudInvalidaException("La fecha inicial no puede ser posterior a la fecha final");
+        }
+        Producto cuenta = compensacionSaldos.leerConSaldoPendiente(cuentaId, productoRepository::findById)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Cuenta no encontrada con ID: " + cuentaId));
+        return new ExportacionEstadoCuenta(cuenta, formatoExportacion, desde, hasta);
+    }
+
+    void exportar(ExportacionEstadoCuenta exportacion, OutputStream salida) throws IOException {
+        EscritorEstadoCuenta escritor = exportacion.formato == FormatoExportacion.PDF
+                ? new EscritorPdfEstadoCuenta(salida)
+                : new EscritorCsvEstadoCuenta(salida);
+        escritor.encabezado(exportacion.cuenta, exportacion.desde, exportacion.hasta);
+
+        SaldoCorrido saldo = new SaldoCorrido();
+        try {
+            transactionTemplate.executeWithoutResult(status -> transaccionRepository.recorrerPorCuenta(
+                    exportacion.cuenta.getId(),
+                    exportacion.desde != null ? exportacion.desde.atStartOfDay() : null,
+                    exportacion.hasta != null ? exportacion.hasta.plusDays(1).atStartOfDay() : null,
+                    movimiento -> {
+                        try {
+                            escritor.movimiento(movimiento, saldo.aplicar(movimiento));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            // Normalmente el cliente cerró la conexión: se corta el cursor y se propaga el error original
+            throw e.getCause();
+        }
+        escritor.cierre(saldo.movimientos(), saldo.actual());
+    }
+
+    public enum FormatoExportacion {
+        CSV("text/csv;charset=UTF-8", "csv"),
+        PDF("application/pdf", "pdf");
+
+        private final String tipoContenido;
+        private final String extension;
+
+        FormatoExportacion(String tipoContenido, String extension) {
+            this.tipoContenido = tipoContenido;
+            this.extension = extension;
+        }
+
+        static FormatoExportacion desde(String formato) {
+            if (formato == null || formato.isBlank()) {
+                return CSV;
+            }
+            for (FormatoExportacion valor : values()) {
+                if (valor.extension.equalsIgnoreCase(formato.trim())) {
+                    return valor;
+                }
+            }
+            throw new SolicitudInvalidaException("Formato de exportación no soportado: " + formato + " (use csv o pdf)");
+        }
+
+        public String getTipoContenido() { return tipoContenido; }
+        public String getExtension() { return extension; }
+    }
+
+    /**
+     * Exportación validada, lista para escribirse en la respuesta
+     */
+    public class ExportacionEstadoCuenta {
+        private final Producto cuenta;
+        private final FormatoExportacion formato;
+        private final LocalDate desde;
+        private final LocalDate hasta;
+
+        ExportacionEstadoCuenta(Producto cuenta, FormatoExportacion formato, LocalDate desde, LocalDate hasta) {
+            this.cuenta = cuenta;
+            this.formato = formato;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        public void escribir(OutputStream salida) throws IOException {
+            exportar(this, salida);
+        }
+
+        public String getNombreArchivo() {
+            return "estado-cuenta-" + cuenta.getNumeroCuenta()
+                    + (desde != null ? "-" + desde : "") + (hasta != null ? "-" + hasta : "")
+                    + "." + formato.getExtension();
+        }
+
+        // Getters
+        public FormatoExportacion getFormato() { return formato; }
+        public LocalDate getDesde() { return desde; }
+        public LocalDate getHasta() { return hasta; }
+    }
+}
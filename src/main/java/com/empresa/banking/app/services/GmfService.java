@@ -0,0 +1,213 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IGmfService;
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.AcumuladoGmfRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Gravamen a los movimientos financieros (GMF, 4x1000) sobre retiros y transferencias.
+ * Las cuentas marcadas como exentas no pagan el impuesto hasta el tope mensual por cliente;
+ * el consumo del tope y lo cobrado se llevan en acumulados mensuales por cliente.
+ */
+@Service
+@Transactional
+public class GmfService implements IGmfService {
+
+    public static final String DESCRIPCION_ASIENTO = "GMF 4x1000";
+
+    private static final long POR_MIL = 1000L;
+
+    private final AcumuladoGmfRepository acumuladoGmfRepository;
+    private final long tarifaPorMil;
+    private final Money topeExentoMensual;
+
+    public GmfService(AcumuladoGmfRepository acumuladoGmfRepository,
+                      @Value("${banking.gmf.tarifa-por-mil:4}") long tarifaPorMil,
+                      @Value("${banking.gmf.tope-exento-mensual:17429650}") BigDecimal topeExentoMensual) {
+        this.acumuladoGmfRepository = acumuladoGmfRepository;
+        this.tarifaPorMil = tarifaPorMil;
+        this.topeExentoMensual = Money.of(topeExentoMensual);
+    }
+
+    /**
+     * Liquida el GMF de un retiro. Si la cuenta es exenta, el acumulado del cliente queda bloqueado
+     * hasta el commit para que dos débitos concurrentes no consuman el mismo tope.
+     */
+    public LiquidacionGmf liquidarRetiro(Producto cuenta, Money monto) {
+        return liquidarDebitos(cuenta, List.of(monto));
+    }
+
+    /**
+     * Liquida varios débitos gravados de la misma cuenta (las líneas de una dispersión) como si se hicieran uno tras
+     * otro: cada uno consume el tope exento que dejó el anterior y su impuesto se redondea por separado.
+     * El acumulado se lee una sola vez.
+     */
+    public LiquidacionGmf liquidarDebitos(Producto cuenta, List<Money> montos) {
+        YearMonth periodo = YearMonth.now();
+        Money disponible = Money.CERO;
+        if (Boolean.TRUE.equals(cuenta.getExentaGmf())) {
+            AcumuladoGmf acumulado = acumuladoGmfRepository.obtenerParaActualizar(cuenta.getClienteId(), periodo);
+            disponible = acumulado.exentoDisponible(topeExentoMensual);
+        }
+
+        Money exento = Money.CERO;
+        Money gravable = Money.CERO;
+        Money impuesto = Money.CERO;
+        for (Money monto : montos) {
+            Money exentoDebito = monto.compareTo(disponible) <= 0 ? monto : disponible;
+            disponible = disponible.minus(exentoDebito);
+            Money gravableDebito = monto.minus(exentoDebito);
+            exento = exento.plus(exentoDebito);
+            gravable = gravable.plus(gravableDebito);
+            impuesto = impuesto.plus(calcularImpuesto(gravableDebito));
+        }
+        return new LiquidacionGmf(cuenta.getClienteId(), periodo, exento, gravable, impuesto);
+    }
+
+    /**
+     * Liquida el GMF de una transferencia. Los traslados entre cuentas del mismo cliente no están gravados.
+     */
+    public LiquidacionGmf liquidarTransferencia(Producto cuentaOrigen, Producto cuentaDestino, Money monto) {
+        if (cuentaOrigen.getClienteId().equals(cuentaDestino.getClienteId())) {
+            return LiquidacionGmf.sinCargo();
+        }
+        return liquidarRetiro(cuentaOrigen, monto);
+    }
+
+    /**
+     * Suma la liquidación al acumulado mensual del cliente
+     */
+    public void registrar(LiquidacionGmf liquidacion) {
+        if (liquidacion.esSinMovimiento()) {
+            return;
+        }
+        acumuladoGmfRepository.acumular(liquidacion.getClienteId(), liquidacion.getPeriodo(),
+                liquidacion.exento(), liquidacion.gravable(), liquidacion.impuesto());
+    }
+
+    /**
+     * Crea el asiento del impuesto sobre la cuenta debitada, a partir del saldo que dejó el movimiento
+     */
+    public Transaccion crearAsiento(LiquidacionGmf liquidacion, Long cuentaId, Money saldoAnterior) {
+        Transaccion asiento = Transaccion.crear(
+                TipoTransaccion.RETIRO,
+                liquidacion.impuesto(),
+                cuentaId,
+                null,
+                DESCRIPCION_ASIENTO
+        );
+        return asiento.conSaldos(saldoAnterior, saldoAnterior.minus(liquidacion.impuesto()));
+    }
+
+    /**
+     * Reporte mensual construido solo con los acumulados por cliente
+     */
+    @Transactional(readOnly = true)
+    public ReporteGmfDto generarReporte(YearMonth periodo) {
+        List<AcumuladoGmf> acumulados = acumuladoGmfRepository.findByPeriodo(periodo);
+
+        Money exento = Money.CERO;
+        Money gravable = Money.CERO;
+        Money cobrado = Money.CERO;
+        long movimientos = 0;
+        for (AcumuladoGmf acumulado : acumulados) {
+            exento = exento.plus(acumulado.exentoUtilizado());
+            gravable = gravable.plus(acumulado.baseGravable());
+            cobrado = cobrado.plus(acumulado.gmfCobrado());
+            movimientos += acumulado.getMovimientos();
+        }
+
+        return new ReporteGmfDto(periodo, exento.toBigDecimal(), gravable.toBigDecimal(), cobrado.toBigDecimal(),
+                movimientos, acumulados);
+    }
+
+    /**
+     * Impuesto = base × tarifa / 1000, redondeado HALF_UP al centavo
+     */
+    private Money calcularImpuesto(Money gravable) {
+        if (gravable.signum() <= 0) {
+            return Money.CERO;
+        }
+        long producto = Math.multiplyExact(gravable.getCentavos(), tarifaPorMil);
+        return Money.deCentavos((producto + POR_MIL / 2) / POR_MIL);
+    }
+
+    /**
+     * Resultado de liquidar el GMF de un débito
+     */
+    public static class LiquidacionGmf {
+        private final Long clienteId;
+        private final YearMonth periodo;
+        private final Money exento;
+        private final Money gravable;
+        private final Money impuesto;
+
+        public LiquidacionGmf(Long clienteId, YearMonth periodo, Money exento, Money gravable, Money impuesto) {
+            this.clienteId = clienteId;
+            this.periodo = periodo;
+            this.exento = exento;
+            this.gravable = gravable;
+            this.impuesto = impuesto;
+        }
+
+        public static LiquidacionGmf sinCargo() {
+            return new LiquidacionGmf(null, null, Money.CERO, Money.CERO, Money.CERO);
+        }
+
+        public boolean tieneImpuesto() {
+            return impuesto.signum() > 0;
+        }
+
+        boolean esSinMovimiento() {
+            return clienteId == null || (exento.esCero() && gravable.esCero());
+        }
+
+        // Getters
+        public Long getClienteId() { return clienteId; }
+        public YearMonth getPeriodo() { return periodo; }
+        public Money exento() { return exento; }
+        public Money gravable() { return gravable; }
+        public Money impuesto() { return impuesto; }
+    }
+
+    /**
+     * Reporte mensual del GMF: totales del periodo y detalle por cliente
+     */
+    public static class ReporteGmfDto {
+        private final YearMonth periodo;
+        private final BigDecimal totalExento;
+        private final BigDecimal totalBaseGravable;
+        private final BigDecimal totalGmfCobrado;
+        private final long movimientos;
+        private final List<AcumuladoGmf> clientes;
+
+        public ReporteGmfDto(YearMonth periodo, BigDecimal totalExento, BigDecimal totalBaseGravable,
+                             BigDecimal totalGmfCobrado, long movimientos, List<AcumuladoGmf> clientes) {
+            this.periodo = periodo;
+            this.totalExento = totalExento;
+            this.totalBaseGravable = totalBaseGravable;
+            this.totalGmfCobrado = totalGmfCobrado;
+            this.movimientos = movimientos;
+            this.clientes = clientes;
+        }
+
+        // Getters
+        public YearMonth getPeriodo() { return periodo; }
+        public BigDecimal getTotalExento() { return totalExento; }
+        public BigDecimal getTotalBaseGravable() { return totalBaseGravable; }
+        public BigDecimal getTotalGmfCobrado() { return totalGmfCobrado; }
+        public long getMovimientos() { return movimientos; }
+        public List<AcumuladoGmf> getClientes() { return clientes; }
+    }
+}
@@ -0,0 +1,415 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IImportacionClientesService;
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ImportacionClientesRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación masiva de clientes desde un archivo CSV o NDJSON leído en streaming.
+ * Las filas se validan con las reglas de {@link Cliente} y se procesan por lotes: cada lote consulta de una vez
+ * qué identificaciones y correos ya existen y se inserta en lote en su propia transacción.
+ * Los repetidos dentro del archivo se detectan en el lote en curso y, para lotes anteriores, con la misma consulta,
+ * porque sus filas ya quedaron registradas; así la memoria depende del tamaño del lote y no del archivo.
+ */
+@Service
+public class ImportacionClientesService implements IImportacionClientesService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionClientesService.class);
+
+    static final int FILAS_POR_LOTE = 500;
+    static final int MAXIMO_ERRORES_REPORTE = 1000;
+
+    private static final String COLUMNA_TIPO = "tipo_identificacion";
+    private static final String COLUMNA_NUMERO = "numero_identificacion";
+    private static final String COLUMNA_NOMBRES = "nombres";
+    private static final String COLUMNA_APELLIDO = "apellido";
+    private static final String COLUMNA_CORREO = "correo_electronico";
+    private static final String COLUMNA_FECHA = "fecha_nacimiento";
+    private static final List<String> COLUMNAS = List.of(COLUMNA_TIPO, COLUMNA_NUMERO, COLUMNA_NOMBRES,
+            COLUMNA_APELLIDO, COLUMNA_CORREO, COLUMNA_FECHA);
+
+    private final ImportacionClientesRepository importacionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ImportacionClientesService(ImportacionClientesRepository importacionRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper) {
+        this.importacionRepository = importacionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ResultadoImportacion importar(InputStream entrada, String formato) throws IOException {
+        FormatoImportacion formatoImportacion = FormatoImportacion.desde(formato);
+        long inicio = System.nanoTime();
+        Informe informe = new Informe();
+        Lote lote = new Lote();
+
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            int[] posiciones = null;
+            long numeroLinea = 0;
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                numeroLinea++;
+                if (numeroLinea == 1 && !linea.isEmpty() && linea.charAt(0) == '\uFEFF') {
+                    linea = linea.substring(1);
+                }
+                if (linea.isBlank()) {
+                    continue;
+                }
+                if (formatoImportacion == FormatoImportacion.CSV && posiciones == null) {
+                    posiciones = posicionesColumnas(camposCsv(linea));
+                    continue;
+                }
+                informe.filasLeidas++;
+                FilaCliente fila = formatoImportacion == FormatoImportacion.CSV
+                        ? filaCsv(numeroLinea, linea, posiciones)
+                        : filaNdjson(numeroLinea, linea);
+                agregar(fila, lote, informe);
+                if (lote.candidatos.size() == FILAS_POR_LOTE) {
+                    procesar(lote, informe);
+                    lote = new Lote();
+                }
+            }
+        }
+        if (!lote.candidatos.isEmpty()) {
+            procesar(lote, informe);
+        }
+
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+        double filasPorSegundo = duracionMs > 0 ? informe.filasLeidas * 1000.0 / duracionMs : informe.filasLeidas;
+        log.info("Importación de clientes: {} filas, {} importados, {} inválidos, {} duplicados en {} ms ({} filas/s)",
+                informe.filasLeidas, informe.importados, informe.invalidos, informe.duplicados, duracionMs,
+                String.format("%.1f", filasPorSegundo));
+        return new ResultadoImportacion(informe.filasLeidas, informe.importados, informe.invalidos, informe.duplicados,
+                duracionMs, filasPorSegundo, informe.errores, informe.erroresOmitidos);
+    }
+
+    /**
+     * Valida la fila y la suma al lote si no repite una identificación o un correo del mismo lote
+     */
+    private void agregar(FilaCliente fila, Lote lote, Informe informe) {
+        Cliente cliente;
+        try {
+            cliente = fila.aCliente();
+        } catch (SolicitudInvalidaException e) {
+            informe.invalido(fila.linea, fila.numeroIdentificacion, e.getMessage());
+            return;
+        }
+        Long lineaIdentificacion = lote.lineaPorIdentificacion.putIfAbsent(cliente.getNumeroIdentificacion(), fila.linea);
+        if (lineaIdentificacion != null) {
+            informe.duplicado(fila.linea, cliente.getNumeroIdentificacion(),
+                    "Número de identificación repetido en el archivo (línea " + lineaIdentificacion + ")");
+            return;
+        }
+        Long lineaCorreo = lote.lineaPorCorreo.putIfAbsent(cliente.getCorreoElectronico(), fila.linea);
+        if (lineaCorreo != null) {
+            lote.lineaPorIdentificacion.remove(cliente.getNumeroIdentificacion());
+            informe.duplicado(fila.linea, cliente.getNumeroIdentificacion(),
+                    "Correo electrónico repetido en el archivo (línea " + lineaCorreo + ")");
+            return;
+        }
+        lote.candidatos.add(new Candidato(fila.linea, cliente));
+    }
+
+    /**
+     * Descarta los que ya existen con una consulta por clave e inserta el resto en lote, en una transacción
+     */
+    private void procesar(Lote lote, Informe informe) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<String> identificaciones = importacionRepository.identificacionesExistentes(lote.lineaPorIdentificacion.keySet());
+                Set<String> correos = importacionRepository.correosExistentes(lote.lineaPorCorreo.keySet());
+
+                List<Candidato> nuevos = new ArrayList<>(lote.candidatos.size());
+                for (Candidato candidato : lote.candidatos) {
+                    Cliente cliente = candidato.cliente;
+                    if (identificaciones.contains(cliente.getNumeroIdentificacion())) {
+                        informe.duplicado(candidato.linea, cliente.getNumeroIdentificacion(),
+                                "Ya existe un cliente con el número de identificación: " + cliente.getNumeroIdentificacion());
+                    } else if (correos.contains(cliente.getCorreoElectronico())) {
+                        informe.duplicado(candidato.linea, cliente.getNumeroIdentificacion(),
+                                "Ya existe un cliente con el correo electrónico: " + cliente.getCorreoElectronico());
+                    } else {
+                        nuevos.add(candidato);
+                    }
+                }
+                if (nuevos.isEmpty()) {
+                    return;
+                }
+
+                boolean[] insertados = importacionRepository.insertarLote(nuevos.stream().map(c -> c.cliente).toList());
+                for (int i = 0; i < nuevos.size(); i++) {
+                    if (insertados[i]) {
+                        informe.importados++;
+                    } else {
+                        // Otro proceso registró la misma clave entre la consulta y la inserción
+                        informe.duplicado(nuevos.get(i).linea, nuevos.get(i).cliente.getNumeroIdentificacion(),
+                                "Ya existe un cliente con el mismo número de identificación o correo electrónico");
+                    }
+                }
+            });
+        } catch (DataAccessException e) {
+            log.error("No se pudo registrar el lote de clientes que inicia en la línea {}",
+                    lote.candidatos.get(0).linea, e);
+            for (Candidato candidato : lote.candidatos) {
+                informe.invalido(candidato.linea, candidato.cliente.getNumeroIdentificacion(),
+                        "No se pudo registrar el cliente: error al guardar el lote");
+            }
+        }
+    }
+
+    private static int[] posicionesColumnas(List<String> encabezado) {
+        int[] posiciones = new int[COLUMNAS.size()];
+        for (int i = 0; i < COLUMNAS.size(); i++) {
+            posiciones[i] = encabezado.indexOf(COLUMNAS.get(i));
+            if (posiciones[i] < 0) {
+                throw new SolicitudInvalidaException("Falta la columna " + COLUMNAS.get(i)
+                        + " en el encabezado (se esperan: " + String.join(",", COLUMNAS) + ")");
+            }
+        }
+        return posiciones;
+    }
+
+    private static FilaCliente filaCsv(long linea, String texto, int[] posiciones) {
+        List<String> campos = camposCsv(texto);
+        String[] valores = new String[posiciones.length];
+        for (int i = 0; i < posiciones.length; i++) {
+            valores[i] = posiciones[i] < campos.size() ? campos.get(posiciones[i]) : null;
+        }
+        return new FilaCliente(linea, valores[0], valores[1], valores[2], valores[3], valores[4], valores[5], null);
+    }
+
+    /**
+     * Separa una línea CSV; admite campos entre comillas con comas y comillas duplicadas
+     */
+    static List<String> camposCsv(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+
+    private FilaCliente filaNdjson(long linea, String texto) {
+        JsonNode nodo;
+        try {
+            nodo = objectMapper.readTree(texto);
+        } catch (JsonProcessingException e) {
+            return new FilaCliente(linea, null, null, null, null, null, null, "La línea no es un objeto JSON válido");
+        }
+        if (!nodo.isObject()) {
+            return new FilaCliente(linea, null, null, null, null, null, null, "La línea no es un objeto JSON válido");
+        }
+        return new FilaCliente(linea,
+                texto(nodo, COLUMNA_TIPO, "tipoIdentificacion"),
+                texto(nodo, COLUMNA_NUMERO, "numeroIdentificacion"),
+                texto(nodo, COLUMNA_NOMBRES, "nombres"),
+                texto(nodo, COLUMNA_APELLIDO, "apellido"),
+                texto(nodo, COLUMNA_CORREO, "correoElectronico"),
+                texto(nodo, COLUMNA_FECHA, "fechaNacimiento"),
+                null);
+    }
+
+    /**
+     * Valor del campo con el nombre de la columna CSV o con el del API de clientes
+     */
+    private static String texto(JsonNode nodo, String nombre, String nombreApi) {
+        JsonNode valor = nodo.hasNonNull(nombre) ? nodo.get(nombre) : nodo.get(nombreApi);
+        return valor != null && !valor.isNull() ? valor.asText() : null;
+    }
+
+    public enum FormatoImportacion {
+        CSV, NDJSON;
+
+        static FormatoImportacion desde(String formato) {
+            if (formato == null || formato.isBlank()) {
+                return CSV;
+            }
+            for (FormatoImportacion valor : values()) {
+                if (valor.name().equalsIgnoreCase(formato.trim())) {
+                    return valor;
+                }
+            }
+            throw new SolicitudInvalidaException("Formato de importación no soportado: " + formato + " (use csv o ndjson)");
+        }
+    }
+
+    /**
+     * Fila leída del archivo, antes de validar; el error de lectura (si lo hay) se reporta como fila inválida
+     */
+    private record FilaCliente(long linea, String tipoIdentificacion, String numeroIdentificacion, String nombres,
+                               String apellido, String correoElectronico, String fechaNacimiento, String errorLectura) {
+
+        Cliente aCliente() {
+            if (errorLectura != null) {
+                throw new SolicitudInvalidaException(errorLectura);
+            }
+            return Cliente.crear(tipo(), numeroIdentificacion, nombres, apellido, correoElectronico, fecha());
+        }
+
+        // Acepta el nombre de la enumeración (CEDULA_CIUDADANIA) o su código (CC)
+        private TipoIdentificacion tipo() {
+            if (tipoIdentificacion == null || tipoIdentificacion.isBlank()) {
+                throw new SolicitudInvalidaException("El tipo de identificación es obligatorio");
+            }
+            String valor = tipoIdentificacion.trim();
+            for (TipoIdentificacion tipo : TipoIdentificacion.values()) {
+                if (tipo.name().equalsIgnoreCase(valor) || tipo.getCodigo().equalsIgnoreCase(valor)) {
+                    return tipo;
+                }
+            }
+            throw new SolicitudInvalidaException("Tipo de identificación no válido: " + valor);
+        }
+
+        private LocalDate fecha() {
+            if (fechaNacimiento == null || fechaNacimiento.isBlank()) {
+                return null;
+            }
+            try {
+                return LocalDate.parse(fechaNacimiento.trim());
+            } catch (DateTimeParseException e) {
+                throw new SolicitudInvalidaException("Fecha de nacimiento no válida (use AAAA-MM-DD): " + fechaNacimiento);
+            }
+        }
+    }
+
+    private record Candidato(long linea, Cliente cliente) {
+    }
+
+    /**
+     * Filas válidas del lote en curso, con la línea donde apareció cada identificación y cada correo
+     */
+    private static final class Lote {
+        private final List<Candidato> candidatos = new ArrayList<>(FILAS_POR_LOTE);
+        private final Map<String, Long> lineaPorIdentificacion = new HashMap<>();
+        private final Map<String, Long> lineaPorCorreo = new HashMap<>();
+    }
+
+    /**
+     * Contadores de la importación; el detalle de errores se acota para no crecer con el archivo
+     */
+    private static final class Informe {
+        private long filasLeidas;
+        private long importados;
+        private long invalidos;
+        private long duplicados;
+        private long erroresOmitidos;
+        private final List<ErrorFila> errores = new ArrayList<>();
+
+        void invalido(long linea, String numeroIdentificacion, String mensaje) {
+            invalidos++;
+            registrar(linea, numeroIdentificacion, mensaje);
+        }
+
+        void duplicado(long linea, String numeroIdentificacion, String mensaje) {
+            duplicados++;
+            registrar(linea, numeroIdentificacion, mensaje);
+        }
+
+        private void registrar(long linea, String numeroIdentificacion, String mensaje) {
+            if (errores.size() < MAXIMO_ERRORES_REPORTE) {
+                errores.add(new ErrorFila(linea, numeroIdentificacion, mensaje));
+            } else {
+                erroresOmitidos++;
+            }
+        }
+    }
+
+    public static class ErrorFila {
+        private final long linea;
+        private final String numeroIdentificacion;
+        private final String mensaje;
+
+        public ErrorFila(long linea, String numeroIdentificacion, String mensaje) {
+            this.linea = linea;
+            this.numeroIdentificacion = numeroIdentificacion;
+            this.mensaje = mensaje;
+        }
+
+        // Getters
+        public long getLinea() { return linea; }
+        public String getNumeroIdentificacion() { return numeroIdentificacion; }
+        public String getMensaje() { return mensaje; }
+    }
+
+    public static class ResultadoImportacion {
+        private final long filasLeidas;
+        private final long importados;
+        private final long invalidos;
+        private final long duplicados;
+        private final long duracionMs;
+        private final double filasPorSegundo;
+        private final List<ErrorFila> errores;
+        private final long erroresOmitidos;
+
+        public ResultadoImportacion(long filasLeidas, long importados, long invalidos, long duplicados,
+                                    long duracionMs, double filasPorSegundo, List<ErrorFila> errores,
+                                    long erroresOmitidos) {
+            this.filasLeidas = filasLeidas;
+            this.importados = importados;
+            this.invalidos = invalidos;
+            this.duplicados = duplicados;
+            this.duracionMs = duracionMs;
+            this.filasPorSegundo = filasPorSegundo;
+            this.errores = errores;
+            this.erroresOmitidos = erroresOmitidos;
+        }
+
+        // Getters
+        public long getFilasLeidas() { return filasLeidas; }
+        public long getImportados() { return importados; }
+        public long getInvalidos() { return invalidos; }
+        public long getDuplicados() { return duplicados; }
+        public long getDuracionMs() { return duracionMs; }
+        public double getFilasPorSegundo() { return filasPorSegundo; }
+        public List<ErrorFila> getErrores() { return errores; }
+        public long getErroresOmitidos() { return erroresOmitidos; }
+    }
+}
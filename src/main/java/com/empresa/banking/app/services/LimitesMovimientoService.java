@@ -0,0 +1,189 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Límites de velocidad (monto y cantidad, por hora y por día) sobre retiros y transferencias enviadas.
+ * Los límites de cuenta dependen del tipo de cuenta; los de cliente suman todas sus cuentas.
+ * Los contadores viven en memoria ({@link VentanaMovimientos}) y se reconstruyen al arrancar con los
+ * débitos del último día, así que validar un débito no consulta la tabla de transacciones.
+ */
+@Service
+public class LimitesMovimientoService {
+
+    private static final Logger log = LoggerFactory.getLogger(LimitesMovimientoService.class);
+
+    private static final String PREFIJO = "banking.limites.";
+
+    private final TransaccionRepository transaccionRepository;
+    private final ProductoRepository productoRepository;
+    private final Map<TipoCuenta, Limites> limitesPorTipo = new EnumMap<>(TipoCuenta.class);
+    private final Limites limitesCliente;
+
+    private final Map<Long, VentanaMovimientos> porCuenta = new ConcurrentHashMap<>();
+    private final Map<Long, VentanaMovimientos> porCliente = new ConcurrentHashMap<>();
+
+    public LimitesMovimientoService(TransaccionRepository transaccionRepository,
+                                    ProductoRepository productoRepository,
+                                    Environment environment) {
+        this.transaccionRepository = transaccionRepository;
+        this.productoRepository = productoRepository;
+        for (TipoCuenta tipo : TipoCuenta.values()) {
+            limitesPorTipo.put(tipo, Limites.leer(environment, tipo.name().toLowerCase().replace('_', '-')));
+        }
+        this.limitesCliente = Limites.leer(environment, "cliente");
+    }
+
+    /**
+     * Reconstruye los contadores con los débitos del último día. Cuenta lo mismo que se reserva en vivo: cada
+     * retiro, cada transferencia enviada y el débito agregado de cada dispersión (un movimiento por el total);
+     * los asientos de GMF no se reservan y tampoco se cuentan.
+     */
+    @PostConstruct
+    public void reconstruir() {
+        List<Transaccion> debitos = transaccionRepository.findDebitosDesde(LocalDateTime.now().minusDays(1)).stream()
+                .filter(debito -> !GmfService.DESCRIPCION_ASIENTO.equals(debito.getDescripcion()))
+                .toList();
+        if (debitos.isEmpty()) {
+            return;
+        }
+
+        Set<Long> cuentaIds = debitos.stream().map(Transaccion::getCuentaOrigenId).collect(Collectors.toSet());
+        Map<Long, Long> clientePorCuenta = productoRepository.findAllById(cuentaIds).stream()
+                .collect(Collectors.toMap(Producto::getId, Producto::getClienteId));
+
+        ZoneId zona = ZoneId.systemDefault();
+        for (Transaccion debito : debitos) {
+            long instanteMs = debito.getFechaTransaccion().atZone(zona).toInstant().toEpochMilli();
+            long centavos = debito.monto().getCentavos();
+            ventana(porCuenta, debito.getCuentaOrigenId()).registrar(instanteMs, centavos);
+            Long clienteId = clientePorCuenta.get(debito.getCuentaOrigenId());
+            if (clienteId != null) {
+                ventana(porCliente, clienteId).registrar(instanteMs, centavos);
+            }
+        }
+        log.info("Límites de movimientos reconstruidos con {} débitos de {} cuentas", debitos.size(), cuentaIds.size());
+    }
+
+    /**
+     * Verifica los límites de la cuenta y del cliente y reserva el débito en ambos contadores.
+     * Si la transacción que lo contiene hace rollback, la reserva se deshace.
+     */
+    public void reservar(Producto cuenta, Money monto) {
+        reservar(cuenta, monto, System.currentTimeMillis());
+    }
+
+    void reservar(Producto cuenta, Money monto, long ahoraMs) {
+        Limites limitesCuenta = limitesPorTipo.get(cuenta.getTipoCuenta());
+        long centavos = monto.getCentavos();
+
+        while (true) {
+            VentanaMovimientos ventanaCuenta = ventana(porCuenta, cuenta.getId());
+            VentanaMovimientos ventanaCliente = ventana(porCliente, cuenta.getClienteId());
+
+            // Siempre cuenta y luego cliente: el orden de bloqueo es el mismo en todos los hilos
+            synchronized (ventanaCuenta) {
+                synchronized (ventanaCliente) {
+                    if (ventanaCuenta.estaDescartada() || ventanaCliente.estaDescartada()) {
+                        continue;
+                    }
+                    limitesCuenta.verificar(ventanaCuenta.totales(ahoraMs), centavos, "la cuenta");
+                    limitesCliente.verificar(ventanaCliente.totales(ahoraMs), centavos, "el cliente");
+                    ventanaCuenta.registrar(ahoraMs, centavos);
+                    ventanaCliente.registrar(ahoraMs, centavos);
+                }
+            }
+
+            alRevertir(() -> {
+                ventanaCuenta.revertir(ahoraMs, centavos);
+                ventanaCliente.revertir(ahoraMs, centavos);
+            });
+            return;
+        }
+    }
+
+    /**
+     * Libera los contadores sin movimientos en el último día: la memoria queda acotada
+     * a las cuentas y clientes que debitaron recientemente
+     */
+    @Scheduled(fixedDelayString = "${banking.limites.purga-ms:600000}")
+    public void purgarInactivas() {
+        long ahoraMs = System.currentTimeMillis();
+        porCuenta.values().removeIf(ventana -> ventana.descartarSiInactiva(ahoraMs));
+        porCliente.values().removeIf(ventana -> ventana.descartarSiInactiva(ahoraMs));
+    }
+
+    private static VentanaMovimientos ventana(Map<Long, VentanaMovimientos> ventanas, Long id) {
+        return ventanas.computeIfAbsent(id, k -> new VentanaMovimientos());
+    }
+
+    private void alRevertir(Runnable reversion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        reversion.run();
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Topes configurados para un tipo de cuenta o para el cliente; un tope ausente no limita
+     */
+    private record Limites(Money montoHora, Money montoDia, Integer cantidadHora, Integer cantidadDia) {
+
+        static Limites leer(Environment environment, String clave) {
+            String prefijo = PREFIJO + clave + ".";
+            Function<String, Money> monto = nombre -> {
+                BigDecimal valor = environment.getProperty(prefijo + nombre, BigDecimal.class);
+                return valor != null ? Money.of(valor) : null;
+            };
+            return new Limites(monto.apply("monto-hora"), monto.apply("monto-dia"),
+                    environment.getProperty(prefijo + "cantidad-hora", Integer.class),
+                    environment.getProperty(prefijo + "cantidad-dia", Integer.class));
+        }
+
+        void verificar(VentanaMovimientos.Totales totales, long centavos, String titular) {
+            if (cantidadHora != null && totales.cantidadHora() + 1 > cantidadHora) {
+                throw new OperacionRechazadaException("Se superó el número de movimientos por hora permitido para " + titular);
+            }
+            if (cantidadDia != null && totales.cantidadDia() + 1 > cantidadDia) {
+                throw new OperacionRechazadaException("Se superó el número de movimientos diarios permitido para " + titular);
+            }
+            if (montoHora != null && totales.montoHora() + centavos > montoHora.getCentavos()) {
+                throw new OperacionRechazadaException("Se superó el monto por hora permitido para " + titular);
+            }
+            if (montoDia != null && totales.montoDia() + centavos > montoDia.getCentavos()) {
+                throw new OperacionRechazadaException("Se superó el monto diario permitido para " + titular);
+            }
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.empresa.banking.app.services;
 
 import com.empresa.banking.app.interfaces.IProductoService;
 import com.empresa.banking.domain.entities.*;
+import com.empresa.banking.domain.entities.Enums.CampoProducto;
 import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.exceptions.RecursoNoEncontradoException;
 import com.empresa.banking.domain.repositories.ClienteRepository;
 import com.empresa.banking.domain.repositories.ProductoRepository;
 import com.empresa.banking.domain.repositories.TransaccionRepository;
@@ -13,8 +16,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
@@ -23,13 +30,16 @@ public class ProductoService implements IProductoService {
     private final ProductoRepository productoRepository;
     private final ClienteRepository clienteRepository;
     private final TransaccionRepository transaccionRepository;
+    private final CompensacionSaldosService compensacionSaldos;
 
     public ProductoService(ProductoRepository productoRepository,
                            ClienteRepository clienteRepository,
-                           TransaccionRepository transaccionRepository) {
+                           TransaccionRepository transaccionRepository,
+                           CompensacionSaldosService compensacionSaldos) {
         this.productoRepository = productoRepository;
         this.clienteRepository = clienteRepository;
         this.transaccionRepository = transaccionRepository;
+        this.compensacionSaldos = compensacionSaldos;
     }
 
     /**
@@ -38,7 +48,7 @@ public class ProductoService implements IProductoService {
     public Producto crearProducto(ProductoController.CrearProductoRequest request) {
         // Validar que el cliente existe
         Cliente cliente = clienteRepository.findById(request.getClienteId())
-                .orElseThrow(() -> new IllegalArgumentException("Cliente no encontrado con ID: " + request.getClienteId()));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Cliente no encontrado con ID: " + request.getClienteId()));
 
         // Crear el producto con número de cuenta auto-generado
         String numeroCuenta;
@@ -66,7 +76,7 @@ public class ProductoService implements IProductoService {
      */
     @Transactional(readOnly = true)
     public Optional<Producto> buscarProductoPorId(Long id) {
-        return productoRepository.findById(id);
+        return compensacionSaldos.leerConSaldoPendiente(id, productoRepository::findById);
     }
 
     /**
@@ -74,9 +84,20 @@ public class ProductoService implements IProductoService {
      */
     @Transactional(readOnly = true)
     public Optional<Producto> buscarProductoPorNumeroCuenta(String numeroCuenta) {
-        return productoRepository.findAll().stream()
-                .filter(producto -> producto.getNumeroCuenta().equals(numeroCuenta))
-                .findFirst();
+        return productoRepository.findByNumeroCuenta(numeroCuenta)
+                .map(compensacionSaldos::conSaldoPendiente);
+    }
+
+    /**
+     * Busca varios productos por ID con una sola consulta
+     */
+    @Transactional(readOnly = true)
+    public ConsultaPorIds<Producto> buscarProductosPorIds(List<Long> ids) {
+        return ConsultaPorIds.resolver(ids,
+                distintos -> productoRepository.findAllById(distintos).stream()
+                        .map(compensacionSaldos::conSaldoPendiente)
+                        .toList(),
+                Producto::getId);
     }
 
     /**
@@ -84,7 +105,33 @@ public class ProductoService implements IProductoService {
      */
     @Transactional(readOnly = true)
     public List<Producto> obtenerTodosLosProductos() {
-        return productoRepository.findAll();
+        return productoRepository.findAll().stream()
+                .map(compensacionSaldos::conSaldoPendiente)
+                .toList();
+    }
+
+    /**
+     * Obtiene todos los productos con solo los campos indicados (parámetro fields): la consulta lee únicamente
+     * esas columnas y la respuesta no incluye el resto
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> obtenerProductos(String campos) {
+        Set<CampoProducto> solicitados = CamposSolicitados.resolver(campos, CampoProducto::deNombre,
+                Arrays.stream(CampoProducto.values()).map(CampoProducto::getNombre).toList());
+        // El saldo vigente suma el delta pendiente de la cuenta, que se busca por ID
+        Set<CampoProducto> leidos = EnumSet.copyOf(solicitados);
+        if (leidos.contains(CampoProducto.SALDO)) {
+            leidos.add(CampoProducto.ID);
+        }
+        return productoRepository.findAllCampos(leidos).stream()
+                .map(fila -> {
+                    if (fila.get(CampoProducto.SALDO) instanceof BigDecimal saldo) {
+                        fila.put(CampoProducto.SALDO,
+                                saldo.add(compensacionSaldos.pendiente((Long) fila.get(CampoProducto.ID))));
+                    }
+                    return CamposSolicitados.seleccionar(solicitados, CampoProducto::getNombre, fila::get);
+                })
+                .toList();
     }
 
     /**
@@ -94,6 +141,7 @@ public class ProductoService implements IProductoService {
     public List<Producto> obtenerProductosPorCliente(Long clienteId) {
         return productoRepository.findAll().stream()
                 .filter(producto -> producto.getClienteId().equals(clienteId))
+                .map(compensacionSaldos::conSaldoPendiente)
                 .toList();
     }
 
@@ -101,8 +149,9 @@ public class ProductoService implements IProductoService {
      * Cambia el estado de un producto
      */
     public Producto cambiarEstadoProducto(Long productoId, EstadoCuenta nuevoEstado) {
+        compensacionSaldos.consolidar(productoId);
         Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado con ID: " + productoId));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado con ID: " + productoId));
 
         Producto productoActualizado = producto.cambiarEstado(nuevoEstado);
         return productoRepository.save(productoActualizado);
@@ -126,11 +175,12 @@ public class ProductoService implements IProductoService {
      * Cancela un producto (solo si tiene saldo cero)
      */
     public Producto cancelarProducto(Long productoId) {
+        compensacionSaldos.consolidar(productoId);
         Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado con ID: " + productoId));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado con ID: " + productoId));
 
         if (!producto.puedeSerCancelada()) {
-            throw new IllegalStateException("Solo se pueden cancelar productos con saldo cero");
+            throw new OperacionRechazadaException("Solo se pueden cancelar productos con saldo cero");
         }
 
         // Eliminar todas las transacciones asociadas al producto
@@ -143,8 +193,9 @@ public class ProductoService implements IProductoService {
      * Actualiza el saldo de un producto
      */
     public Producto actualizarSaldo(Long productoId, BigDecimal nuevoSaldo) {
+        compensacionSaldos.consolidar(productoId);
         Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado con ID: " + productoId));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado con ID: " + productoId));
 
         Producto productoActualizado = producto.actualizarSaldo(nuevoSaldo);
         return productoRepository.save(productoActualizado);
@@ -155,8 +206,8 @@ public class ProductoService implements IProductoService {
      */
     @Transactional(readOnly = true)
     public boolean puedeRealizarTransaccion(Long productoId, BigDecimal monto, TipoTransaccion tipoTransaccion) {
-        Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado con ID: " + productoId));
+        Producto producto = compensacionSaldos.leerConSaldoPendiente(productoId, productoRepository::findById)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado con ID: " + productoId));
 
         return producto.puedeRealizarTransaccion(monto, tipoTransaccion);
     }
@@ -165,12 +216,13 @@ public class ProductoService implements IProductoService {
      * Elimina un producto
      */
     public void eliminarProducto(Long productoId) {
+        compensacionSaldos.consolidar(productoId);
         Producto producto = productoRepository.findById(productoId)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado con ID: " + productoId));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado con ID: " + productoId));
 
         // Verificar que no tenga saldo
         if (!producto.puedeSerCancelada()) {
-            throw new IllegalStateException("No se puede eliminar un producto con saldo diferente a cero");
+            throw new OperacionRechazadaException("No se puede eliminar un producto con saldo diferente a cero");
         }
 
         // Eliminar transacciones asociadas
@@ -194,8 +246,8 @@ public class ProductoService implements IProductoService {
      */
     @Transactional(readOnly = true)
     public Producto validarExistenciaProducto(Long productoId) {
-        return productoRepository.findById(productoId)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado con ID: " + productoId));
+        return compensacionSaldos.leerConSaldoPendiente(productoId, productoRepository::findById)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado con ID: " + productoId));
     }
 
     /**
@@ -204,6 +256,6 @@ public class ProductoService implements IProductoService {
     @Transactional(readOnly = true)
     public Producto validarExistenciaProductoPorNumeroCuenta(String numeroCuenta) {
         return buscarProductoPorNumeroCuenta(numeroCuenta)
-                .orElseThrow(() -> new IllegalArgumentException("Producto no encontrado con número de cuenta: " + numeroCuenta));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Producto no encontrado con número de cuenta: " + numeroCuenta));
     }
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IResumenClienteService;
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ClienteRepository;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.ResumenClienteRepository;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Vista 360 de un cliente: el cliente, sus productos con saldo y los últimos movimientos de cada producto.
+ * Se arma con un número fijo de consultas por conjunto (cliente, productos del cliente y últimos movimientos
+ * de todas sus cuentas a la vez), sin importar cuántos productos tenga. El resultado se guarda en caché junto
+ * con la huella de versión del cliente y sus cuentas; cada consulta solo verifica la huella y vuelve a armar
+ * el resumen cuando alguna cuenta cambió. Los saldos pendientes de compensación se aplican al responder.
+ */
+@Service
+public class ResumenClienteService implements IResumenClienteService {
+
+    static final int MAXIMO_MOVIMIENTOS = 100;
+
+    private final ClienteRepository clienteRepository;
+    private final ProductoRepository productoRepository;
+    private final ResumenClienteRepository resumenRepository;
+    private final CompensacionSaldosService compensacionSaldos;
+    private final int movimientosPorDefecto;
+    private final Map<Clave, EntradaCache> cache;
+
+    public ResumenClienteService(ClienteRepository clienteRepository,
+                                 ProductoRepository productoRepository,
+                                 ResumenClienteRepository resumenRepository,
+                                 CompensacionSaldosService compensacionSaldos,
+                                 @Value("${banking.resumen-cliente.movimientos:10}") int movimientosPorDefecto,
+                                 @Value("${banking.resumen-cliente.maximo-entradas:10000}") int maximoEntradas) {
+        this.clienteRepository = clienteRepository;
+        this.productoRepository = productoRepository;
+        this.resumenRepository = resumenRepository;
+        this.compensacionSaldos = compensacionSaldos;
+        this.movimientosPorDefecto = movimientosPorDefecto;
+        // LRU acotado: los clientes consultados con frecuencia se mantienen, el resto se descarta
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Clave, EntradaCache> mayor) {
+                return size() > maximoEntradas;
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResumenCliente> resumen(Long clienteId, Integer movimientosPorCuenta) {
+        int porCuenta = movimientosPorCuenta != null ? movimientosPorCuenta : movimientosPorDefecto;
+        if (porCuenta < 0 || porCuenta > MAXIMO_MOVIMIENTOS) {
+            throw new SolicitudInvalidaException(
+                    "Los movimientos por cuenta deben estar entre 0 y " + MAXIMO_MOVIMIENTOS);
+        }
+
+        // La huella se lee antes que los datos: un cambio intermedio solo provoca otra recarga en la siguiente consulta
+        Optional<String> version = resumenRepository.version(clienteId);
+        Clave clave = new Clave(clienteId, porCuenta);
+        if (version.isEmpty()) {
+            cache.remove(clave);
+            return Optional.empty();
+        }
+
+        EntradaCache entrada = cache.get(clave);
+        if (entrada == null || !entrada.version().equals(version.get())) {
+            Optional<ResumenCliente> cargado = cargar(clienteId, porCuenta, version.get());
+            if (cargado.isEmpty()) {
+                cache.remove(clave);
+                return Optional.empty();
+            }
+            entrada = new EntradaCache(version.get(), cargado.get());
+            cache.put(clave, entrada);
+        }
+        return Optional.of(conSaldosVigentes(entrada.resumen()));
+    }
+
+    private Optional<ResumenCliente> cargar(Long clienteId, int porCuenta, String version) {
+        Optional<Cliente> cliente = clienteRepository.findById(clienteId);
+        if (cliente.isEmpty()) {
+            return Optional.empty();
+        }
+        List<Producto> productos = productoRepository.findByClienteId(clienteId);
+
+        Map<Long, List<Transaccion>> movimientosPorCuenta = new HashMap<>();
+        if (porCuenta > 0 && !productos.isEmpty()) {
+            List<Long> cuentaIds = productos.stream().map(Producto::getId).toList();
+            for (Transaccion movimiento : resumenRepository.ultimosMovimientos(cuentaIds, porCuenta)) {
+                movimientosPorCuenta.computeIfAbsent(movimiento.getCuentaOrigenId(), id -> new ArrayList<>())
+                        .add(movimiento);
+            }
+        }
+
+        List<CuentaResumen> cuentas = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            cuentas.add(new CuentaResumen(producto,
+                    List.copyOf(movimientosPorCuenta.getOrDefault(producto.getId(), List.of()))));
+        }
+        return Optional.of(new ResumenCliente(cliente.get(), List.copyOf(cuentas), version));
+    }
+
+    private ResumenCliente conSaldosVigentes(ResumenCliente resumen) {
+        List<CuentaResumen> cuentas = new ArrayList<>(resumen.getCuentas().size());
+        for (CuentaResumen cuenta : resumen.getCuentas()) {
+            cuentas.add(new CuentaResumen(compensacionSaldos.conSaldoPendiente(cuenta.getProducto()),
+                    cuenta.getUltimosMovimientos()));
+        }
+        return new ResumenCliente(resumen.getCliente(), cuentas, resumen.getVersion());
+    }
+
+    private record Clave(Long clienteId, int movimientosPorCuenta) {
+    }
+
+    private record EntradaCache(String version, ResumenCliente resumen) {
+    }
+
+    public static class CuentaResumen {
+        private final Producto producto;
+        private final List<Transaccion> ultimosMovimientos;
+
+        public CuentaResumen(Producto producto, List<Transaccion> ultimosMovimientos) {
+            this.producto = producto;
+            this.ultimosMovimientos = ultimosMovimientos;
+        }
+
+        // Getters
+        public Producto getProducto() { return producto; }
+        public List<Transaccion> getUltimosMovimientos() { return ultimosMovimientos; }
+    }
+
+    public static class ResumenCliente {
+        private final Cliente cliente;
+        private final List<CuentaResumen> cuentas;
+        private final String version;
+
+        public ResumenCliente(Cliente cliente, List<CuentaResumen> cuentas, String version) {
+            this.cliente = cliente;
+            this.cuentas = cuentas;
+            this.version = version;
+        }
+
+        // Getters
+        public Cliente getCliente() { return cliente; }
+        public List<CuentaResumen> getCuentas() { return cuentas; }
+        // Huella interna de la caché; al cliente le llega como ETag, no en el cuerpo
+        @JsonIgnore
+        public String getVersion() { return version; }
+    }
+}
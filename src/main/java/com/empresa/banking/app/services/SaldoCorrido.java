@@ -0,0 +1,33 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Transaccion;
+
+/**
+ * Saldo corrido de un estado de cuenta, desde el saldo anterior del primer movimiento del periodo
+ */
+final class SaldoCorrido {
+
+    private Money actual;
+    private long movimientos;
+
+    Money aplicar(Transaccion movimiento) {
+        if (actual == null) {
+            actual = movimiento.saldoAnterior() != null ? movimiento.saldoAnterior() : Money.CERO;
+        }
+        actual = movimiento.esDebito() ? actual.minus(movimiento.monto()) : actual.plus(movimiento.monto());
+        movimientos++;
+        return actual;
+    }
+
+    /**
+     * Saldo tras el último movimiento, o nulo si no hubo movimientos
+     */
+    Money actual() {
+        return actual;
+    }
+
+    long movimientos() {
+        return movimientos;
+    }
+}
@@ -0,0 +1,53 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Numera los movimientos nuevos dentro de su cuenta origen (1, 2, 3...) justo antes de guardarlos, con una sola
+ * reserva por lote. Los números no se saltan: un hueco en el feed de cambios solo puede venir de un borrado.
+ */
+final class SecuenciasMovimientos {
+
+    private SecuenciasMovimientos() {
+    }
+
+    static Transaccion numerar(TransaccionRepository transaccionRepository, Transaccion transaccion) {
+        return numerar(transaccionRepository, List.of(transaccion)).get(0);
+    }
+
+    /**
+     * Devuelve los movimientos con su secuencia, en el mismo orden; dentro de una cuenta se numeran en ese orden
+     */
+    static List<Transaccion> numerar(TransaccionRepository transaccionRepository, List<Transaccion> transacciones) {
+        Map<Long, Integer> cantidades = new TreeMap<>();
+        for (Transaccion transaccion : transacciones) {
+            cantidades.merge(transaccion.getCuentaOrigenId(), 1, Integer::sum);
+        }
+
+        Map<Long, Long> ultimas = transaccionRepository.reservarSecuencias(cantidades);
+        Map<Long, Long> siguientes = new HashMap<>(cantidades.size() * 2);
+        cantidades.forEach((cuentaId, cantidad) -> {
+            Long ultima = ultimas.get(cuentaId);
+            // Numerar desde 1 sin reserva repetiría números ya asignados en la cuenta
+            if (ultima == null) {
+                throw new IllegalStateException("No se reservó la secuencia de la cuenta " + cuentaId);
+            }
+            siguientes.put(cuentaId, ultima - cantidad + 1);
+        });
+
+        List<Transaccion> numeradas = new ArrayList<>(transacciones.size());
+        for (Transaccion transaccion : transacciones) {
+            long secuencia = siguientes.get(transaccion.getCuentaOrigenId());
+            siguientes.put(transaccion.getCuentaOrigenId(), secuencia + 1);
+            numeradas.add(transaccion.conSecuencia(secuencia));
+        }
+        return numeradas;
+    }
+}
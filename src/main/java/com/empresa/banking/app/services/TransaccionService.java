@@ -1,91 +1,152 @@
 package com.empresa.banking.app.services;
 
 import com.empresa.banking.app.interfaces.ITransaccionService;
+import com.empresa.banking.app.services.GmfService.LiquidacionGmf;
 import com.empresa.banking.domain.entities.*;
 import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.exceptions.RecursoNoEncontradoException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
 import com.empresa.banking.domain.repositories.ProductoRepository;
 import com.empresa.banking.domain.repositories.TransaccionRepository;
+import com.empresa.banking.infrastructure.controllers.TransaccionController;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class TransaccionService implements ITransaccionService {
 
+    private static final int TAMANO_LOTE_DISPERSION = 1000;
+    // Una dispersión es una sola transacción que bloquea todas sus cuentas hasta el commit;
+    // las nóminas más grandes se envían partidas en varias dispersiones
+    public static final int MAXIMO_PAGOS_DISPERSION = 100_000;
+    private static final int LIMITE_CAMBIOS_DEFECTO = 100;
+    private static final int LIMITE_CAMBIOS_MAXIMO = 1000;
+
+    // Campos del estado de cuenta que se pueden pedir por separado (parámetro fields)
+    private static final Map<String, Function<EstadoCuentaDto, Object>> CAMPOS_ESTADO_CUENTA = new LinkedHashMap<>();
+
+    static {
+        CAMPOS_ESTADO_CUENTA.put("cuentaId", EstadoCuentaDto::getCuentaId);
+        CAMPOS_ESTADO_CUENTA.put("numeroCuenta", EstadoCuentaDto::getNumeroCuenta);
+        CAMPOS_ESTADO_CUENTA.put("tipoCuenta", EstadoCuentaDto::getTipoCuenta);
+        CAMPOS_ESTADO_CUENTA.put("estado", EstadoCuentaDto::getEstado);
+        CAMPOS_ESTADO_CUENTA.put("saldoActual", EstadoCuentaDto::getSaldoActual);
+        CAMPOS_ESTADO_CUENTA.put("fechaCreacion", EstadoCuentaDto::getFechaCreacion);
+        CAMPOS_ESTADO_CUENTA.put("transacciones", EstadoCuentaDto::getTransacciones);
+    }
+
     private final TransaccionRepository transaccionRepository;
     private final ProductoRepository productoRepository;
+    private final CompensacionSaldosService compensacionSaldos;
+    private final GmfService gmfService;
+    private final LimitesMovimientoService limitesMovimiento;
+    private final EventosSaldoService eventosSaldo;
 
     public TransaccionService(TransaccionRepository transaccionRepository,
-                              ProductoRepository productoRepository) {
+                              ProductoRepository productoRepository,
+                              CompensacionSaldosService compensacionSaldos,
+                              GmfService gmfService,
+                              LimitesMovimientoService limitesMovimiento,
+                              EventosSaldoService eventosSaldo) {
         this.transaccionRepository = transaccionRepository;
         this.productoRepository = productoRepository;
+        this.compensacionSaldos = compensacionSaldos;
+        this.gmfService = gmfService;
+        this.limitesMovimiento = limitesMovimiento;
+        this.eventosSaldo = eventosSaldo;
     }
 
     /**
      * Realiza una consignación
      */
     public Transaccion realizarConsignacion(Long cuentaId, BigDecimal monto, String descripcion) {
+        compensacionSaldos.bloquear(List.of(cuentaId));
         Producto cuenta = validarCuenta(cuentaId);
 
         if (!cuenta.estaActiva()) {
-            throw new IllegalStateException("No se puede realizar transacciones en una cuenta inactiva");
+            throw new OperacionRechazadaException("No se puede realizar transacciones en una cuenta inactiva");
         }
 
-        BigDecimal saldoAnterior = cuenta.getSaldo();
-        BigDecimal nuevoSaldo = saldoAnterior.add(monto);
+        Money importe = Money.of(monto);
+        Money saldoAnterior = cuenta.saldo();
+        Money nuevoSaldo = saldoAnterior.plus(importe);
 
         // Actualizar saldo de la cuenta
         Producto cuentaActualizada = cuenta.actualizarSaldo(nuevoSaldo);
-        productoRepository.save(cuentaActualizada);
+        registrarSaldo(cuentaActualizada, importe);
 
         // Crear y guardar la transacción
         Transaccion transaccion = Transaccion.crear(
                 TipoTransaccion.CONSIGNACION,
-                monto,
+                importe,
                 cuentaId,
                 null, // No hay cuenta destino en consignaciones
                 descripcion != null ? descripcion : "Consignación"
         );
 
         transaccion = transaccion.conSaldos(saldoAnterior, nuevoSaldo);
-        return transaccionRepository.save(transaccion);
+        transaccion = transaccionRepository.save(SecuenciasMovimientos.numerar(transaccionRepository, transaccion));
+        eventosSaldo.publicar(transaccion);
+        return transaccion;
     }
 
     /**
-     * Realiza un retiro
+     * Realiza un retiro, con el GMF liquidado sobre el mismo débito
      */
     public Transaccion realizarRetiro(Long cuentaId, BigDecimal monto, String descripcion) {
+        compensacionSaldos.bloquear(List.of(cuentaId));
         Producto cuenta = validarCuenta(cuentaId);
+        Money importe = Money.of(monto);
 
-        if (!cuenta.puedeRealizarTransaccion(monto, TipoTransaccion.RETIRO)) {
-            throw new IllegalStateException("No se puede realizar el retiro. Fondos insuficientes o cuenta inactiva");
+        if (!cuenta.puedeRealizarTransaccion(importe, TipoTransaccion.RETIRO)) {
+            throw new OperacionRechazadaException("No se puede realizar el retiro. Fondos insuficientes o cuenta inactiva");
         }
 
-        BigDecimal saldoAnterior = cuenta.getSaldo();
-        BigDecimal nuevoSaldo = saldoAnterior.subtract(monto);
+        LiquidacionGmf gmf = gmfService.liquidarRetiro(cuenta, importe);
+        Money totalDebito = importe.plus(gmf.impuesto());
+        if (!cuenta.puedeRealizarTransaccion(totalDebito, TipoTransaccion.RETIRO)) {
+            throw new OperacionRechazadaException("Fondos insuficientes para cubrir el retiro y el GMF");
+        }
+        limitesMovimiento.reservar(cuenta, importe);
 
-        // Actualizar saldo de la cuenta
-        Producto cuentaActualizada = cuenta.actualizarSaldo(nuevoSaldo);
-        productoRepository.save(cuentaActualizada);
+        Money saldoAnterior = cuenta.saldo();
+        Money nuevoSaldo = saldoAnterior.minus(importe);
+
+        // Actualizar saldo de la cuenta (movimiento + impuesto)
+        Producto cuentaActualizada = cuenta.actualizarSaldo(nuevoSaldo.minus(gmf.impuesto()));
+        registrarSaldo(cuentaActualizada, totalDebito.negate());
 
         // Crear y guardar la transacción
         Transaccion transaccion = Transaccion.crear(
                 TipoTransaccion.RETIRO,
-                monto,
+                importe,
                 cuentaId,
                 null, // No hay cuenta destino en retiros
                 descripcion != null ? descripcion : "Retiro"
         );
 
         transaccion = transaccion.conSaldos(saldoAnterior, nuevoSaldo);
-        return transaccionRepository.save(transaccion);
+        transaccion = transaccionRepository.save(SecuenciasMovimientos.numerar(transaccionRepository, transaccion));
+        eventosSaldo.publicar(transaccion);
+        registrarGmf(gmf, cuentaId, nuevoSaldo);
+        return transaccion;
     }
 
     /**
@@ -95,61 +156,216 @@ public class TransaccionService implements ITransaccionService {
                                                    BigDecimal monto, String descripcion) {
         // Validar que las cuentas existan y sean diferentes
         if (cuentaOrigenId.equals(cuentaDestinoId)) {
-            throw new IllegalArgumentException("La cuenta origen y destino no pueden ser iguales");
+            throw new SolicitudInvalidaException("La cuenta origen y destino no pueden ser iguales");
         }
 
+        compensacionSaldos.bloquear(List.of(cuentaOrigenId, cuentaDestinoId));
         Producto cuentaOrigen = validarCuenta(cuentaOrigenId);
         Producto cuentaDestino = validarCuenta(cuentaDestinoId);
 
         // Validar que ambas cuentas estén activas
         if (!cuentaOrigen.estaActiva() || !cuentaDestino.estaActiva()) {
-            throw new IllegalStateException("Ambas cuentas deben estar activas para realizar una transferencia");
+            throw new OperacionRechazadaException("Ambas cuentas deben estar activas para realizar una transferencia");
         }
 
         // Validar que la cuenta origen puede realizar la transferencia
-        if (!cuentaOrigen.puedeRealizarTransaccion(monto, TipoTransaccion.TRANSFERENCIA)) {
-            throw new IllegalStateException("Fondos insuficientes en la cuenta origen");
+        Money importe = Money.of(monto);
+        if (!cuentaOrigen.puedeRealizarTransaccion(importe, TipoTransaccion.TRANSFERENCIA)) {
+            throw new OperacionRechazadaException("Fondos insuficientes en la cuenta origen");
+        }
+
+        LiquidacionGmf gmf = gmfService.liquidarTransferencia(cuentaOrigen, cuentaDestino, importe);
+        Money totalDebito = importe.plus(gmf.impuesto());
+        if (!cuentaOrigen.puedeRealizarTransaccion(totalDebito, TipoTransaccion.TRANSFERENCIA)) {
+            throw new OperacionRechazadaException("Fondos insuficientes en la cuenta origen para cubrir el GMF");
         }
+        limitesMovimiento.reservar(cuentaOrigen, importe);
 
-        // Realizar débito en cuenta origen
-        BigDecimal saldoAnteriorOrigen = cuentaOrigen.getSaldo();
-        BigDecimal nuevoSaldoOrigen = saldoAnteriorOrigen.subtract(monto);
+        // Realizar débito en cuenta origen (movimiento + impuesto)
+        Money saldoAnteriorOrigen = cuentaOrigen.saldo();
+        Money nuevoSaldoOrigen = saldoAnteriorOrigen.minus(importe);
 
-        Producto cuentaOrigenActualizada = cuentaOrigen.actualizarSaldo(nuevoSaldoOrigen);
-        productoRepository.save(cuentaOrigenActualizada);
+        Producto cuentaOrigenActualizada = cuentaOrigen.actualizarSaldo(nuevoSaldoOrigen.minus(gmf.impuesto()));
+        registrarSaldo(cuentaOrigenActualizada, totalDebito.negate());
 
         // Realizar crédito en cuenta destino
-        BigDecimal saldoAnteriorDestino = cuentaDestino.getSaldo();
-        BigDecimal nuevoSaldoDestino = saldoAnteriorDestino.add(monto);
+        Money saldoAnteriorDestino = cuentaDestino.saldo();
+        Money nuevoSaldoDestino = saldoAnteriorDestino.plus(importe);
 
         Producto cuentaDestinoActualizada = cuentaDestino.actualizarSaldo(nuevoSaldoDestino);
-        productoRepository.save(cuentaDestinoActualizada);
+        registrarSaldo(cuentaDestinoActualizada, importe);
 
         // Crear transacción de débito (cuenta origen)
         Transaccion transaccionDebito = Transaccion.crear(
                 TipoTransaccion.TRANSFERENCIA,
-                monto,
+                importe,
                 cuentaOrigenId,
                 cuentaDestinoId,
                 descripcion != null ? descripcion : "Transferencia enviada"
         );
         transaccionDebito = transaccionDebito.conSaldos(saldoAnteriorOrigen, nuevoSaldoOrigen);
-        transaccionDebito = transaccionRepository.save(transaccionDebito);
 
         // Crear transacción de crédito (cuenta destino)
         Transaccion transaccionCredito = Transaccion.crear(
                 TipoTransaccion.CONSIGNACION,
-                monto,
+                importe,
                 cuentaDestinoId,
                 cuentaOrigenId,
                 descripcion != null ? ("Transferencia recibida: " + descripcion) : "Transferencia recibida"
         );
         transaccionCredito = transaccionCredito.conSaldos(saldoAnteriorDestino, nuevoSaldoDestino);
-        transaccionCredito = transaccionRepository.save(transaccionCredito);
 
+        // Una sola reserva de secuencias para las dos cuentas
+        List<Transaccion> numeradas = SecuenciasMovimientos.numerar(transaccionRepository,
+                List.of(transaccionDebito, transaccionCredito));
+        transaccionDebito = transaccionRepository.save(numeradas.get(0));
+        transaccionCredito = transaccionRepository.save(numeradas.get(1));
+        eventosSaldo.publicar(List.of(transaccionDebito, transaccionCredito));
+
+        registrarGmf(gmf, cuentaOrigenId, nuevoSaldoOrigen);
         return List.of(transaccionDebito, transaccionCredito);
     }
 
+    /**
+     * Realiza una dispersión de pagos (nómina): un débito agregado en la cuenta origen
+     * y un crédito por beneficiario. Los pagos inválidos se reportan sin detener la dispersión.
+     */
+    public ResultadoDispersion realizarDispersion(TransaccionController.DispersionRequest request) {
+        List<TransaccionController.PagoDispersion> pagos = request.getPagos();
+        if (pagos == null || pagos.isEmpty()) {
+            throw new SolicitudInvalidaException("La dispersión debe incluir al menos un pago");
+        }
+        if (pagos.size() > MAXIMO_PAGOS_DISPERSION) {
+            throw new SolicitudInvalidaException("La dispersión admite como máximo " + MAXIMO_PAGOS_DISPERSION + " pagos");
+        }
+
+        Long cuentaOrigenId = request.getCuentaOrigenId();
+        TreeSet<Long> idsCuentas = new TreeSet<>();
+        idsCuentas.add(cuentaOrigenId);
+        for (TransaccionController.PagoDispersion pago : pagos) {
+            if (pago.getCuentaDestinoId() != null) {
+                idsCuentas.add(pago.getCuentaDestinoId());
+            }
+        }
+        compensacionSaldos.bloquear(idsCuentas);
+
+        // Origen y destinos se bloquean juntos en una sola pasada por ID ascendente
+        Map<Long, Producto> cuentas = cargarCuentas(idsCuentas);
+        Producto cuentaOrigen = cuentas.get(cuentaOrigenId);
+        if (cuentaOrigen == null) {
+            throw new RecursoNoEncontradoException("Cuenta no encontrada con ID: " + cuentaOrigenId);
+        }
+
+        if (!cuentaOrigen.estaActiva()) {
+            throw new OperacionRechazadaException("La cuenta origen debe estar activa para realizar una dispersión");
+        }
+
+        // Validar cada pago y calcular el total aceptado
+        List<Integer> aceptados = new ArrayList<>();
+        List<PagoRechazado> rechazados = new ArrayList<>();
+        Money total = Money.CERO;
+
+        for (int linea = 0; linea < pagos.size(); linea++) {
+            TransaccionController.PagoDispersion pago = pagos.get(linea);
+            String motivo = validarPago(pago, cuentaOrigenId, cuentas);
+            if (motivo != null) {
+                rechazados.add(new PagoRechazado(linea, pago.getCuentaDestinoId(), pago.getMonto(), motivo));
+            } else {
+                aceptados.add(linea);
+                total = total.plus(Money.of(pago.getMonto()));
+            }
+        }
+
+        if (aceptados.isEmpty()) {
+            return new ResultadoDispersion(cuentaOrigenId, null, BigDecimal.ZERO, 0, rechazados);
+        }
+
+        // GMF de los pagos a cuentas de otros clientes, como en una transferencia por cada pago
+        List<Money> gravados = new ArrayList<>();
+        for (Integer linea : aceptados) {
+            TransaccionController.PagoDispersion pago = pagos.get(linea);
+            if (!cuentaOrigen.getClienteId().equals(cuentas.get(pago.getCuentaDestinoId()).getClienteId())) {
+                gravados.add(Money.of(pago.getMonto()));
+            }
+        }
+        LiquidacionGmf gmf = gravados.isEmpty()
+                ? LiquidacionGmf.sinCargo()
+                : gmfService.liquidarDebitos(cuentaOrigen, gravados);
+        Money totalDebito = total.plus(gmf.impuesto());
+
+        // Validación única de fondos para el total con su GMF
+        if (!cuentaOrigen.puedeRealizarTransaccion(totalDebito, TipoTransaccion.TRANSFERENCIA)) {
+            throw new OperacionRechazadaException("Fondos insuficientes en la cuenta origen para el total de la dispersión");
+        }
+        // Una reserva por el débito agregado: es el mismo movimiento que queda en el diario y que reconstruir cuenta
+        limitesMovimiento.reservar(cuentaOrigen, total);
+
+        String concepto = request.getDescripcion() != null ? request.getDescripcion() : "Dispersión de pagos";
+
+        // Débito agregado en la cuenta origen (pagos + impuesto)
+        Money saldoAnteriorOrigen = cuentaOrigen.saldo();
+        Money nuevoSaldoOrigen = saldoAnteriorOrigen.minus(total);
+        registrarSaldo(cuentaOrigen.actualizarSaldo(nuevoSaldoOrigen.minus(gmf.impuesto())), totalDebito.negate());
+
+        Transaccion debito = Transaccion.crear(
+                TipoTransaccion.RETIRO,
+                total,
+                cuentaOrigenId,
+                null,
+                concepto + " (" + aceptados.size() + " pagos)"
+        );
+        debito = transaccionRepository.save(SecuenciasMovimientos.numerar(transaccionRepository,
+                debito.conSaldos(saldoAnteriorOrigen, nuevoSaldoOrigen)));
+        eventosSaldo.publicar(debito);
+        registrarGmf(gmf, cuentaOrigenId, nuevoSaldoOrigen);
+
+        // Créditos ordenados por cuenta destino, aplicados por lotes
+        aceptados.sort(Comparator.comparing(linea -> pagos.get(linea).getCuentaDestinoId()));
+        Map<Long, Money> saldosDestino = new HashMap<>();
+        cuentas.forEach((id, cuenta) -> saldosDestino.put(id, cuenta.saldo()));
+
+        for (int inicio = 0; inicio < aceptados.size(); inicio += TAMANO_LOTE_DISPERSION) {
+            List<Integer> lote = aceptados.subList(inicio, Math.min(inicio + TAMANO_LOTE_DISPERSION, aceptados.size()));
+            Map<Long, Money> deltas = new HashMap<>();
+            List<Transaccion> creditos = new ArrayList<>(lote.size());
+
+            for (Integer linea : lote) {
+                TransaccionController.PagoDispersion pago = pagos.get(linea);
+                Long cuentaDestinoId = pago.getCuentaDestinoId();
+                Money importe = Money.of(pago.getMonto());
+                Money saldoAnterior = saldosDestino.get(cuentaDestinoId);
+                Money saldoNuevo = saldoAnterior.plus(importe);
+                saldosDestino.put(cuentaDestinoId, saldoNuevo);
+
+                Transaccion credito = Transaccion.crear(
+                        TipoTransaccion.CONSIGNACION,
+                        importe,
+                        cuentaDestinoId,
+                        cuentaOrigenId,
+                        "Dispersión recibida: " + concepto
+                );
+                creditos.add(credito.conSaldos(saldoAnterior, saldoNuevo));
+
+                if (compensacionSaldos.esCuentaCompensada(cuentaDestinoId)) {
+                    compensacionSaldos.acumular(cuentaDestinoId, importe.toBigDecimal());
+                } else {
+                    deltas.merge(cuentaDestinoId, importe, Money::plus);
+                }
+            }
+
+            if (!deltas.isEmpty()) {
+                Map<Long, BigDecimal> deltasPersistencia = new HashMap<>(deltas.size() * 2);
+                deltas.forEach((id, delta) -> deltasPersistencia.put(id, delta.toBigDecimal()));
+                productoRepository.ajustarSaldos(deltasPersistencia);
+            }
+            List<Transaccion> numerados = SecuenciasMovimientos.numerar(transaccionRepository, creditos);
+            transaccionRepository.saveAll(numerados);
+            eventosSaldo.publicar(numerados);
+        }
+
+        return new ResultadoDispersion(cuentaOrigenId, debito.getId(), total.toBigDecimal(), aceptados.size(), rechazados);
+    }
+
     /**
      * Obtiene el historial de transacciones de una cuenta
      */
@@ -159,6 +375,45 @@ public class TransaccionService implements ITransaccionService {
         return transaccionRepository.findByAccountNumber(cuentaId);
     }
 
+    /**
+     * Movimientos de la cuenta con secuencia mayor a desde, para sincronización incremental. Los números de una
+     * cuenta son consecutivos y se hacen visibles en orden, así que un número ausente en el rango devuelto solo
+     * puede ser un movimiento borrado y se informa en faltantes. El cliente sigue con desde = hasta.
+     */
+    @Transactional(readOnly = true)
+    public CambiosCuentaDto consultarCambios(Long cuentaId, long desde, Integer limite) {
+        if (desde < 0) {
+            throw new SolicitudInvalidaException("El parámetro desde no puede ser negativo");
+        }
+        int filas = limite != null ? limite : LIMITE_CAMBIOS_DEFECTO;
+        if (filas < 1 || filas > LIMITE_CAMBIOS_MAXIMO) {
+            throw new SolicitudInvalidaException("El límite debe estar entre 1 y " + LIMITE_CAMBIOS_MAXIMO);
+        }
+        validarCuenta(cuentaId);
+
+        // La última secuencia se lee antes que los movimientos: todo número hasta ella ya está confirmado
+        long ultima = transaccionRepository.ultimaSecuencia(cuentaId);
+        List<Transaccion> transacciones = transaccionRepository.findCambios(cuentaId, desde, filas);
+
+        long hasta = desde;
+        List<Long> faltantes = new ArrayList<>();
+        for (Transaccion transaccion : transacciones) {
+            for (long numero = hasta + 1; numero < transaccion.getSecuencia(); numero++) {
+                faltantes.add(numero);
+            }
+            hasta = transaccion.getSecuencia();
+        }
+        // Página incompleta: los números que quedan hasta la última también son movimientos borrados
+        if (transacciones.size() < filas) {
+            for (long numero = hasta + 1; numero <= ultima; numero++) {
+                faltantes.add(numero);
+            }
+            hasta = Math.max(hasta, ultima);
+        }
+
+        return new CambiosCuentaDto(cuentaId, desde, hasta, Math.max(ultima, hasta), faltantes, transacciones);
+    }
+
     /**
      * Busca una transacción por ID
      */
@@ -167,6 +422,14 @@ public class TransaccionService implements ITransaccionService {
         return transaccionRepository.findById(transaccionId);
     }
 
+    /**
+     * Busca varias transacciones por ID con una sola consulta
+     */
+    @Transactional(readOnly = true)
+    public ConsultaPorIds<Transaccion> buscarTransaccionesPorIds(List<Long> ids) {
+        return ConsultaPorIds.resolver(ids, transaccionRepository::findAllById, Transaccion::getId);
+    }
+
     /**
      * Obtiene todas las transacciones
      */
@@ -183,6 +446,29 @@ public class TransaccionService implements ITransaccionService {
         Producto cuenta = validarCuenta(cuentaId);
         List<Transaccion> transacciones = transaccionRepository.findByAccountNumber(cuentaId);
 
+        return estadoCuenta(cuenta, transacciones);
+    }
+
+    /**
+     * Estado de cuenta con solo los campos indicados (parámetro fields). El historial, que es lo costoso,
+     * solo se consulta si se pide el campo transacciones
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> consultarEstadoCuenta(Long cuentaId, String campos) {
+        Set<String> solicitados = CamposSolicitados.resolver(campos,
+                nombre -> Optional.of(nombre).filter(CAMPOS_ESTADO_CUENTA::containsKey),
+                CAMPOS_ESTADO_CUENTA.keySet());
+        Producto cuenta = validarCuenta(cuentaId);
+        List<Transaccion> transacciones = solicitados.contains("transacciones")
+                ? transaccionRepository.findByAccountNumber(cuentaId)
+                : List.of();
+
+        EstadoCuentaDto estadoCuenta = estadoCuenta(cuenta, transacciones);
+        return CamposSolicitados.seleccionar(solicitados, Function.identity(),
+                nombre -> CAMPOS_ESTADO_CUENTA.get(nombre).apply(estadoCuenta));
+    }
+
+    private static EstadoCuentaDto estadoCuenta(Producto cuenta, List<Transaccion> transacciones) {
         return new EstadoCuentaDto(
                 cuenta.getId(),
                 cuenta.getNumeroCuenta(),
@@ -199,7 +485,7 @@ public class TransaccionService implements ITransaccionService {
      */
     public void eliminarTransaccion(Long transaccionId) {
         Transaccion transaccion = transaccionRepository.findById(transaccionId)
-                .orElseThrow(() -> new IllegalArgumentException("Transacción no encontrada con ID: " + transaccionId));
+                .orElseThrow(() -> new RecursoNoEncontradoException("Transacción no encontrada con ID: " + transaccionId));
 
         // Nota: En un sistema bancario real, las transacciones no se eliminan sino que se reversan
         // Esta funcionalidad debe usarse con extrema precaución
@@ -210,8 +496,109 @@ public class TransaccionService implements ITransaccionService {
      * Valida que una cuenta existe y la devuelve
      */
     private Producto validarCuenta(Long cuentaId) {
-        return productoRepository.findById(cuentaId)
-                .orElseThrow(() -> new IllegalArgumentException("Cuenta no encontrada con ID: " + cuentaId));
+        return compensacionSaldos.leerConSaldoPendiente(cuentaId, productoRepository::findById)
+                .orElseThrow(() -> new RecursoNoEncontradoException("Cuenta no encontrada con ID: " + cuentaId));
+    }
+
+    /**
+     * Carga y bloquea las cuentas indicadas por lotes ascendentes, con una consulta IN por lote: los saldos
+     * anteriores de los créditos no cambian hasta el commit
+     */
+    private Map<Long, Producto> cargarCuentas(TreeSet<Long> ids) {
+        Map<Long, Producto> cuentas = new HashMap<>();
+        List<Producto> leidas = compensacionSaldos.leerTodasConSaldoPendiente(new ArrayList<>(ids), pendientes -> {
+            List<Producto> lotes = new ArrayList<>(pendientes.size());
+            for (int inicio = 0; inicio < pendientes.size(); inicio += TAMANO_LOTE_DISPERSION) {
+                List<Long> lote = pendientes.subList(inicio, Math.min(inicio + TAMANO_LOTE_DISPERSION, pendientes.size()));
+                lotes.addAll(productoRepository.findAllByIdForUpdate(lote));
+            }
+            return lotes;
+        });
+        for (Producto cuenta : leidas) {
+            cuentas.put(cuenta.getId(), cuenta);
+        }
+        return cuentas;
+    }
+
+    /**
+     * Valida un pago de dispersión y devuelve el motivo de rechazo, o null si es válido
+     */
+    private String validarPago(TransaccionController.PagoDispersion pago, Long cuentaOrigenId,
+                               Map<Long, Producto> cuentasDestino) {
+        if (pago.getCuentaDestinoId() == null) {
+            return "La cuenta destino es obligatoria";
+        }
+        if (pago.getMonto() == null || Money.of(pago.getMonto()).signum() <= 0) {
+            return "El monto debe ser mayor a cero";
+        }
+        if (pago.getCuentaDestinoId().equals(cuentaOrigenId)) {
+            return "La cuenta origen y destino no pueden ser iguales";
+        }
+
+        Producto cuentaDestino = cuentasDestino.get(pago.getCuentaDestinoId());
+        if (cuentaDestino == null) {
+            return "Cuenta no encontrada con ID: " + pago.getCuentaDestinoId();
+        }
+        if (!cuentaDestino.estaActiva()) {
+            return "La cuenta destino debe estar activa";
+        }
+        return null;
+    }
+
+    /**
+     * Suma el débito al acumulado mensual de GMF y, si hubo impuesto, inserta su asiento por el camino de lotes
+     * (su saldo es el final de la cuenta, así que también se publica)
+     */
+    private void registrarGmf(LiquidacionGmf gmf, Long cuentaId, Money saldoTrasMovimiento) {
+        gmfService.registrar(gmf);
+        if (gmf.tieneImpuesto()) {
+            Transaccion asiento = SecuenciasMovimientos.numerar(transaccionRepository,
+                    gmfService.crearAsiento(gmf, cuentaId, saldoTrasMovimiento));
+            transaccionRepository.saveAll(List.of(asiento));
+            eventosSaldo.publicar(asiento);
+        }
+    }
+
+    /**
+     * Persiste el nuevo saldo, o lo acumula como delta si la cuenta opera en modo compensación
+     */
+    private void registrarSaldo(Producto cuentaActualizada, Money delta) {
+        if (compensacionSaldos.esCuentaCompensada(cuentaActualizada.getId())) {
+            compensacionSaldos.acumular(cuentaActualizada.getId(), delta.toBigDecimal());
+        } else {
+            productoRepository.save(cuentaActualizada);
+        }
+    }
+
+    /**
+     * DTO del feed de cambios de una cuenta
+     */
+    public static class CambiosCuentaDto {
+        private final Long cuentaId;
+        private final long desde;
+        private final long hasta;
+        private final long ultimaSecuencia;
+        private final List<Long> faltantes;
+        private final List<Transaccion> transacciones;
+
+        public CambiosCuentaDto(Long cuentaId, long desde, long hasta, long ultimaSecuencia,
+                                List<Long> faltantes, List<Transaccion> transacciones) {
+            this.cuentaId = cuentaId;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.ultimaSecuencia = ultimaSecuencia;
+            this.faltantes = faltantes;
+            this.transacciones = transacciones;
+        }
+
+        // Getters
+        public Long getCuentaId() { return cuentaId; }
+        public long getDesde() { return desde; }
+        public long getHasta() { return hasta; }
+        public long getUltimaSecuencia() { return ultimaSecuencia; }
+        public List<Long> getFaltantes() { return faltantes; }
+        public List<Transaccion> getTransacciones() { return transacciones; }
+        public boolean isHayMas() { return hasta < ultimaSecuencia; }
     }
 
     /**
@@ -247,4 +634,54 @@ public class TransaccionService implements ITransaccionService {
         public LocalDateTime getFechaCreacion() { return fechaCreacion; }
         public List<Transaccion> getTransacciones() { return transacciones; }
     }
+
+    /**
+     * Resultado de una dispersión de pagos
+     */
+    public static class ResultadoDispersion {
+        private final Long cuentaOrigenId;
+        private final Long transaccionDebitoId;
+        private final BigDecimal totalDebitado;
+        private final int pagosAplicados;
+        private final List<PagoRechazado> pagosRechazados;
+
+        public ResultadoDispersion(Long cuentaOrigenId, Long transaccionDebitoId, BigDecimal totalDebitado,
+                                   int pagosAplicados, List<PagoRechazado> pagosRechazados) {
+            this.cuentaOrigenId = cuentaOrigenId;
+            this.transaccionDebitoId = transaccionDebitoId;
+            this.totalDebitado = totalDebitado;
+            this.pagosAplicados = pagosAplicados;
+            this.pagosRechazados = pagosRechazados;
+        }
+
+        // Getters
+        public Long getCuentaOrigenId() { return cuentaOrigenId; }
+        public Long getTransaccionDebitoId() { return transaccionDebitoId; }
+        public BigDecimal getTotalDebitado() { return totalDebitado; }
+        public int getPagosAplicados() { return pagosAplicados; }
+        public List<PagoRechazado> getPagosRechazados() { return pagosRechazados; }
+    }
+
+    /**
+     * Pago de una dispersión que no pudo aplicarse
+     */
+    public static class PagoRechazado {
+        private final int linea;
+        private final Long cuentaDestinoId;
+        private final BigDecimal monto;
+        private final String motivo;
+
+        public PagoRechazado(int linea, Long cuentaDestinoId, BigDecimal monto, String motivo) {
+            this.linea = linea;
+            this.cuentaDestinoId = cuentaDestinoId;
+            this.monto = monto;
+            this.motivo = motivo;
+        }
+
+        // Getters
+        public int getLinea() { return linea; }
+        public Long getCuentaDestinoId() { return cuentaDestinoId; }
+        public BigDecimal getMonto() { return monto; }
+        public String getMotivo() { return motivo; }
+    }
 }
\ No newline at end of file
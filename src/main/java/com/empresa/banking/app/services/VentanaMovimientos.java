@@ -0,0 +1,119 @@
+package com.empresa.banking.app.services;
+
+import java.util.Arrays;
+
+/**
+ * Monto y cantidad de débitos de una cuenta o cliente en ventanas deslizantes de una hora y de un día.
+ * Cada ventana es un anillo de cubetas de tiempo (60 de un minuto y 24 de una hora), así que la memoria
+ * por clave es constante y la consulta recorre 84 posiciones sin tocar la base de datos.
+ * Los métodos se sincronizan sobre la instancia: el bloqueo es por cuenta o por cliente, no global.
+ */
+final class VentanaMovimientos {
+
+    static final long MINUTO_MS = 60_000L;
+    static final long HORA_MS = 60 * MINUTO_MS;
+    static final long DIA_MS = 24 * HORA_MS;
+
+    private final Anillo hora = new Anillo(60, MINUTO_MS);
+    private final Anillo dia = new Anillo(24, HORA_MS);
+
+    private long ultimoMovimientoMs;
+    private boolean descartada;
+
+    synchronized Totales totales(long ahoraMs) {
+        return new Totales(hora.monto(ahoraMs), hora.cantidad(ahoraMs), dia.monto(ahoraMs), dia.cantidad(ahoraMs));
+    }
+
+    synchronized void registrar(long instanteMs, long centavos) {
+        hora.sumar(instanteMs, centavos, 1);
+        dia.sumar(instanteMs, centavos, 1);
+        ultimoMovimientoMs = Math.max(ultimoMovimientoMs, instanteMs);
+    }
+
+    /**
+     * Deshace un registro; si su cubeta ya salió de la ventana no hay nada que deshacer
+     */
+    synchronized void revertir(long instanteMs, long centavos) {
+        hora.sumar(instanteMs, -centavos, -1);
+        dia.sumar(instanteMs, -centavos, -1);
+    }
+
+    /**
+     * Marca la ventana como descartada si no tiene movimientos dentro del último día.
+     * Quien la haya obtenido del mapa antes de la purga debe volver a buscarla.
+     */
+    synchronized boolean descartarSiInactiva(long ahoraMs) {
+        if (ultimoMovimientoMs <= ahoraMs - DIA_MS) {
+            descartada = true;
+        }
+        return descartada;
+    }
+
+    synchronized boolean estaDescartada() {
+        return descartada;
+    }
+
+    record Totales(long montoHora, int cantidadHora, long montoDia, int cantidadDia) {
+    }
+
+    /**
+     * Anillo de cubetas de ancho fijo. Cada posición recuerda el número de cubeta que contiene,
+     * así una posición reutilizada se reinicia en lugar de acumular sobre datos vencidos.
+     */
+    private static final class Anillo {
+        private final long anchoMs;
+        private final long[] cubetas;
+        private final long[] montos;
+        private final int[] cantidades;
+
+        Anillo(int tamano, long anchoMs) {
+            this.anchoMs = anchoMs;
+            this.cubetas = new long[tamano];
+            this.montos = new long[tamano];
+            this.cantidades = new int[tamano];
+            Arrays.fill(cubetas, -1L);
+        }
+
+        void sumar(long instanteMs, long centavos, int cantidad) {
+            long cubeta = instanteMs / anchoMs;
+            int posicion = (int) (cubeta % cubetas.length);
+            if (cubetas[posicion] != cubeta) {
+                // Una reversión sobre una cubeta ya reciclada, o un movimiento más viejo que la ventana, se ignora
+                if (cantidad < 0 || cubetas[posicion] > cubeta) {
+                    return;
+                }
+                cubetas[posicion] = cubeta;
+                montos[posicion] = 0;
+                cantidades[posicion] = 0;
+            }
+            montos[posicion] += centavos;
+            cantidades[posicion] += cantidad;
+        }
+
+        long monto(long ahoraMs) {
+            long actual = ahoraMs / anchoMs;
+            long total = 0;
+            for (int i = 0; i < cubetas.length; i++) {
+                if (vigente(cubetas[i], actual)) {
+                    total += montos[i];
+                }
+            }
+            return total;
+        }
+
+        int cantidad(long ahoraMs) {
+            long actual = ahoraMs / anchoMs;
+            int total = 0;
+            for (int i = 0; i < cubetas.length; i++) {
+                if (vigente(cubetas[i], actual)) {
+                    total += cantidades[i];
+                }
+            }
+            return total;
+        }
+
+        private boolean vigente(long cubeta, long actual) {
+            return cubeta > actual - cubetas.length && cubeta <= actual;
+        }
+    }
+}
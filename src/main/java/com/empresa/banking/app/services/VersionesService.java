@@ -0,0 +1,127 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.interfaces.IVersionesService;
+import com.empresa.banking.domain.entities.VersionRecurso;
+import com.empresa.banking.domain.repositories.ResumenClienteRepository;
+import com.empresa.banking.domain.repositories.VersionesRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Versiones de los recursos para responder GET condicionales sin leer ni serializar el recurso.
+ * Las fechas de modificación persistidas no reflejan los deltas de compensación que aún están en memoria,
+ * así que las cuentas compensadas suman su delta pendiente a la huella y la fecha del último delta a la
+ * última modificación: un If-Modified-Since sin ETag tampoco recibe 304 con un saldo desactualizado.
+ */
+@Service
+@Transactional(readOnly = true)
+public class VersionesService implements IVersionesService {
+
+    private final VersionesRepository versionesRepository;
+    private final ResumenClienteRepository resumenRepository;
+    private final CompensacionSaldosService compensacionSaldos;
+
+    public VersionesService(VersionesRepository versionesRepository,
+                            ResumenClienteRepository resumenRepository,
+                            CompensacionSaldosService compensacionSaldos) {
+        this.versionesRepository = versionesRepository;
+        this.resumenRepository = resumenRepository;
+        this.compensacionSaldos = compensacionSaldos;
+    }
+
+    @Override
+    public Optional<VersionRecurso> cliente(Long clienteId) {
+        return versionesRepository.cliente(clienteId);
+    }
+
+    @Override
+    public Optional<VersionRecurso> producto(Long productoId) {
+        return versionesRepository.producto(productoId)
+                .map(version -> new VersionRecurso(version.getHuella() + pendiente(productoId),
+                        masReciente(version.getUltimaModificacion(), ultimoPendiente(productoId))));
+    }
+
+    @Override
+    public Optional<VersionRecurso> productosDeCliente(Long clienteId) {
+        Map<Long, LocalDateTime> modificaciones = versionesRepository.productosDeCliente(clienteId);
+        return Optional.of(new VersionRecurso(huellaProductos(modificaciones), ultima(modificaciones)));
+    }
+
+    @Override
+    public Optional<VersionRecurso> resumenCliente(Long clienteId) {
+        Optional<String> version = resumenRepository.version(clienteId);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, LocalDateTime> modificaciones = versionesRepository.productosDeCliente(clienteId);
+        StringBuilder huella = new StringBuilder(version.get());
+        modificaciones.keySet().forEach(productoId -> huella.append(pendiente(productoId)));
+        return Optional.of(new VersionRecurso(huella.toString(), ultima(modificaciones)));
+    }
+
+    @Override
+    public Optional<VersionRecurso> transaccion(Long transaccionId) {
+        return versionesRepository.transaccion(transaccionId);
+    }
+
+    @Override
+    public Optional<VersionRecurso> movimientosDeCuenta(Long cuentaId) {
+        // Una cuenta borrada sin movimientos tendría la misma huella que una vacía: se exige que exista
+        if (versionesRepository.producto(cuentaId).isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(versionesRepository.movimientosDeCuenta(cuentaId));
+    }
+
+    @Override
+    public Optional<VersionRecurso> estadoCuenta(Long cuentaId) {
+        return producto(cuentaId).map(cuenta -> {
+            VersionRecurso movimientos = versionesRepository.movimientosDeCuenta(cuentaId);
+            LocalDateTime ultima = cuenta.getUltimaModificacion();
+            if (movimientos.getUltimaModificacion() != null
+                    && (ultima == null || movimientos.getUltimaModificacion().isAfter(ultima))) {
+                ultima = movimientos.getUltimaModificacion();
+            }
+            return new VersionRecurso(cuenta.getHuella() + "#" + movimientos.getHuella(), ultima);
+        });
+    }
+
+    private String huellaProductos(Map<Long, LocalDateTime> modificaciones) {
+        StringBuilder huella = new StringBuilder();
+        modificaciones.forEach((productoId, modificacion) ->
+                huella.append(productoId).append('@').append(modificacion).append(pendiente(productoId)).append(';'));
+        return huella.toString();
+    }
+
+    private String pendiente(Long productoId) {
+        if (!compensacionSaldos.esCuentaCompensada(productoId)) {
+            return "";
+        }
+        BigDecimal pendiente = compensacionSaldos.pendiente(productoId);
+        return "+" + pendiente.stripTrailingZeros().toPlainString();
+    }
+
+    private LocalDateTime ultimoPendiente(Long productoId) {
+        return compensacionSaldos.esCuentaCompensada(productoId) ? compensacionSaldos.ultimoPendiente(productoId) : null;
+    }
+
+    private LocalDateTime ultima(Map<Long, LocalDateTime> modificaciones) {
+        LocalDateTime ultima = null;
+        for (Map.Entry<Long, LocalDateTime> modificacion : modificaciones.entrySet()) {
+            ultima = masReciente(ultima, masReciente(modificacion.getValue(), ultimoPendiente(modificacion.getKey())));
+        }
+        return ultima;
+    }
+
+    private static LocalDateTime masReciente(LocalDateTime una, LocalDateTime otra) {
+        if (una == null) {
+            return otra;
+        }
+        return otra != null && otra.isAfter(una) ? otra : una;
+    }
+}
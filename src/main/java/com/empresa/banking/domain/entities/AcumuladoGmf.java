@@ -0,0 +1,69 @@
+package com.empresa.banking.domain.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Acumulado mensual del GMF (4x1000) por cliente.
+ * Se mantiene de forma incremental con cada débito gravado; el tope exento y el reporte mensual
+ * se leen de aquí sin recorrer las transacciones del mes.
+ */
+public class AcumuladoGmf {
+
+    private final Long clienteId;
+    private final YearMonth periodo;
+    private final Money exentoUtilizado;
+    private final Money baseGravable;
+    private final Money gmfCobrado;
+    private final long movimientos;
+    private final LocalDateTime fechaModificacion;
+
+    public AcumuladoGmf(Long clienteId, YearMonth periodo, Money exentoUtilizado, Money baseGravable,
+                        Money gmfCobrado, long movimientos, LocalDateTime fechaModificacion) {
+        if (clienteId == null || periodo == null) {
+            throw new IllegalArgumentException("El acumulado de GMF requiere cliente y periodo");
+        }
+        this.clienteId = clienteId;
+        this.periodo = periodo;
+        this.exentoUtilizado = exentoUtilizado != null ? exentoUtilizado : Money.CERO;
+        this.baseGravable = baseGravable != null ? baseGravable : Money.CERO;
+        this.gmfCobrado = gmfCobrado != null ? gmfCobrado : Money.CERO;
+        this.movimientos = movimientos;
+        this.fechaModificacion = fechaModificacion;
+    }
+
+    public static AcumuladoGmf vacio(Long clienteId, YearMonth periodo) {
+        return new AcumuladoGmf(clienteId, periodo, Money.CERO, Money.CERO, Money.CERO, 0, null);
+    }
+
+    /**
+     * Suma un débito liquidado al acumulado
+     */
+    public AcumuladoGmf acumular(Money exento, Money gravable, Money gmf) {
+        return new AcumuladoGmf(clienteId, periodo, exentoUtilizado.plus(exento), baseGravable.plus(gravable),
+                gmfCobrado.plus(gmf), movimientos + 1, LocalDateTime.now());
+    }
+
+    /**
+     * Parte del tope mensual exento que el cliente aún no ha utilizado
+     */
+    public Money exentoDisponible(Money topeMensual) {
+        Money disponible = topeMensual.minus(exentoUtilizado);
+        return disponible.esNegativo() ? Money.CERO : disponible;
+    }
+
+    // Getters
+    public Long getClienteId() { return clienteId; }
+    public YearMonth getPeriodo() { return periodo; }
+    public BigDecimal getExentoUtilizado() { return exentoUtilizado.toBigDecimal(); }
+    public BigDecimal getBaseGravable() { return baseGravable.toBigDecimal(); }
+    public BigDecimal getGmfCobrado() { return gmfCobrado.toBigDecimal(); }
+    public long getMovimientos() { return movimientos; }
+    public LocalDateTime getFechaModificacion() { return fechaModificacion; }
+
+    // Acceso sin conversión para la aritmética interna (no es una propiedad JSON)
+    public Money exentoUtilizado() { return exentoUtilizado; }
+    public Money baseGravable() { return baseGravable; }
+    public Money gmfCobrado() { return gmfCobrado; }
+}
@@ -1,14 +1,18 @@
 package com.empresa.banking.domain.entities;
 
 import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 public class Cliente {
 
+    private static final Pattern PATRON_CORREO = Pattern.compile("^[\\w.-]+@[\\w.-]+\\.[a-zA-Z]{2,}$");
+
     private final Long id;
     private final TipoIdentificacion tipoIdentificacion;
     private final String numeroIdentificacion;
@@ -19,34 +23,62 @@ public class Cliente {
     private final LocalDateTime fechaCreacion;
     private final LocalDateTime fechaModificacion;
 
-    // Constructor principal
-    public Cliente(Long id, TipoIdentificacion tipoIdentificacion, String numeroIdentificacion,
-                   String nombres, String apellido, String correoElectronico,
-                   LocalDate fechaNacimiento, LocalDateTime fechaCreacion,
-                   LocalDateTime fechaModificacion) {
+    // Constructor con todos los campos: asigna sin validar
+    private Cliente(Long id, TipoIdentificacion tipoIdentificacion, String numeroIdentificacion,
+                    String nombres, String apellido, String correoElectronico,
+                    LocalDate fechaNacimiento, LocalDateTime fechaCreacion,
+                    LocalDateTime fechaModificacion) {
         this.id = id;
-        this.tipoIdentificacion = Objects.requireNonNull(tipoIdentificacion, "El tipo de identificación es obligatorio");
-        this.numeroIdentificacion = validarNumeroIdentificacion(numeroIdentificacion);
-        this.nombres = validarNombres(nombres);
-        this.apellido = validarApellido(apellido);
-        this.correoElectronico = validarCorreo(correoElectronico);
-        this.fechaNacimiento = validarFechaNacimiento(fechaNacimiento);
-        this.fechaCreacion = fechaCreacion != null ? fechaCreacion : LocalDateTime.now();
+        this.tipoIdentificacion = tipoIdentificacion;
+        this.numeroIdentificacion = numeroIdentificacion;
+        this.nombres = nombres;
+        this.apellido = apellido;
+        this.correoElectronico = correoElectronico;
+        this.fechaNacimiento = fechaNacimiento;
+        this.fechaCreacion = fechaCreacion;
         this.fechaModificacion = fechaModificacion;
     }
 
+    /**
+     * Reconstruye un cliente ya persistido. Los datos se validaron al escribirse,
+     * por lo que no se repiten las reglas de negocio (solo usar desde adaptadores de almacenamiento).
+     */
+    public static Cliente rehidratar(Long id, TipoIdentificacion tipoIdentificacion, String numeroIdentificacion,
+                                     String nombres, String apellido, String correoElectronico,
+                                     LocalDate fechaNacimiento, LocalDateTime fechaCreacion,
+                                     LocalDateTime fechaModificacion) {
+        return new Cliente(id, tipoIdentificacion, numeroIdentificacion, nombres, apellido,
+                correoElectronico, fechaNacimiento, fechaCreacion, fechaModificacion);
+    }
+
+    // Constructor principal: valida las reglas de negocio
+    public static Cliente crear(Long id, TipoIdentificacion tipoIdentificacion, String numeroIdentificacion,
+                                String nombres, String apellido, String correoElectronico,
+                                LocalDate fechaNacimiento, LocalDateTime fechaCreacion,
+                                LocalDateTime fechaModificacion) {
+        return new Cliente(id,
+                Objects.requireNonNull(tipoIdentificacion, "El tipo de identificación es obligatorio"),
+                validarNumeroIdentificacion(numeroIdentificacion),
+                validarNombres(nombres),
+                validarApellido(apellido),
+                validarCorreo(correoElectronico),
+                validarFechaNacimiento(fechaNacimiento),
+                fechaCreacion != null ? fechaCreacion : LocalDateTime.now(),
+                fechaModificacion);
+    }
+
     // Constructor para creación (sin ID)
     public static Cliente crear(TipoIdentificacion tipoIdentificacion, String numeroIdentificacion,
                                 String nombres, String apellido, String correoElectronico,
                                 LocalDate fechaNacimiento) {
-        return new Cliente(null, tipoIdentificacion, numeroIdentificacion, nombres,
+        return crear(null, tipoIdentificacion, numeroIdentificacion, nombres,
                 apellido, correoElectronico, fechaNacimiento,
                 LocalDateTime.now(), null);
     }
 
     // Constructor para actualización
     public Cliente actualizar(String nombres, String apellido, String correoElectronico) {
-        return new Cliente(this.id, this.tipoIdentificacion, this.numeroIdentificacion,
+        return crear(this.id, this.tipoIdentificacion, this.numeroIdentificacion,
                 nombres != null ? nombres : this.nombres,
                 apellido != null ? apellido : this.apellido,
                 correoElectronico != null ? correoElectronico : this.correoElectronico,
@@ -54,45 +86,45 @@ public class Cliente {
     }
 
     // Validaciones de negocio
-    private String validarNumeroIdentificacion(String numeroIdentificacion) {
+    private static String validarNumeroIdentificacion(String numeroIdentificacion) {
         if (numeroIdentificacion == null || numeroIdentificacion.trim().isEmpty()) {
-            throw new IllegalArgumentException("El número de identificación es obligatorio");
+            throw new SolicitudInvalidaException("El número de identificación es obligatorio");
         }
         return numeroIdentificacion.trim();
     }
 
-    private String validarNombres(String nombres) {
+    private static String validarNombres(String nombres) {
         if (nombres == null || nombres.trim().length() < 2) {
-            throw new IllegalArgumentException("Los nombres deben tener al menos 2 caracteres");
+            throw new SolicitudInvalidaException("Los nombres deben tener al menos 2 caracteres");
         }
         return nombres.trim();
     }
 
-    private String validarApellido(String apellido) {
+    private static String validarApellido(String apellido) {
         if (apellido == null || apellido.trim().length() < 2) {
-            throw new IllegalArgumentException("El apellido debe tener al menos 2 caracteres");
+            throw new SolicitudInvalidaException("El apellido debe tener al menos 2 caracteres");
         }
         return apellido.trim();
     }
 
-    private String validarCorreo(String correoElectronico) {
-        if (correoElectronico == null || !correoElectronico.matches("^[\\w.-]+@[\\w.-]+\\.[a-zA-Z]{2,}$")) {
-            throw new IllegalArgumentException("El formato del correo electrónico no es válido");
+    private static String validarCorreo(String correoElectronico) {
+        if (correoElectronico == null || !PATRON_CORREO.matcher(correoElectronico).matches()) {
+            throw new SolicitudInvalidaException("El formato del correo electrónico no es válido");
         }
         return correoElectronico.toLowerCase().trim();
     }
 
-    private LocalDate validarFechaNacimiento(LocalDate fechaNacimiento) {
+    private static LocalDate validarFechaNacimiento(LocalDate fechaNacimiento) {
         if (fechaNacimiento == null) {
-            throw new IllegalArgumentException("La fecha de nacimiento es obligatoria");
+            throw new SolicitudInvalidaException("La fecha de nacimiento es obligatoria");
         }
         if (fechaNacimiento.isAfter(LocalDate.now())) {
-            throw new IllegalArgumentException("La fecha de nacimiento debe estar en el pasado");
+            throw new SolicitudInvalidaException("La fecha de nacimiento debe estar en el pasado");
         }
 
         int edad = Period.between(fechaNacimiento, LocalDate.now()).getYears();
         if (edad < 18) {
-            throw new IllegalArgumentException("El cliente debe ser mayor de edad");
+            throw new SolicitudInvalidaException("El cliente debe ser mayor de edad");
         }
 
         return fechaNacimiento;
@@ -0,0 +1,47 @@
+package com.empresa.banking.domain.entities.Enums;
+
+import com.empresa.banking.domain.entities.Producto;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Campos de un producto que se pueden pedir por separado (parámetro fields), con el nombre que tienen en la API
+ */
+public enum CampoProducto {
+    ID("id", Producto::getId),
+    TIPO_CUENTA("tipoCuenta", Producto::getTipoCuenta),
+    NUMERO_CUENTA("numeroCuenta", Producto::getNumeroCuenta),
+    ESTADO("estado", Producto::getEstado),
+    SALDO("saldo", Producto::getSaldo),
+    EXENTA_GMF("exentaGmf", Producto::getExentaGmf),
+    FECHA_CREACION("fechaCreacion", Producto::getFechaCreacion),
+    FECHA_MODIFICACION("fechaModificacion", Producto::getFechaModificacion),
+    CLIENTE_ID("clienteId", Producto::getClienteId);
+
+    private static final Map<String, CampoProducto> POR_NOMBRE = Arrays.stream(values())
+            .collect(Collectors.toMap(CampoProducto::getNombre, Function.identity()));
+
+    private final String nombre;
+    private final Function<Producto, Object> valor;
+
+    CampoProducto(String nombre, Function<Producto, Object> valor) {
+        this.nombre = nombre;
+        this.valor = valor;
+    }
+
+    public static Optional<CampoProducto> deNombre(String nombre) {
+        return Optional.ofNullable(POR_NOMBRE.get(nombre));
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Object valorDe(Producto producto) {
+        return valor.apply(producto);
+    }
+}
@@ -0,0 +1,17 @@
+package com.empresa.banking.domain.entities.Enums;
+
+public enum TipoDiscrepancia {
+    CADENA_SALDOS("El saldo anterior no coincide con el saldo posterior del movimiento previo"),
+    MOVIMIENTO("El saldo posterior no corresponde al saldo anterior más o menos el monto"),
+    SALDO_PRODUCTO("El saldo del producto no coincide con el saldo del último movimiento");
+
+    private final String descripcion;
+
+    TipoDiscrepancia(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -0,0 +1,58 @@
+package com.empresa.banking.domain.entities;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Hasta dónde quedó conciliada una cuenta: último movimiento verificado y el saldo que dejó. La siguiente
+ * conciliación solo recorre los movimientos posteriores en la secuencia de la cuenta, que se asigna en orden de
+ * commit: un movimiento con fecha anterior que confirma tarde queda igualmente después de la marca.
+ * Las marcas sin secuencia (previas a la numeración) comparan por fecha e ID.
+ */
+public class MarcaConciliacion {
+
+    private final Long cuentaId;
+    private final Long ultimaTransaccionId;
+    private final LocalDateTime ultimaFecha;
+    private final Long ultimaSecuencia;
+    private final Money saldo;
+    private final LocalDateTime fechaConciliacion;
+
+    public MarcaConciliacion(Long cuentaId, Long ultimaTransaccionId, LocalDateTime ultimaFecha,
+                             Long ultimaSecuencia, Money saldo, LocalDateTime fechaConciliacion) {
+        if (cuentaId == null) {
+            throw new IllegalArgumentException("La marca de conciliación requiere la cuenta");
+        }
+        this.cuentaId = cuentaId;
+        this.ultimaTransaccionId = ultimaTransaccionId;
+        this.ultimaFecha = ultimaFecha;
+        this.ultimaSecuencia = ultimaSecuencia;
+        this.saldo = saldo != null ? saldo : Money.CERO;
+        this.fechaConciliacion = fechaConciliacion;
+    }
+
+    /**
+     * Indica si el movimiento es posterior a la marca: por secuencia, o en el orden (fecha, ID) si la marca no la tiene
+     */
+    public boolean esPosterior(Transaccion transaccion) {
+        if (ultimaSecuencia != null) {
+            return transaccion.getSecuencia() != null && transaccion.getSecuencia() > ultimaSecuencia;
+        }
+        if (ultimaFecha == null) {
+            return true;
+        }
+        int comparacion = transaccion.getFechaTransaccion().compareTo(ultimaFecha);
+        return comparacion > 0 || (comparacion == 0 && transaccion.getId() > ultimaTransaccionId);
+    }
+
+    // Getters
+    public Long getCuentaId() { return cuentaId; }
+    public Long getUltimaTransaccionId() { return ultimaTransaccionId; }
+    public LocalDateTime getUltimaFecha() { return ultimaFecha; }
+    public Long getUltimaSecuencia() { return ultimaSecuencia; }
+    public BigDecimal getSaldo() { return saldo.toBigDecimal(); }
+    public LocalDateTime getFechaConciliacion() { return fechaConciliacion; }
+
+    // Acceso sin conversión para la aritmética interna (no es una propiedad JSON)
+    public Money saldo() { return saldo; }
+}
@@ -0,0 +1,115 @@
+package com.empresa.banking.domain.entities;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetario en unidades menores (centavos) sobre un long.
+ * Las columnas de saldo y monto son NUMERIC(15, 2), por lo que cualquier valor persistido cabe sin pérdida.
+ * La aritmética detecta desbordamiento; BigDecimal solo se usa en los bordes (JSON y JDBC).
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money CERO = new Money(0L);
+
+    private static final int ESCALA = 2;
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    public static Money deCentavos(long centavos) {
+        return centavos == 0L ? CERO : new Money(centavos);
+    }
+
+    /**
+     * Convierte un BigDecimal a centavos redondeando HALF_UP, igual que PostgreSQL al guardar en NUMERIC(15, 2)
+     */
+    public static Money of(BigDecimal valor) {
+        if (valor == null) {
+            return null;
+        }
+
+        try {
+            return deCentavos(valor.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El valor " + valor + " excede el rango permitido");
+        }
+    }
+
+    // Aritmética con control de desbordamiento
+    public Money plus(Money otro) {
+        try {
+            return deCentavos(Math.addExact(centavos, otro.centavos));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El resultado excede el rango permitido");
+        }
+    }
+
+    public Money minus(Money otro) {
+        try {
+            return deCentavos(Math.subtractExact(centavos, otro.centavos));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El resultado excede el rango permitido");
+        }
+    }
+
+    public Money negate() {
+        try {
+            return deCentavos(Math.negateExact(centavos));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("El resultado excede el rango permitido");
+        }
+    }
+
+    public int signum() {
+        return Long.signum(centavos);
+    }
+
+    public boolean esCero() {
+        return centavos == 0L;
+    }
+
+    public boolean esNegativo() {
+        return centavos < 0L;
+    }
+
+    public boolean esMayorOIgualQue(Money otro) {
+        return centavos >= otro.centavos;
+    }
+
+    public long getCentavos() {
+        return centavos;
+    }
+
+    /**
+     * Convierte a BigDecimal con la escala de las columnas (100 → 100.00)
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    @Override
+    public int compareTo(Money otro) {
+        return Long.compare(centavos, otro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return centavos == ((Money) o).centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    @Override
+    public String toString() {
+        return BigDecimal.valueOf(centavos, ESCALA).toPlainString();
+    }
+}
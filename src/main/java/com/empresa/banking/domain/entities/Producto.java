@@ -3,6 +3,8 @@ package com.empresa.banking.domain.entities;
 import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +17,7 @@ public class Producto {
     private final TipoCuenta tipoCuenta;
     private final String numeroCuenta;
     private final EstadoCuenta estado;
-    private final BigDecimal saldo;
+    private final Money saldo;
     private final Boolean exentaGmf;
     private final LocalDateTime fechaCreacion;
     private final LocalDateTime fechaModificacion;
@@ -26,21 +28,49 @@ public class Producto {
                     EstadoCuenta estado, BigDecimal saldo, Boolean exentaGmf,
                     LocalDateTime fechaCreacion, LocalDateTime fechaModificacion,
                     Long clienteId) {
+        this(id,
+                Objects.requireNonNull(tipoCuenta, "El tipo de cuenta es obligatorio"),
+                numeroCuenta != null ? numeroCuenta : generarNumeroCuenta(tipoCuenta),
+                estado != null ? estado : EstadoCuenta.ACTIVA,
+                validarSaldo(Money.of(saldo), tipoCuenta),
+                exentaGmf != null ? exentaGmf : false,
+                fechaCreacion != null ? fechaCreacion : LocalDateTime.now(),
+                fechaModificacion,
+                Objects.requireNonNull(clienteId, "El cliente es obligatorio"));
+    }
+
+    // Constructor con todos los campos: asigna sin validar
+    private Producto(Long id, TipoCuenta tipoCuenta, String numeroCuenta,
+                     EstadoCuenta estado, Money saldo, Boolean exentaGmf,
+                     LocalDateTime fechaCreacion, LocalDateTime fechaModificacion,
+                     Long clienteId) {
         this.id = id;
-        this.tipoCuenta = Objects.requireNonNull(tipoCuenta, "El tipo de cuenta es obligatorio");
-        this.numeroCuenta = numeroCuenta != null ? numeroCuenta : generarNumeroCuenta(tipoCuenta);
-        this.estado = estado != null ? estado : EstadoCuenta.ACTIVA;
-        this.saldo = validarSaldo(saldo, tipoCuenta);
-        this.exentaGmf = exentaGmf != null ? exentaGmf : false;
-        this.fechaCreacion = fechaCreacion != null ? fechaCreacion : LocalDateTime.now();
+        this.tipoCuenta = tipoCuenta;
+        this.numeroCuenta = numeroCuenta;
+        this.estado = estado;
+        this.saldo = saldo;
+        this.exentaGmf = exentaGmf;
+        this.fechaCreacion = fechaCreacion;
         this.fechaModificacion = fechaModificacion;
-        this.clienteId = Objects.requireNonNull(clienteId, "El cliente es obligatorio");
+        this.clienteId = clienteId;
+    }
+
+    /**
+     * Reconstruye un producto ya persistido sin repetir validaciones ni valores por defecto
+     * (solo usar desde adaptadores de almacenamiento)
+     */
+    public static Producto rehidratar(Long id, TipoCuenta tipoCuenta, String numeroCuenta,
+                                      EstadoCuenta estado, Money saldo, Boolean exentaGmf,
+                                      LocalDateTime fechaCreacion, LocalDateTime fechaModificacion,
+                                      Long clienteId) {
+        return new Producto(id, tipoCuenta, numeroCuenta, estado, saldo, exentaGmf,
+                fechaCreacion, fechaModificacion, clienteId);
     }
 
     // Constructor para cambio de estado
     public Producto cambiarEstado(EstadoCuenta nuevoEstado) {
         if (nuevoEstado == EstadoCuenta.CANCELADA && !puedeSerCancelada()) {
-            throw new IllegalStateException("Solo se pueden cancelar cuentas con saldo cero");
+            throw new OperacionRechazadaException("Solo se pueden cancelar cuentas con saldo cero");
         }
 
         return new Producto(this.id, this.tipoCuenta, this.numeroCuenta,
@@ -50,7 +80,11 @@ public class Producto {
 
     // Constructor para actualizar saldo
     public Producto actualizarSaldo(BigDecimal nuevoSaldo) {
-        BigDecimal saldoValidado = validarSaldo(nuevoSaldo, this.tipoCuenta);
+        return actualizarSaldo(Money.of(nuevoSaldo));
+    }
+
+    public Producto actualizarSaldo(Money nuevoSaldo) {
+        Money saldoValidado = validarSaldo(nuevoSaldo, this.tipoCuenta);
 
         return new Producto(this.id, this.tipoCuenta, this.numeroCuenta,
                 this.estado, saldoValidado, this.exentaGmf,
@@ -58,19 +92,19 @@ public class Producto {
     }
 
     // Validaciones de negocio
-    private BigDecimal validarSaldo(BigDecimal saldo, TipoCuenta tipoCuenta) {
+    private static Money validarSaldo(Money saldo, TipoCuenta tipoCuenta) {
         if (saldo == null) {
-            return BigDecimal.ZERO;
+            return Money.CERO;
         }
 
-        if (tipoCuenta == TipoCuenta.CUENTA_AHORROS && saldo.compareTo(BigDecimal.ZERO) < 0) {
-            throw new IllegalArgumentException("Una cuenta de ahorros no puede tener saldo negativo");
+        if (tipoCuenta == TipoCuenta.CUENTA_AHORROS && saldo.esNegativo()) {
+            throw new SolicitudInvalidaException("Una cuenta de ahorros no puede tener saldo negativo");
         }
 
         return saldo;
     }
 
-    private String generarNumeroCuenta(TipoCuenta tipoCuenta) {
+    private static String generarNumeroCuenta(TipoCuenta tipoCuenta) {
         String prefijo = tipoCuenta.getPrefijo();
         String sufijo = String.format("%08d", new Random().nextInt(100000000));
         return prefijo + sufijo;
@@ -78,7 +112,7 @@ public class Producto {
 
     // Métodos de negocio
     public boolean puedeSerCancelada() {
-        return saldo.compareTo(BigDecimal.ZERO) == 0;
+        return saldo.esCero();
     }
 
     public boolean estaActiva() {
@@ -86,13 +120,17 @@ public class Producto {
     }
 
     public boolean puedeRealizarTransaccion(BigDecimal monto, TipoTransaccion tipoTransaccion) {
+        return puedeRealizarTransaccion(Money.of(monto), tipoTransaccion);
+    }
+
+    public boolean puedeRealizarTransaccion(Money monto, TipoTransaccion tipoTransaccion) {
         if (!estaActiva()) {
             return false;
         }
 
         if (tipoTransaccion == TipoTransaccion.RETIRO || tipoTransaccion == TipoTransaccion.TRANSFERENCIA) {
             if (tipoCuenta == TipoCuenta.CUENTA_AHORROS) {
-                return saldo.compareTo(monto) >= 0;
+                return saldo.esMayorOIgualQue(monto);
             }
             // Las cuentas corrientes pueden tener sobregiro
         }
@@ -105,12 +143,15 @@ public class Producto {
     public TipoCuenta getTipoCuenta() { return tipoCuenta; }
     public String getNumeroCuenta() { return numeroCuenta; }
     public EstadoCuenta getEstado() { return estado; }
-    public BigDecimal getSaldo() { return saldo; }
+    public BigDecimal getSaldo() { return saldo.toBigDecimal(); }
     public Boolean getExentaGmf() { return exentaGmf; }
     public LocalDateTime getFechaCreacion() { return fechaCreacion; }
     public LocalDateTime getFechaModificacion() { return fechaModificacion; }
     public Long getClienteId() { return clienteId; }
 
+    // Acceso sin conversión para la aritmética interna (no es una propiedad JSON)
+    public Money saldo() { return saldo; }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
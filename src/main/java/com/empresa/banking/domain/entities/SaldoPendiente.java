@@ -0,0 +1,27 @@
+package com.empresa.banking.domain.entities;
+
+import java.math.BigDecimal;
+
+/**
+ * Delta de saldo registrado para una cuenta en compensación y todavía no aplicado a su saldo persistido
+ */
+public class SaldoPendiente {
+
+    private final Long id;
+    private final Long cuentaId;
+    private final Money delta;
+
+    public SaldoPendiente(Long id, Long cuentaId, Money delta) {
+        if (id == null || cuentaId == null || delta == null) {
+            throw new IllegalArgumentException("El saldo pendiente requiere ID, cuenta y delta");
+        }
+        this.id = id;
+        this.cuentaId = cuentaId;
+        this.delta = delta;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public Long getCuentaId() { return cuentaId; }
+    public BigDecimal getDelta() { return delta.toBigDecimal(); }
+}
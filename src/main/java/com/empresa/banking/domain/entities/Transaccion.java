@@ -1,6 +1,7 @@
 package com.empresa.banking.domain.entities;
 
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,64 +11,128 @@ public class Transaccion {
 
     private final Long id;
     private final TipoTransaccion tipoTransaccion;
-    private final BigDecimal monto;
+    private final Money monto;
     private final String descripcion;
     private final LocalDateTime fechaTransaccion;
     private final Long cuentaOrigenId;
     private final Long cuentaDestinoId; // Null para consignaciones y retiros
-    private final BigDecimal saldoAnterior;
-    private final BigDecimal saldoActual;
+    private final Money saldoAnterior;
+    private final Money saldoActual;
+    private final Long secuencia; // Número del movimiento dentro de la cuenta origen; null hasta guardarse
 
     // Constructor principal
     public Transaccion(Long id, TipoTransaccion tipoTransaccion, BigDecimal monto,
                        String descripcion, LocalDateTime fechaTransaccion,
                        Long cuentaOrigenId, Long cuentaDestinoId,
                        BigDecimal saldoAnterior, BigDecimal saldoActual) {
+        this(id, tipoTransaccion, Money.of(monto), descripcion, fechaTransaccion,
+                cuentaOrigenId, cuentaDestinoId, Money.of(saldoAnterior), Money.of(saldoActual));
+    }
+
+    // Constructor con importes en unidades menores
+    public Transaccion(Long id, TipoTransaccion tipoTransaccion, Money monto,
+                       String descripcion, LocalDateTime fechaTransaccion,
+                       Long cuentaOrigenId, Long cuentaDestinoId,
+                       Money saldoAnterior, Money saldoActual) {
+        this(id,
+                Objects.requireNonNull(tipoTransaccion, "El tipo de transacción es obligatorio"),
+                validarMonto(monto),
+                descripcion,
+                fechaTransaccion != null ? fechaTransaccion : LocalDateTime.now(),
+                Objects.requireNonNull(cuentaOrigenId, "La cuenta de origen es obligatoria"),
+                cuentaDestinoId, saldoAnterior, saldoActual, null);
+
+        validarConsistenciaTransaccion();
+    }
+
+    // Constructor con todos los campos: asigna sin validar
+    private Transaccion(Long id, TipoTransaccion tipoTransaccion, Money monto,
+                        String descripcion, LocalDateTime fechaTransaccion,
+                        Long cuentaOrigenId, Long cuentaDestinoId,
+                        Money saldoAnterior, Money saldoActual, Long secuencia) {
         this.id = id;
-        this.tipoTransaccion = Objects.requireNonNull(tipoTransaccion, "El tipo de transacción es obligatorio");
-        this.monto = validarMonto(monto);
+        this.tipoTransaccion = tipoTransaccion;
+        this.monto = monto;
         this.descripcion = descripcion;
-        this.fechaTransaccion = fechaTransaccion != null ? fechaTransaccion : LocalDateTime.now();
-        this.cuentaOrigenId = Objects.requireNonNull(cuentaOrigenId, "La cuenta de origen es obligatoria");
+        this.fechaTransaccion = fechaTransaccion;
+        this.cuentaOrigenId = cuentaOrigenId;
         this.cuentaDestinoId = cuentaDestinoId;
         this.saldoAnterior = saldoAnterior;
         this.saldoActual = saldoActual;
+        this.secuencia = secuencia;
+    }
 
-        validarConsistenciaTransaccion();
+    /**
+     * Reconstruye una transacción ya persistida sin repetir validaciones
+     * (solo usar desde adaptadores de almacenamiento)
+     */
+    public static Transaccion rehidratar(Long id, TipoTransaccion tipoTransaccion, Money monto,
+                                         String descripcion, LocalDateTime fechaTransaccion,
+                                         Long cuentaOrigenId, Long cuentaDestinoId,
+                                         Money saldoAnterior, Money saldoActual) {
+        return rehidratar(id, tipoTransaccion, monto, descripcion, fechaTransaccion,
+                cuentaOrigenId, cuentaDestinoId, saldoAnterior, saldoActual, null);
+    }
+
+    public static Transaccion rehidratar(Long id, TipoTransaccion tipoTransaccion, Money monto,
+                                         String descripcion, LocalDateTime fechaTransaccion,
+                                         Long cuentaOrigenId, Long cuentaDestinoId,
+                                         Money saldoAnterior, Money saldoActual, Long secuencia) {
+        return new Transaccion(id, tipoTransaccion, monto, descripcion, fechaTransaccion,
+                cuentaOrigenId, cuentaDestinoId, saldoAnterior, saldoActual, secuencia);
     }
 
     // Constructor para crear nueva transacción
     public static Transaccion crear(TipoTransaccion tipoTransaccion, BigDecimal monto,
                                     Long cuentaOrigenId, Long cuentaDestinoId,
                                     String descripcion) {
+        return crear(tipoTransaccion, Money.of(monto), cuentaOrigenId, cuentaDestinoId, descripcion);
+    }
+
+    public static Transaccion crear(TipoTransaccion tipoTransaccion, Money monto,
+                                    Long cuentaOrigenId, Long cuentaDestinoId,
+                                    String descripcion) {
         return new Transaccion(null, tipoTransaccion, monto, descripcion,
                 LocalDateTime.now(), cuentaOrigenId, cuentaDestinoId,
-                null, null);
+                (Money) null, null);
     }
 
     // Constructor con saldos actualizados
     public Transaccion conSaldos(BigDecimal saldoAnterior, BigDecimal saldoActual) {
-        return new Transaccion(this.id, this.tipoTransaccion, this.monto,
+        return conSaldos(Money.of(saldoAnterior), Money.of(saldoActual));
+    }
+
+    public Transaccion conSaldos(Money saldoAnterior, Money saldoActual) {
+        Transaccion actualizada = new Transaccion(this.id, this.tipoTransaccion, this.monto,
                 this.descripcion, this.fechaTransaccion,
                 this.cuentaOrigenId, this.cuentaDestinoId,
                 saldoAnterior, saldoActual);
+        return secuencia != null ? actualizada.conSecuencia(secuencia) : actualizada;
+    }
+
+    // Constructor con el número de secuencia asignado en la cuenta origen
+    public Transaccion conSecuencia(long secuencia) {
+        return new Transaccion(this.id, this.tipoTransaccion, this.monto,
+                this.descripcion, this.fechaTransaccion,
+                this.cuentaOrigenId, this.cuentaDestinoId,
+                this.saldoAnterior, this.saldoActual, secuencia);
     }
 
     // Validaciones de negocio
-    private BigDecimal validarMonto(BigDecimal monto) {
-        if (monto == null || monto.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new IllegalArgumentException("El monto debe ser mayor a cero");
+    private static Money validarMonto(Money monto) {
+        if (monto == null || monto.signum() <= 0) {
+            throw new SolicitudInvalidaException("El monto debe ser mayor a cero");
         }
         return monto;
     }
 
     private void validarConsistenciaTransaccion() {
         if (tipoTransaccion == TipoTransaccion.TRANSFERENCIA && cuentaDestinoId == null) {
-            throw new IllegalArgumentException("Una transferencia requiere cuenta destino");
+            throw new SolicitudInvalidaException("Una transferencia requiere cuenta destino");
         }
 
         if (cuentaOrigenId != null && cuentaOrigenId.equals(cuentaDestinoId)) {
-            throw new IllegalArgumentException("La cuenta origen y destino no pueden ser iguales");
+            throw new SolicitudInvalidaException("La cuenta origen y destino no pueden ser iguales");
         }
     }
 
@@ -86,19 +151,25 @@ public class Transaccion {
     }
 
     public BigDecimal getMontoConSigno() {
-        return esDebito() ? monto.negate() : monto;
+        return (esDebito() ? monto.negate() : monto).toBigDecimal();
     }
 
     // Getters
     public Long getId() { return id; }
     public TipoTransaccion getTipoTransaccion() { return tipoTransaccion; }
-    public BigDecimal getMonto() { return monto; }
+    public BigDecimal getMonto() { return monto.toBigDecimal(); }
     public String getDescripcion() { return descripcion; }
     public LocalDateTime getFechaTransaccion() { return fechaTransaccion; }
     public Long getCuentaOrigenId() { return cuentaOrigenId; }
     public Long getCuentaDestinoId() { return cuentaDestinoId; }
-    public BigDecimal getSaldoAnterior() { return saldoAnterior; }
-    public BigDecimal getSaldoActual() { return saldoActual; }
+    public BigDecimal getSaldoAnterior() { return saldoAnterior != null ? saldoAnterior.toBigDecimal() : null; }
+    public BigDecimal getSaldoActual() { return saldoActual != null ? saldoActual.toBigDecimal() : null; }
+    public Long getSecuencia() { return secuencia; }
+
+    // Acceso sin conversión para la aritmética interna (no son propiedades JSON)
+    public Money monto() { return monto; }
+    public Money saldoAnterior() { return saldoAnterior; }
+    public Money saldoActual() { return saldoActual; }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,24 @@
+package com.empresa.banking.domain.entities;
+
+import java.time.LocalDateTime;
+
+/**
+ * Huella de la versión vigente de un recurso o de una colección, obtenida sin leer el recurso completo.
+ * Dos lecturas con la misma huella devuelven el mismo contenido; la fecha es la última modificación conocida.
+ */
+public class VersionRecurso {
+
+    private final String huella;
+    private final LocalDateTime ultimaModificacion;
+
+    public VersionRecurso(String huella, LocalDateTime ultimaModificacion) {
+        if (huella == null) {
+            throw new IllegalArgumentException("La versión requiere la huella");
+        }
+        this.huella = huella;
+        this.ultimaModificacion = ultimaModificacion;
+    }
+
+    public String getHuella() { return huella; }
+    public LocalDateTime getUltimaModificacion() { return ultimaModificacion; }
+}
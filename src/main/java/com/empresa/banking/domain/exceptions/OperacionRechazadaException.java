@@ -0,0 +1,17 @@
+package com.empresa.banking.domain.exceptions;
+
+/**
+ * Rechazo por regla de negocio (fondos insuficientes, cuenta inactiva, saldo pendiente).
+ * Es un resultado esperado del flujo, no un fallo: no captura la traza de pila.
+ */
+public class OperacionRechazadaException extends IllegalStateException {
+
+    public OperacionRechazadaException(String mensaje) {
+        super(mensaje);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,16 @@
+package com.empresa.banking.domain.exceptions;
+
+/**
+ * El cliente, producto o transacción solicitado no existe. No captura la traza de pila.
+ */
+public class RecursoNoEncontradoException extends IllegalArgumentException {
+
+    public RecursoNoEncontradoException(String mensaje) {
+        super(mensaje);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,16 @@
+package com.empresa.banking.domain.exceptions;
+
+/**
+ * Datos de la solicitud que no cumplen las reglas del servicio. No captura la traza de pila.
+ */
+public class SolicitudInvalidaException extends IllegalArgumentException {
+
+    public SolicitudInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
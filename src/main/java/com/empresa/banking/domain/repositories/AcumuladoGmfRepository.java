@@ -0,0 +1,13 @@
+package com.empresa.banking.domain.repositories;
+
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Money;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface AcumuladoGmfRepository {
+    AcumuladoGmf obtenerParaActualizar(Long clienteId, YearMonth periodo);
+    void acumular(Long clienteId, YearMonth periodo, Money exento, Money gravable, Money gmf);
+    List<AcumuladoGmf> findByPeriodo(YearMonth periodo);
+}
@@ -0,0 +1,20 @@
+package com.empresa.banking.domain.repositories;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface CausacionInteresRepository {
+    Optional<RangoIds> rangoIdsCuentasAhorro();
+    List<Producto> cuentasParaCausar(long idDesde, long idHasta);
+    Set<Long> lotesCausados(LocalDate fecha);
+    Optional<LocalDate> ultimaFechaCausada();
+    void registrarLote(LocalDate fecha, long idDesde, long idHasta, int cuentas, Money total);
+
+    record RangoIds(long minimo, long maximo) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.empresa.banking.domain.repositories;
+
+import com.empresa.banking.domain.entities.MarcaConciliacion;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface ConciliacionRepository {
+    Optional<RangoCuentas> rangoIdsCuentas();
+    List<Producto> cuentasEnRango(long idDesde, long idHasta);
+    Map<Long, MarcaConciliacion> marcasEnRango(long idDesde, long idHasta);
+    // Movimientos posteriores a la marca de cada cuenta, ordenados por cuenta y secuencia
+    void recorrerMovimientosPendientes(long idDesde, long idHasta, Consumer<Transaccion> consumidor);
+    void guardarMarcas(Collection<MarcaConciliacion> marcas);
+
+    record RangoCuentas(long minimo, long maximo) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.empresa.banking.domain.repositories;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface EstadoCuentaMensualRepository {
+    // Cuentas activas con ID mayor a idExclusivo, en orden de ID
+    List<Producto> cuentasActivasDespuesDe(long idExclusivo, int limite);
+    // Movimientos de [desde, hasta) de las cuentas con ID mayor a cuentaExclusiva, ordenados por cuenta, fecha e ID
+    void recorrerMovimientosPeriodo(LocalDateTime desde, LocalDateTime hasta, long cuentaExclusiva,
+                                    Consumer<Transaccion> consumidor);
+    // Suma con signo de los movimientos desde la fecha, por cuenta (solo cuentas con movimientos)
+    Map<Long, Money> netoPorCuentaDesde(LocalDateTime desde);
+}
@@ -0,0 +1,16 @@
+package com.empresa.banking.domain.repositories;
+
+import com.empresa.banking.domain.entities.Cliente;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface ImportacionClientesRepository {
+    // Números de identificación de la colección que ya están registrados
+    Set<String> identificacionesExistentes(Collection<String> numerosIdentificacion);
+    // Correos electrónicos de la colección que ya están registrados
+    Set<String> correosExistentes(Collection<String> correosElectronicos);
+    // Inserta el lote en orden; por cada cliente indica si quedó insertado (falso si la clave ya existía)
+    boolean[] insertarLote(List<Cliente> clientes);
+}
@@ -1,14 +1,39 @@
 package com.empresa.banking.domain.repositories;
 
+import com.empresa.banking.domain.entities.Enums.CampoProducto;
 import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.SaldoPendiente;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ProductoRepository {
     Optional<Producto> findById(Long id);
+    Optional<Producto> findByIdForUpdate(Long id);
+    List<Producto> findAllById(Collection<Long> ids);
+    // Lee y bloquea las cuentas indicadas en orden ascendente de ID hasta el commit
+    List<Producto> findAllByIdForUpdate(Collection<Long> ids);
     List<Producto> findAll();
+    // Todos los productos ordenados por ID, leyendo solo los campos indicados
+    List<Map<CampoProducto, Object>> findAllCampos(Set<CampoProducto> campos);
+    List<Producto> findByClienteId(Long clienteId);
     Producto save(Producto producto);
+    // Inserta productos nuevos en lote y los devuelve con su ID, en el mismo orden
+    List<Producto> insertarLote(List<Producto> productos);
     void deleteById(Long id);
+    Optional<Producto> findByNumeroCuenta(String numeroCuenta);
     boolean existByNumeroCuenta(String numeroCuenta);
+    void ajustarSaldo(Long id, BigDecimal delta);
+    void ajustarSaldos(Map<Long, BigDecimal> deltas);
+    // Registra en la transacción del movimiento el delta de una cuenta en compensación y devuelve su ID;
+    // null si el adaptador ya lo aplicó al saldo y no queda nada pendiente
+    Long registrarSaldoPendiente(Long id, BigDecimal delta);
+    // Deltas registrados y aún no aplicados, en orden de registro
+    List<SaldoPendiente> findSaldosPendientes();
+    // Suma al saldo de la cuenta los registros indicados que sigan pendientes y los elimina
+    void aplicarSaldosPendientes(Long id, Collection<Long> registros);
 }
@@ -0,0 +1,14 @@
+package com.empresa.banking.domain.repositories;
+
+import com.empresa.banking.domain.entities.Transaccion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ResumenClienteRepository {
+    // Huella de la última modificación del cliente, de sus cuentas y de sus movimientos; vacía si el cliente no existe
+    Optional<String> version(Long clienteId);
+    // Hasta porCuenta movimientos por cuenta, los más recientes primero, en una sola consulta
+    List<Transaccion> ultimosMovimientos(Collection<Long> cuentaIds, int porCuenta);
+}
@@ -2,14 +2,29 @@ package com.empresa.banking.domain.repositories;
 
 import com.empresa.banking.domain.entities.Transaccion;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TransaccionRepository {
     Optional<Transaccion> findById(Long id);
+    List<Transaccion> findAllById(Collection<Long> ids);
     List<Transaccion> findByAccountNumber(Long countNumber);
     List<Transaccion> findAll();
+    List<Transaccion> findDebitosDesde(LocalDateTime desde);
+    // Movimientos de la cuenta en [desde, hasta) por fecha e ID, sin cargarlos todos en memoria; los límites pueden ser nulos
+    void recorrerPorCuenta(Long cuentaId, LocalDateTime desde, LocalDateTime hasta, Consumer<Transaccion> consumidor);
+    // Movimientos de la cuenta con secuencia mayor a desde, en orden de secuencia y como máximo limite filas
+    List<Transaccion> findCambios(Long cuentaId, long desde, int limite);
+    // Último número de secuencia asignado en la cuenta (0 si no tiene movimientos numerados)
+    long ultimaSecuencia(Long cuentaId);
+    // Reserva la cantidad de números pedida en cada cuenta y devuelve el último reservado por cuenta (bloquea hasta el commit)
+    Map<Long, Long> reservarSecuencias(Map<Long, Integer> cantidades);
     Transaccion save(Transaccion transaccion);
+    void saveAll(List<Transaccion> transacciones);
     void deleteById(Long id);
     void deleteByAccountNumber(Long countNumber);
 
@@ -0,0 +1,20 @@
+package com.empresa.banking.domain.repositories;
+
+import com.empresa.banking.domain.entities.VersionRecurso;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+public interface VersionesRepository {
+    // Creación y última modificación del cliente; vacía si no existe
+    Optional<VersionRecurso> cliente(Long clienteId);
+    // Creación y última modificación del producto; vacía si no existe
+    Optional<VersionRecurso> producto(Long productoId);
+    // Última modificación (o creación) de cada producto del cliente, por ID
+    Map<Long, LocalDateTime> productosDeCliente(Long clienteId);
+    // Las transacciones no cambian: basta su fecha; vacía si no existe
+    Optional<VersionRecurso> transaccion(Long transaccionId);
+    // Cantidad de movimientos de la cuenta, el ID más alto y la fecha más reciente
+    VersionRecurso movimientosDeCuenta(Long cuentaId);
+}
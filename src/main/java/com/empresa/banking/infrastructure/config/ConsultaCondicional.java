@@ -0,0 +1,30 @@
+package com.empresa.banking.infrastructure.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un GET cuya respuesta lleva ETag y Last-Modified según la versión del recurso.
+ * El {@link ConsultaCondicionalInterceptor} responde 304 antes de invocar el controlador cuando la versión no cambió.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConsultaCondicional {
+
+    Recurso value();
+
+    // Variable de la ruta con el ID del recurso
+    String variable() default "id";
+
+    enum Recurso {
+        CLIENTE,
+        RESUMEN_CLIENTE,
+        PRODUCTO,
+        PRODUCTOS_DE_CLIENTE,
+        TRANSACCION,
+        MOVIMIENTOS_DE_CUENTA,
+        ESTADO_CUENTA
+    }
+}
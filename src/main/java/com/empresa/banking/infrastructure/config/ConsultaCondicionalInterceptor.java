@@ -0,0 +1,120 @@
+package com.empresa.banking.infrastructure.config;
+
+import com.empresa.banking.app.interfaces.IVersionesService;
+import com.empresa.banking.domain.entities.VersionRecurso;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET condicional para los métodos marcados con {@link ConsultaCondicional}.
+ * Consulta solo la versión del recurso (fechas y contadores), calcula un ETag débil y, si coincide con
+ * If-None-Match (o If-Modified-Since cuando no hay ETag), responde 304 sin llegar al controlador:
+ * el recurso no se lee, no se mapea ni se serializa. En otro caso deja ETag, Last-Modified y Cache-Control
+ * en la respuesta y continúa. Las transacciones no cambian, así que se pueden guardar por mucho tiempo;
+ * el resto debe revalidarse en cada uso.
+ * El ETag es débil porque la misma versión se entrega en varias representaciones equivalentes
+ * (JSON, CBOR o Smile según Accept, con o sin gzip); Tomcat no comprime respuestas con ETag fuerte.
+ */
+@Component
+public class ConsultaCondicionalInterceptor implements HandlerInterceptor {
+
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private final IVersionesService versionesService;
+    private final CacheControl inmutable;
+
+    public ConsultaCondicionalInterceptor(IVersionesService versionesService,
+                                          @Value("${banking.consulta-condicional.max-age-transacciones:31536000}")
+                                          long maxAgeTransacciones) {
+        this.versionesService = versionesService;
+        this.inmutable = CacheControl.maxAge(maxAgeTransacciones, TimeUnit.SECONDS).cachePrivate().immutable();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())) {
+            return true;
+        }
+        ConsultaCondicional consulta = metodo.getMethodAnnotation(ConsultaCondicional.class);
+        if (consulta == null) {
+            return true;
+        }
+
+        Long id = idDeRuta(request, consulta.variable());
+        if (id == null) {
+            return true;
+        }
+        Optional<VersionRecurso> version = version(consulta.value(), id);
+        // Sin versión (recurso inexistente) el controlador decide la respuesta
+        if (version == null || version.isEmpty()) {
+            return true;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                (consulta.value() == ConsultaCondicional.Recurso.TRANSACCION ? inmutable : REVALIDAR).getHeaderValue());
+        String etag = etiqueta(consulta.value(), id, version.get(), request);
+        long ultimaModificacion = version.get().getUltimaModificacion() != null
+                ? version.get().getUltimaModificacion().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return !new ServletWebRequest(request, response).checkNotModified(etag, ultimaModificacion);
+    }
+
+    private Optional<VersionRecurso> version(ConsultaCondicional.Recurso recurso, Long id) {
+        return switch (recurso) {
+            case CLIENTE -> versionesService.cliente(id);
+            case RESUMEN_CLIENTE -> versionesService.resumenCliente(id);
+            case PRODUCTO -> versionesService.producto(id);
+            case PRODUCTOS_DE_CLIENTE -> versionesService.productosDeCliente(id);
+            case TRANSACCION -> versionesService.transaccion(id);
+            case MOVIMIENTOS_DE_CUENTA -> versionesService.movimientosDeCuenta(id);
+            case ESTADO_CUENTA -> versionesService.estadoCuenta(id);
+        };
+    }
+
+    /**
+     * El ETag cubre también los parámetros de la consulta, que cambian la representación (p. ej. movimientos)
+     */
+    static String etiqueta(ConsultaCondicional.Recurso recurso, Long id, VersionRecurso version,
+                           HttpServletRequest request) {
+        String variante = recurso + ":" + id + ":" + version.getHuella() + "?"
+                + (request.getQueryString() != null ? request.getQueryString() : "");
+        return "W/\"" + DigestUtils.md5DigestAsHex(variante.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long idDeRuta(HttpServletRequest request, String variable) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String valor = variables != null ? variables.get(variable) : null;
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            // El controlador responde el error de conversión habitual
+            return null;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.empresa.banking.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limitador de solicitudes por cliente y operación con cubetas de tokens. La operación es el método del
+ * controlador (Controlador.metodo): la misma clave identifica la cubeta, la tasa configurada y las métricas.
+ * Cada cubeta es un único AtomicLong con el instante teórico de la próxima llegada (GCRA, equivalente
+ * a una cubeta de tokens con recarga continua), así que admitir una solicitud es un CAS sin bloqueos.
+ * Una cubeta cuyo instante teórico ya pasó está llena y puede descartarse sin cambiar el comportamiento:
+ * la purga periódica elimina esas claves. Con el tope de claves alcanzado no se crean cubetas nuevas: las
+ * solicitudes de clientes sin cubeta se rechazan como desborde y no consumen el cupo de ningún otro cliente.
+ */
+@Component
+public class LimitadorSolicitudes {
+
+    private static final String PREFIJO = "banking.limite-solicitudes.";
+
+    private final Environment environment;
+    private final Tasa tasaPorDefecto;
+    private final int maximoClaves;
+
+    private final Map<Clave, AtomicLong> cubetas = new ConcurrentHashMap<>();
+    private final Map<String, Tasa> tasasPorOperacion = new ConcurrentHashMap<>();
+    private final Map<String, Metricas> metricas = new ConcurrentHashMap<>();
+
+    public LimitadorSolicitudes(Environment environment,
+                                @Value("${banking.limite-solicitudes.capacidad:60}") int capacidad,
+                                @Value("${banking.limite-solicitudes.por-segundo:20}") double porSegundo,
+                                @Value("${banking.limite-solicitudes.maximo-claves:100000}") int maximoClaves) {
+        this.environment = environment;
+        this.tasaPorDefecto = new Tasa(capacidad, porSegundo);
+        this.maximoClaves = maximoClaves;
+    }
+
+    /**
+     * Intenta consumir un token de la cubeta del cliente en la operación
+     */
+    public Decision intentar(String cliente, String operacion) {
+        return intentar(cliente, operacion, System.nanoTime());
+    }
+
+    Decision intentar(String cliente, String operacion, long ahoraNanos) {
+        Tasa tasa = tasasPorOperacion.computeIfAbsent(operacion, this::leerTasa);
+        Metricas metricasOperacion = metricas.computeIfAbsent(operacion, o -> new Metricas());
+        AtomicLong cubeta = cubeta(new Clave(cliente, operacion), ahoraNanos);
+        if (cubeta == null) {
+            // Sin espacio para otra cubeta: en el peor caso alguna se llena (y se purga) tras una ráfaga completa
+            metricasOperacion.desbordadas.increment();
+            return new Decision(false, true, tasa.capacidad(), 0, tasa.toleranciaNanos() + tasa.intervaloNanos());
+        }
+
+        while (true) {
+            long llegadaTeorica = cubeta.get();
+            long base = Math.max(llegadaTeorica, ahoraNanos);
+            long espera = base - ahoraNanos - tasa.toleranciaNanos();
+            if (espera > 0) {
+                metricasOperacion.rechazadas.increment();
+                return new Decision(false, false, tasa.capacidad(), 0, espera);
+            }
+
+            long siguiente = base + tasa.intervaloNanos();
+            if (cubeta.compareAndSet(llegadaTeorica, siguiente)) {
+                metricasOperacion.admitidas.increment();
+                long restantes = (tasa.toleranciaNanos() + tasa.intervaloNanos() - (siguiente - ahoraNanos))
+                        / tasa.intervaloNanos();
+                return new Decision(true, false, tasa.capacidad(), restantes, 0);
+            }
+        }
+    }
+
+    /**
+     * Admitidas, rechazadas y desbordadas por operación desde el arranque
+     */
+    public Map<String, Map<String, Long>> metricas() {
+        Map<String, Map<String, Long>> resultado = new TreeMap<>();
+        metricas.forEach((operacion, m) -> resultado.put(operacion, Map.of("admitidas", m.admitidas.sum(),
+                "rechazadas", m.rechazadas.sum(), "desbordadas", m.desbordadas.sum())));
+        return resultado;
+    }
+
+    public int clavesActivas() {
+        return cubetas.size();
+    }
+
+    /**
+     * Elimina las cubetas llenas: recrearlas más adelante da exactamente el mismo resultado
+     */
+    @Scheduled(fixedDelayString = "${banking.limite-solicitudes.purga-ms:60000}")
+    public void purgarInactivas() {
+        purgar(System.nanoTime());
+    }
+
+    void purgar(long ahoraNanos) {
+        cubetas.values().removeIf(cubeta -> cubeta.get() <= ahoraNanos);
+    }
+
+    private AtomicLong cubeta(Clave clave, long ahoraNanos) {
+        AtomicLong existente = cubetas.get(clave);
+        if (existente != null) {
+            return existente;
+        }
+        if (cubetas.size() >= maximoClaves) {
+            purgar(ahoraNanos);
+            if (cubetas.size() >= maximoClaves) {
+                return null;
+            }
+        }
+        return cubetas.computeIfAbsent(clave, k -> new AtomicLong(ahoraNanos));
+    }
+
+    private Tasa leerTasa(String operacion) {
+        int capacidad = environment.getProperty(PREFIJO + "operaciones." + operacion + ".capacidad",
+                Integer.class, tasaPorDefecto.capacidad());
+        double porSegundo = environment.getProperty(PREFIJO + "operaciones." + operacion + ".por-segundo",
+                Double.class, tasaPorDefecto.porSegundo());
+        return new Tasa(capacidad, porSegundo);
+    }
+
+    /**
+     * Resultado de una solicitud: restantes es el número de tokens que quedan y esperaNanos
+     * el tiempo hasta que haya uno disponible. desborde indica que se rechazó por falta de espacio
+     * para la cubeta del cliente, no por haber agotado su cupo.
+     */
+    public record Decision(boolean admitida, boolean desborde, int limite, long restantes, long esperaNanos) {
+
+        public long esperaSegundos() {
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+    }
+
+    private record Tasa(int capacidad, double porSegundo) {
+
+        Tasa {
+            if (capacidad <= 0 || porSegundo <= 0) {
+                throw new IllegalArgumentException("La capacidad y la tasa de recarga deben ser positivas");
+            }
+        }
+
+        long intervaloNanos() {
+            return Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo));
+        }
+
+        long toleranciaNanos() {
+            return (capacidad - 1) * intervaloNanos();
+        }
+    }
+
+    private record Clave(String cliente, String operacion) {
+    }
+
+    private static final class Metricas {
+        private final LongAdder admitidas = new LongAdder();
+        private final LongAdder rechazadas = new LongAdder();
+        private final LongAdder desbordadas = new LongAdder();
+    }
+}
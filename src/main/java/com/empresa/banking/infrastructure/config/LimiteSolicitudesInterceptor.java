@@ -0,0 +1,93 @@
+package com.empresa.banking.infrastructure.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Set;
+
+/**
+ * Aplica el {@link LimitadorSolicitudes} antes de llegar al controlador.
+ * El cliente es el usuario autenticado por el contenedor o, si no hay, la clave X-Api-Key cuando es una de las
+ * configuradas; una clave desconocida no cuenta, y la solicitud se limita por la IP remota. Así un cliente no
+ * obtiene cubetas nuevas inventando claves. La operación es Controlador.metodo, no la URI, así que los IDs no
+ * crean claves nuevas.
+ */
+@Component
+public class LimiteSolicitudesInterceptor implements HandlerInterceptor {
+
+    public static final String ENCABEZADO_CLIENTE = "X-Api-Key";
+    public static final String ENCABEZADO_LIMITE = "X-RateLimit-Limit";
+    public static final String ENCABEZADO_RESTANTES = "X-RateLimit-Remaining";
+
+    private final LimitadorSolicitudes limitador;
+    private final Set<String> clavesApi;
+
+    public LimiteSolicitudesInterceptor(LimitadorSolicitudes limitador,
+                                        @Value("${banking.limite-solicitudes.claves-api:}") Set<String> clavesApi) {
+        this.limitador = limitador;
+        this.clavesApi = Set.copyOf(clavesApi);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (CorsUtils.isPreFlightRequest(request) || !(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+        // Las respuestas en streaming vuelven a pasar por el interceptor al terminar: ya se contaron al entrar
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+
+        String operacion = metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        LimitadorSolicitudes.Decision decision = limitador.intentar(cliente(request), operacion);
+        if (decision.desborde()) {
+            return rechazar(response, HttpStatus.SERVICE_UNAVAILABLE, decision,
+                    "Servicio saturado, intente de nuevo en ");
+        }
+
+        response.setHeader(ENCABEZADO_LIMITE, String.valueOf(decision.limite()));
+        response.setHeader(ENCABEZADO_RESTANTES, String.valueOf(decision.restantes()));
+        if (decision.admitida()) {
+            return true;
+        }
+
+        return rechazar(response, HttpStatus.TOO_MANY_REQUESTS, decision,
+                "Demasiadas solicitudes, intente de nuevo en ");
+    }
+
+    /**
+     * Identidad de confianza del cliente: nunca el valor de un encabezado que no se haya validado
+     */
+    private String cliente(HttpServletRequest request) {
+        Principal usuario = request.getUserPrincipal();
+        if (usuario != null) {
+            return "usuario:" + usuario.getName();
+        }
+        String clave = request.getHeader(ENCABEZADO_CLIENTE);
+        if (clave != null && clavesApi.contains(clave)) {
+            return "clave:" + clave;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private boolean rechazar(HttpServletResponse response, HttpStatus estado, LimitadorSolicitudes.Decision decision,
+                             String mensaje) throws IOException {
+        response.setStatus(estado.value());
+        response.setHeader("Retry-After", String.valueOf(decision.esperaSegundos()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"mensaje\":\"" + mensaje + decision.esperaSegundos() + " segundos\"}");
+        return false;
+    }
+}
@@ -3,6 +3,7 @@ package com.empresa.banking.infrastructure.config;
 import jakarta.persistence.EntityManagerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -12,6 +13,7 @@ import java.util.Properties;
 
 @Configuration
 @EnableTransactionManagement
+@Profile("!memoria")
 public class TransactionConfig {
 
     @Bean
@@ -0,0 +1,25 @@
+package com.empresa.banking.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LimiteSolicitudesInterceptor limiteSolicitudesInterceptor;
+    private final ConsultaCondicionalInterceptor consultaCondicionalInterceptor;
+
+    public WebConfig(LimiteSolicitudesInterceptor limiteSolicitudesInterceptor,
+                     ConsultaCondicionalInterceptor consultaCondicionalInterceptor) {
+        this.limiteSolicitudesInterceptor = limiteSolicitudesInterceptor;
+        this.consultaCondicionalInterceptor = consultaCondicionalInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // El límite va primero: un 304 también cuenta como solicitud
+        registry.addInterceptor(limiteSolicitudesInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(consultaCondicionalInterceptor).addPathPatterns("/api/**");
+    }
+}
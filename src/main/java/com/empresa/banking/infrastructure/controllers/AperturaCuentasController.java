@@ -0,0 +1,77 @@
+package com.empresa.banking.infrastructure.controllers;
+
+import com.empresa.banking.app.interfaces.IAperturaCuentasService;
+import com.empresa.banking.app.services.AperturaCuentasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/productos")
+@CrossOrigin(origins = "*")
+@Tag(name = "Productos", description = "API para gestión de productos financieros (cuentas bancarias)")
+public class AperturaCuentasController {
+
+    private final IAperturaCuentasService aperturaCuentasService;
+
+    public AperturaCuentasController(IAperturaCuentasService aperturaCuentasService) {
+        this.aperturaCuentasService = aperturaCuentasService;
+    }
+
+    @Operation(
+            summary = "Abrir productos en lote",
+            description = "Crea varias cuentas (por ejemplo, una por empleado de un cliente empresarial) en una sola solicitud. " +
+                    "Cada cuenta se valida por separado: las solicitudes inválidas se reportan con su posición y no impiden " +
+                    "abrir las demás."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lote procesado; el resultado indica el número de cuenta o el error de cada solicitud",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AperturaCuentasService.ResultadoApertura.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lote vacío",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<?> abrirCuentas(@RequestBody List<ProductoController.CrearProductoRequest> solicitudes) {
+        try {
+            return ResponseEntity.ok(aperturaCuentasService.abrirCuentas(solicitudes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
+    @Schema(description = "Respuesta de error estándar")
+    public static class ErrorResponse {
+
+        @Schema(description = "Mensaje de error", example = "Debe indicar al menos un producto para abrir")
+        private String mensaje;
+
+        public ErrorResponse(String mensaje) {
+            this.mensaje = mensaje;
+        }
+
+        public String getMensaje() { return mensaje; }
+        public void setMensaje(String mensaje) { this.mensaje = mensaje; }
+    }
+}
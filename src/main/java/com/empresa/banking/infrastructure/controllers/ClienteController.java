@@ -1,9 +1,15 @@
 package com.empresa.banking.infrastructure.controllers;
 
 import com.empresa.banking.app.interfaces.IClienteService;
+import com.empresa.banking.app.interfaces.IImportacionClientesService;
+import com.empresa.banking.app.interfaces.IResumenClienteService;
 import com.empresa.banking.domain.entities.Cliente;
 import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.app.services.ConsultaPorIds;
 import com.empresa.banking.app.services.ClienteService;
+import com.empresa.banking.app.services.ImportacionClientesService;
+import com.empresa.banking.app.services.ResumenClienteService;
+import com.empresa.banking.infrastructure.config.ConsultaCondicional;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,10 +23,12 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -32,9 +40,14 @@ import java.util.Optional;
 public class ClienteController {
 
     private final IClienteService clienteService;
+    private final IImportacionClientesService importacionClientesService;
+    private final IResumenClienteService resumenClienteService;
 
-    public ClienteController(IClienteService clienteService) {
+    public ClienteController(IClienteService clienteService, IImportacionClientesService importacionClientesService,
+                             IResumenClienteService resumenClienteService) {
         this.clienteService = clienteService;
+        this.importacionClientesService = importacionClientesService;
+        this.resumenClienteService = resumenClienteService;
     }
 
 
@@ -94,6 +107,7 @@ public class ClienteController {
             )
     })
     @GetMapping("/{id}")
+    @ConsultaCondicional(ConsultaCondicional.Recurso.CLIENTE)
     public ResponseEntity<?> buscarClientePorId(
             @Parameter(description = "ID único del cliente", required = true)
             @PathVariable Long id) {
@@ -110,6 +124,91 @@ public class ClienteController {
         }
     }
 
+    @Operation(
+            summary = "Buscar clientes por IDs",
+            description = "Resuelve varios IDs con una sola consulta (máximo 100). Los clientes se devuelven en el orden " +
+                    "solicitado y los IDs inexistentes se listan en noEncontrados"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Consulta resuelta exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConsultaPorIds.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de IDs vacía o con más de 100 elementos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> buscarClientesPorIds(
+            @Parameter(description = "IDs separados por coma", example = "1,2,3", required = true)
+            @RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(clienteService.buscarClientesPorIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
+    @Operation(
+            summary = "Resumen 360 del cliente",
+            description = "Retorna el cliente, todos sus productos con saldo y los últimos movimientos de cada producto " +
+                    "en una sola respuesta. Se arma con un número fijo de consultas y se reutiliza mientras ninguna " +
+                    "de las cuentas del cliente cambie"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Resumen obtenido exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResumenClienteService.ResumenCliente.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Número de movimientos por cuenta fuera de rango",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Cliente no encontrado"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/{id}/resumen")
+    @ConsultaCondicional(ConsultaCondicional.Recurso.RESUMEN_CLIENTE)
+    public ResponseEntity<?> obtenerResumenCliente(
+            @Parameter(description = "ID único del cliente", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Movimientos más recientes por producto (0 a 100, por defecto 10)", example = "10")
+            @RequestParam(required = false) Integer movimientos) {
+        try {
+            Optional<ResumenClienteService.ResumenCliente> resumen = resumenClienteService.resumen(id, movimientos);
+            if (resumen.isPresent()) {
+                return ResponseEntity.ok(resumen.get());
+            } else {
+                return ResponseEntity.notFound().build();
+            }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
     @Operation(
             summary = "Obtener todos los clientes",
             description = "Retorna la lista completa de clientes registrados en el sistema"
@@ -246,6 +345,48 @@ public class ClienteController {
         }
     }
 
+    @Operation(
+            summary = "Importar clientes en lote",
+            description = "Registra los clientes de un archivo CSV (con encabezado tipo_identificacion,numero_identificacion," +
+                    "nombres,apellido,correo_electronico,fecha_nacimiento) o NDJSON enviado como cuerpo de la solicitud. " +
+                    "El archivo se procesa en streaming; las filas inválidas o repetidas se reportan y no detienen la importación."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Importación procesada; el reporte incluye los errores por fila",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportacionClientesService.ResultadoImportacion.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no soportado o encabezado incompleto",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping(value = "/importar", consumes = {"text/csv", "application/x-ndjson", "text/plain", "application/octet-stream"})
+    public ResponseEntity<?> importarClientes(
+            @Parameter(description = "Formato del archivo: csv o ndjson (por defecto se deduce del Content-Type)")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String tipoContenido,
+            InputStream archivo) {
+        try {
+            if (formato == null && tipoContenido != null && tipoContenido.contains("ndjson")) {
+                formato = "ndjson";
+            }
+            return ResponseEntity.ok(importacionClientesService.importar(archivo, formato));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
     @Schema(description = "Datos requeridos para crear un nuevo cliente")
     public static class CrearClienteRequest {
 
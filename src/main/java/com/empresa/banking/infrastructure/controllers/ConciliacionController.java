@@ -0,0 +1,96 @@
+package com.empresa.banking.infrastructure.controllers;
+
+import com.empresa.banking.app.interfaces.IConciliacionService;
+import com.empresa.banking.app.services.ConciliacionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/conciliacion")
+@CrossOrigin(origins = "*")
+@Tag(name = "Conciliación", description = "API de conciliación de saldos contra el historial de movimientos")
+public class ConciliacionController {
+
+    private final IConciliacionService conciliacionService;
+
+    public ConciliacionController(IConciliacionService conciliacionService) {
+        this.conciliacionService = conciliacionService;
+    }
+
+    @Operation(
+            summary = "Ejecutar conciliación",
+            description = "Verifica la cadena de saldos de los movimientos posteriores a la última conciliación " +
+                    "de cada cuenta y el saldo de los productos. Si ya hay una ejecución en curso, retorna el último reporte."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Conciliación ejecutada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConciliacionService.ReporteConciliacion.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/ejecutar")
+    public ResponseEntity<?> ejecutar() {
+        try {
+            return ResponseEntity.ok(conciliacionService.conciliar());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
+    @Operation(
+            summary = "Último reporte de conciliación",
+            description = "Retorna el resultado de la última conciliación ejecutada desde el arranque"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reporte encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConciliacionService.ReporteConciliacion.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Aún no se ha ejecutado ninguna conciliación",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/ultimo-reporte")
+    public ResponseEntity<?> obtenerUltimoReporte() {
+        try {
+            return conciliacionService.obtenerUltimoReporte()
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                            .body(new ErrorResponse("Aún no se ha ejecutado ninguna conciliación")));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
+    @Schema(description = "Respuesta de error estándar")
+    public static class ErrorResponse {
+
+        @Schema(description = "Mensaje de error", example = "Aún no se ha ejecutado ninguna conciliación")
+        private String mensaje;
+
+        public ErrorResponse(String mensaje) {
+            this.mensaje = mensaje;
+        }
+
+        public String getMensaje() { return mensaje; }
+        public void setMensaje(String mensaje) { this.mensaje = mensaje; }
+    }
+}
@@ -0,0 +1,85 @@
+package com.empresa.banking.infrastructure.controllers;
+
+import com.empresa.banking.app.interfaces.IEstadosCuentaMensualesService;
+import com.empresa.banking.app.services.EstadosCuentaMensualesService;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/estados-cuenta")
+@CrossOrigin(origins = "*")
+@Tag(name = "Estados de cuenta", description = "API de generación masiva de estados de cuenta mensuales")
+public class EstadosCuentaController {
+
+    private final IEstadosCuentaMensualesService estadosCuentaService;
+
+    public EstadosCuentaController(IEstadosCuentaMensualesService estadosCuentaService) {
+        this.estadosCuentaService = estadosCuentaService;
+    }
+
+    @Operation(
+            summary = "Generar estados de cuenta mensuales",
+            description = "Genera un archivo por cada cuenta activa con los movimientos del mes y su saldo corrido, " +
+                    "más un manifiesto del periodo. Si una ejecución anterior quedó incompleta, continúa desde donde quedó."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estados de cuenta generados",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstadosCuentaMensualesService.ResultadoGeneracion.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Periodo inválido o no cerrado, o generación ya en curso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/mensuales/{anio}/{mes}")
+    public ResponseEntity<?> generarMensuales(
+            @Parameter(description = "Año del periodo", required = true, example = "2025")
+            @PathVariable int anio,
+            @Parameter(description = "Mes del periodo (1-12)", required = true, example = "1")
+            @PathVariable int mes) {
+        try {
+            return ResponseEntity.ok(estadosCuentaService.generar(YearMonth.of(anio, mes)));
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Periodo inválido: " + anio + "-" + mes));
+        } catch (IllegalArgumentException | OperacionRechazadaException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
+    @Schema(description = "Respuesta de error estándar")
+    public static class ErrorResponse {
+
+        @Schema(description = "Mensaje de error", example = "Solo se generan estados de cuenta de meses cerrados")
+        private String mensaje;
+
+        public ErrorResponse(String mensaje) {
+            this.mensaje = mensaje;
+        }
+
+        public String getMensaje() { return mensaje; }
+        public void setMensaje(String mensaje) { this.mensaje = mensaje; }
+    }
+}
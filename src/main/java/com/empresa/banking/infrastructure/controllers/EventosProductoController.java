@@ -0,0 +1,113 @@
+package com.empresa.banking.infrastructure.controllers;
+
+import com.empresa.banking.app.interfaces.IEventosSaldoService;
+import com.empresa.banking.app.interfaces.IProductoService;
+import com.empresa.banking.app.services.EventosSaldoService.EventoSaldo;
+import com.empresa.banking.app.services.EventosSaldoService.PoliticaDesborde;
+import com.empresa.banking.app.services.EventosSaldoService.Receptor;
+import com.empresa.banking.app.services.EventosSaldoService.Suscripcion;
+import com.empresa.banking.domain.entities.Producto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Stream SSE de los cambios de saldo de un producto. La conexión queda en modo asíncrono del servlet: mientras
+ * no haya eventos no ocupa ningún hilo del servidor.
+ */
+@RestController
+@RequestMapping("/api/productos")
+@CrossOrigin(origins = "*")
+@Tag(name = "Productos", description = "API para gestión de productos financieros (cuentas bancarias)")
+public class EventosProductoController {
+
+    private final IProductoService productoService;
+    private final IEventosSaldoService eventosSaldo;
+    private final long timeoutMs;
+
+    public EventosProductoController(IProductoService productoService,
+                                     IEventosSaldoService eventosSaldo,
+                                     @Value("${banking.eventos.timeout-ms:1800000}") long timeoutMs) {
+        this.productoService = productoService;
+        this.eventosSaldo = eventosSaldo;
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Operation(
+            summary = "Suscribirse a los cambios de saldo de un producto",
+            description = "Stream text/event-stream: primero un evento saldo con el saldo actual y luego uno por cada " +
+                    "movimiento confirmado en la cuenta, con su secuencia como id. Si el cliente no alcanza a leer, " +
+                    "se omiten eventos intermedios según la política (el último saldo siempre llega) y el siguiente " +
+                    "evento indica cuántos se omitieron en omitidos; los movimientos se recuperan con " +
+                    "/api/transacciones/cuenta/{cuentaId}/cambios. La conexión se cierra a los 30 minutos y " +
+                    "EventSource reconecta solo."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream de eventos abierto",
+                    content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = EventoSaldo.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Producto no encontrado"
+            )
+    })
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> suscribirEventos(
+            @Parameter(description = "ID único del producto", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Con el buffer lleno: COALESCER reemplaza el último evento pendiente, " +
+                    "DESCARTAR_ANTIGUOS descarta el más antiguo")
+            @RequestParam(defaultValue = "COALESCER") PoliticaDesborde politica) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Suscripcion suscripcion = eventosSaldo.suscribir(id, politica, new ReceptorSse(emitter));
+
+        // El saldo inicial se lee después de suscribirse: ningún cambio posterior a la lectura se pierde
+        Optional<Producto> producto = productoService.buscarProductoPorId(id);
+        if (producto.isEmpty()) {
+            suscripcion.cancelar();
+            return ResponseEntity.notFound().build();
+        }
+
+        emitter.onCompletion(suscripcion::cancelar);
+        emitter.onTimeout(suscripcion::cancelar);
+        emitter.onError(error -> suscripcion.cancelar());
+        suscripcion.iniciar(EventoSaldo.inicial(producto.get()));
+        // Evita que un proxy (nginx) acumule el stream antes de reenviarlo
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private record ReceptorSse(SseEmitter emitter) implements Receptor {
+
+        @Override
+        public void recibir(EventoSaldo evento) throws IOException {
+            SseEmitter.SseEventBuilder mensaje = SseEmitter.event()
+                    .name("saldo")
+                    .data(evento, MediaType.APPLICATION_JSON);
+            if (evento.getSecuencia() != null) {
+                mensaje.id(String.valueOf(evento.getSecuencia()));
+            }
+            emitter.send(mensaje);
+        }
+
+        @Override
+        public void latido() throws IOException {
+            emitter.send(SseEmitter.event().comment("latido"));
+        }
+    }
+}
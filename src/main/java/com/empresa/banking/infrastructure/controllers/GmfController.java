@@ -0,0 +1,85 @@
+package com.empresa.banking.infrastructure.controllers;
+
+import com.empresa.banking.app.interfaces.IGmfService;
+import com.empresa.banking.app.services.GmfService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.YearMonth;
+
+@RestController
+@RequestMapping("/api/gmf")
+@CrossOrigin(origins = "*")
+@Tag(name = "GMF", description = "API de consulta del gravamen a los movimientos financieros (4x1000)")
+public class GmfController {
+
+    private final IGmfService gmfService;
+
+    public GmfController(IGmfService gmfService) {
+        this.gmfService = gmfService;
+    }
+
+    @Operation(
+            summary = "Reporte mensual de GMF",
+            description = "Retorna el GMF cobrado, la base gravable y el monto exento utilizado en el mes, " +
+                    "en total y por cliente. Se construye con los acumulados mensuales, sin recorrer las transacciones."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Reporte generado exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GmfService.ReporteGmfDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Periodo inválido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/reporte/{anio}/{mes}")
+    public ResponseEntity<?> generarReporte(
+            @Parameter(description = "Año del periodo", required = true, example = "2025")
+            @PathVariable int anio,
+            @Parameter(description = "Mes del periodo (1-12)", required = true, example = "1")
+            @PathVariable int mes) {
+        try {
+            GmfService.ReporteGmfDto reporte = gmfService.generarReporte(YearMonth.of(anio, mes));
+            return ResponseEntity.ok(reporte);
+        } catch (DateTimeException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Periodo inválido: " + anio + "-" + mes));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
+    @Schema(description = "Respuesta de error estándar")
+    public static class ErrorResponse {
+
+        @Schema(description = "Mensaje de error", example = "Periodo inválido: 2025-13")
+        private String mensaje;
+
+        public ErrorResponse(String mensaje) {
+            this.mensaje = mensaje;
+        }
+
+        public String getMensaje() { return mensaje; }
+        public void setMensaje(String mensaje) { this.mensaje = mensaje; }
+    }
+}
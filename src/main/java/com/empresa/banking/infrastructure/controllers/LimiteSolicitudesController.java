@@ -0,0 +1,62 @@
+package com.empresa.banking.infrastructure.controllers;
+
+import com.empresa.banking.infrastructure.config.LimitadorSolicitudes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/limite-solicitudes")
+@CrossOrigin(origins = "*")
+@Tag(name = "Límite de solicitudes", description = "API de consulta del tráfico admitido y rechazado por el limitador")
+public class LimiteSolicitudesController {
+
+    private final LimitadorSolicitudes limitador;
+
+    public LimiteSolicitudesController(LimitadorSolicitudes limitador) {
+        this.limitador = limitador;
+    }
+
+    @Operation(
+            summary = "Métricas del limitador de solicitudes",
+            description = "Retorna, por operación (Controlador.metodo), las solicitudes admitidas, las rechazadas con " +
+                    "429 y las desbordadas (rechazadas con 503 por no quedar espacio para la cubeta del cliente) " +
+                    "desde el arranque, junto con el número de cubetas activas (cliente y operación)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Métricas obtenidas exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = MetricasDto.class))
+            )
+    })
+    @GetMapping("/metricas")
+    public ResponseEntity<MetricasDto> obtenerMetricas() {
+        return ResponseEntity.ok(new MetricasDto(limitador.clavesActivas(), limitador.metricas()));
+    }
+
+    @Schema(description = "Tráfico admitido y rechazado por operación")
+    public static class MetricasDto {
+
+        @Schema(description = "Cubetas activas (cliente y operación)", example = "42")
+        private final int clavesActivas;
+
+        @Schema(description = "Admitidas, rechazadas y desbordadas por operación")
+        private final Map<String, Map<String, Long>> operaciones;
+
+        public MetricasDto(int clavesActivas, Map<String, Map<String, Long>> operaciones) {
+            this.clavesActivas = clavesActivas;
+            this.operaciones = operaciones;
+        }
+
+        public int getClavesActivas() { return clavesActivas; }
+        public Map<String, Map<String, Long>> getOperaciones() { return operaciones; }
+    }
+}
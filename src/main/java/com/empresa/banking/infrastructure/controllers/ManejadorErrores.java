@@ -0,0 +1,41 @@
+package com.empresa.banking.infrastructure.controllers;
+
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.exceptions.RecursoNoEncontradoException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Traducción centralizada de los rechazos de negocio a respuestas HTTP.
+ * Los controladores siguen capturando en cada endpoint; este manejador cubre lo que escape de ellos
+ * con el mismo contrato (400 y mensaje). Los errores inesperados se dejan al manejo por defecto de Spring.
+ */
+@RestControllerAdvice
+public class ManejadorErrores {
+
+    @ExceptionHandler({
+            OperacionRechazadaException.class,
+            RecursoNoEncontradoException.class,
+            SolicitudInvalidaException.class
+    })
+    public ResponseEntity<ErrorResponse> manejarRechazo(RuntimeException e) {
+        return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+    }
+
+    @Schema(description = "Respuesta de error estándar")
+    public static class ErrorResponse {
+
+        @Schema(description = "Mensaje de error", example = "Fondos insuficientes en la cuenta origen")
+        private String mensaje;
+
+        public ErrorResponse(String mensaje) {
+            this.mensaje = mensaje;
+        }
+
+        public String getMensaje() { return mensaje; }
+        public void setMensaje(String mensaje) { this.mensaje = mensaje; }
+    }
+}
@@ -5,7 +5,9 @@ import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Producto;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.app.services.ConsultaPorIds;
 import com.empresa.banking.app.services.ProductoService;
+import com.empresa.banking.infrastructure.config.ConsultaCondicional;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -94,6 +96,7 @@ public class ProductoController {
             )
     })
     @GetMapping("/{id}")
+    @ConsultaCondicional(ConsultaCondicional.Recurso.PRODUCTO)
     public ResponseEntity<?> buscarProductoPorId(
             @Parameter(description = "ID único del producto", required = true)
             @PathVariable Long id) {
@@ -147,6 +150,42 @@ public class ProductoController {
         }
     }
 
+    @Operation(
+            summary = "Buscar productos por IDs",
+            description = "Resuelve varios IDs con una sola consulta (máximo 100). Los productos se devuelven en el orden " +
+                    "solicitado y los IDs inexistentes se listan en noEncontrados"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Consulta resuelta exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConsultaPorIds.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de IDs vacía o con más de 100 elementos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> buscarProductosPorIds(
+            @Parameter(description = "IDs separados por coma", example = "1,2,3", required = true)
+            @RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(productoService.buscarProductosPorIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
     @Operation(
             summary = "Obtener todos los productos",
             description = "Retorna la lista completa de productos financieros registrados en el sistema"
@@ -174,6 +213,42 @@ public class ProductoController {
         }
     }
 
+    @Operation(
+            summary = "Obtener todos los productos con campos seleccionados",
+            description = "Retorna todos los productos con solo los campos indicados en fields, separados por coma " +
+                    "(id, tipoCuenta, numeroCuenta, estado, saldo, exentaGmf, fechaCreacion, fechaModificacion, " +
+                    "clienteId). La consulta lee únicamente esas columnas"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Lista de productos obtenida exitosamente"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Campo desconocido o lista de campos vacía",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = {"fields", "!ids"})
+    public ResponseEntity<?> obtenerProductosConCampos(
+            @Parameter(description = "Campos a incluir, separados por coma", example = "id,numeroCuenta,saldo", required = true)
+            @RequestParam String fields) {
+        try {
+            return ResponseEntity.ok(productoService.obtenerProductos(fields));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
     @Operation(
             summary = "Obtener productos por cliente",
             description = "Retorna todos los productos financieros asociados a un cliente específico"
@@ -191,6 +266,7 @@ public class ProductoController {
             )
     })
     @GetMapping("/cliente/{clienteId}")
+    @ConsultaCondicional(value = ConsultaCondicional.Recurso.PRODUCTOS_DE_CLIENTE, variable = "clienteId")
     public ResponseEntity<?> obtenerProductosPorCliente(
             @Parameter(description = "ID del cliente propietario de los productos", required = true)
             @PathVariable Long clienteId) {
@@ -1,8 +1,12 @@
 package com.empresa.banking.infrastructure.controllers;
 
+import com.empresa.banking.app.interfaces.IExportacionEstadoCuentaService;
 import com.empresa.banking.app.interfaces.ITransaccionService;
+import com.empresa.banking.app.services.ExportacionEstadoCuentaService;
 import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.app.services.ConsultaPorIds;
 import com.empresa.banking.app.services.TransaccionService;
+import com.empresa.banking.infrastructure.config.ConsultaCondicional;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,12 +16,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,9 +40,12 @@ import java.util.Optional;
 public class TransaccionController {
 
     private final ITransaccionService transaccionService;
+    private final IExportacionEstadoCuentaService exportacionService;
 
-    public TransaccionController(ITransaccionService transaccionService) {
+    public TransaccionController(ITransaccionService transaccionService,
+                                 IExportacionEstadoCuentaService exportacionService) {
         this.transaccionService = transaccionService;
+        this.exportacionService = exportacionService;
     }
 
 
@@ -159,6 +174,46 @@ public class TransaccionController {
         }
     }
 
+    @Operation(
+            summary = "Realizar dispersión de pagos",
+            description = "Realiza una dispersión (por ejemplo, una nómina) desde una cuenta origen hacia múltiples beneficiarios. " +
+                    "Se valida el saldo una sola vez para el total, se genera un débito agregado en la cuenta origen " +
+                    "y un crédito por beneficiario. Los pagos inválidos se reportan individualmente sin detener la dispersión. " +
+                    "Toda la dispersión es una sola transacción, con un máximo de " + TransaccionService.MAXIMO_PAGOS_DISPERSION +
+                    " pagos; las nóminas más grandes se envían en varias dispersiones."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Dispersión realizada. Retorna el total debitado y los pagos rechazados.",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransaccionService.ResultadoDispersion.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cuenta origen no encontrada, inactiva o con fondos insuficientes para el total",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @PostMapping("/dispersion")
+    public ResponseEntity<?> realizarDispersion(@Valid @RequestBody DispersionRequest request) {
+        try {
+            TransaccionService.ResultadoDispersion resultado = transaccionService.realizarDispersion(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
     @Operation(
             summary = "Buscar transacción por ID",
             description = "Obtiene la información detallada de una transacción específica por su identificador único"
@@ -180,6 +235,7 @@ public class TransaccionController {
             )
     })
     @GetMapping("/{id}")
+    @ConsultaCondicional(ConsultaCondicional.Recurso.TRANSACCION)
     public ResponseEntity<?> buscarTransaccionPorId(
             @Parameter(description = "ID único de la transacción", required = true)
             @PathVariable Long id) {
@@ -196,6 +252,42 @@ public class TransaccionController {
         }
     }
 
+    @Operation(
+            summary = "Buscar transacciones por IDs",
+            description = "Resuelve varios IDs con una sola consulta (máximo 100). Los transacciones se devuelven en el orden " +
+                    "solicitado y los IDs inexistentes se listan en noEncontrados"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Consulta resuelta exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ConsultaPorIds.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Lista de IDs vacía o con más de 100 elementos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<?> buscarTransaccionesPorIds(
+            @Parameter(description = "IDs separados por coma", example = "1,2,3", required = true)
+            @RequestParam List<Long> ids) {
+        try {
+            return ResponseEntity.ok(transaccionService.buscarTransaccionesPorIds(ids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
     @Operation(
             summary = "Obtener todas las transacciones",
             description = "Retorna la lista completa de transacciones registradas en el sistema"
@@ -245,6 +337,7 @@ public class TransaccionController {
             )
     })
     @GetMapping("/cuenta/{cuentaId}")
+    @ConsultaCondicional(value = ConsultaCondicional.Recurso.MOVIMIENTOS_DE_CUENTA, variable = "cuentaId")
     public ResponseEntity<?> obtenerHistorialTransacciones(
             @Parameter(description = "ID de la cuenta para consultar el historial", required = true)
             @PathVariable Long cuentaId) {
@@ -259,10 +352,52 @@ public class TransaccionController {
         }
     }
 
+    @Operation(
+            summary = "Consultar cambios de una cuenta",
+            description = "Sincronización incremental: retorna solo los movimientos con secuencia mayor a desde, en orden " +
+                    "de secuencia. Cada cuenta numera sus movimientos 1, 2, 3...; faltantes lista los números borrados " +
+                    "dentro del rango y la siguiente consulta usa desde = hasta mientras hayMas sea verdadero."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cambios obtenidos exitosamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransaccionService.CambiosCuentaDto.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cuenta no encontrada o parámetros inválidos",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/cuenta/{cuentaId}/cambios")
+    public ResponseEntity<?> consultarCambios(
+            @Parameter(description = "ID de la cuenta", required = true)
+            @PathVariable Long cuentaId,
+            @Parameter(description = "Última secuencia que ya tiene el cliente (0 para empezar)", example = "0")
+            @RequestParam(defaultValue = "0") long desde,
+            @Parameter(description = "Máximo de movimientos a retornar (por defecto 100, máximo 1000)")
+            @RequestParam(required = false) Integer limite) {
+        try {
+            return ResponseEntity.ok(transaccionService.consultarCambios(cuentaId, desde, limite));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("Error interno del servidor"));
+        }
+    }
+
     @Operation(
             summary = "Consultar estado de cuenta",
             description = "Genera un estado de cuenta completo con información de la cuenta y su historial de transacciones. " +
-                    "Incluye datos como saldo actual, tipo de cuenta, estado y lista de movimientos."
+                    "Incluye datos como saldo actual, tipo de cuenta, estado y lista de movimientos. " +
+                    "Con fields se devuelven solo los campos indicados."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -282,10 +417,17 @@ public class TransaccionController {
             )
     })
     @GetMapping("/estado-cuenta/{cuentaId}")
+    @ConsultaCondicional(value = ConsultaCondicional.Recurso.ESTADO_CUENTA, variable = "cuentaId")
     public ResponseEntity<?> consultarEstadoCuenta(
             @Parameter(description = "ID de la cuenta para generar el estado de cuenta", required = true)
-            @PathVariable Long cuentaId) {
+            @PathVariable Long cuentaId,
+            @Parameter(description = "Campos a incluir, separados por coma (sin transacciones no se consulta el historial)",
+                    example = "numeroCuenta,saldoActual")
+            @RequestParam(required = false) String fields) {
         try {
+            if (fields != null) {
+                return ResponseEntity.ok(transaccionService.consultarEstadoCuenta(cuentaId, fields));
+            }
             TransaccionService.EstadoCuentaDto estadoCuenta = transaccionService.consultarEstadoCuenta(cuentaId);
             return ResponseEntity.ok(estadoCuenta);
         } catch (IllegalArgumentException e) {
@@ -296,6 +438,54 @@ public class TransaccionController {
         }
     }
 
+    @Operation(
+            summary = "Exportar estado de cuenta",
+            description = "Descarga el estado de cuenta en CSV o PDF con una fila por movimiento y el saldo corrido. " +
+                    "Los movimientos se escriben a medida que se leen de la base de datos, así que la respuesta " +
+                    "empieza de inmediato sin importar el tamaño del historial. Las fechas son inclusivas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Estado de cuenta generado",
+                    content = {
+                            @Content(mediaType = "text/csv"),
+                            @Content(mediaType = "application/pdf")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Cuenta no encontrada, formato no soportado o periodo inválido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    @GetMapping("/estado-cuenta/{cuentaId}/export")
+    public ResponseEntity<StreamingResponseBody> exportarEstadoCuenta(
+            @Parameter(description = "ID de la cuenta", required = true)
+            @PathVariable Long cuentaId,
+            @Parameter(description = "Formato de salida: csv o pdf", example = "csv")
+            @RequestParam(defaultValue = "csv") String formato,
+            @Parameter(description = "Fecha inicial (inclusive)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @Parameter(description = "Fecha final (inclusive)", example = "2025-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta) {
+        // El cuerpo en streaming solo se reconoce con el tipo declarado, así que aquí no se captura:
+        // los rechazos de la validación previa los traduce ManejadorErrores a 400
+        ExportacionEstadoCuentaService.ExportacionEstadoCuenta exportacion =
+                exportacionService.prepararExportacion(cuentaId, formato, desde, hasta);
+        StreamingResponseBody cuerpo = exportacion::escribir;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportacion.getFormato().getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportacion.getNombreArchivo()).build().toString())
+                .body(cuerpo);
+    }
+
     @Operation(
             summary = "Eliminar transacción",
             description = "Elimina una transacción del sistema. Esta operación debe usarse con precaución ya que puede afectar la integridad contable."
@@ -406,6 +596,44 @@ public class TransaccionController {
         public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
     }
 
+    @Schema(description = "Datos requeridos para realizar una dispersión de pagos")
+    public static class DispersionRequest {
+
+        @Schema(description = "ID de la cuenta origen que financia la dispersión", example = "1", required = true)
+        @NotNull(message = "El ID de la cuenta origen es obligatorio")
+        private Long cuentaOrigenId;
+
+        @Schema(description = "Pagos a realizar. Cada pago se valida individualmente.", required = true)
+        @NotEmpty(message = "La dispersión debe incluir al menos un pago")
+        @Size(max = TransaccionService.MAXIMO_PAGOS_DISPERSION, message = "La dispersión admite como máximo {max} pagos")
+        private List<PagoDispersion> pagos;
+
+        @Schema(description = "Descripción o concepto de la dispersión", example = "Nómina octubre")
+        private String descripcion;
+
+        public Long getCuentaOrigenId() { return cuentaOrigenId; }
+        public void setCuentaOrigenId(Long cuentaOrigenId) { this.cuentaOrigenId = cuentaOrigenId; }
+        public List<PagoDispersion> getPagos() { return pagos; }
+        public void setPagos(List<PagoDispersion> pagos) { this.pagos = pagos; }
+        public String getDescripcion() { return descripcion; }
+        public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
+    }
+
+    @Schema(description = "Pago individual de una dispersión")
+    public static class PagoDispersion {
+
+        @Schema(description = "ID de la cuenta del beneficiario", example = "2")
+        private Long cuentaDestinoId;
+
+        @Schema(description = "Monto a pagar al beneficiario", example = "1500000.00")
+        private BigDecimal monto;
+
+        public Long getCuentaDestinoId() { return cuentaDestinoId; }
+        public void setCuentaDestinoId(Long cuentaDestinoId) { this.cuentaDestinoId = cuentaDestinoId; }
+        public BigDecimal getMonto() { return monto; }
+        public void setMonto(BigDecimal monto) { this.monto = monto; }
+    }
+
     @Schema(description = "Respuesta de error estándar")
     public static class ErrorResponse {
 
@@ -0,0 +1,67 @@
+package com.empresa.banking.infrastructure.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "gmf_acumulados",
+        uniqueConstraints = @UniqueConstraint(name = "uk_gmf_acumulados_cliente_periodo",
+                columnNames = {"cliente_id", "periodo"}))
+public class AcumuladoGmfEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    // Periodo como AAAAMM (por ejemplo 202501)
+    @Column(name = "periodo", nullable = false)
+    private Integer periodo;
+
+    @Column(name = "exento_utilizado", nullable = false, precision = 15, scale = 2)
+    private BigDecimal exentoUtilizado;
+
+    @Column(name = "base_gravable", nullable = false, precision = 15, scale = 2)
+    private BigDecimal baseGravable;
+
+    @Column(name = "gmf_cobrado", nullable = false, precision = 15, scale = 2)
+    private BigDecimal gmfCobrado;
+
+    @Column(name = "movimientos", nullable = false)
+    private Long movimientos;
+
+    @Column(name = "fecha_modificacion")
+    private LocalDateTime fechaModificacion;
+
+    // Constructores
+    public AcumuladoGmfEntity() {
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getClienteId() { return clienteId; }
+    public void setClienteId(Long clienteId) { this.clienteId = clienteId; }
+
+    public Integer getPeriodo() { return periodo; }
+    public void setPeriodo(Integer periodo) { this.periodo = periodo; }
+
+    public BigDecimal getExentoUtilizado() { return exentoUtilizado; }
+    public void setExentoUtilizado(BigDecimal exentoUtilizado) { this.exentoUtilizado = exentoUtilizado; }
+
+    public BigDecimal getBaseGravable() { return baseGravable; }
+    public void setBaseGravable(BigDecimal baseGravable) { this.baseGravable = baseGravable; }
+
+    public BigDecimal getGmfCobrado() { return gmfCobrado; }
+    public void setGmfCobrado(BigDecimal gmfCobrado) { this.gmfCobrado = gmfCobrado; }
+
+    public Long getMovimientos() { return movimientos; }
+    public void setMovimientos(Long movimientos) { this.movimientos = movimientos; }
+
+    public LocalDateTime getFechaModificacion() { return fechaModificacion; }
+    public void setFechaModificacion(LocalDateTime fechaModificacion) { this.fechaModificacion = fechaModificacion; }
+}
@@ -0,0 +1,34 @@
+package com.empresa.banking.infrastructure.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Diccionario de descripciones de transacciones: cada texto frecuente se guarda una vez y las transacciones
+ * solo llevan su código
+ */
+@Entity
+@Table(name = "descripciones_transaccion")
+public class DescripcionTransaccionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Short id;
+
+    @Column(name = "texto", nullable = false, unique = true, length = 500)
+    private String texto;
+
+    // Constructores
+    public DescripcionTransaccionEntity() {
+    }
+
+    public DescripcionTransaccionEntity(String texto) {
+        this.texto = texto;
+    }
+
+    // Getters y Setters
+    public Short getId() { return id; }
+    public void setId(Short id) { this.id = id; }
+
+    public String getTexto() { return texto; }
+    public void setTexto(String texto) { this.texto = texto; }
+}
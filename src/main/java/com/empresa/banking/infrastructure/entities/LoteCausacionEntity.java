@@ -0,0 +1,61 @@
+package com.empresa.banking.infrastructure.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "causacion_intereses_lotes",
+        uniqueConstraints = @UniqueConstraint(name = "uk_causacion_intereses_lotes_fecha_desde",
+                columnNames = {"fecha_causacion", "id_desde"}))
+public class LoteCausacionEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "fecha_causacion", nullable = false)
+    private LocalDate fechaCausacion;
+
+    @Column(name = "id_desde", nullable = false)
+    private Long idDesde;
+
+    @Column(name = "id_hasta", nullable = false)
+    private Long idHasta;
+
+    @Column(name = "cuentas", nullable = false)
+    private Integer cuentas;
+
+    @Column(name = "total_intereses", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalIntereses;
+
+    @Column(name = "fecha_proceso", nullable = false)
+    private LocalDateTime fechaProceso;
+
+    // Constructores
+    public LoteCausacionEntity() {
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getFechaCausacion() { return fechaCausacion; }
+    public void setFechaCausacion(LocalDate fechaCausacion) { this.fechaCausacion = fechaCausacion; }
+
+    public Long getIdDesde() { return idDesde; }
+    public void setIdDesde(Long idDesde) { this.idDesde = idDesde; }
+
+    public Long getIdHasta() { return idHasta; }
+    public void setIdHasta(Long idHasta) { this.idHasta = idHasta; }
+
+    public Integer getCuentas() { return cuentas; }
+    public void setCuentas(Integer cuentas) { this.cuentas = cuentas; }
+
+    public BigDecimal getTotalIntereses() { return totalIntereses; }
+    public void setTotalIntereses(BigDecimal totalIntereses) { this.totalIntereses = totalIntereses; }
+
+    public LocalDateTime getFechaProceso() { return fechaProceso; }
+    public void setFechaProceso(LocalDateTime fechaProceso) { this.fechaProceso = fechaProceso; }
+}
@@ -0,0 +1,52 @@
+package com.empresa.banking.infrastructure.entities;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "conciliacion_marcas")
+public class MarcaConciliacionEntity {
+
+    @Id
+    @Column(name = "cuenta_id")
+    private Long cuentaId;
+
+    @Column(name = "ultima_transaccion_id")
+    private Long ultimaTransaccionId;
+
+    @Column(name = "ultima_fecha")
+    private LocalDateTime ultimaFecha;
+
+    @Column(name = "ultima_secuencia")
+    private Long ultimaSecuencia;
+
+    @Column(name = "saldo", nullable = false, precision = 15, scale = 2)
+    private BigDecimal saldo;
+
+    @Column(name = "fecha_conciliacion", nullable = false)
+    private LocalDateTime fechaConciliacion;
+
+    // Constructores
+    public MarcaConciliacionEntity() {
+    }
+
+    // Getters y Setters
+    public Long getCuentaId() { return cuentaId; }
+    public void setCuentaId(Long cuentaId) { this.cuentaId = cuentaId; }
+
+    public Long getUltimaTransaccionId() { return ultimaTransaccionId; }
+    public void setUltimaTransaccionId(Long ultimaTransaccionId) { this.ultimaTransaccionId = ultimaTransaccionId; }
+
+    public LocalDateTime getUltimaFecha() { return ultimaFecha; }
+    public void setUltimaFecha(LocalDateTime ultimaFecha) { this.ultimaFecha = ultimaFecha; }
+
+    public Long getUltimaSecuencia() { return ultimaSecuencia; }
+    public void setUltimaSecuencia(Long ultimaSecuencia) { this.ultimaSecuencia = ultimaSecuencia; }
+
+    public BigDecimal getSaldo() { return saldo; }
+    public void setSaldo(BigDecimal saldo) { this.saldo = saldo; }
+
+    public LocalDateTime getFechaConciliacion() { return fechaConciliacion; }
+    public void setFechaConciliacion(LocalDateTime fechaConciliacion) { this.fechaConciliacion = fechaConciliacion; }
+}
@@ -10,7 +10,8 @@ import java.util.List;
 import java.util.Random;
 
 @Entity
-@Table(name = "productos")
+@Table(name = "productos",
+        indexes = @Index(name = "idx_productos_cliente", columnList = "cliente_id"))
 public class ProductoEntity {
 
     @Id
@@ -0,0 +1,46 @@
+package com.empresa.banking.infrastructure.entities;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Delta de saldo de una cuenta en compensación que aún no se aplicó a productos. Se inserta en la transacción
+ * del movimiento y se borra al aplicarse (ProductoRepositoryImpl); la entidad existe para que Hibernate cree la tabla.
+ */
+@Entity
+@Table(name = "saldos_pendientes",
+        indexes = @Index(name = "idx_saldos_pendientes_cuenta", columnList = "cuenta_id"))
+public class SaldoPendienteEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cuenta_id", nullable = false)
+    private Long cuentaId;
+
+    @Column(name = "delta", nullable = false, precision = 15, scale = 2)
+    private BigDecimal delta;
+
+    @Column(name = "fecha_registro", nullable = false)
+    private LocalDateTime fechaRegistro;
+
+    // Constructores
+    public SaldoPendienteEntity() {
+    }
+
+    // Getters y Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCuentaId() { return cuentaId; }
+    public void setCuentaId(Long cuentaId) { this.cuentaId = cuentaId; }
+
+    public BigDecimal getDelta() { return delta; }
+    public void setDelta(BigDecimal delta) { this.delta = delta; }
+
+    public LocalDateTime getFechaRegistro() { return fechaRegistro; }
+    public void setFechaRegistro(LocalDateTime fechaRegistro) { this.fechaRegistro = fechaRegistro; }
+}
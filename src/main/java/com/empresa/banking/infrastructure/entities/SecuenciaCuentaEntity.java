@@ -0,0 +1,30 @@
+package com.empresa.banking.infrastructure.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Último número de secuencia asignado a los movimientos de cada cuenta. Se actualiza con un upsert
+ * (TransaccionRepositoryImpl.reservarSecuencias); la entidad existe para que Hibernate cree la tabla.
+ */
+@Entity
+@Table(name = "secuencias_cuenta")
+public class SecuenciaCuentaEntity {
+
+    @Id
+    @Column(name = "cuenta_id")
+    private Long cuentaId;
+
+    @Column(name = "ultima", nullable = false)
+    private Long ultima;
+
+    // Constructores
+    public SecuenciaCuentaEntity() {
+    }
+
+    // Getters y Setters
+    public Long getCuentaId() { return cuentaId; }
+    public void setCuentaId(Long cuentaId) { this.cuentaId = cuentaId; }
+
+    public Long getUltima() { return ultima; }
+    public void setUltima(Long ultima) { this.ultima = ultima; }
+}
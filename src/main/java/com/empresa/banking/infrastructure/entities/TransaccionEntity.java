@@ -7,7 +7,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transacciones")
+@Table(name = "transacciones",
+        indexes = {
+                @Index(name = "idx_transacciones_fecha", columnList = "fecha_transaccion"),
+                @Index(name = "idx_transacciones_cuenta_fecha_id", columnList = "cuenta_origen_id, fecha_transaccion, id"),
+                @Index(name = "uk_transacciones_cuenta_secuencia", columnList = "cuenta_origen_id, secuencia", unique = true)
+        })
 public class TransaccionEntity {
 
     @Id
@@ -21,6 +26,11 @@ public class TransaccionEntity {
     @Column(name = "monto", nullable = false, precision = 15, scale = 2)
     private BigDecimal monto;
 
+    // Código del diccionario de descripciones; sin código, descripcion tiene el texto completo
+    @Column(name = "descripcion_codigo")
+    private Short descripcionCodigo;
+
+    // Texto que sigue al del código (p. ej. el concepto de una transferencia recibida) o el texto libre
     @Column(name = "descripcion", length = 500)
     private String descripcion;
 
@@ -41,6 +51,10 @@ public class TransaccionEntity {
     @Column(name = "saldo_actual", precision = 15, scale = 2)
     private BigDecimal saldoActual;
 
+    // Número del movimiento dentro de la cuenta origen; nulo en las filas anteriores a la numeración
+    @Column(name = "secuencia")
+    private Long secuencia;
+
     // Constructores
     public TransaccionEntity() {}
 
@@ -68,15 +82,16 @@ public class TransaccionEntity {
         entity.setCuentaDestino(cuentaDestino);
         entity.setSaldoAnterior(transaccion.getSaldoAnterior());
         entity.setSaldoActual(transaccion.getSaldoActual());
+        entity.setSecuencia(transaccion.getSecuencia());
         return entity;
     }
 
     public Transaccion toDomain() {
-        return new Transaccion(id, tipoTransaccion, monto, descripcion,
+        return Transaccion.rehidratar(id, tipoTransaccion, Money.of(monto), descripcion,
                 fechaTransaccion,
                 cuentaOrigen != null ? cuentaOrigen.getId() : null,
                 cuentaDestino != null ? cuentaDestino.getId() : null,
-                saldoAnterior, saldoActual);
+                Money.of(saldoAnterior), Money.of(saldoActual), secuencia);
     }
 
     // Métodos de ciclo de vida JPA
@@ -97,6 +112,9 @@ public class TransaccionEntity {
     public BigDecimal getMonto() { return monto; }
     public void setMonto(BigDecimal monto) { this.monto = monto; }
 
+    public Short getDescripcionCodigo() { return descripcionCodigo; }
+    public void setDescripcionCodigo(Short descripcionCodigo) { this.descripcionCodigo = descripcionCodigo; }
+
     public String getDescripcion() { return descripcion; }
     public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
 
@@ -114,4 +132,7 @@ public class TransaccionEntity {
 
     public BigDecimal getSaldoActual() { return saldoActual; }
     public void setSaldoActual(BigDecimal saldoActual) { this.saldoActual = saldoActual; }
+
+    public Long getSecuencia() { return secuencia; }
+    public void setSecuencia(Long secuencia) { this.secuencia = secuencia; }
 }
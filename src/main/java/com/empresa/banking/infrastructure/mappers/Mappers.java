@@ -1,36 +1,49 @@
 package com.empresa.banking.infrastructure.mappers;
 
+import com.empresa.banking.domain.entities.AcumuladoGmf;
 import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
 import com.empresa.banking.domain.entities.Producto;
 import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.infrastructure.entities.AcumuladoGmfEntity;
 import com.empresa.banking.infrastructure.entities.ClienteEntity;
 import com.empresa.banking.infrastructure.entities.ProductoEntity;
 import com.empresa.banking.infrastructure.entities.TransaccionEntity;
+import com.empresa.banking.infrastructure.repositories.DiccionarioDescripciones;
 import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaClienteRepository;
 import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaProductoRepository;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.annotation.Profile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
 import java.util.Optional;
 
 @Component
+@Profile("!memoria")
 public class Mappers {
     private final JpaClienteRepository jpaClienteRepository;
     private final JpaProductoRepository jpaProductoRepository;
+    private final DiccionarioDescripciones diccionarioDescripciones;
 
-    public Mappers(JpaClienteRepository jpaClienteRepository, JpaProductoRepository jpaProductoRepository) {
+    public Mappers(JpaClienteRepository jpaClienteRepository, JpaProductoRepository jpaProductoRepository,
+                   DiccionarioDescripciones diccionarioDescripciones) {
         this.jpaClienteRepository = jpaClienteRepository;
         this.jpaProductoRepository = jpaProductoRepository;
+        this.diccionarioDescripciones = diccionarioDescripciones;
     }
 
     public Producto productoToDomain(ProductoEntity entity){
-        return new Producto(
+        return Producto.rehidratar(
                 entity.getId(),
                 entity.getTipoCuenta(),
                 entity.getNumeroCuenta(),
                 entity.getEstado(),
-                entity.getSaldo(),
+                Money.of(entity.getSaldo()),
                 entity.getExentaGmf(),
                 entity.getFechaCreacion(),
                 entity.getFechaModificacion(),
@@ -71,7 +84,7 @@ public class Mappers {
     }
 
     public Cliente clienteToDomain(ClienteEntity clienteEntity) {
-        return new Cliente(
+        return Cliente.rehidratar(
                 clienteEntity.getId(),
                 clienteEntity.getTipoIdentificacion(),
                 clienteEntity.getNumeroIdentificacion(),
@@ -89,16 +102,38 @@ public class Mappers {
         if (transaccion.getCuentaDestino() != null) {
             cuentaDestinoId = transaccion.getCuentaDestino().getId();
         }
-        return new Transaccion(
+        return Transaccion.rehidratar(
                 transaccion.getId(),
                 transaccion.getTipoTransaccion(),
-                transaccion.getMonto(),
-                transaccion.getDescripcion(),
+                Money.of(transaccion.getMonto()),
+                diccionarioDescripciones.decodificar(transaccion.getDescripcionCodigo(), transaccion.getDescripcion()),
                 transaccion.getFechaTransaccion(),
                 transaccion.getCuentaOrigen().getId(),
                 cuentaDestinoId,
-                transaccion.getSaldoAnterior(),
-                transaccion.getSaldoActual()
+                Money.of(transaccion.getSaldoAnterior()),
+                Money.of(transaccion.getSaldoActual()),
+                transaccion.getSecuencia()
+        );
+    }
+
+    /**
+     * Fila de las consultas JDBC sobre transacciones, con las columnas en este orden: id, tipo_transaccion,
+     * monto, descripcion, fecha_transaccion, cuenta_origen_id, cuenta_destino_id, saldo_anterior, saldo_actual,
+     * descripcion_codigo, secuencia
+     */
+    public Transaccion transaccionFromFila(ResultSet rs) throws SQLException {
+        short codigo = rs.getShort(10);
+        return Transaccion.rehidratar(
+                rs.getLong(1),
+                TipoTransaccion.valueOf(rs.getString(2)),
+                Money.of(rs.getBigDecimal(3)),
+                diccionarioDescripciones.decodificar(rs.wasNull() ? null : codigo, rs.getString(4)),
+                rs.getTimestamp(5).toLocalDateTime(),
+                rs.getLong(6),
+                rs.getObject(7, Long.class),
+                Money.of(rs.getBigDecimal(8)),
+                Money.of(rs.getBigDecimal(9)),
+                rs.getObject(11, Long.class)
         );
     }
 
@@ -118,12 +153,36 @@ public class Mappers {
         entity.setId(transaccion.getId());
         entity.setTipoTransaccion(transaccion.getTipoTransaccion());
         entity.setMonto(transaccion.getMonto());
-        entity.setDescripcion(transaccion.getDescripcion());
+        DiccionarioDescripciones.Codificada descripcion = diccionarioDescripciones.codificar(transaccion.getDescripcion());
+        entity.setDescripcionCodigo(descripcion.codigo());
+        entity.setDescripcion(descripcion.sufijo());
         entity.setFechaTransaccion(transaccion.getFechaTransaccion());
         entity.setCuentaOrigen(cuentaOrigen);
         entity.setCuentaDestino(cuentaDestino);
         entity.setSaldoAnterior(transaccion.getSaldoAnterior());
         entity.setSaldoActual(transaccion.getSaldoActual());
+        entity.setSecuencia(transaccion.getSecuencia());
         return entity;
     }
+
+    public AcumuladoGmf acumuladoGmfToDomain(AcumuladoGmfEntity entity) {
+        return new AcumuladoGmf(
+                entity.getClienteId(),
+                periodoToDomain(entity.getPeriodo()),
+                Money.of(entity.getExentoUtilizado()),
+                Money.of(entity.getBaseGravable()),
+                Money.of(entity.getGmfCobrado()),
+                entity.getMovimientos(),
+                entity.getFechaModificacion()
+        );
+    }
+
+    // El periodo se persiste como AAAAMM
+    public Integer periodoFromDomain(YearMonth periodo) {
+        return periodo.getYear() * 100 + periodo.getMonthValue();
+    }
+
+    public YearMonth periodoToDomain(Integer periodo) {
+        return YearMonth.of(periodo / 100, periodo % 100);
+    }
 }
@@ -0,0 +1,87 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.repositories.AcumuladoGmfRepository;
+import com.empresa.banking.infrastructure.mappers.Mappers;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaAcumuladoGmfRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@Repository
+@Profile("!memoria")
+public class AcumuladoGmfRepositoryImpl implements AcumuladoGmfRepository {
+
+    @Autowired
+    private JpaAcumuladoGmfRepository jpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Mappers mappers;
+
+    /**
+     * Bloquea la fila del cliente y periodo hasta el commit, creándola si es el primer débito del mes.
+     * Crearla antes de bloquear hace que dos primeros débitos concurrentes compitan por la misma fila.
+     */
+    @Override
+    public AcumuladoGmf obtenerParaActualizar(Long clienteId, YearMonth periodo) {
+        Integer codigo = mappers.periodoFromDomain(periodo);
+        jdbcTemplate.update(
+                "INSERT INTO gmf_acumulados (cliente_id, periodo, exento_utilizado, base_gravable, gmf_cobrado, movimientos) " +
+                        "VALUES (?, ?, 0, 0, 0, 0) ON CONFLICT (cliente_id, periodo) DO NOTHING",
+                clienteId, codigo);
+
+        return jdbcTemplate.queryForObject(
+                "SELECT exento_utilizado, base_gravable, gmf_cobrado, movimientos, fecha_modificacion " +
+                        "FROM gmf_acumulados WHERE cliente_id = ? AND periodo = ? FOR UPDATE",
+                (rs, fila) -> {
+                    Timestamp fecha = rs.getTimestamp(5);
+                    return new AcumuladoGmf(clienteId, periodo,
+                            Money.of(rs.getBigDecimal(1)),
+                            Money.of(rs.getBigDecimal(2)),
+                            Money.of(rs.getBigDecimal(3)),
+                            rs.getLong(4),
+                            fecha != null ? fecha.toLocalDateTime() : null);
+                },
+                clienteId, codigo);
+    }
+
+    /**
+     * Suma el débito al acumulado con un único upsert, sin leer la fila
+     */
+    @Override
+    public void acumular(Long clienteId, YearMonth periodo, Money exento, Money gravable, Money gmf) {
+        jdbcTemplate.update(
+                "INSERT INTO gmf_acumulados (cliente_id, periodo, exento_utilizado, base_gravable, gmf_cobrado, " +
+                        "movimientos, fecha_modificacion) VALUES (?, ?, ?, ?, ?, 1, ?) " +
+                        "ON CONFLICT (cliente_id, periodo) DO UPDATE SET " +
+                        "exento_utilizado = gmf_acumulados.exento_utilizado + EXCLUDED.exento_utilizado, " +
+                        "base_gravable = gmf_acumulados.base_gravable + EXCLUDED.base_gravable, " +
+                        "gmf_cobrado = gmf_acumulados.gmf_cobrado + EXCLUDED.gmf_cobrado, " +
+                        "movimientos = gmf_acumulados.movimientos + 1, " +
+                        "fecha_modificacion = EXCLUDED.fecha_modificacion",
+                clienteId,
+                mappers.periodoFromDomain(periodo),
+                exento.toBigDecimal(),
+                gravable.toBigDecimal(),
+                gmf.toBigDecimal(),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public List<AcumuladoGmf> findByPeriodo(YearMonth periodo) {
+        return jpaRepository.findByPeriodoOrderByClienteId(mappers.periodoFromDomain(periodo))
+                .stream()
+                .map(mappers::acumuladoGmfToDomain)
+                .toList();
+    }
+}
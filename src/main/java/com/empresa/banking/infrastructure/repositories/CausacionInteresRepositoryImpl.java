@@ -0,0 +1,88 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.repositories.CausacionInteresRepository;
+import com.empresa.banking.infrastructure.entities.LoteCausacionEntity;
+import com.empresa.banking.infrastructure.mappers.Mappers;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaLoteCausacionRepository;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@Profile("!memoria")
+public class CausacionInteresRepositoryImpl implements CausacionInteresRepository {
+
+    @Autowired
+    private JpaProductoRepository jpaProductoRepository;
+
+    @Autowired
+    private JpaLoteCausacionRepository jpaLoteRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Mappers mappers;
+
+    @Override
+    public Optional<RangoIds> rangoIdsCuentasAhorro() {
+        return jdbcTemplate.query(
+                "SELECT MIN(id), MAX(id) FROM productos WHERE tipo_cuenta = ? AND estado = ?",
+                rs -> {
+                    rs.next();
+                    long minimo = rs.getLong(1);
+                    return rs.wasNull() ? Optional.<RangoIds>empty() : Optional.of(new RangoIds(minimo, rs.getLong(2)));
+                },
+                TipoCuenta.CUENTA_AHORROS.name(), EstadoCuenta.ACTIVA.name());
+    }
+
+    /**
+     * Bloquea las cuentas del rango hasta el commit del lote, en orden ascendente por ID
+     * (el mismo orden que usa el ajuste de saldos por lote)
+     */
+    @Override
+    public List<Producto> cuentasParaCausar(long idDesde, long idHasta) {
+        return jpaProductoRepository.findRangoForUpdate(TipoCuenta.CUENTA_AHORROS, EstadoCuenta.ACTIVA, idDesde, idHasta)
+                .stream()
+                .map(mappers::productoToDomain)
+                .toList();
+    }
+
+    @Override
+    public Set<Long> lotesCausados(LocalDate fecha) {
+        return jpaLoteRepository.findIdDesdeByFechaCausacion(fecha);
+    }
+
+    @Override
+    public Optional<LocalDate> ultimaFechaCausada() {
+        return jpaLoteRepository.findUltimaFechaCausacion();
+    }
+
+    /**
+     * El registro del lote viaja en la misma transacción que los abonos: la restricción única
+     * (fecha, id_desde) impide causar dos veces el mismo rango
+     */
+    @Override
+    public void registrarLote(LocalDate fecha, long idDesde, long idHasta, int cuentas, Money total) {
+        LoteCausacionEntity lote = new LoteCausacionEntity();
+        lote.setFechaCausacion(fecha);
+        lote.setIdDesde(idDesde);
+        lote.setIdHasta(idHasta);
+        lote.setCuentas(cuentas);
+        lote.setTotalIntereses(total.toBigDecimal());
+        lote.setFechaProceso(LocalDateTime.now());
+        jpaLoteRepository.save(lote);
+    }
+}
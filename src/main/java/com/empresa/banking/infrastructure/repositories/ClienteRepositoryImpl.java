@@ -5,15 +5,18 @@ import com.empresa.banking.domain.repositories.ClienteRepository;
 import com.empresa.banking.infrastructure.entities.ClienteEntity;
 import com.empresa.banking.infrastructure.mappers.Mappers;
 import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaClienteRepository;
+import org.springframework.context.annotation.Profile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Repository
+@Profile("!memoria")
 public class ClienteRepositoryImpl implements ClienteRepository {
 
     @Autowired
@@ -26,6 +29,15 @@ public class ClienteRepositoryImpl implements ClienteRepository {
         return jpaClienteRepository.findById(id).map(mappers::clienteToDomain);
     }
 
+    @Override
+    public List<Cliente> findAllById(Collection<Long> ids) {
+        // Un solo parámetro de arreglo: el plan de la consulta no depende de cuántos IDs lleguen
+        return jpaClienteRepository.findByIdAny(ids.toArray(Long[]::new))
+                .stream()
+                .map(mappers::clienteToDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Cliente> findAll() {
         return jpaClienteRepository.findAll()
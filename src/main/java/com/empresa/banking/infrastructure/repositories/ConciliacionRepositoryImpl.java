@@ -0,0 +1,135 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.domain.entities.MarcaConciliacion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.ConciliacionRepository;
+import com.empresa.banking.infrastructure.mappers.Mappers;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaMarcaConciliacionRepository;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("!memoria")
+public class ConciliacionRepositoryImpl implements ConciliacionRepository {
+
+    private static final int TAMANO_LOTE = 500;
+
+    // Usa uk_transacciones_cuenta_secuencia: cada cuenta arranca justo después de la secuencia de su marca.
+    // La secuencia se asigna con la fila de secuencias_cuenta bloqueada hasta el commit, así que un movimiento
+    // que confirma tarde siempre tiene un número mayor que los ya visibles (la fecha no lo garantiza).
+    // Las marcas anteriores a la secuencia comparan por fecha e ID; las filas sin numerar van primero.
+    private static final String SQL_MOVIMIENTOS_PENDIENTES =
+            "SELECT t.id, t.tipo_transaccion, t.monto, t.descripcion, t.fecha_transaccion, " +
+                    "t.cuenta_origen_id, t.cuenta_destino_id, t.saldo_anterior, t.saldo_actual, t.descripcion_codigo, " +
+                    "t.secuencia " +
+                    "FROM transacciones t LEFT JOIN conciliacion_marcas m ON m.cuenta_id = t.cuenta_origen_id " +
+                    "WHERE t.cuenta_origen_id BETWEEN ? AND ? " +
+                    "AND (CASE WHEN m.ultima_secuencia IS NOT NULL THEN t.secuencia > m.ultima_secuencia " +
+                    "WHEN m.ultima_fecha IS NOT NULL " +
+                    "THEN (t.fecha_transaccion, t.id) > (m.ultima_fecha, m.ultima_transaccion_id) " +
+                    "ELSE TRUE END) " +
+                    "ORDER BY t.cuenta_origen_id, t.secuencia NULLS FIRST, t.fecha_transaccion, t.id";
+
+    @Autowired
+    private JpaProductoRepository jpaProductoRepository;
+
+    @Autowired
+    private JpaMarcaConciliacionRepository jpaMarcaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Mappers mappers;
+
+    @Override
+    public Optional<RangoCuentas> rangoIdsCuentas() {
+        return jdbcTemplate.query(
+                "SELECT MIN(id), MAX(id) FROM productos",
+                rs -> {
+                    rs.next();
+                    long minimo = rs.getLong(1);
+                    return rs.wasNull() ? Optional.<RangoCuentas>empty() : Optional.of(new RangoCuentas(minimo, rs.getLong(2)));
+                });
+    }
+
+    @Override
+    public List<Producto> cuentasEnRango(long idDesde, long idHasta) {
+        return jpaProductoRepository.findByIdBetweenOrderById(idDesde, idHasta).stream()
+                .map(mappers::productoToDomain)
+                .toList();
+    }
+
+    @Override
+    public Map<Long, MarcaConciliacion> marcasEnRango(long idDesde, long idHasta) {
+        return jpaMarcaRepository.findByCuentaIdBetween(idDesde, idHasta).stream()
+                .map(entity -> new MarcaConciliacion(entity.getCuentaId(), entity.getUltimaTransaccionId(),
+                        entity.getUltimaFecha(), entity.getUltimaSecuencia(), Money.of(entity.getSaldo()), entity.getFechaConciliacion()))
+                .collect(Collectors.toMap(MarcaConciliacion::getCuentaId, marca -> marca));
+    }
+
+    /**
+     * Recorre el cursor por bloques de TAMANO_LOTE filas sin cargar el rango completo en memoria
+     * (el fetch size solo aplica dentro de una transacción)
+     */
+    @Override
+    public void recorrerMovimientosPendientes(long idDesde, long idHasta, Consumer<Transaccion> consumidor) {
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(SQL_MOVIMIENTOS_PENDIENTES);
+                    ps.setFetchSize(TAMANO_LOTE);
+                    ps.setLong(1, idDesde);
+                    ps.setLong(2, idHasta);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumidor.accept(mappers.transaccionFromFila(rs)));
+    }
+
+    @Override
+    public void guardarMarcas(Collection<MarcaConciliacion> marcas) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO conciliacion_marcas (cuenta_id, ultima_transaccion_id, ultima_fecha, ultima_secuencia, " +
+                        "saldo, fecha_conciliacion) VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (cuenta_id) DO UPDATE SET " +
+                        "ultima_transaccion_id = EXCLUDED.ultima_transaccion_id, " +
+                        "ultima_fecha = EXCLUDED.ultima_fecha, " +
+                        "ultima_secuencia = EXCLUDED.ultima_secuencia, " +
+                        "saldo = EXCLUDED.saldo, " +
+                        "fecha_conciliacion = EXCLUDED.fecha_conciliacion",
+                new ArrayList<>(marcas),
+                TAMANO_LOTE,
+                (ps, marca) -> {
+                    ps.setLong(1, marca.getCuentaId());
+                    if (marca.getUltimaTransaccionId() != null) {
+                        ps.setLong(2, marca.getUltimaTransaccionId());
+                        ps.setTimestamp(3, Timestamp.valueOf(marca.getUltimaFecha()));
+                    } else {
+                        ps.setNull(2, Types.BIGINT);
+                        ps.setNull(3, Types.TIMESTAMP);
+                    }
+                    if (marca.getUltimaSecuencia() != null) {
+                        ps.setLong(4, marca.getUltimaSecuencia());
+                    } else {
+                        ps.setNull(4, Types.BIGINT);
+                    }
+                    ps.setBigDecimal(5, marca.getSaldo());
+                    ps.setTimestamp(6, Timestamp.valueOf(marca.getFechaConciliacion()));
+                });
+    }
+}
@@ -0,0 +1,144 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.infrastructure.entities.DescripcionTransaccionEntity;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaDescripcionTransaccionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Codificación por diccionario de las descripciones de transacciones. Las descripciones por defecto de los
+ * servicios se repiten en casi todas las filas, así que se guardan una vez en descripciones_transaccion y cada
+ * transacción lleva su código más el texto que le sigue (si hay). Se toma el texto registrado más largo que sea
+ * prefijo de la descripción: "Transferencia recibida: arriendo" queda como el código de
+ * "Transferencia recibida: " y el sufijo "arriendo". Las descripciones libres quedan sin código y completas.
+ * El diccionario se carga una vez y se consulta en memoria en ambos sentidos, sin consultas por fila.
+ */
+@Component
+@Profile("!memoria")
+public class DiccionarioDescripciones {
+
+    private static final Logger log = LoggerFactory.getLogger(DiccionarioDescripciones.class);
+
+    // Descripciones por defecto de TransaccionService, GmfService y CausacionInteresesService
+    static final List<String> PREDETERMINADAS = List.of(
+            "Consignación",
+            "Retiro",
+            "Transferencia enviada",
+            "Transferencia recibida",
+            "Transferencia recibida: ",
+            "Dispersión de pagos",
+            "Dispersión recibida: ",
+            "GMF 4x1000",
+            "Causación de intereses");
+
+    private final JpaDescripcionTransaccionRepository jpaRepository;
+
+    private volatile Diccionario diccionario = new Diccionario(List.of());
+
+    public DiccionarioDescripciones(JpaDescripcionTransaccionRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    /**
+     * Registra las descripciones por defecto que falten y carga el diccionario completo
+     */
+    @PostConstruct
+    void cargar() {
+        List<DescripcionTransaccionEntity> registradas = jpaRepository.findAll();
+        Set<String> textos = new HashSet<>();
+        registradas.forEach(registrada -> textos.add(registrada.getTexto()));
+        List<DescripcionTransaccionEntity> faltantes = PREDETERMINADAS.stream()
+                .filter(texto -> !textos.contains(texto))
+                .map(DescripcionTransaccionEntity::new)
+                .toList();
+        if (!faltantes.isEmpty()) {
+            try {
+                jpaRepository.saveAll(faltantes);
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia las registró al mismo tiempo: basta con releer
+                log.info("Descripciones por defecto registradas por otra instancia");
+            }
+            registradas = jpaRepository.findAll();
+        }
+        diccionario = new Diccionario(registradas);
+        log.info("Diccionario de descripciones cargado con {} textos", registradas.size());
+    }
+
+    public Codificada codificar(String descripcion) {
+        if (descripcion == null) {
+            return new Codificada(null, null);
+        }
+        Diccionario actual = diccionario;
+        Short exacto = actual.codigos().get(descripcion);
+        if (exacto != null) {
+            return new Codificada(exacto, null);
+        }
+        for (String prefijo : actual.prefijos()) {
+            if (descripcion.startsWith(prefijo)) {
+                return new Codificada(actual.codigos().get(prefijo), descripcion.substring(prefijo.length()));
+            }
+        }
+        return new Codificada(null, descripcion);
+    }
+
+    public String decodificar(Short codigo, String sufijo) {
+        if (codigo == null) {
+            return sufijo;
+        }
+        String texto = diccionario.textos().get(codigo);
+        if (texto == null) {
+            texto = recargar(codigo);
+        }
+        return sufijo != null ? texto + sufijo : texto;
+    }
+
+    /**
+     * Un código desconocido solo puede venir de un texto registrado después de la carga
+     */
+    private synchronized String recargar(Short codigo) {
+        String texto = diccionario.textos().get(codigo);
+        if (texto == null) {
+            diccionario = new Diccionario(jpaRepository.findAll());
+            texto = diccionario.textos().get(codigo);
+        }
+        if (texto == null) {
+            throw new IllegalStateException("Código de descripción desconocido: " + codigo);
+        }
+        return texto;
+    }
+
+    /**
+     * Descripción guardada como código del diccionario (null si es texto libre) más el texto restante (null si no hay)
+     */
+    public record Codificada(Short codigo, String sufijo) {
+    }
+
+    /**
+     * Vista del diccionario, que no cambia después de cargarse: texto a código, código a texto
+     * y prefijos del más largo al más corto
+     */
+    private record Diccionario(Map<String, Short> codigos, Map<Short, String> textos, List<String> prefijos) {
+
+        Diccionario(List<DescripcionTransaccionEntity> registradas) {
+            this(new HashMap<>(), new HashMap<>(), registradas.stream()
+                    .map(DescripcionTransaccionEntity::getTexto)
+                    .sorted(Comparator.comparingInt(String::length).reversed())
+                    .toList());
+            for (DescripcionTransaccionEntity registrada : registradas) {
+                codigos.put(registrada.getTexto(), registrada.getId());
+                textos.put(registrada.getId(), registrada.getTexto());
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.EstadoCuentaMensualRepository;
+import com.empresa.banking.infrastructure.mappers.Mappers;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Repository
+@Profile("!memoria")
+public class EstadoCuentaMensualRepositoryImpl implements EstadoCuentaMensualRepository {
+
+    private static final int TAMANO_LOTE = 1000;
+
+    @Autowired
+    private JpaProductoRepository jpaProductoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Mappers mappers;
+
+    @Override
+    public List<Producto> cuentasActivasDespuesDe(long idExclusivo, int limite) {
+        return jpaProductoRepository.findByEstadoAndIdGreaterThanOrderById(EstadoCuenta.ACTIVA, idExclusivo,
+                        PageRequest.of(0, limite)).stream()
+                .map(mappers::productoToDomain)
+                .toList();
+    }
+
+    /**
+     * Un solo recorrido del índice (cuenta_origen_id, fecha_transaccion, id) con cursor: el orden ya viene del índice
+     */
+    @Override
+    public void recorrerMovimientosPeriodo(LocalDateTime desde, LocalDateTime hasta, long cuentaExclusiva,
+                                           Consumer<Transaccion> consumidor) {
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(
+                            "SELECT id, tipo_transaccion, monto, descripcion, fecha_transaccion, cuenta_origen_id, " +
+                                    "cuenta_destino_id, saldo_anterior, saldo_actual, descripcion_codigo, secuencia " +
+                                    "FROM transacciones " +
+                                    "WHERE cuenta_origen_id > ? AND fecha_transaccion >= ? AND fecha_transaccion < ? " +
+                                    "ORDER BY cuenta_origen_id, fecha_transaccion, id");
+                    ps.setFetchSize(TAMANO_LOTE);
+                    ps.setLong(1, cuentaExclusiva);
+                    ps.setTimestamp(2, Timestamp.valueOf(desde));
+                    ps.setTimestamp(3, Timestamp.valueOf(hasta));
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumidor.accept(mappers.transaccionFromFila(rs)));
+    }
+
+    @Override
+    public Map<Long, Money> netoPorCuentaDesde(LocalDateTime desde) {
+        Map<Long, Money> netos = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT cuenta_origen_id, SUM(CASE WHEN tipo_transaccion = ? THEN monto ELSE -monto END) " +
+                        "FROM transacciones WHERE fecha_transaccion >= ? GROUP BY cuenta_origen_id",
+                (RowCallbackHandler) rs -> netos.put(rs.getLong(1), Money.of(rs.getBigDecimal(2))),
+                TipoTransaccion.CONSIGNACION.name(), Timestamp.valueOf(desde));
+        return netos;
+    }
+}
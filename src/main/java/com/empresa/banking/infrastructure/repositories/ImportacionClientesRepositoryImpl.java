@@ -0,0 +1,76 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.repositories.ImportacionClientesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("!memoria")
+public class ImportacionClientesRepositoryImpl implements ImportacionClientesRepository {
+
+    // Sin columna de conflicto: cubre las restricciones únicas de identificación y de correo
+    private static final String SQL_INSERTAR =
+            "INSERT INTO clientes (tipo_identificacion, numero_identificacion, nombres, apellido, " +
+                    "correo_electronico, fecha_nacimiento, fecha_creacion) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT DO NOTHING";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Set<String> identificacionesExistentes(Collection<String> numerosIdentificacion) {
+        return existentes("numero_identificacion", numerosIdentificacion);
+    }
+
+    @Override
+    public Set<String> correosExistentes(Collection<String> correosElectronicos) {
+        return existentes("correo_electronico", correosElectronicos);
+    }
+
+    /**
+     * Una sola consulta IN por lote; el tamaño del lote lo acota quien llama
+     */
+    private Set<String> existentes(String columna, Collection<String> valores) {
+        if (valores.isEmpty()) {
+            return Set.of();
+        }
+        String marcadores = valores.stream().map(valor -> "?").collect(Collectors.joining(", "));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT " + columna + " FROM clientes WHERE " + columna + " IN (" + marcadores + ")",
+                String.class, valores.toArray()));
+    }
+
+    @Override
+    public boolean[] insertarLote(List<Cliente> clientes) {
+        int[][] resultados = jdbcTemplate.batchUpdate(SQL_INSERTAR, clientes, clientes.size(), (ps, cliente) -> {
+            ps.setString(1, cliente.getTipoIdentificacion().name());
+            ps.setString(2, cliente.getNumeroIdentificacion());
+            ps.setString(3, cliente.getNombres());
+            ps.setString(4, cliente.getApellido());
+            ps.setString(5, cliente.getCorreoElectronico());
+            ps.setDate(6, Date.valueOf(cliente.getFechaNacimiento()));
+            ps.setTimestamp(7, Timestamp.valueOf(cliente.getFechaCreacion()));
+        });
+        boolean[] insertados = new boolean[clientes.size()];
+        int indice = 0;
+        for (int[] lote : resultados) {
+            for (int filas : lote) {
+                // Con inserciones reescritas el driver puede no informar el conteo por fila
+                insertados[indice++] = filas > 0 || filas == Statement.SUCCESS_NO_INFO;
+            }
+        }
+        return insertados;
+    }
+}
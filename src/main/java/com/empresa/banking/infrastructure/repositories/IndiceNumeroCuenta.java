@@ -0,0 +1,202 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice primitivo número de cuenta → ID de producto con direccionamiento abierto (sondeo lineal).
+ * Los números de cuenta son 10 dígitos, así que se codifican como long; las búsquedas no reservan memoria.
+ * Las lecturas son optimistas (StampedLock) y solo se reintentan con bloqueo si hubo una escritura concurrente.
+ */
+final class IndiceNumeroCuenta {
+
+    static final long NO_ENCONTRADO = -1L;
+
+    private static final long VACIO = -1L;
+    private static final int LONGITUD_NUMERO = 10;
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Claves y valores van juntos en un solo objeto para que la lectura optimista vea arreglos del mismo tamaño
+    private Tabla tabla;
+    private int tamano;
+
+    IndiceNumeroCuenta() {
+        inicializar(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Codifica un número de cuenta de 10 dígitos; devuelve NO_ENCONTRADO si no tiene ese formato
+     */
+    static long codificar(String numeroCuenta) {
+        if (numeroCuenta == null || numeroCuenta.length() != LONGITUD_NUMERO) {
+            return NO_ENCONTRADO;
+        }
+
+        long clave = 0;
+        for (int i = 0; i < LONGITUD_NUMERO; i++) {
+            char c = numeroCuenta.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_ENCONTRADO;
+            }
+            clave = clave * 10 + (c - '0');
+        }
+        return clave;
+    }
+
+    /**
+     * Devuelve el ID del producto o NO_ENCONTRADO
+     */
+    long buscar(String numeroCuenta) {
+        long clave = codificar(numeroCuenta);
+        if (clave == NO_ENCONTRADO) {
+            return NO_ENCONTRADO;
+        }
+
+        long sello = lock.tryOptimisticRead();
+        long id = buscarEn(tabla, clave);
+        if (lock.validate(sello)) {
+            return id;
+        }
+
+        sello = lock.readLock();
+        try {
+            return buscarEn(tabla, clave);
+        } finally {
+            lock.unlockRead(sello);
+        }
+    }
+
+    boolean contiene(String numeroCuenta) {
+        return buscar(numeroCuenta) != NO_ENCONTRADO;
+    }
+
+    void registrar(String numeroCuenta, long productoId) {
+        long clave = codificar(numeroCuenta);
+        if (clave == NO_ENCONTRADO) {
+            return;
+        }
+
+        long sello = lock.writeLock();
+        try {
+            // Carga máxima de 0.5 para mantener cortas las secuencias de sondeo
+            if ((tamano + 1) * 2 > tabla.claves().length) {
+                redimensionar(tabla.claves().length * 2);
+            }
+            long[] claves = tabla.claves();
+            int posicion = posicion(clave, claves.length);
+            while (claves[posicion] != VACIO && claves[posicion] != clave) {
+                posicion = (posicion + 1) & (claves.length - 1);
+            }
+            if (claves[posicion] == VACIO) {
+                tamano++;
+            }
+            claves[posicion] = clave;
+            tabla.valores()[posicion] = productoId;
+        } finally {
+            lock.unlockWrite(sello);
+        }
+    }
+
+    void eliminar(String numeroCuenta) {
+        long clave = codificar(numeroCuenta);
+        if (clave == NO_ENCONTRADO) {
+            return;
+        }
+
+        long sello = lock.writeLock();
+        try {
+            long[] claves = tabla.claves();
+            long[] valores = tabla.valores();
+            int mascara = claves.length - 1;
+            int posicion = posicion(clave, claves.length);
+            while (claves[posicion] != clave) {
+                if (claves[posicion] == VACIO) {
+                    return;
+                }
+                posicion = (posicion + 1) & mascara;
+            }
+
+            // Borrado con desplazamiento hacia atrás: evita lápidas en el sondeo lineal
+            int hueco = posicion;
+            int siguiente = (hueco + 1) & mascara;
+            while (claves[siguiente] != VACIO) {
+                int ideal = posicion(claves[siguiente], claves.length);
+                if (((siguiente - ideal) & mascara) >= ((siguiente - hueco) & mascara)) {
+                    claves[hueco] = claves[siguiente];
+                    valores[hueco] = valores[siguiente];
+                    hueco = siguiente;
+                }
+                siguiente = (siguiente + 1) & mascara;
+            }
+            claves[hueco] = VACIO;
+            tamano--;
+        } finally {
+            lock.unlockWrite(sello);
+        }
+    }
+
+    void limpiar() {
+        long sello = lock.writeLock();
+        try {
+            inicializar(CAPACIDAD_INICIAL);
+        } finally {
+            lock.unlockWrite(sello);
+        }
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    private static long buscarEn(Tabla tabla, long clave) {
+        long[] claves = tabla.claves();
+        int mascara = claves.length - 1;
+        int posicion = posicion(clave, claves.length);
+        // El límite de sondeos protege la lectura optimista frente a un arreglo a medio modificar
+        for (int sondeos = 0; sondeos < claves.length; sondeos++) {
+            long actual = claves[posicion];
+            if (actual == clave) {
+                return tabla.valores()[posicion];
+            }
+            if (actual == VACIO) {
+                return NO_ENCONTRADO;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    private static int posicion(long clave, int capacidad) {
+        long h = clave * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & (capacidad - 1);
+    }
+
+    private void redimensionar(int capacidad) {
+        Tabla anterior = tabla;
+        inicializar(capacidad);
+        long[] claves = tabla.claves();
+        for (int i = 0; i < anterior.claves().length; i++) {
+            if (anterior.claves()[i] != VACIO) {
+                int posicion = posicion(anterior.claves()[i], capacidad);
+                while (claves[posicion] != VACIO) {
+                    posicion = (posicion + 1) & (capacidad - 1);
+                }
+                claves[posicion] = anterior.claves()[i];
+                tabla.valores()[posicion] = anterior.valores()[i];
+                tamano++;
+            }
+        }
+    }
+
+    private void inicializar(int capacidad) {
+        long[] claves = new long[capacidad];
+        Arrays.fill(claves, VACIO);
+        tabla = new Tabla(claves, new long[capacidad]);
+        tamano = 0;
+    }
+
+    private record Tabla(long[] claves, long[] valores) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.repositories.AcumuladoGmfRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Repository
+@Profile("memoria")
+public class AcumuladoGmfRepositoryMemoria implements AcumuladoGmfRepository {
+
+    private final AlmacenMemoria almacen;
+
+    public AcumuladoGmfRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    /**
+     * El almacén en memoria no tiene bloqueo por fila: devuelve el acumulado vigente (o uno vacío)
+     */
+    @Override
+    public AcumuladoGmf obtenerParaActualizar(Long clienteId, YearMonth periodo) {
+        return almacen.acumuladoGmf(clienteId, periodo);
+    }
+
+    @Override
+    public void acumular(Long clienteId, YearMonth periodo, Money exento, Money gravable, Money gmf) {
+        almacen.acumularGmf(clienteId, periodo, exento, gravable, gmf);
+    }
+
+    @Override
+    public List<AcumuladoGmf> findByPeriodo(YearMonth periodo) {
+        return almacen.acumuladosGmf(periodo);
+    }
+}
@@ -0,0 +1,837 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.MarcaConciliacion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.AcumuladoGmfRegistro;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.ClienteRegistro;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.EntradaDiario;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.LoteCausacionRegistro;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.MarcaConciliacionRegistro;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.ProductoRegistro;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.Snapshot;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.TransaccionRegistro;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Almacén embebido en memoria para clientes, productos, transacciones, acumulados de GMF
+ * y lotes de causación de intereses.
+ * Cada mutación se escribe primero en un diario de solo anexado y luego se aplica a los mapas;
+ * periódicamente se toma un snapshot completo y se rotan los diarios ya cubiertos.
+ * Al arrancar se carga el último snapshot y se reproducen los diarios posteriores.
+ * Las transacciones no pasan por el diario JSON: se anexan al {@link DiarioTransacciones} mapeado en memoria.
+ */
+@Component
+@Profile("memoria")
+public class AlmacenMemoria {
+
+    private static final Logger log = LoggerFactory.getLogger(AlmacenMemoria.class);
+
+    private static final String CLIENTE = "C";
+    private static final String PRODUCTO = "P";
+    private static final String TRANSACCION = "T";
+    private static final String ACUMULADO_GMF = "G";
+    private static final String LOTE_CAUSACION = "L";
+    private static final String MARCA_CONCILIACION = "M";
+    private static final String GUARDAR = "S";
+    private static final String BORRAR = "D";
+
+    private static final String ARCHIVO_SNAPSHOT = "snapshot.json";
+    private static final String PREFIJO_DIARIO = "diario-";
+    private static final String SUFIJO_DIARIO = ".log";
+
+    // Datos primarios
+    private final Map<Long, Cliente> clientes = new ConcurrentHashMap<>();
+    private final Map<Long, Producto> productos = new ConcurrentHashMap<>();
+    private final Map<Long, Transaccion> transacciones = new ConcurrentHashMap<>();
+    private final Map<ClaveGmf, AcumuladoGmf> acumuladosGmf = new ConcurrentHashMap<>();
+    private final Map<ClaveLote, LoteCausacionRegistro> lotesCausacion = new ConcurrentHashMap<>();
+    private final Map<Long, MarcaConciliacion> marcasConciliacion = new ConcurrentHashMap<>();
+
+    // Índices secundarios
+    private final Map<String, Long> clientePorIdentificacion = new ConcurrentHashMap<>();
+    private final Map<String, Long> productoPorNumeroCuenta = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> productosPorCliente = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> transaccionesPorCuenta = new ConcurrentHashMap<>();
+
+    private final AtomicLong secuenciaClientes = new AtomicLong();
+    private final AtomicLong secuenciaProductos = new AtomicLong();
+    private final AtomicLong secuenciaTransacciones = new AtomicLong();
+    // Último número de movimiento de cada cuenta; no baja al borrar transacciones
+    private final Map<Long, Long> secuenciasPorCuenta = new ConcurrentHashMap<>();
+
+    // Las mutaciones toman el lock de lectura; el snapshot toma el de escritura para capturar un estado consistente
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private final Path directorio;
+    private final boolean fsync;
+    private final DiarioTransacciones diarioTransacciones;
+
+    private FileChannel diario;
+    private long numeroDiario;
+
+    public AlmacenMemoria(@Value("${banking.memoria.directorio:./data/memoria}") String directorio,
+                         @Value("${banking.memoria.fsync:false}") boolean fsync,
+                         DiarioTransacciones diarioTransacciones) {
+        this.directorio = Paths.get(directorio);
+        this.fsync = fsync;
+        this.diarioTransacciones = diarioTransacciones;
+    }
+
+    // ========== CLIENTES ==========
+
+    public Optional<Cliente> buscarCliente(Long id) {
+        return Optional.ofNullable(clientes.get(id));
+    }
+
+    public Optional<Cliente> buscarClientePorIdentificacion(String numeroIdentificacion) {
+        Long id = clientePorIdentificacion.get(numeroIdentificacion);
+        return id != null ? buscarCliente(id) : Optional.empty();
+    }
+
+    public List<Cliente> clientes() {
+        return ordenarPorId(clientes.values(), Cliente::getId);
+    }
+
+    public Cliente guardarCliente(Cliente cliente) {
+        return mutar(() -> {
+            synchronized (clientes) {
+                Long id = cliente.getId() != null ? cliente.getId() : secuenciaClientes.incrementAndGet();
+                Long existente = clientePorIdentificacion.get(cliente.getNumeroIdentificacion());
+                if (existente != null && !existente.equals(id)) {
+                    throw new DuplicateKeyException("Ya existe un cliente con el número de identificación: "
+                            + cliente.getNumeroIdentificacion());
+                }
+
+                ClienteRegistro registro = ClienteRegistro.desde(cliente);
+                registro = new ClienteRegistro(id, registro.tipoIdentificacion(), registro.numeroIdentificacion(),
+                        registro.nombres(), registro.apellido(), registro.correoElectronico(),
+                        registro.fechaNacimiento(), registro.fechaCreacion(), registro.fechaModificacion());
+                escribir(new EntradaDiario(CLIENTE, GUARDAR, id, registro, null, null, null, null, null));
+
+                Cliente guardado = registro.aDominio();
+                aplicarCliente(guardado);
+                return guardado;
+            }
+        });
+    }
+
+    public void borrarCliente(Long id) {
+        mutar(() -> {
+            synchronized (clientes) {
+                if (clientes.containsKey(id)) {
+                    escribir(new EntradaDiario(CLIENTE, BORRAR, id, null, null, null, null, null, null));
+                    quitarCliente(id);
+                }
+                return null;
+            }
+        });
+    }
+
+    // ========== PRODUCTOS ==========
+
+    public Optional<Producto> buscarProducto(Long id) {
+        return Optional.ofNullable(productos.get(id));
+    }
+
+    public Optional<Producto> buscarProductoPorNumeroCuenta(String numeroCuenta) {
+        Long id = productoPorNumeroCuenta.get(numeroCuenta);
+        return id != null ? buscarProducto(id) : Optional.empty();
+    }
+
+    public boolean existeNumeroCuenta(String numeroCuenta) {
+        return productoPorNumeroCuenta.containsKey(numeroCuenta);
+    }
+
+    public List<Producto> productosDeCliente(Long clienteId) {
+        Set<Long> ids = productosPorCliente.getOrDefault(clienteId, Set.of());
+        return ordenarPorId(ids.stream().map(productos::get).filter(p -> p != null).toList(), Producto::getId);
+    }
+
+    public List<Producto> productos() {
+        return ordenarPorId(productos.values(), Producto::getId);
+    }
+
+    /**
+     * Cuentas de ahorro activas con ID en [idDesde, idHasta], recorriendo el rango por ID en lugar de todo el mapa
+     */
+    public List<Producto> cuentasAhorroEnRango(long idDesde, long idHasta) {
+        List<Producto> resultado = new ArrayList<>();
+        for (long id = idDesde; id <= idHasta; id++) {
+            Producto producto = productos.get(id);
+            if (producto != null && producto.getTipoCuenta() == TipoCuenta.CUENTA_AHORROS
+                    && producto.getEstado() == EstadoCuenta.ACTIVA) {
+                resultado.add(producto);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Cuentas activas con ID mayor a idExclusivo, avanzando por ID hasta completar el límite
+     */
+    public List<Producto> cuentasActivasDespuesDe(long idExclusivo, int limite) {
+        List<Producto> resultado = new ArrayList<>();
+        long maximo = secuenciaProductos.get();
+        for (long id = idExclusivo + 1; id <= maximo && resultado.size() < limite; id++) {
+            Producto producto = productos.get(id);
+            if (producto != null && producto.getEstado() == EstadoCuenta.ACTIVA) {
+                resultado.add(producto);
+            }
+        }
+        return resultado;
+    }
+
+    public List<Producto> productosEnRango(long idDesde, long idHasta) {
+        List<Producto> resultado = new ArrayList<>();
+        for (long id = idDesde; id <= idHasta; id++) {
+            Producto producto = productos.get(id);
+            if (producto != null) {
+                resultado.add(producto);
+            }
+        }
+        return resultado;
+    }
+
+    public Producto guardarProducto(Producto producto) {
+        return mutar(() -> {
+            synchronized (productos) {
+                if (!clientes.containsKey(producto.getClienteId())) {
+                    throw new EntityNotFoundException("Cliente no encontrado");
+                }
+
+                Long id = producto.getId() != null ? producto.getId() : secuenciaProductos.incrementAndGet();
+                Long existente = productoPorNumeroCuenta.get(producto.getNumeroCuenta());
+                if (existente != null && !existente.equals(id)) {
+                    throw new DuplicateKeyException("Ya existe un producto con el número de cuenta: "
+                            + producto.getNumeroCuenta());
+                }
+
+                Producto guardado = Producto.rehidratar(id, producto.getTipoCuenta(), producto.getNumeroCuenta(),
+                        producto.getEstado(), producto.saldo(), producto.getExentaGmf(),
+                        producto.getFechaCreacion(), producto.getFechaModificacion(), producto.getClienteId());
+                escribir(new EntradaDiario(PRODUCTO, GUARDAR, id, null, ProductoRegistro.desde(guardado), null, null, null, null));
+                aplicarProducto(guardado);
+                return guardado;
+            }
+        });
+    }
+
+    /**
+     * Suma deltas a los saldos de varias cuentas de forma atómica respecto a otras escrituras de productos
+     */
+    public void ajustarSaldos(Map<Long, BigDecimal> deltas) {
+        mutar(() -> {
+            synchronized (productos) {
+                deltas.forEach((id, delta) -> {
+                    Producto actual = productos.get(id);
+                    if (actual == null) {
+                        throw new EntityNotFoundException("Producto no encontrado con ID: " + id);
+                    }
+                    Producto ajustado = Producto.rehidratar(id, actual.getTipoCuenta(), actual.getNumeroCuenta(),
+                            actual.getEstado(), actual.saldo().plus(Money.of(delta)), actual.getExentaGmf(),
+                            actual.getFechaCreacion(), LocalDateTime.now(), actual.getClienteId());
+                    escribir(new EntradaDiario(PRODUCTO, GUARDAR, id, null, ProductoRegistro.desde(ajustado), null, null, null, null));
+                    aplicarProducto(ajustado);
+                });
+                return null;
+            }
+        });
+    }
+
+    public void borrarProducto(Long id) {
+        mutar(() -> {
+            synchronized (productos) {
+                if (productos.containsKey(id)) {
+                    escribir(new EntradaDiario(PRODUCTO, BORRAR, id, null, null, null, null, null, null));
+                    quitarProducto(id);
+                }
+                return null;
+            }
+        });
+    }
+
+    // ========== TRANSACCIONES ==========
+
+    public Optional<Transaccion> buscarTransaccion(Long id) {
+        return Optional.ofNullable(transacciones.get(id));
+    }
+
+    public List<Transaccion> transaccionesDeCuenta(Long cuentaId) {
+        Set<Long> ids = transaccionesPorCuenta.getOrDefault(cuentaId, Set.of());
+        List<Transaccion> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Transaccion transaccion = transacciones.get(id);
+            if (transaccion != null) {
+                resultado.add(transaccion);
+            }
+        }
+        return resultado;
+    }
+
+    public List<Transaccion> transacciones() {
+        return ordenarPorId(transacciones.values(), Transaccion::getId);
+    }
+
+    public List<Transaccion> cambiosDeCuenta(Long cuentaId, long desde, int limite) {
+        return transaccionesDeCuenta(cuentaId).stream()
+                .filter(transaccion -> transaccion.getSecuencia() > desde)
+                .sorted(Comparator.comparing(Transaccion::getSecuencia))
+                .limit(limite)
+                .toList();
+    }
+
+    public long ultimaSecuencia(Long cuentaId) {
+        return secuenciasPorCuenta.getOrDefault(cuentaId, 0L);
+    }
+
+    public Transaccion guardarTransaccion(Transaccion transaccion) {
+        return mutar(() -> {
+            synchronized (transacciones) {
+                return guardarTransaccionInterno(transaccion);
+            }
+        });
+    }
+
+    public void guardarTransacciones(List<Transaccion> lote) {
+        mutar(() -> {
+            synchronized (transacciones) {
+                lote.forEach(this::guardarTransaccionInterno);
+                return null;
+            }
+        });
+    }
+
+    public void borrarTransaccion(Long id) {
+        mutar(() -> {
+            synchronized (transacciones) {
+                if (transacciones.containsKey(id)) {
+                    escribir(new EntradaDiario(TRANSACCION, BORRAR, id, null, null, null, null, null, null));
+                    quitarTransaccion(id);
+                }
+                return null;
+            }
+        });
+    }
+
+    public void borrarTransaccionesDeCuenta(Long cuentaId) {
+        mutar(() -> {
+            synchronized (transacciones) {
+                for (Long id : List.copyOf(transaccionesPorCuenta.getOrDefault(cuentaId, Set.of()))) {
+                    escribir(new EntradaDiario(TRANSACCION, BORRAR, id, null, null, null, null, null, null));
+                    quitarTransaccion(id);
+                }
+                return null;
+            }
+        });
+    }
+
+    private Transaccion guardarTransaccionInterno(Transaccion transaccion) {
+        if (!productos.containsKey(transaccion.getCuentaOrigenId())) {
+            throw new EntityNotFoundException("Cuenta origen no encontrada con ID: " + transaccion.getCuentaOrigenId());
+        }
+        if (transaccion.getCuentaDestinoId() != null && !productos.containsKey(transaccion.getCuentaDestinoId())) {
+            throw new EntityNotFoundException("Cuenta destino no encontrada con ID: " + transaccion.getCuentaDestinoId());
+        }
+
+        Long id = transaccion.getId() != null ? transaccion.getId() : secuenciaTransacciones.incrementAndGet();
+        Transaccion guardada = numerar(Transaccion.rehidratar(id, transaccion.getTipoTransaccion(), transaccion.monto(),
+                transaccion.getDescripcion(), transaccion.getFechaTransaccion(),
+                transaccion.getCuentaOrigenId(), transaccion.getCuentaDestinoId(),
+                transaccion.saldoAnterior(), transaccion.saldoActual()));
+        diarioTransacciones.anexar(guardada);
+        aplicarTransaccion(guardada);
+        return guardada;
+    }
+
+    // ========== ACUMULADOS DE GMF ==========
+
+    public AcumuladoGmf acumuladoGmf(Long clienteId, YearMonth periodo) {
+        AcumuladoGmf acumulado = acumuladosGmf.get(new ClaveGmf(clienteId, periodo));
+        return acumulado != null ? acumulado : AcumuladoGmf.vacio(clienteId, periodo);
+    }
+
+    public List<AcumuladoGmf> acumuladosGmf(YearMonth periodo) {
+        return ordenarPorId(acumuladosGmf.values().stream()
+                .filter(acumulado -> acumulado.getPeriodo().equals(periodo))
+                .toList(), AcumuladoGmf::getClienteId);
+    }
+
+    public void acumularGmf(Long clienteId, YearMonth periodo, Money exento, Money gravable, Money gmf) {
+        mutar(() -> {
+            synchronized (acumuladosGmf) {
+                AcumuladoGmf acumulado = acumuladoGmf(clienteId, periodo).acumular(exento, gravable, gmf);
+                escribir(new EntradaDiario(ACUMULADO_GMF, GUARDAR, clienteId, null, null, null,
+                        AcumuladoGmfRegistro.desde(acumulado), null, null));
+                aplicarAcumuladoGmf(acumulado);
+                return null;
+            }
+        });
+    }
+
+    // ========== LOTES DE CAUSACIÓN DE INTERESES ==========
+
+    public Set<Long> lotesCausados(LocalDate fecha) {
+        return lotesCausacion.values().stream()
+                .filter(lote -> lote.fecha().equals(fecha))
+                .map(LoteCausacionRegistro::idDesde)
+                .collect(Collectors.toSet());
+    }
+
+    public Optional<LocalDate> ultimaFechaCausada() {
+        return lotesCausacion.keySet().stream().map(ClaveLote::fecha).max(Comparator.naturalOrder());
+    }
+
+    public void registrarLoteCausacion(LoteCausacionRegistro lote) {
+        mutar(() -> {
+            synchronized (lotesCausacion) {
+                if (lotesCausacion.containsKey(new ClaveLote(lote.fecha(), lote.idDesde()))) {
+                    throw new DuplicateKeyException("El lote de causación ya fue registrado: "
+                            + lote.fecha() + " desde " + lote.idDesde());
+                }
+                escribir(new EntradaDiario(LOTE_CAUSACION, GUARDAR, lote.idDesde(), null, null, null, null, lote, null));
+                aplicarLoteCausacion(lote);
+                return null;
+            }
+        });
+    }
+
+    // ========== MARCAS DE CONCILIACIÓN ==========
+
+    public Map<Long, MarcaConciliacion> marcasConciliacion(long idDesde, long idHasta) {
+        Map<Long, MarcaConciliacion> resultado = new HashMap<>();
+        for (long id = idDesde; id <= idHasta; id++) {
+            MarcaConciliacion marca = marcasConciliacion.get(id);
+            if (marca != null) {
+                resultado.put(id, marca);
+            }
+        }
+        return resultado;
+    }
+
+    public void guardarMarcasConciliacion(Collection<MarcaConciliacion> marcas) {
+        mutar(() -> {
+            for (MarcaConciliacion marca : marcas) {
+                escribir(new EntradaDiario(MARCA_CONCILIACION, GUARDAR, marca.getCuentaId(), null, null, null, null, null,
+                        MarcaConciliacionRegistro.desde(marca)));
+                aplicarMarcaConciliacion(marca);
+            }
+            return null;
+        });
+    }
+
+    // ========== APLICACIÓN SOBRE MAPAS E ÍNDICES ==========
+
+    private void aplicarCliente(Cliente cliente) {
+        Cliente anterior = clientes.put(cliente.getId(), cliente);
+        if (anterior != null && !anterior.getNumeroIdentificacion().equals(cliente.getNumeroIdentificacion())) {
+            clientePorIdentificacion.remove(anterior.getNumeroIdentificacion());
+        }
+        clientePorIdentificacion.put(cliente.getNumeroIdentificacion(), cliente.getId());
+        secuenciaClientes.accumulateAndGet(cliente.getId(), Math::max);
+    }
+
+    private void quitarCliente(Long id) {
+        Cliente anterior = clientes.remove(id);
+        if (anterior != null) {
+            clientePorIdentificacion.remove(anterior.getNumeroIdentificacion());
+        }
+    }
+
+    private void aplicarProducto(Producto producto) {
+        Producto anterior = productos.put(producto.getId(), producto);
+        if (anterior != null) {
+            if (!anterior.getNumeroCuenta().equals(producto.getNumeroCuenta())) {
+                productoPorNumeroCuenta.remove(anterior.getNumeroCuenta());
+            }
+            if (!anterior.getClienteId().equals(producto.getClienteId())) {
+                productosPorCliente.getOrDefault(anterior.getClienteId(), Set.of()).remove(producto.getId());
+            }
+        }
+        productoPorNumeroCuenta.put(producto.getNumeroCuenta(), producto.getId());
+        productosPorCliente.computeIfAbsent(producto.getClienteId(), k -> ConcurrentHashMap.newKeySet())
+                .add(producto.getId());
+        secuenciaProductos.accumulateAndGet(producto.getId(), Math::max);
+    }
+
+    private void quitarProducto(Long id) {
+        Producto anterior = productos.remove(id);
+        if (anterior != null) {
+            productoPorNumeroCuenta.remove(anterior.getNumeroCuenta());
+            productosPorCliente.getOrDefault(anterior.getClienteId(), Set.of()).remove(id);
+        }
+    }
+
+    /**
+     * El número definitivo se asigna aquí, en el orden del diario, y no el que reservó el servicio: el diario de
+     * tamaño fijo no guarda la secuencia y al recuperar se vuelve a numerar en ese mismo orden. Una transacción
+     * que ya existe conserva su número.
+     */
+    private Transaccion numerar(Transaccion transaccion) {
+        Transaccion anterior = transaccion.getId() != null ? transacciones.get(transaccion.getId()) : null;
+        if (anterior != null && anterior.getSecuencia() != null) {
+            return transaccion.conSecuencia(anterior.getSecuencia());
+        }
+        return transaccion.conSecuencia(secuenciasPorCuenta.merge(transaccion.getCuentaOrigenId(), 1L, Long::sum));
+    }
+
+    private void aplicarTransaccion(Transaccion transaccion) {
+        if (transaccion.getSecuencia() == null) {
+            transaccion = numerar(transaccion);
+        } else {
+            secuenciasPorCuenta.merge(transaccion.getCuentaOrigenId(), transaccion.getSecuencia(), Math::max);
+        }
+        transacciones.put(transaccion.getId(), transaccion);
+        transaccionesPorCuenta.computeIfAbsent(transaccion.getCuentaOrigenId(), k -> new ConcurrentSkipListSet<>())
+                .add(transaccion.getId());
+        secuenciaTransacciones.accumulateAndGet(transaccion.getId(), Math::max);
+    }
+
+    private void aplicarAcumuladoGmf(AcumuladoGmf acumulado) {
+        acumuladosGmf.put(new ClaveGmf(acumulado.getClienteId(), acumulado.getPeriodo()), acumulado);
+    }
+
+    private void aplicarLoteCausacion(LoteCausacionRegistro lote) {
+        lotesCausacion.put(new ClaveLote(lote.fecha(), lote.idDesde()), lote);
+    }
+
+    private void aplicarMarcaConciliacion(MarcaConciliacion marca) {
+        marcasConciliacion.put(marca.getCuentaId(), marca);
+    }
+
+    private void quitarTransaccion(Long id) {
+        Transaccion anterior = transacciones.remove(id);
+        if (anterior != null) {
+            transaccionesPorCuenta.getOrDefault(anterior.getCuentaOrigenId(), Set.of()).remove(id);
+        }
+    }
+
+    // ========== DIARIO Y SNAPSHOTS ==========
+
+    /**
+     * Carga el último snapshot y reproduce los diarios posteriores
+     */
+    @PostConstruct
+    public void recuperar() throws IOException {
+        Files.createDirectories(directorio);
+
+        long primerDiario = 1;
+        long transaccionesCubiertas = 0;
+        Path archivoSnapshot = directorio.resolve(ARCHIVO_SNAPSHOT);
+        if (Files.exists(archivoSnapshot)) {
+            Snapshot snapshot = objectMapper.readValue(archivoSnapshot.toFile(), Snapshot.class);
+            snapshot.clientes().forEach(registro -> aplicarCliente(registro.aDominio()));
+            snapshot.productos().forEach(registro -> aplicarProducto(registro.aDominio()));
+            snapshot.transacciones().forEach(registro -> aplicarTransaccion(registro.aDominio()));
+            // Los snapshots anteriores a los acumulados de GMF no traen la lista
+            if (snapshot.acumuladosGmf() != null) {
+                snapshot.acumuladosGmf().forEach(registro -> aplicarAcumuladoGmf(registro.aDominio()));
+            }
+            if (snapshot.lotesCausacion() != null) {
+                snapshot.lotesCausacion().forEach(this::aplicarLoteCausacion);
+            }
+            if (snapshot.marcasConciliacion() != null) {
+                snapshot.marcasConciliacion().forEach(registro -> aplicarMarcaConciliacion(registro.aDominio()));
+            }
+            if (snapshot.secuenciasCuenta() != null) {
+                snapshot.secuenciasCuenta().forEach((cuentaId, ultima) ->
+                        secuenciasPorCuenta.merge(cuentaId, ultima, Math::max));
+            }
+            secuenciaClientes.accumulateAndGet(snapshot.secuenciaClientes(), Math::max);
+            secuenciaProductos.accumulateAndGet(snapshot.secuenciaProductos(), Math::max);
+            secuenciaTransacciones.accumulateAndGet(snapshot.secuenciaTransacciones(), Math::max);
+            primerDiario = snapshot.diarioSiguiente();
+            transaccionesCubiertas = snapshot.secuenciaTransacciones();
+        }
+
+        Set<Long> transaccionesBorradas = new HashSet<>();
+        long ultimoDiario = primerDiario - 1;
+        for (long numero : listarDiarios()) {
+            if (numero >= primerDiario) {
+                reproducir(rutaDiario(numero), transaccionesBorradas);
+                ultimoDiario = numero;
+            }
+        }
+
+        // Las transacciones posteriores al snapshot se reconstruyen desde el diario mapeado,
+        // junto con el saldo de la cuenta si el registro es más reciente que la última escritura del producto
+        long cubiertas = transaccionesCubiertas;
+        diarioTransacciones.abrir(transaccion -> {
+            if (transaccion.getId() > cubiertas) {
+                // Las borradas también consumen su número, para que las siguientes conserven el suyo
+                Transaccion numerada = numerar(transaccion);
+                if (!transaccionesBorradas.contains(transaccion.getId())) {
+                    aplicarTransaccion(numerada);
+                    reconstruirSaldo(numerada);
+                }
+            }
+        });
+
+        // Siempre se abre un diario nuevo: así una línea truncada por un fallo nunca queda en medio del archivo activo
+        abrirDiario(ultimoDiario + 1);
+        log.info("Almacén en memoria recuperado: {} clientes, {} productos, {} transacciones",
+                clientes.size(), productos.size(), transacciones.size());
+    }
+
+    /**
+     * Toma un snapshot completo y elimina los diarios que este cubre
+     */
+    @Scheduled(fixedDelayString = "${banking.memoria.snapshot-ms:300000}")
+    public void tomarSnapshot() {
+        List<Cliente> copiaClientes;
+        List<Producto> copiaProductos;
+        List<Transaccion> copiaTransacciones;
+        List<AcumuladoGmf> copiaAcumuladosGmf;
+        List<LoteCausacionRegistro> copiaLotesCausacion;
+        List<MarcaConciliacion> copiaMarcasConciliacion;
+        Map<Long, Long> copiaSecuenciasCuenta;
+        long secClientes;
+        long secProductos;
+        long secTransacciones;
+        long diarioCubierto;
+
+        // Bajo el lock de escritura solo se copian referencias y se rota el diario
+        lock.writeLock().lock();
+        try {
+            copiaClientes = new ArrayList<>(clientes.values());
+            copiaProductos = new ArrayList<>(productos.values());
+            copiaTransacciones = new ArrayList<>(transacciones.values());
+            copiaAcumuladosGmf = new ArrayList<>(acumuladosGmf.values());
+            copiaLotesCausacion = new ArrayList<>(lotesCausacion.values());
+            copiaMarcasConciliacion = new ArrayList<>(marcasConciliacion.values());
+            copiaSecuenciasCuenta = new HashMap<>(secuenciasPorCuenta);
+            secClientes = secuenciaClientes.get();
+            secProductos = secuenciaProductos.get();
+            secTransacciones = secuenciaTransacciones.get();
+            diarioCubierto = numeroDiario;
+            abrirDiario(numeroDiario + 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Snapshot snapshot = new Snapshot(diarioCubierto + 1, secClientes, secProductos, secTransacciones,
+                copiaClientes.stream().map(ClienteRegistro::desde).toList(),
+                copiaProductos.stream().map(ProductoRegistro::desde).toList(),
+                copiaTransacciones.stream().map(TransaccionRegistro::desde).toList(),
+                copiaAcumuladosGmf.stream().map(AcumuladoGmfRegistro::desde).toList(),
+                copiaLotesCausacion,
+                copiaMarcasConciliacion.stream().map(MarcaConciliacionRegistro::desde).toList(),
+                copiaSecuenciasCuenta);
+
+        try {
+            Path temporal = directorio.resolve(ARCHIVO_SNAPSHOT + ".tmp");
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 OutputStream salida = new BufferedOutputStream(Channels.newOutputStream(canal))) {
+                objectMapper.writeValue(salida, snapshot);
+                salida.flush();
+                canal.force(true);
+            }
+            Files.move(temporal, directorio.resolve(ARCHIVO_SNAPSHOT),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            diarioTransacciones.descartarHasta(secTransacciones);
+
+            for (long numero : listarDiarios()) {
+                if (numero <= diarioCubierto) {
+                    Files.deleteIfExists(rutaDiario(numero));
+                }
+            }
+        } catch (IOException e) {
+            // El snapshot anterior y los diarios siguen siendo válidos; se reintenta en la próxima ejecución
+            log.error("No se pudo escribir el snapshot del almacén en memoria", e);
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() throws IOException {
+        tomarSnapshot();
+        diarioTransacciones.cerrar();
+        diario.close();
+    }
+
+    private <T> T mutar(Supplier<T> operacion) {
+        lock.readLock().lock();
+        try {
+            return operacion.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void escribir(EntradaDiario entrada) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(entrada);
+            ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+            synchronized (this) {
+                while (buffer.hasRemaining()) {
+                    diario.write(buffer);
+                }
+                if (fsync) {
+                    diario.force(false);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el diario del almacén en memoria", e);
+        }
+    }
+
+    private void reproducir(Path archivo, Set<Long> transaccionesBorradas) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.isBlank()) {
+                    continue;
+                }
+
+                EntradaDiario entrada;
+                try {
+                    entrada = objectMapper.readValue(linea, EntradaDiario.class);
+                } catch (JsonProcessingException e) {
+                    // Solo la última línea puede estar incompleta (fallo a mitad de escritura)
+                    log.warn("Entrada incompleta al final del diario {}; se descarta", archivo.getFileName());
+                    break;
+                }
+                if (TRANSACCION.equals(entrada.tipo()) && BORRAR.equals(entrada.operacion())) {
+                    transaccionesBorradas.add(entrada.id());
+                }
+                aplicarEntrada(entrada);
+            }
+        }
+    }
+
+    private void aplicarEntrada(EntradaDiario entrada) {
+        boolean guardar = GUARDAR.equals(entrada.operacion());
+        switch (entrada.tipo()) {
+            case CLIENTE -> {
+                if (guardar) aplicarCliente(entrada.cliente().aDominio()); else quitarCliente(entrada.id());
+            }
+            case PRODUCTO -> {
+                if (guardar) aplicarProducto(entrada.producto().aDominio()); else quitarProducto(entrada.id());
+            }
+            case TRANSACCION -> {
+                if (guardar) aplicarTransaccion(entrada.transaccion().aDominio()); else quitarTransaccion(entrada.id());
+            }
+            case ACUMULADO_GMF -> aplicarAcumuladoGmf(entrada.acumuladoGmf().aDominio());
+            case LOTE_CAUSACION -> aplicarLoteCausacion(entrada.loteCausacion());
+            case MARCA_CONCILIACION -> aplicarMarcaConciliacion(entrada.marcaConciliacion().aDominio());
+            default -> throw new IllegalStateException("Tipo de entrada de diario desconocido: " + entrada.tipo());
+        }
+    }
+
+    private void reconstruirSaldo(Transaccion transaccion) {
+        Producto cuenta = productos.get(transaccion.getCuentaOrigenId());
+        if (cuenta == null || transaccion.saldoActual() == null) {
+            return;
+        }
+
+        LocalDateTime ultimaEscritura = cuenta.getFechaModificacion();
+        if (ultimaEscritura == null || !transaccion.getFechaTransaccion().isBefore(ultimaEscritura)) {
+            aplicarProducto(Producto.rehidratar(cuenta.getId(), cuenta.getTipoCuenta(), cuenta.getNumeroCuenta(),
+                    cuenta.getEstado(), transaccion.saldoActual(), cuenta.getExentaGmf(),
+                    cuenta.getFechaCreacion(), transaccion.getFechaTransaccion(), cuenta.getClienteId()));
+        }
+    }
+
+    private synchronized void abrirDiario(long numero) {
+        try {
+            if (diario != null) {
+                diario.force(true);
+                diario.close();
+            }
+            diario = FileChannel.open(rutaDiario(numero), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            numeroDiario = numero;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el diario del almacén en memoria", e);
+        }
+    }
+
+    private List<Long> listarDiarios() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .map(ruta -> ruta.getFileName().toString())
+                    .filter(nombre -> nombre.startsWith(PREFIJO_DIARIO) && nombre.endsWith(SUFIJO_DIARIO))
+                    .map(nombre -> Long.parseLong(nombre.substring(PREFIJO_DIARIO.length(),
+                            nombre.length() - SUFIJO_DIARIO.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path rutaDiario(long numero) {
+        return directorio.resolve(String.format("%s%010d%s", PREFIJO_DIARIO, numero, SUFIJO_DIARIO));
+    }
+
+    private static <T> List<T> ordenarPorId(Collection<T> valores, java.util.function.Function<T, Long> id) {
+        List<T> ordenados = new ArrayList<>(valores);
+        ordenados.sort(Comparator.comparing(id));
+        return ordenados;
+    }
+
+    private record ClaveGmf(Long clienteId, YearMonth periodo) {
+    }
+
+    private record ClaveLote(LocalDate fecha, long idDesde) {
+    }
+}
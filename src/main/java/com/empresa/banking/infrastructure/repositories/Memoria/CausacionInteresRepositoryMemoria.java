@@ -0,0 +1,61 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.repositories.CausacionInteresRepository;
+import com.empresa.banking.infrastructure.repositories.Memoria.Registros.LoteCausacionRegistro;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@Profile("memoria")
+public class CausacionInteresRepositoryMemoria implements CausacionInteresRepository {
+
+    private final AlmacenMemoria almacen;
+
+    public CausacionInteresRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Optional<RangoIds> rangoIdsCuentasAhorro() {
+        LongSummaryStatistics ids = almacen.productos().stream()
+                .filter(p -> p.getTipoCuenta() == TipoCuenta.CUENTA_AHORROS && p.getEstado() == EstadoCuenta.ACTIVA)
+                .mapToLong(Producto::getId)
+                .summaryStatistics();
+        return ids.getCount() == 0 ? Optional.empty() : Optional.of(new RangoIds(ids.getMin(), ids.getMax()));
+    }
+
+    /**
+     * El almacén en memoria no tiene bloqueo por fila: los abonos se aplican como deltas sobre el saldo vigente
+     */
+    @Override
+    public List<Producto> cuentasParaCausar(long idDesde, long idHasta) {
+        return almacen.cuentasAhorroEnRango(idDesde, idHasta);
+    }
+
+    @Override
+    public Set<Long> lotesCausados(LocalDate fecha) {
+        return almacen.lotesCausados(fecha);
+    }
+
+    @Override
+    public Optional<LocalDate> ultimaFechaCausada() {
+        return almacen.ultimaFechaCausada();
+    }
+
+    @Override
+    public void registrarLote(LocalDate fecha, long idDesde, long idHasta, int cuentas, Money total) {
+        almacen.registrarLoteCausacion(new LoteCausacionRegistro(fecha, idDesde, idHasta, cuentas,
+                total.toBigDecimal(), LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,51 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.repositories.ClienteRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("memoria")
+public class ClienteRepositoryMemoria implements ClienteRepository {
+
+    private final AlmacenMemoria almacen;
+
+    public ClienteRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Optional<Cliente> findById(Long id) {
+        return almacen.buscarCliente(id);
+    }
+
+    @Override
+    public List<Cliente> findAllById(Collection<Long> ids) {
+        List<Cliente> clientes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            almacen.buscarCliente(id).ifPresent(clientes::add);
+        }
+        return clientes;
+    }
+
+    @Override
+    public Cliente save(Cliente cliente) {
+        return almacen.guardarCliente(cliente);
+    }
+
+    @Override
+    public List<Cliente> findAll() {
+        return almacen.clientes();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        almacen.borrarCliente(id);
+    }
+}
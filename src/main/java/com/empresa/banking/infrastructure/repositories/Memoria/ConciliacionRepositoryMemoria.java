@@ -0,0 +1,68 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.MarcaConciliacion;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.ConciliacionRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+@Profile("memoria")
+public class ConciliacionRepositoryMemoria implements ConciliacionRepository {
+
+    // Mismo orden que la consulta JDBC: secuencia (las filas sin numerar primero), luego fecha e ID
+    private static final Comparator<Transaccion> ORDEN_DIARIO =
+            Comparator.comparing(Transaccion::getSecuencia, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Transaccion::getFechaTransaccion)
+                    .thenComparing(Transaccion::getId);
+
+    private final AlmacenMemoria almacen;
+
+    public ConciliacionRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Optional<RangoCuentas> rangoIdsCuentas() {
+        LongSummaryStatistics ids = almacen.productos().stream()
+                .mapToLong(Producto::getId)
+                .summaryStatistics();
+        return ids.getCount() == 0 ? Optional.empty() : Optional.of(new RangoCuentas(ids.getMin(), ids.getMax()));
+    }
+
+    @Override
+    public List<Producto> cuentasEnRango(long idDesde, long idHasta) {
+        return almacen.productosEnRango(idDesde, idHasta);
+    }
+
+    @Override
+    public Map<Long, MarcaConciliacion> marcasEnRango(long idDesde, long idHasta) {
+        return almacen.marcasConciliacion(idDesde, idHasta);
+    }
+
+    @Override
+    public void recorrerMovimientosPendientes(long idDesde, long idHasta, Consumer<Transaccion> consumidor) {
+        Map<Long, MarcaConciliacion> marcas = almacen.marcasConciliacion(idDesde, idHasta);
+        for (Producto cuenta : almacen.productosEnRango(idDesde, idHasta)) {
+            MarcaConciliacion marca = marcas.get(cuenta.getId());
+            almacen.transaccionesDeCuenta(cuenta.getId()).stream()
+                    .filter(movimiento -> marca == null || marca.esPosterior(movimiento))
+                    .sorted(ORDEN_DIARIO)
+                    .forEach(consumidor);
+        }
+    }
+
+    @Override
+    public void guardarMarcas(Collection<MarcaConciliacion> marcas) {
+        almacen.guardarMarcasConciliacion(marcas);
+    }
+}
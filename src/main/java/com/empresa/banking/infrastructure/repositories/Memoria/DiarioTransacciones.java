@@ -0,0 +1,326 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Transaccion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario de transacciones en segmentos mapeados en memoria con registros de tamaño fijo.
+ * Cada registro lleva CRC32C; la recuperación lee hasta el primer registro vacío o inválido.
+ * El fsync se agrupa: se fuerza el segmento cada N registros y, si quedó algo pendiente,
+ * en la siguiente ejecución programada.
+ *
+ * Formato del registro (128 bytes, big endian):
+ * crc(4) marca(1) tipo(1) longitudDescripcion(2) id(8) montoCentavos(8) cuentaOrigen(8)
+ * cuentaDestino(8) saldoAnteriorCentavos(8) saldoActualCentavos(8) epochSegundos(8) nanos(4) descripcion(60)
+ *
+ * Si la descripción supera los 60 bytes, el resto va en registros de continuación inmediatamente después
+ * (crc(4) marca(1) descripcion(123)). Una transacción y sus continuaciones siempre quedan en el mismo segmento
+ * y, si falta o está dañada alguna continuación, la transacción completa se trata como no escrita.
+ */
+@Component
+@Profile("memoria")
+public class DiarioTransacciones {
+
+    private static final Logger log = LoggerFactory.getLogger(DiarioTransacciones.class);
+
+    static final int TAMANO_REGISTRO = 128;
+    private static final int DESCRIPCION_EN_REGISTRO = 60;
+    private static final int DESCRIPCION_EN_CONTINUACION = TAMANO_REGISTRO - 5;
+    private static final byte MARCA_VALIDO = 1;
+    private static final byte MARCA_CONTINUACION = 2;
+    private static final long SIN_VALOR = Long.MIN_VALUE;
+
+    private static final String PREFIJO_SEGMENTO = "transacciones-";
+    private static final String SUFIJO_SEGMENTO = ".seg";
+
+    private final Path directorio;
+    private final int registrosPorSegmento;
+    private final int fsyncCadaRegistros;
+
+    private final byte[] registro = new byte[TAMANO_REGISTRO];
+    private final ByteBuffer bufferRegistro = ByteBuffer.wrap(registro);
+    private final CRC32C crc = new CRC32C();
+
+    // Último ID escrito en cada segmento, para descartar los que ya cubre un snapshot
+    private final Map<Long, Long> ultimoIdPorSegmento = new TreeMap<>();
+
+    private MappedByteBuffer segmento;
+    private long numeroSegmento;
+    private int pendientesFsync;
+
+    public DiarioTransacciones(@Value("${banking.memoria.directorio:./data/memoria}") String directorio,
+                               @Value("${banking.memoria.transacciones.segmento-bytes:67108864}") int segmentoBytes,
+                               @Value("${banking.memoria.transacciones.fsync-cada:64}") int fsyncCadaRegistros) {
+        this.directorio = Paths.get(directorio);
+        this.registrosPorSegmento = Math.max(1, segmentoBytes / TAMANO_REGISTRO);
+        this.fsyncCadaRegistros = Math.max(1, fsyncCadaRegistros);
+    }
+
+    /**
+     * Reproduce todos los registros válidos en orden y deja el diario listo para anexar
+     */
+    public synchronized void abrir(Consumer<Transaccion> aplicar) throws IOException {
+        Files.createDirectories(directorio);
+
+        long ultimoSegmento = 0;
+        int posicion = 0;
+        for (long numero : listarSegmentos()) {
+            MappedByteBuffer mapa = mapear(numero);
+            int leidos = 0;
+            while (leidos < registrosPorSegmento && mapa.capacity() >= (leidos + 1) * TAMANO_REGISTRO) {
+                mapa.get(leidos * TAMANO_REGISTRO, registro);
+                Transaccion transaccion = decodificar(mapa, leidos);
+                if (transaccion == null) {
+                    break;
+                }
+                aplicar.accept(transaccion);
+                ultimoIdPorSegmento.put(numero, transaccion.getId());
+                leidos += registrosNecesarios(utf8(transaccion.getDescripcion()).length);
+            }
+            ultimoSegmento = numero;
+            posicion = leidos;
+        }
+
+        if (ultimoSegmento == 0) {
+            abrirSegmento(1, 0);
+        } else {
+            abrirSegmento(ultimoSegmento, posicion);
+        }
+    }
+
+    /**
+     * Anexa una transacción ya numerada. Rota de segmento cuando la transacción no cabe en el actual.
+     */
+    public synchronized void anexar(Transaccion transaccion) {
+        byte[] descripcion = utf8(transaccion.getDescripcion());
+        int registros = registrosNecesarios(descripcion.length);
+        if (descripcion.length > Short.MAX_VALUE || registros > registrosPorSegmento) {
+            throw new IllegalArgumentException("La descripción de la transacción " + transaccion.getId() +
+                    " no cabe en un segmento del diario (" + descripcion.length + " bytes)");
+        }
+
+        if (segmento.remaining() < registros * TAMANO_REGISTRO) {
+            segmento.force();
+            abrirSegmento(numeroSegmento + 1, 0);
+        }
+
+        codificar(transaccion, descripcion);
+        segmento.put(registro);
+        for (int desde = DESCRIPCION_EN_REGISTRO; desde < descripcion.length; desde += DESCRIPCION_EN_CONTINUACION) {
+            codificarContinuacion(descripcion, desde);
+            segmento.put(registro);
+        }
+        ultimoIdPorSegmento.put(numeroSegmento, transaccion.getId());
+
+        pendientesFsync += registros;
+        if (pendientesFsync >= fsyncCadaRegistros) {
+            segmento.force();
+            pendientesFsync = 0;
+        }
+    }
+
+    /**
+     * Fuerza a disco los registros pendientes del lote en curso
+     */
+    @Scheduled(fixedDelayString = "${banking.memoria.transacciones.fsync-ms:50}")
+    public synchronized void sincronizar() {
+        if (segmento != null && pendientesFsync > 0) {
+            segmento.force();
+            pendientesFsync = 0;
+        }
+    }
+
+    /**
+     * Elimina los segmentos cerrados cuyas transacciones ya están cubiertas por un snapshot
+     */
+    public synchronized void descartarHasta(long idCubierto) {
+        var iterador = ultimoIdPorSegmento.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<Long, Long> entrada = iterador.next();
+            if (entrada.getKey() >= numeroSegmento || entrada.getValue() > idCubierto) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(rutaSegmento(entrada.getKey()));
+                iterador.remove();
+            } catch (IOException e) {
+                log.warn("No se pudo eliminar el segmento {}", entrada.getKey(), e);
+                break;
+            }
+        }
+    }
+
+    public synchronized void cerrar() {
+        if (segmento != null) {
+            segmento.force();
+            pendientesFsync = 0;
+        }
+    }
+
+    // ========== CODIFICACIÓN ==========
+
+    private void codificar(Transaccion transaccion, byte[] descripcion) {
+        LocalDateTime fecha = transaccion.getFechaTransaccion();
+
+        bufferRegistro.clear();
+        bufferRegistro.putInt(0)
+                .put(MARCA_VALIDO)
+                .put((byte) transaccion.getTipoTransaccion().ordinal())
+                .putShort((short) descripcion.length)
+                .putLong(transaccion.getId())
+                .putLong(transaccion.monto().getCentavos())
+                .putLong(transaccion.getCuentaOrigenId())
+                .putLong(transaccion.getCuentaDestinoId() != null ? transaccion.getCuentaDestinoId() : 0L)
+                .putLong(transaccion.saldoAnterior() != null ? transaccion.saldoAnterior().getCentavos() : SIN_VALOR)
+                .putLong(transaccion.saldoActual() != null ? transaccion.saldoActual().getCentavos() : SIN_VALOR)
+                .putLong(fecha.toEpochSecond(ZoneOffset.UTC))
+                .putInt(fecha.getNano())
+                .put(descripcion, 0, Math.min(descripcion.length, DESCRIPCION_EN_REGISTRO));
+        completarRegistro();
+    }
+
+    private void codificarContinuacion(byte[] descripcion, int desde) {
+        bufferRegistro.clear();
+        bufferRegistro.putInt(0)
+                .put(MARCA_CONTINUACION)
+                .put(descripcion, desde, Math.min(descripcion.length - desde, DESCRIPCION_EN_CONTINUACION));
+        completarRegistro();
+    }
+
+    private void completarRegistro() {
+        while (bufferRegistro.hasRemaining()) {
+            bufferRegistro.put((byte) 0);
+        }
+
+        crc.reset();
+        crc.update(registro, 4, TAMANO_REGISTRO - 4);
+        bufferRegistro.putInt(0, (int) crc.getValue());
+    }
+
+    /**
+     * Decodifica la transacción cuyo registro principal está en registro (posición indice del segmento),
+     * leyendo sus continuaciones del mapa. Devuelve null si algún registro falta o es inválido.
+     */
+    private Transaccion decodificar(MappedByteBuffer mapa, int indice) {
+        if (!registroValido(MARCA_VALIDO)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(registro);
+        buffer.position(5);
+
+        TipoTransaccion tipo = TipoTransaccion.values()[buffer.get()];
+        int longitudDescripcion = buffer.getShort();
+        long id = buffer.getLong();
+        Money monto = Money.deCentavos(buffer.getLong());
+        long cuentaOrigen = buffer.getLong();
+        long cuentaDestino = buffer.getLong();
+        long saldoAnterior = buffer.getLong();
+        long saldoActual = buffer.getLong();
+        LocalDateTime fecha = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+
+        byte[] bytesDescripcion = new byte[longitudDescripcion];
+        System.arraycopy(registro, buffer.position(), bytesDescripcion, 0,
+                Math.min(longitudDescripcion, DESCRIPCION_EN_REGISTRO));
+        int siguiente = indice + 1;
+        for (int desde = DESCRIPCION_EN_REGISTRO; desde < longitudDescripcion; desde += DESCRIPCION_EN_CONTINUACION) {
+            if (siguiente >= registrosPorSegmento || mapa.capacity() < (siguiente + 1) * TAMANO_REGISTRO) {
+                return null;
+            }
+            mapa.get(siguiente++ * TAMANO_REGISTRO, registro);
+            if (!registroValido(MARCA_CONTINUACION)) {
+                return null;
+            }
+            System.arraycopy(registro, 5, bytesDescripcion, desde,
+                    Math.min(longitudDescripcion - desde, DESCRIPCION_EN_CONTINUACION));
+        }
+        String descripcion = longitudDescripcion > 0 ? new String(bytesDescripcion, StandardCharsets.UTF_8) : null;
+
+        return Transaccion.rehidratar(id, tipo, monto, descripcion, fecha, cuentaOrigen,
+                cuentaDestino != 0L ? cuentaDestino : null,
+                saldoAnterior != SIN_VALOR ? Money.deCentavos(saldoAnterior) : null,
+                saldoActual != SIN_VALOR ? Money.deCentavos(saldoActual) : null);
+    }
+
+    private boolean registroValido(byte marca) {
+        if (registro[4] != marca) {
+            return false;
+        }
+        crc.reset();
+        crc.update(registro, 4, TAMANO_REGISTRO - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(registro).getInt()) {
+            log.warn("Registro con CRC inválido en el diario de transacciones; se detiene la reproducción");
+            return false;
+        }
+        return true;
+    }
+
+    private static int registrosNecesarios(int bytesDescripcion) {
+        int excedente = Math.max(0, bytesDescripcion - DESCRIPCION_EN_REGISTRO);
+        return 1 + (excedente + DESCRIPCION_EN_CONTINUACION - 1) / DESCRIPCION_EN_CONTINUACION;
+    }
+
+    private static byte[] utf8(String descripcion) {
+        return descripcion != null ? descripcion.getBytes(StandardCharsets.UTF_8) : new byte[0];
+    }
+
+    // ========== SEGMENTOS ==========
+
+    private void abrirSegmento(long numero, int registrosEscritos) {
+        try {
+            segmento = mapear(numero);
+            segmento.position(registrosEscritos * TAMANO_REGISTRO);
+            numeroSegmento = numero;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el segmento del diario de transacciones", e);
+        }
+    }
+
+    private MappedByteBuffer mapear(long numero) throws IOException {
+        // El mapeo sigue siendo válido después de cerrar el canal
+        try (FileChannel canal = FileChannel.open(rutaSegmento(numero), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) registrosPorSegmento * TAMANO_REGISTRO);
+        }
+    }
+
+    private long[] listarSegmentos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos
+                    .map(ruta -> ruta.getFileName().toString())
+                    .filter(nombre -> nombre.startsWith(PREFIJO_SEGMENTO) && nombre.endsWith(SUFIJO_SEGMENTO))
+                    .mapToLong(nombre -> Long.parseLong(nombre.substring(PREFIJO_SEGMENTO.length(),
+                            nombre.length() - SUFIJO_SEGMENTO.length())))
+                    .sorted()
+                    .toArray();
+        }
+    }
+
+    private Path rutaSegmento(long numero) {
+        return directorio.resolve(String.format("%s%010d%s", PREFIJO_SEGMENTO, numero, SUFIJO_SEGMENTO));
+    }
+}
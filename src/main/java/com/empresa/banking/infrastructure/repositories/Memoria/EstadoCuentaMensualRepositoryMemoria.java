@@ -0,0 +1,58 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.EstadoCuentaMensualRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Repository
+@Profile("memoria")
+public class EstadoCuentaMensualRepositoryMemoria implements EstadoCuentaMensualRepository {
+
+    private static final Comparator<Transaccion> ORDEN_CUENTA =
+            Comparator.comparing(Transaccion::getCuentaOrigenId)
+                    .thenComparing(Transaccion::getFechaTransaccion)
+                    .thenComparing(Transaccion::getId);
+
+    private final AlmacenMemoria almacen;
+
+    public EstadoCuentaMensualRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public List<Producto> cuentasActivasDespuesDe(long idExclusivo, int limite) {
+        return almacen.cuentasActivasDespuesDe(idExclusivo, limite);
+    }
+
+    @Override
+    public void recorrerMovimientosPeriodo(LocalDateTime desde, LocalDateTime hasta, long cuentaExclusiva,
+                                           Consumer<Transaccion> consumidor) {
+        almacen.transacciones().stream()
+                .filter(t -> t.getCuentaOrigenId() > cuentaExclusiva)
+                .filter(t -> !t.getFechaTransaccion().isBefore(desde) && t.getFechaTransaccion().isBefore(hasta))
+                .sorted(ORDEN_CUENTA)
+                .forEach(consumidor);
+    }
+
+    @Override
+    public Map<Long, Money> netoPorCuentaDesde(LocalDateTime desde) {
+        Map<Long, Money> netos = new HashMap<>();
+        for (Transaccion transaccion : almacen.transacciones()) {
+            if (!transaccion.getFechaTransaccion().isBefore(desde)) {
+                Money monto = transaccion.esDebito() ? transaccion.monto().negate() : transaccion.monto();
+                netos.merge(transaccion.getCuentaOrigenId(), monto, Money::plus);
+            }
+        }
+        return netos;
+    }
+}
@@ -0,0 +1,55 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.repositories.ImportacionClientesRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+@Profile("memoria")
+public class ImportacionClientesRepositoryMemoria implements ImportacionClientesRepository {
+
+    private final AlmacenMemoria almacen;
+
+    public ImportacionClientesRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Set<String> identificacionesExistentes(Collection<String> numerosIdentificacion) {
+        return numerosIdentificacion.stream()
+                .filter(numero -> almacen.buscarClientePorIdentificacion(numero).isPresent())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<String> correosExistentes(Collection<String> correosElectronicos) {
+        // El almacén no indexa correos: un recorrido por lote en lugar de uno por fila
+        Set<String> buscados = new HashSet<>(correosElectronicos);
+        return almacen.clientes().stream()
+                .map(Cliente::getCorreoElectronico)
+                .filter(buscados::contains)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean[] insertarLote(List<Cliente> clientes) {
+        boolean[] insertados = new boolean[clientes.size()];
+        for (int i = 0; i < clientes.size(); i++) {
+            try {
+                almacen.guardarCliente(clientes.get(i));
+                insertados[i] = true;
+            } catch (DuplicateKeyException e) {
+                insertados[i] = false;
+            }
+        }
+        return insertados;
+    }
+}
@@ -0,0 +1,140 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Enums.CampoProducto;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.SaldoPendiente;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Repository
+@Profile("memoria")
+public class ProductoRepositoryMemoria implements ProductoRepository {
+
+    private final AlmacenMemoria almacen;
+
+    public ProductoRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Optional<Producto> findById(Long id) {
+        return almacen.buscarProducto(id);
+    }
+
+    /**
+     * El almacén en memoria no tiene bloqueo por fila: equivale a findById
+     */
+    @Override
+    public Optional<Producto> findByIdForUpdate(Long id) {
+        return almacen.buscarProducto(id);
+    }
+
+    @Override
+    public List<Producto> findAllById(Collection<Long> ids) {
+        List<Producto> productos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            almacen.buscarProducto(id).ifPresent(productos::add);
+        }
+        return productos;
+    }
+
+    @Override
+    public List<Producto> findAllByIdForUpdate(Collection<Long> ids) {
+        return findAllById(ids);
+    }
+
+    @Override
+    public List<Producto> findAll() {
+        return almacen.productos();
+    }
+
+    @Override
+    public List<Map<CampoProducto, Object>> findAllCampos(Set<CampoProducto> campos) {
+        List<Map<CampoProducto, Object>> filas = new ArrayList<>();
+        almacen.productos().stream()
+                .sorted(Comparator.comparing(Producto::getId))
+                .forEach(producto -> {
+                    Map<CampoProducto, Object> valores = new EnumMap<>(CampoProducto.class);
+                    for (CampoProducto campo : campos) {
+                        valores.put(campo, campo.valorDe(producto));
+                    }
+                    filas.add(valores);
+                });
+        return filas;
+    }
+
+    @Override
+    public Producto save(Producto producto) {
+        return almacen.guardarProducto(producto);
+    }
+
+    @Override
+    public List<Producto> insertarLote(List<Producto> productos) {
+        List<Producto> guardados = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            guardados.add(almacen.guardarProducto(producto));
+        }
+        return guardados;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        almacen.borrarProducto(id);
+    }
+
+    @Override
+    public List<Producto> findByClienteId(Long clienteId) {
+        return almacen.productosDeCliente(clienteId);
+    }
+
+    @Override
+    public Optional<Producto> findByNumeroCuenta(String numeroCuenta) {
+        return almacen.buscarProductoPorNumeroCuenta(numeroCuenta);
+    }
+
+    @Override
+    public boolean existByNumeroCuenta(String numeroCuenta) {
+        return almacen.existeNumeroCuenta(numeroCuenta);
+    }
+
+    @Override
+    public void ajustarSaldo(Long id, BigDecimal delta) {
+        almacen.ajustarSaldos(Map.of(id, delta));
+    }
+
+    @Override
+    public void ajustarSaldos(Map<Long, BigDecimal> deltas) {
+        almacen.ajustarSaldos(deltas);
+    }
+
+    /**
+     * En memoria no hay fila caliente que proteger: el delta se aplica de inmediato (queda en el diario del almacén)
+     * y no deja nada pendiente que se pueda perder al reiniciar
+     */
+    @Override
+    public Long registrarSaldoPendiente(Long id, BigDecimal delta) {
+        almacen.ajustarSaldos(Map.of(id, delta));
+        return null;
+    }
+
+    @Override
+    public List<SaldoPendiente> findSaldosPendientes() {
+        return List.of();
+    }
+
+    @Override
+    public void aplicarSaldosPendientes(Long id, Collection<Long> registros) {
+        // Nunca hay registros pendientes: registrarSaldoPendiente ya aplicó cada delta
+    }
+}
@@ -0,0 +1,135 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.MarcaConciliacion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formatos persistidos por el almacén en memoria (diario y snapshot)
+ */
+final class Registros {
+
+    private Registros() {
+    }
+
+    record ClienteRegistro(Long id, TipoIdentificacion tipoIdentificacion, String numeroIdentificacion,
+                           String nombres, String apellido, String correoElectronico,
+                           LocalDate fechaNacimiento, LocalDateTime fechaCreacion,
+                           LocalDateTime fechaModificacion) {
+
+        static ClienteRegistro desde(Cliente cliente) {
+            return new ClienteRegistro(cliente.getId(), cliente.getTipoIdentificacion(),
+                    cliente.getNumeroIdentificacion(), cliente.getNombres(), cliente.getApellido(),
+                    cliente.getCorreoElectronico(), cliente.getFechaNacimiento(),
+                    cliente.getFechaCreacion(), cliente.getFechaModificacion());
+        }
+
+        Cliente aDominio() {
+            return Cliente.rehidratar(id, tipoIdentificacion, numeroIdentificacion, nombres, apellido,
+                    correoElectronico, fechaNacimiento, fechaCreacion, fechaModificacion);
+        }
+    }
+
+    record ProductoRegistro(Long id, TipoCuenta tipoCuenta, String numeroCuenta, EstadoCuenta estado,
+                            BigDecimal saldo, Boolean exentaGmf, LocalDateTime fechaCreacion,
+                            LocalDateTime fechaModificacion, Long clienteId) {
+
+        static ProductoRegistro desde(Producto producto) {
+            return new ProductoRegistro(producto.getId(), producto.getTipoCuenta(), producto.getNumeroCuenta(),
+                    producto.getEstado(), producto.getSaldo(), producto.getExentaGmf(),
+                    producto.getFechaCreacion(), producto.getFechaModificacion(), producto.getClienteId());
+        }
+
+        Producto aDominio() {
+            return Producto.rehidratar(id, tipoCuenta, numeroCuenta, estado, Money.of(saldo), exentaGmf,
+                    fechaCreacion, fechaModificacion, clienteId);
+        }
+    }
+
+    record TransaccionRegistro(Long id, TipoTransaccion tipoTransaccion, BigDecimal monto, String descripcion,
+                               LocalDateTime fechaTransaccion, Long cuentaOrigenId, Long cuentaDestinoId,
+                               BigDecimal saldoAnterior, BigDecimal saldoActual, Long secuencia) {
+
+        static TransaccionRegistro desde(Transaccion transaccion) {
+            return new TransaccionRegistro(transaccion.getId(), transaccion.getTipoTransaccion(),
+                    transaccion.getMonto(), transaccion.getDescripcion(), transaccion.getFechaTransaccion(),
+                    transaccion.getCuentaOrigenId(), transaccion.getCuentaDestinoId(),
+                    transaccion.getSaldoAnterior(), transaccion.getSaldoActual(), transaccion.getSecuencia());
+        }
+
+        Transaccion aDominio() {
+            return Transaccion.rehidratar(id, tipoTransaccion, Money.of(monto), descripcion, fechaTransaccion,
+                    cuentaOrigenId, cuentaDestinoId, Money.of(saldoAnterior), Money.of(saldoActual), secuencia);
+        }
+    }
+
+    record AcumuladoGmfRegistro(Long clienteId, YearMonth periodo, BigDecimal exentoUtilizado,
+                                BigDecimal baseGravable, BigDecimal gmfCobrado, long movimientos,
+                                LocalDateTime fechaModificacion) {
+
+        static AcumuladoGmfRegistro desde(AcumuladoGmf acumulado) {
+            return new AcumuladoGmfRegistro(acumulado.getClienteId(), acumulado.getPeriodo(),
+                    acumulado.getExentoUtilizado(), acumulado.getBaseGravable(), acumulado.getGmfCobrado(),
+                    acumulado.getMovimientos(), acumulado.getFechaModificacion());
+        }
+
+        AcumuladoGmf aDominio() {
+            return new AcumuladoGmf(clienteId, periodo, Money.of(exentoUtilizado), Money.of(baseGravable),
+                    Money.of(gmfCobrado), movimientos, fechaModificacion);
+        }
+    }
+
+    record LoteCausacionRegistro(LocalDate fecha, long idDesde, long idHasta, int cuentas,
+                                 BigDecimal totalIntereses, LocalDateTime fechaProceso) {
+    }
+
+    record MarcaConciliacionRegistro(Long cuentaId, Long ultimaTransaccionId, LocalDateTime ultimaFecha,
+                                     Long ultimaSecuencia, BigDecimal saldo, LocalDateTime fechaConciliacion) {
+
+        static MarcaConciliacionRegistro desde(MarcaConciliacion marca) {
+            return new MarcaConciliacionRegistro(marca.getCuentaId(), marca.getUltimaTransaccionId(),
+                    marca.getUltimaFecha(), marca.getUltimaSecuencia(), marca.getSaldo(), marca.getFechaConciliacion());
+        }
+
+        MarcaConciliacion aDominio() {
+            return new MarcaConciliacion(cuentaId, ultimaTransaccionId, ultimaFecha, ultimaSecuencia,
+                    Money.of(saldo), fechaConciliacion);
+        }
+    }
+
+    /**
+     * Entrada del diario: una operación de guardado (con registro) o de borrado (solo ID).
+     * Los acumulados de GMF se guardan con su valor absoluto, así que reproducirlos es idempotente.
+     */
+    record EntradaDiario(String tipo, String operacion, Long id,
+                         ClienteRegistro cliente, ProductoRegistro producto, TransaccionRegistro transaccion,
+                         AcumuladoGmfRegistro acumuladoGmf, LoteCausacionRegistro loteCausacion,
+                         MarcaConciliacionRegistro marcaConciliacion) {
+    }
+
+    /**
+     * Imagen completa del almacén, junto con el número del primer diario que debe reproducirse después.
+     * Los snapshots anteriores a la numeración por cuenta no traen secuenciasCuenta ni la secuencia de cada
+     * transacción.
+     */
+    record Snapshot(long diarioSiguiente, long secuenciaClientes, long secuenciaProductos,
+                    long secuenciaTransacciones, List<ClienteRegistro> clientes,
+                    List<ProductoRegistro> productos, List<TransaccionRegistro> transacciones,
+                    List<AcumuladoGmfRegistro> acumuladosGmf, List<LoteCausacionRegistro> lotesCausacion,
+                    List<MarcaConciliacionRegistro> marcasConciliacion, Map<Long, Long> secuenciasCuenta) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.ResumenClienteRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("memoria")
+public class ResumenClienteRepositoryMemoria implements ResumenClienteRepository {
+
+    private static final Comparator<Transaccion> MAS_RECIENTES =
+            Comparator.comparing(Transaccion::getFechaTransaccion)
+                    .thenComparing(Transaccion::getId)
+                    .reversed();
+
+    private final AlmacenMemoria almacen;
+
+    public ResumenClienteRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Optional<String> version(Long clienteId) {
+        return almacen.buscarCliente(clienteId).map(cliente -> {
+            List<Producto> productos = almacen.productosDeCliente(clienteId);
+            LocalDateTime ultimaModificacion = productos.stream()
+                    .map(p -> p.getFechaModificacion() != null ? p.getFechaModificacion() : p.getFechaCreacion())
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            Long ultimoMovimiento = productos.stream()
+                    .flatMap(p -> almacen.transaccionesDeCuenta(p.getId()).stream())
+                    .map(Transaccion::getId)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            return cliente.getFechaCreacion() + "|" + cliente.getFechaModificacion() + "|" + productos.size() + "|"
+                    + ultimaModificacion + "|" + ultimoMovimiento;
+        });
+    }
+
+    @Override
+    public List<Transaccion> ultimosMovimientos(Collection<Long> cuentaIds, int porCuenta) {
+        List<Transaccion> movimientos = new ArrayList<>();
+        for (Long cuentaId : cuentaIds) {
+            almacen.transaccionesDeCuenta(cuentaId).stream()
+                    .sorted(MAS_RECIENTES)
+                    .limit(porCuenta)
+                    .forEach(movimientos::add);
+        }
+        return movimientos;
+    }
+}
@@ -0,0 +1,110 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Repository
+@Profile("memoria")
+public class TransaccionRepositoryMemoria implements TransaccionRepository {
+
+    private final AlmacenMemoria almacen;
+
+    public TransaccionRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Optional<Transaccion> findById(Long id) {
+        return almacen.buscarTransaccion(id);
+    }
+
+    @Override
+    public List<Transaccion> findAllById(Collection<Long> ids) {
+        List<Transaccion> transacciones = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            almacen.buscarTransaccion(id).ifPresent(transacciones::add);
+        }
+        return transacciones;
+    }
+
+    @Override
+    public List<Transaccion> findByAccountNumber(Long countNumber) {
+        return almacen.transaccionesDeCuenta(countNumber);
+    }
+
+    @Override
+    public List<Transaccion> findAll() {
+        return almacen.transacciones();
+    }
+
+    @Override
+    public List<Transaccion> findDebitosDesde(LocalDateTime desde) {
+        return almacen.transacciones().stream()
+                .filter(t -> t.getTipoTransaccion() == TipoTransaccion.RETIRO
+                        || t.getTipoTransaccion() == TipoTransaccion.TRANSFERENCIA)
+                .filter(t -> !t.getFechaTransaccion().isBefore(desde))
+                .toList();
+    }
+
+    @Override
+    public void recorrerPorCuenta(Long cuentaId, LocalDateTime desde, LocalDateTime hasta, Consumer<Transaccion> consumidor) {
+        almacen.transaccionesDeCuenta(cuentaId).stream()
+                .filter(t -> desde == null || !t.getFechaTransaccion().isBefore(desde))
+                .filter(t -> hasta == null || t.getFechaTransaccion().isBefore(hasta))
+                .sorted(Comparator.comparing(Transaccion::getFechaTransaccion).thenComparing(Transaccion::getId))
+                .forEach(consumidor);
+    }
+
+    @Override
+    public List<Transaccion> findCambios(Long cuentaId, long desde, int limite) {
+        return almacen.cambiosDeCuenta(cuentaId, desde, limite);
+    }
+
+    @Override
+    public long ultimaSecuencia(Long cuentaId) {
+        return almacen.ultimaSecuencia(cuentaId);
+    }
+
+    /**
+     * Sin transacciones no hay nada que bloquear: el almacén asigna el número definitivo al guardar
+     */
+    @Override
+    public Map<Long, Long> reservarSecuencias(Map<Long, Integer> cantidades) {
+        Map<Long, Long> ultimas = new HashMap<>(cantidades.size() * 2);
+        cantidades.forEach((cuentaId, cantidad) -> ultimas.put(cuentaId, almacen.ultimaSecuencia(cuentaId) + cantidad));
+        return ultimas;
+    }
+
+    @Override
+    public Transaccion save(Transaccion transaccion) {
+        return almacen.guardarTransaccion(transaccion);
+    }
+
+    @Override
+    public void saveAll(List<Transaccion> transacciones) {
+        almacen.guardarTransacciones(transacciones);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        almacen.borrarTransaccion(id);
+    }
+
+    @Override
+    public void deleteByAccountNumber(Long countNumber) {
+        almacen.borrarTransaccionesDeCuenta(countNumber);
+    }
+}
@@ -0,0 +1,67 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.entities.VersionRecurso;
+import com.empresa.banking.domain.repositories.VersionesRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@Profile("memoria")
+public class VersionesRepositoryMemoria implements VersionesRepository {
+
+    private final AlmacenMemoria almacen;
+
+    public VersionesRepositoryMemoria(AlmacenMemoria almacen) {
+        this.almacen = almacen;
+    }
+
+    @Override
+    public Optional<VersionRecurso> cliente(Long clienteId) {
+        return almacen.buscarCliente(clienteId)
+                .map(cliente -> version(cliente.getFechaCreacion(), cliente.getFechaModificacion()));
+    }
+
+    @Override
+    public Optional<VersionRecurso> producto(Long productoId) {
+        return almacen.buscarProducto(productoId)
+                .map(producto -> version(producto.getFechaCreacion(), producto.getFechaModificacion()));
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> productosDeCliente(Long clienteId) {
+        Map<Long, LocalDateTime> modificaciones = new LinkedHashMap<>();
+        for (Producto producto : almacen.productosDeCliente(clienteId)) {
+            modificaciones.put(producto.getId(), producto.getFechaModificacion() != null
+                    ? producto.getFechaModificacion() : producto.getFechaCreacion());
+        }
+        return modificaciones;
+    }
+
+    @Override
+    public Optional<VersionRecurso> transaccion(Long transaccionId) {
+        return almacen.buscarTransaccion(transaccionId)
+                .map(transaccion -> new VersionRecurso(String.valueOf(transaccionId), transaccion.getFechaTransaccion()));
+    }
+
+    @Override
+    public VersionRecurso movimientosDeCuenta(Long cuentaId) {
+        List<Transaccion> movimientos = almacen.transaccionesDeCuenta(cuentaId);
+        Long ultimoId = movimientos.stream().map(Transaccion::getId).max(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime ultimaFecha = movimientos.stream().map(Transaccion::getFechaTransaccion)
+                .max(Comparator.naturalOrder()).orElse(null);
+        return new VersionRecurso(movimientos.size() + "|" + ultimoId, ultimaFecha);
+    }
+
+    private static VersionRecurso version(LocalDateTime creacion, LocalDateTime modificacion) {
+        return new VersionRecurso(creacion + "|" + modificacion, modificacion != null ? modificacion : creacion);
+    }
+}
@@ -0,0 +1,83 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migración de las transacciones anteriores al diccionario de descripciones. Hibernate agrega la columna
+ * descripcion_codigo (nula); mientras una fila no tenga código su descripción se lee completa, así que la
+ * aplicación funciona antes, durante y después de la migración. Cada lote de IDs se actualiza en su propia
+ * sentencia con la misma regla del prefijo registrado más largo que usa {@link DiccionarioDescripciones}; una
+ * ejecución interrumpida se retoma sin repetir filas, porque solo se tocan las que no tienen código.
+ * Se registra el tamaño de la columna y de la tabla antes y después; el espacio de las versiones anteriores de
+ * las filas solo se libera con VACUUM FULL (o pg_repack) sobre transacciones.
+ */
+@Component
+@Profile("!memoria")
+public class MigracionDescripciones {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracionDescripciones.class);
+
+    private static final String SQL_LOTE =
+            "UPDATE transacciones t SET descripcion_codigo = m.codigo, " +
+                    "descripcion = NULLIF(substr(t.descripcion, char_length(m.texto) + 1), '') " +
+                    "FROM (SELECT DISTINCT ON (x.id) x.id, d.id AS codigo, d.texto " +
+                    "FROM transacciones x JOIN descripciones_transaccion d ON starts_with(x.descripcion, d.texto) " +
+                    "WHERE x.id BETWEEN ? AND ? AND x.descripcion_codigo IS NULL " +
+                    "ORDER BY x.id, char_length(d.texto) DESC) m " +
+                    "WHERE t.id = m.id";
+
+    private static final String SQL_TAMANO =
+            "SELECT count(*), coalesce(sum(pg_column_size(descripcion)), 0), " +
+                    "coalesce(sum(pg_column_size(descripcion_codigo)), 0), pg_total_relation_size('transacciones') " +
+                    "FROM transacciones";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean habilitada;
+    private final int tamanoLote;
+
+    public MigracionDescripciones(JdbcTemplate jdbcTemplate,
+                                  @Value("${banking.descripciones.migrar:false}") boolean habilitada,
+                                  @Value("${banking.descripciones.tamano-lote:10000}") int tamanoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitada = habilitada;
+        this.tamanoLote = tamanoLote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrarAlArrancar() {
+        if (habilitada) {
+            migrar();
+        }
+    }
+
+    /**
+     * Codifica las descripciones de las filas sin código, por lotes de IDs, y devuelve las filas actualizadas
+     */
+    public long migrar() {
+        long inicio = System.nanoTime();
+        String antes = tamano();
+        Long maximo = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM transacciones", Long.class);
+        long actualizadas = 0;
+        for (long desde = 1; desde <= maximo; desde += tamanoLote) {
+            actualizadas += jdbcTemplate.update(SQL_LOTE, desde, desde + tamanoLote - 1);
+        }
+        log.info("Migración de descripciones: {} filas codificadas en {} ms", actualizadas,
+                (System.nanoTime() - inicio) / 1_000_000);
+        log.info("Tamaño antes:   {}", antes);
+        log.info("Tamaño después: {}", tamano());
+        return actualizadas;
+    }
+
+    private String tamano() {
+        return jdbcTemplate.queryForObject(SQL_TAMANO, (rs, fila) -> String.format(
+                "%d filas, descripcion %d bytes, descripcion_codigo %d bytes, tabla con índices %d bytes",
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+    }
+}
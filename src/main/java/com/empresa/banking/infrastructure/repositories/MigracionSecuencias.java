@@ -0,0 +1,73 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Numeración de las transacciones anteriores a la secuencia por cuenta. Hibernate agrega la columna secuencia
+ * (nula) y las filas sin número no aparecen en el feed de cambios. Cada lote de cuentas reserva en
+ * secuencias_cuenta tantos números como filas sin numerar tenga cada cuenta, por el mismo camino que los
+ * movimientos nuevos, y los reparte en orden de fecha e ID: para un cliente que ya sincroniza, el historial
+ * antiguo llega como cambios nuevos. Una ejecución interrumpida se retoma sin repetir filas.
+ */
+@Component
+@Profile("!memoria")
+public class MigracionSecuencias {
+
+    private static final Logger log = LoggerFactory.getLogger(MigracionSecuencias.class);
+
+    private static final String SQL_LOTE =
+            "WITH pendientes AS (SELECT cuenta_origen_id AS cuenta_id, count(*) AS cantidad FROM transacciones " +
+                    "WHERE cuenta_origen_id BETWEEN ? AND ? AND secuencia IS NULL GROUP BY cuenta_origen_id), " +
+                    "reservadas AS (INSERT INTO secuencias_cuenta (cuenta_id, ultima) " +
+                    "SELECT cuenta_id, cantidad FROM pendientes ORDER BY cuenta_id " +
+                    "ON CONFLICT (cuenta_id) DO UPDATE SET ultima = secuencias_cuenta.ultima + EXCLUDED.ultima " +
+                    "RETURNING cuenta_id, ultima), " +
+                    "numeradas AS (SELECT t.id, r.ultima - p.cantidad + row_number() OVER " +
+                    "(PARTITION BY t.cuenta_origen_id ORDER BY t.fecha_transaccion, t.id) AS secuencia " +
+                    "FROM transacciones t JOIN pendientes p ON p.cuenta_id = t.cuenta_origen_id " +
+                    "JOIN reservadas r ON r.cuenta_id = t.cuenta_origen_id " +
+                    "WHERE t.cuenta_origen_id BETWEEN ? AND ? AND t.secuencia IS NULL) " +
+                    "UPDATE transacciones t SET secuencia = n.secuencia FROM numeradas n WHERE t.id = n.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean habilitada;
+    private final int cuentasPorLote;
+
+    public MigracionSecuencias(JdbcTemplate jdbcTemplate,
+                               @Value("${banking.secuencias.migrar:false}") boolean habilitada,
+                               @Value("${banking.secuencias.cuentas-por-lote:1000}") int cuentasPorLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitada = habilitada;
+        this.cuentasPorLote = cuentasPorLote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrarAlArrancar() {
+        if (habilitada) {
+            migrar();
+        }
+    }
+
+    /**
+     * Numera las filas sin secuencia, por lotes de IDs de cuenta, y devuelve las filas actualizadas
+     */
+    public long migrar() {
+        long inicio = System.nanoTime();
+        Long maximo = jdbcTemplate.queryForObject("SELECT coalesce(max(id), 0) FROM productos", Long.class);
+        long actualizadas = 0;
+        for (long desde = 1; desde <= maximo; desde += cuentasPorLote) {
+            long hasta = desde + cuentasPorLote - 1;
+            actualizadas += jdbcTemplate.update(SQL_LOTE, desde, hasta, desde, hasta);
+        }
+        log.info("Migración de secuencias: {} filas numeradas en {} ms", actualizadas,
+                (System.nanoTime() - inicio) / 1_000_000);
+        return actualizadas;
+    }
+}
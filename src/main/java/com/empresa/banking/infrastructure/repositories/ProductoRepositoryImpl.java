@@ -2,25 +2,85 @@ package com.empresa.banking.infrastructure.repositories;
 
 import com.empresa.banking.domain.repositories.ProductoRepository;
 
+import com.empresa.banking.domain.entities.Enums.CampoProducto;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Money;
 import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.SaldoPendiente;
 import com.empresa.banking.infrastructure.entities.ProductoEntity;
 import com.empresa.banking.infrastructure.mappers.Mappers;
 import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaProductoRepository;
+import org.springframework.context.annotation.Profile;
+import jakarta.annotation.PostConstruct;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Repository
+@Profile("!memoria")
 public class ProductoRepositoryImpl implements ProductoRepository {
 
+    private static final int TAMANO_LOTE = 500;
+
+    private static final String SQL_INSERTAR =
+            "INSERT INTO productos (tipo_cuenta, numero_cuenta, estado, saldo, exenta_gmf, fecha_creacion, " +
+                    "fecha_modificacion, cliente_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Solo se suma lo que este mismo DELETE borró: un registro ya aplicado (por otra instancia) no se suma dos veces
+    private static final String SQL_APLICAR_PENDIENTES =
+            "WITH aplicados AS (DELETE FROM saldos_pendientes WHERE cuenta_id = ? AND id = ANY(?) RETURNING delta), " +
+                    "neto AS (SELECT coalesce(sum(delta), 0) AS delta FROM aplicados) " +
+                    "UPDATE productos SET saldo = saldo + neto.delta, fecha_modificacion = ? FROM neto " +
+                    "WHERE productos.id = ? AND neto.delta <> 0";
+
     @Autowired
     private JpaProductoRepository jpaRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Autowired
     private Mappers mappers;
 
+    private final IndiceNumeroCuenta indiceNumeroCuenta = new IndiceNumeroCuenta();
+
+    /**
+     * Construye el índice de números de cuenta recorriendo la tabla de productos por streaming
+     */
+    @PostConstruct
+    void cargarIndiceNumeroCuenta() {
+        indiceNumeroCuenta.limpiar();
+        jdbcTemplate.query(
+                connection -> {
+                    var ps = connection.prepareStatement("SELECT id, numero_cuenta FROM productos");
+                    ps.setFetchSize(TAMANO_LOTE);
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> indiceNumeroCuenta.registrar(rs.getString(2), rs.getLong(1)));
+    }
 
     @Override
     public Optional<Producto> findById(Long id) {
@@ -28,6 +88,29 @@ public class ProductoRepositoryImpl implements ProductoRepository {
                 .map(mappers::productoToDomain);
     }
 
+    @Override
+    public Optional<Producto> findByIdForUpdate(Long id) {
+        return jpaRepository.findByIdForUpdate(id)
+                .map(mappers::productoToDomain);
+    }
+
+    @Override
+    public List<Producto> findAllById(Collection<Long> ids) {
+        // Un solo parámetro de arreglo: el plan de la consulta no depende de cuántos IDs lleguen
+        return jpaRepository.findByIdAny(ids.toArray(Long[]::new))
+                .stream()
+                .map(mappers::productoToDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Producto> findAllByIdForUpdate(Collection<Long> ids) {
+        return jpaRepository.findByIdAnyForUpdate(ids.toArray(Long[]::new))
+                .stream()
+                .map(mappers::productoToDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Producto> findAll() {
         return jpaRepository.findAll()
@@ -36,19 +119,207 @@ public class ProductoRepositoryImpl implements ProductoRepository {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Proyección JDBC con solo las columnas pedidas: no se construye la entidad ni se lee el resto de la fila
+     */
+    @Override
+    public List<Map<CampoProducto, Object>> findAllCampos(Set<CampoProducto> campos) {
+        List<CampoProducto> columnas = List.copyOf(campos);
+        String sql = columnas.stream()
+                .map(ProductoRepositoryImpl::columna)
+                .collect(Collectors.joining(", ", "SELECT ", " FROM productos ORDER BY id"));
+        return jdbcTemplate.query(sql, (rs, fila) -> {
+            Map<CampoProducto, Object> valores = new EnumMap<>(CampoProducto.class);
+            for (int i = 0; i < columnas.size(); i++) {
+                valores.put(columnas.get(i), valor(rs, i + 1, columnas.get(i)));
+            }
+            return valores;
+        });
+    }
+
+    private static String columna(CampoProducto campo) {
+        return switch (campo) {
+            case ID -> "id";
+            case TIPO_CUENTA -> "tipo_cuenta";
+            case NUMERO_CUENTA -> "numero_cuenta";
+            case ESTADO -> "estado";
+            case SALDO -> "saldo";
+            case EXENTA_GMF -> "exenta_gmf";
+            case FECHA_CREACION -> "fecha_creacion";
+            case FECHA_MODIFICACION -> "fecha_modificacion";
+            case CLIENTE_ID -> "cliente_id";
+        };
+    }
+
+    private static Object valor(ResultSet rs, int indice, CampoProducto campo) throws SQLException {
+        return switch (campo) {
+            case ID, CLIENTE_ID -> rs.getLong(indice);
+            case TIPO_CUENTA -> TipoCuenta.valueOf(rs.getString(indice));
+            case NUMERO_CUENTA -> rs.getString(indice);
+            case ESTADO -> EstadoCuenta.valueOf(rs.getString(indice));
+            case SALDO -> rs.getBigDecimal(indice);
+            case EXENTA_GMF -> rs.getBoolean(indice);
+            case FECHA_CREACION, FECHA_MODIFICACION -> {
+                Timestamp fecha = rs.getTimestamp(indice);
+                yield fecha != null ? fecha.toLocalDateTime() : null;
+            }
+        };
+    }
+
+    @Override
+    public List<Producto> findByClienteId(Long clienteId) {
+        return jpaRepository.findByClienteIdOrderById(clienteId)
+                .stream()
+                .map(mappers::productoToDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Producto save(Producto producto) {
         ProductoEntity entity = mappers.productoFromDomain(producto);
-        return mappers.productoToDomain(jpaRepository.save(entity));
+        Producto guardado = mappers.productoToDomain(jpaRepository.save(entity));
+        alConfirmar(() -> indiceNumeroCuenta.registrar(guardado.getNumeroCuenta(), guardado.getId()));
+        return guardado;
+    }
+
+    /**
+     * Un solo lote JDBC (sin pasar por JPA ni cargar el cliente de cada fila); los IDs vuelven como claves generadas
+     */
+    @Override
+    public List<Producto> insertarLote(List<Producto> productos) {
+        if (productos.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder claves = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(SQL_INSERTAR, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Producto producto = productos.get(i);
+                        ps.setString(1, producto.getTipoCuenta().name());
+                        ps.setString(2, producto.getNumeroCuenta());
+                        ps.setString(3, producto.getEstado().name());
+                        ps.setBigDecimal(4, producto.getSaldo());
+                        ps.setBoolean(5, producto.getExentaGmf());
+                        ps.setTimestamp(6, Timestamp.valueOf(producto.getFechaCreacion()));
+                        ps.setTimestamp(7, producto.getFechaModificacion() != null
+                                ? Timestamp.valueOf(producto.getFechaModificacion()) : null);
+                        ps.setLong(8, producto.getClienteId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return productos.size();
+                    }
+                },
+                claves);
+
+        List<Map<String, Object>> ids = claves.getKeyList();
+        List<Producto> guardados = new ArrayList<>(productos.size());
+        for (int i = 0; i < productos.size(); i++) {
+            Producto producto = productos.get(i);
+            guardados.add(Producto.rehidratar(((Number) ids.get(i).get("id")).longValue(), producto.getTipoCuenta(),
+                    producto.getNumeroCuenta(), producto.getEstado(), producto.saldo(), producto.getExentaGmf(),
+                    producto.getFechaCreacion(), producto.getFechaModificacion(), producto.getClienteId()));
+        }
+        alConfirmar(() -> guardados.forEach(guardado ->
+                indiceNumeroCuenta.registrar(guardado.getNumeroCuenta(), guardado.getId())));
+        return guardados;
     }
 
     @Override
     public void deleteById(Long id) {
+        Optional<String> numeroCuenta = jpaRepository.findById(id).map(ProductoEntity::getNumeroCuenta);
         jpaRepository.deleteById(id);
+        numeroCuenta.ifPresent(numero -> alConfirmar(() -> indiceNumeroCuenta.eliminar(numero)));
+    }
+
+    /**
+     * El índice resuelve el caso común sin consultar la base. Si no tiene el número, o tiene un ID que ya no
+     * existe (cuentas creadas o borradas por otra instancia), se consulta la tabla y se corrige el índice.
+     */
+    @Override
+    public Optional<Producto> findByNumeroCuenta(String numeroCuenta) {
+        long id = indiceNumeroCuenta.buscar(numeroCuenta);
+        if (id != IndiceNumeroCuenta.NO_ENCONTRADO) {
+            Optional<Producto> producto = findById(id);
+            if (producto.isPresent()) {
+                return producto;
+            }
+            alConfirmar(() -> indiceNumeroCuenta.eliminar(numeroCuenta));
+        }
+        Optional<ProductoEntity> entidad = jpaRepository.findByNumeroCuenta(numeroCuenta);
+        entidad.ifPresent(encontrada -> alConfirmar(() -> indiceNumeroCuenta.registrar(numeroCuenta, encontrada.getId())));
+        return entidad.map(mappers::productoToDomain);
     }
 
     @Override
     public boolean existByNumeroCuenta(String numeroCuenta) {
-        return jpaRepository.existsByNumeroCuenta(numeroCuenta);
+        return indiceNumeroCuenta.contiene(numeroCuenta) || jpaRepository.existsByNumeroCuenta(numeroCuenta);
+    }
+
+    @Override
+    public void ajustarSaldo(Long id, BigDecimal delta) {
+        jpaRepository.incrementarSaldo(id, delta);
+    }
+
+    @Override
+    public void ajustarSaldos(Map<Long, BigDecimal> deltas) {
+        // Orden ascendente por ID para que lotes concurrentes bloqueen las filas en el mismo orden
+        List<Map.Entry<Long, BigDecimal>> filas = new ArrayList<>(new TreeMap<>(deltas).entrySet());
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.batchUpdate(
+                "UPDATE productos SET saldo = saldo + ?, fecha_modificacion = ? WHERE id = ?",
+                filas,
+                TAMANO_LOTE,
+                (ps, fila) -> {
+                    ps.setBigDecimal(1, fila.getValue());
+                    ps.setTimestamp(2, ahora);
+                    ps.setLong(3, fila.getKey());
+                });
+    }
+
+    @Override
+    public Long registrarSaldoPendiente(Long id, BigDecimal delta) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO saldos_pendientes (cuenta_id, delta, fecha_registro) VALUES (?, ?, ?) RETURNING id",
+                Long.class, id, delta, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Override
+    public List<SaldoPendiente> findSaldosPendientes() {
+        return jdbcTemplate.query("SELECT id, cuenta_id, delta FROM saldos_pendientes ORDER BY id",
+                (rs, fila) -> new SaldoPendiente(rs.getLong(1), rs.getLong(2), Money.of(rs.getBigDecimal(3))));
+    }
+
+    @Override
+    public void aplicarSaldosPendientes(Long id, Collection<Long> registros) {
+        Long[] ids = registros.toArray(Long[]::new);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(SQL_APLICAR_PENDIENTES);
+            ps.setLong(1, id);
+            ps.setArray(2, con.createArrayOf("bigint", ids));
+            ps.setTimestamp(3, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setLong(4, id);
+            return ps;
+        });
+    }
+
+    /**
+     * El índice solo refleja datos confirmados: dentro de una transacción se actualiza tras el commit
+     */
+    private void alConfirmar(Runnable accion) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accion.run();
+                }
+            });
+        } else {
+            accion.run();
+        }
     }
 }
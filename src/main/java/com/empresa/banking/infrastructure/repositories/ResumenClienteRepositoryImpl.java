@@ -0,0 +1,71 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.ResumenClienteRepository;
+import com.empresa.banking.infrastructure.mappers.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@Profile("!memoria")
+public class ResumenClienteRepositoryImpl implements ResumenClienteRepository {
+
+    /**
+     * El último movimiento de cada cuenta sale del final del índice (cuenta_origen_id, fecha_transaccion, id),
+     * así que la huella no recorre el historial
+     */
+    private static final String SQL_VERSION =
+            "SELECT c.fecha_creacion, c.fecha_modificacion, " +
+                    "(SELECT count(*) FROM productos p WHERE p.cliente_id = c.id), " +
+                    "(SELECT max(coalesce(p.fecha_modificacion, p.fecha_creacion)) FROM productos p WHERE p.cliente_id = c.id), " +
+                    "(SELECT max(u.id) FROM productos p CROSS JOIN LATERAL (SELECT t.id FROM transacciones t " +
+                    "WHERE t.cuenta_origen_id = p.id ORDER BY t.fecha_transaccion DESC, t.id DESC LIMIT 1) u " +
+                    "WHERE p.cliente_id = c.id) " +
+                    "FROM clientes c WHERE c.id = ?";
+
+    private static final String SQL_ULTIMOS =
+            "SELECT t.id, t.tipo_transaccion, t.monto, t.descripcion, t.fecha_transaccion, t.cuenta_origen_id, " +
+                    "t.cuenta_destino_id, t.saldo_anterior, t.saldo_actual, t.descripcion_codigo, t.secuencia " +
+                    "FROM unnest(?) AS c(id) CROSS JOIN LATERAL (SELECT * FROM transacciones " +
+                    "WHERE cuenta_origen_id = c.id ORDER BY fecha_transaccion DESC, id DESC LIMIT ?) t";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Mappers mappers;
+
+    @Override
+    public Optional<String> version(Long clienteId) {
+        List<String> versiones = jdbcTemplate.query(SQL_VERSION,
+                (rs, fila) -> rs.getTimestamp(1) + "|" + rs.getTimestamp(2) + "|" + rs.getLong(3) + "|"
+                        + rs.getTimestamp(4) + "|" + rs.getObject(5, Long.class),
+                clienteId);
+        return versiones.stream().findFirst();
+    }
+
+    /**
+     * Un LIMIT por cuenta sobre el mismo índice: el costo depende de porCuenta, no del historial de cada cuenta
+     */
+    @Override
+    public List<Transaccion> ultimosMovimientos(Collection<Long> cuentaIds, int porCuenta) {
+        if (cuentaIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(SQL_ULTIMOS);
+                    ps.setArray(1, con.createArrayOf("bigint", cuentaIds.toArray()));
+                    ps.setInt(2, porCuenta);
+                    return ps;
+                },
+                (rs, fila) -> mappers.transaccionFromFila(rs));
+    }
+}
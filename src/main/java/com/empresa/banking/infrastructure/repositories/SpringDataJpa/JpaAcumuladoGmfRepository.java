@@ -0,0 +1,11 @@
+package com.empresa.banking.infrastructure.repositories.SpringDataJpa;
+
+import com.empresa.banking.infrastructure.entities.AcumuladoGmfEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+
+public interface JpaAcumuladoGmfRepository extends JpaRepository<AcumuladoGmfEntity, Long> {
+    List<AcumuladoGmfEntity> findByPeriodoOrderByClienteId(Integer periodo);
+}
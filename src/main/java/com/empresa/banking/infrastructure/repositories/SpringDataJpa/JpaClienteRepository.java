@@ -2,6 +2,12 @@ package com.empresa.banking.infrastructure.repositories.SpringDataJpa;
 
 import com.empresa.banking.infrastructure.entities.ClienteEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface JpaClienteRepository extends JpaRepository<ClienteEntity, Long> {
+    @Query(value = "SELECT * FROM clientes WHERE id = ANY(:ids)", nativeQuery = true)
+    List<ClienteEntity> findByIdAny(@Param("ids") Long[] ids);
 }
@@ -0,0 +1,8 @@
+package com.empresa.banking.infrastructure.repositories.SpringDataJpa;
+
+import com.empresa.banking.infrastructure.entities.DescripcionTransaccionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+
+public interface JpaDescripcionTransaccionRepository extends JpaRepository<DescripcionTransaccionEntity, Short> {
+}
@@ -0,0 +1,20 @@
+package com.empresa.banking.infrastructure.repositories.SpringDataJpa;
+
+import com.empresa.banking.infrastructure.entities.LoteCausacionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+
+
+public interface JpaLoteCausacionRepository extends JpaRepository<LoteCausacionEntity, Long> {
+
+    @Query("SELECT l.idDesde FROM LoteCausacionEntity l WHERE l.fechaCausacion = :fecha")
+    Set<Long> findIdDesdeByFechaCausacion(@Param("fecha") LocalDate fecha);
+
+    @Query("SELECT MAX(l.fechaCausacion) FROM LoteCausacionEntity l")
+    Optional<LocalDate> findUltimaFechaCausacion();
+}
@@ -0,0 +1,12 @@
+package com.empresa.banking.infrastructure.repositories.SpringDataJpa;
+
+import com.empresa.banking.infrastructure.entities.MarcaConciliacionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+
+public interface JpaMarcaConciliacionRepository extends JpaRepository<MarcaConciliacionEntity, Long> {
+
+    List<MarcaConciliacionEntity> findByCuentaIdBetween(Long desde, Long hasta);
+}
@@ -1,9 +1,50 @@
 package com.empresa.banking.infrastructure.repositories.SpringDataJpa;
 
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.infrastructure.entities.ProductoEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 
 
 public interface JpaProductoRepository extends JpaRepository<ProductoEntity, Long> {
     boolean existsByNumeroCuenta(String numeroCuenta);
+
+    Optional<ProductoEntity> findByNumeroCuenta(String numeroCuenta);
+
+    List<ProductoEntity> findByIdBetweenOrderById(Long desde, Long hasta);
+
+    List<ProductoEntity> findByClienteIdOrderById(Long clienteId);
+
+    List<ProductoEntity> findByEstadoAndIdGreaterThanOrderById(EstadoCuenta estado, Long id, Pageable pagina);
+
+    @Query(value = "SELECT * FROM productos WHERE id = ANY(:ids)", nativeQuery = true)
+    List<ProductoEntity> findByIdAny(@Param("ids") Long[] ids);
+
+    // Las filas se bloquean en orden de ID: dos lotes que comparten cuentas no se cruzan
+    @Query(value = "SELECT * FROM productos WHERE id = ANY(:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<ProductoEntity> findByIdAnyForUpdate(@Param("ids") Long[] ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ProductoEntity p WHERE p.id = :id")
+    Optional<ProductoEntity> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM ProductoEntity p WHERE p.tipoCuenta = :tipo AND p.estado = :estado " +
+            "AND p.id BETWEEN :desde AND :hasta ORDER BY p.id")
+    List<ProductoEntity> findRangoForUpdate(@Param("tipo") TipoCuenta tipo, @Param("estado") EstadoCuenta estado,
+                                            @Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    @Modifying
+    @Query("UPDATE ProductoEntity p SET p.saldo = p.saldo + :delta, p.fechaModificacion = CURRENT_TIMESTAMP WHERE p.id = :id")
+    int incrementarSaldo(@Param("id") Long id, @Param("delta") BigDecimal delta);
 }
@@ -1,11 +1,21 @@
 package com.empresa.banking.infrastructure.repositories.SpringDataJpa;
 
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
 import com.empresa.banking.infrastructure.entities.TransaccionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface JpaTransaccionRepository extends JpaRepository<TransaccionEntity, Long> {
     List<TransaccionEntity> findByCuentaOrigenId(Long cuentaOrigenId);
     void deleteByCuentaOrigenId(Long cuentaOrigenId);
+    List<TransaccionEntity> findByFechaTransaccionGreaterThanEqualAndTipoTransaccionIn(
+            LocalDateTime desde, Collection<TipoTransaccion> tipos);
+
+    @Query(value = "SELECT * FROM transacciones WHERE id = ANY(:ids)", nativeQuery = true)
+    List<TransaccionEntity> findByIdAny(@Param("ids") Long[] ids);
 }
@@ -1,29 +1,79 @@
 package com.empresa.banking.infrastructure.repositories;
 
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
 import com.empresa.banking.domain.entities.Transaccion;
 import com.empresa.banking.domain.repositories.TransaccionRepository;
 import com.empresa.banking.infrastructure.entities.TransaccionEntity;
 import com.empresa.banking.infrastructure.mappers.Mappers;
 import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaTransaccionRepository;
+import org.springframework.context.annotation.Profile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Repository
+@Profile("!memoria")
 public class TransaccionRepositoryImpl implements TransaccionRepository {
 
+    private static final int TAMANO_LOTE = 500;
+
+    private static final String COLUMNAS =
+            "id, tipo_transaccion, monto, descripcion, fecha_transaccion, cuenta_origen_id, " +
+                    "cuenta_destino_id, saldo_anterior, saldo_actual, descripcion_codigo, secuencia";
+
+    // Range scan sobre uk_transacciones_cuenta_secuencia
+    private static final String SQL_CAMBIOS =
+            "SELECT " + COLUMNAS + " FROM transacciones " +
+                    "WHERE cuenta_origen_id = ? AND secuencia > ? ORDER BY secuencia LIMIT ?";
+
+    /*
+     * Las filas de secuencias_cuenta quedan bloqueadas hasta el commit: otra transacción de la misma cuenta
+     * espera, así que los números se hacen visibles en orden y un rollback no deja huecos. Se insertan en
+     * orden de cuenta para que dos lotes con cuentas en común no se bloqueen en cruz.
+     * Costo aceptado: la fila es un punto de paso único por cuenta, también para las cuentas compensadas, cuya
+     * fila de saldo no se bloquea. Sus movimientos ya se serializan por cuenta hasta el commit en
+     * CompensacionSaldosService, así que esta fila no agrega espera, pero sí fija el techo de una cuenta compensada
+     * en una transacción a la vez. Numerar sin contención (rangos por nodo o una secuencia de la base) dejaría
+     * huecos y números confirmados fuera de orden, y el feed de cambios y la conciliación avanzan por secuencia.
+     */
+    private static final String SQL_RESERVAR =
+            "INSERT INTO secuencias_cuenta (cuenta_id, ultima) " +
+                    "SELECT c.cuenta_id, c.cantidad FROM unnest(?::bigint[], ?::int[]) AS c(cuenta_id, cantidad) " +
+                    "ORDER BY c.cuenta_id " +
+                    "ON CONFLICT (cuenta_id) DO UPDATE SET ultima = secuencias_cuenta.ultima + EXCLUDED.ultima " +
+                    "RETURNING cuenta_id, ultima";
+
     @Autowired
     private JpaTransaccionRepository jpaTransaccionRepository;
     @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
     private Mappers mapper;
+    @Autowired
+    private DiccionarioDescripciones diccionarioDescripciones;
 
     @Override
     public Optional<Transaccion> findById(Long id){
         return jpaTransaccionRepository.findById(id).map(mapper::transaccionToDomain);
     }
 
+    @Override
+    public List<Transaccion> findAllById(Collection<Long> ids){
+        return jpaTransaccionRepository.findByIdAny(ids.toArray(Long[]::new)).stream().map(mapper::transaccionToDomain).toList();
+    }
+
     @Override
     public List<Transaccion> findByAccountNumber(Long id){
         return jpaTransaccionRepository.findByCuentaOrigenId(id).stream().map(mapper::transaccionToDomain).toList();
@@ -33,12 +83,118 @@ public class TransaccionRepositoryImpl implements TransaccionRepository {
         return jpaTransaccionRepository.findAll().stream().map(mapper::transaccionToDomain).toList();
     }
 
+    @Override
+    public List<Transaccion> findDebitosDesde(LocalDateTime desde){
+        return jpaTransaccionRepository.findByFechaTransaccionGreaterThanEqualAndTipoTransaccionIn(
+                        desde, List.of(TipoTransaccion.RETIRO, TipoTransaccion.TRANSFERENCIA))
+                .stream().map(mapper::transaccionToDomain).toList();
+    }
+
+    /**
+     * Recorre un cursor con fetch size (solo aplica dentro de una transacción): la memoria no depende del historial
+     */
+    @Override
+    public void recorrerPorCuenta(Long cuentaId, LocalDateTime desde, LocalDateTime hasta, Consumer<Transaccion> consumidor){
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNAS + " FROM transacciones WHERE cuenta_origen_id = ?");
+        if (desde != null) {
+            sql.append(" AND fecha_transaccion >= ?");
+        }
+        if (hasta != null) {
+            sql.append(" AND fecha_transaccion < ?");
+        }
+        sql.append(" ORDER BY fecha_transaccion, id");
+
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(sql.toString());
+                    ps.setFetchSize(TAMANO_LOTE);
+                    int parametro = 1;
+                    ps.setLong(parametro++, cuentaId);
+                    if (desde != null) {
+                        ps.setTimestamp(parametro++, Timestamp.valueOf(desde));
+                    }
+                    if (hasta != null) {
+                        ps.setTimestamp(parametro, Timestamp.valueOf(hasta));
+                    }
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> consumidor.accept(mapper.transaccionFromFila(rs)));
+    }
+
+    @Override
+    public List<Transaccion> findCambios(Long cuentaId, long desde, int limite){
+        return jdbcTemplate.query(SQL_CAMBIOS, (rs, fila) -> mapper.transaccionFromFila(rs), cuentaId, desde, limite);
+    }
+
+    @Override
+    public long ultimaSecuencia(Long cuentaId){
+        List<Long> ultima = jdbcTemplate.queryForList(
+                "SELECT ultima FROM secuencias_cuenta WHERE cuenta_id = ?", Long.class, cuentaId);
+        return ultima.isEmpty() ? 0 : ultima.get(0);
+    }
+
+    @Override
+    public Map<Long, Long> reservarSecuencias(Map<Long, Integer> cantidades){
+        Long[] cuentas = cantidades.keySet().toArray(Long[]::new);
+        Integer[] numeros = new Integer[cuentas.length];
+        for (int i = 0; i < cuentas.length; i++) {
+            numeros[i] = cantidades.get(cuentas[i]);
+        }
+        Map<Long, Long> ultimas = new HashMap<>(cuentas.length * 2);
+        jdbcTemplate.query(
+                con -> {
+                    PreparedStatement ps = con.prepareStatement(SQL_RESERVAR);
+                    ps.setArray(1, con.createArrayOf("bigint", cuentas));
+                    ps.setArray(2, con.createArrayOf("integer", numeros));
+                    return ps;
+                },
+                (RowCallbackHandler) rs -> ultimas.put(rs.getLong(1), rs.getLong(2)));
+        return ultimas;
+    }
+
     @Override
     public Transaccion save(Transaccion transaccion){
         TransaccionEntity entity = mapper.transaccionFromDomain(transaccion);
         return mapper.transaccionToDomain(jpaTransaccionRepository.save(entity));
     }
 
+    @Override
+    public void saveAll(List<Transaccion> transacciones){
+        // Inserción por lotes JDBC: evita cargar las entidades de cuenta por cada movimiento
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transacciones (tipo_transaccion, monto, descripcion, fecha_transaccion, " +
+                        "cuenta_origen_id, cuenta_destino_id, saldo_anterior, saldo_actual, descripcion_codigo, secuencia) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                transacciones,
+                TAMANO_LOTE,
+                (ps, transaccion) -> {
+                    DiccionarioDescripciones.Codificada descripcion =
+                            diccionarioDescripciones.codificar(transaccion.getDescripcion());
+                    ps.setString(1, transaccion.getTipoTransaccion().name());
+                    ps.setBigDecimal(2, transaccion.getMonto());
+                    ps.setString(3, descripcion.sufijo());
+                    ps.setTimestamp(4, Timestamp.valueOf(transaccion.getFechaTransaccion()));
+                    ps.setLong(5, transaccion.getCuentaOrigenId());
+                    if (transaccion.getCuentaDestinoId() != null) {
+                        ps.setLong(6, transaccion.getCuentaDestinoId());
+                    } else {
+                        ps.setNull(6, Types.BIGINT);
+                    }
+                    ps.setBigDecimal(7, transaccion.getSaldoAnterior());
+                    ps.setBigDecimal(8, transaccion.getSaldoActual());
+                    if (descripcion.codigo() != null) {
+                        ps.setShort(9, descripcion.codigo());
+                    } else {
+                        ps.setNull(9, Types.SMALLINT);
+                    }
+                    if (transaccion.getSecuencia() != null) {
+                        ps.setLong(10, transaccion.getSecuencia());
+                    } else {
+                        ps.setNull(10, Types.BIGINT);
+                    }
+                });
+    }
+
     @Override
     public void deleteById(Long id){
         jpaTransaccionRepository.deleteById(id);
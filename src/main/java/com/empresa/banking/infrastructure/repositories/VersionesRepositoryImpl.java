@@ -0,0 +1,87 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.domain.entities.VersionRecurso;
+import com.empresa.banking.domain.repositories.VersionesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consultas de versión para GET condicionales: solo leen fechas y contadores (índices de clave primaria,
+ * de cliente_id y de cuenta_origen_id), nunca las filas completas
+ */
+@Repository
+@Profile("!memoria")
+public class VersionesRepositoryImpl implements VersionesRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<VersionRecurso> cliente(Long clienteId) {
+        return primera(jdbcTemplate.query(
+                "SELECT fecha_creacion, fecha_modificacion FROM clientes WHERE id = ?",
+                (rs, fila) -> versionPorFechas(rs),
+                clienteId));
+    }
+
+    @Override
+    public Optional<VersionRecurso> producto(Long productoId) {
+        return primera(jdbcTemplate.query(
+                "SELECT fecha_creacion, fecha_modificacion FROM productos WHERE id = ?",
+                (rs, fila) -> versionPorFechas(rs),
+                productoId));
+    }
+
+    @Override
+    public Map<Long, LocalDateTime> productosDeCliente(Long clienteId) {
+        Map<Long, LocalDateTime> modificaciones = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, coalesce(fecha_modificacion, fecha_creacion) FROM productos WHERE cliente_id = ? ORDER BY id",
+                (RowCallbackHandler) rs -> modificaciones.put(rs.getLong(1), fecha(rs.getTimestamp(2))),
+                clienteId);
+        return modificaciones;
+    }
+
+    @Override
+    public Optional<VersionRecurso> transaccion(Long transaccionId) {
+        return primera(jdbcTemplate.query(
+                "SELECT fecha_transaccion FROM transacciones WHERE id = ?",
+                (rs, fila) -> new VersionRecurso(String.valueOf(transaccionId), fecha(rs.getTimestamp(1))),
+                transaccionId));
+    }
+
+    @Override
+    public VersionRecurso movimientosDeCuenta(Long cuentaId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*), max(id), max(fecha_transaccion) FROM transacciones WHERE cuenta_origen_id = ?",
+                (rs, fila) -> new VersionRecurso(rs.getLong(1) + "|" + rs.getObject(2, Long.class),
+                        fecha(rs.getTimestamp(3))),
+                cuentaId);
+    }
+
+    private static VersionRecurso versionPorFechas(ResultSet rs) throws SQLException {
+        LocalDateTime creacion = fecha(rs.getTimestamp(1));
+        LocalDateTime modificacion = fecha(rs.getTimestamp(2));
+        return new VersionRecurso(creacion + "|" + modificacion, modificacion != null ? modificacion : creacion);
+    }
+
+    private static LocalDateTime fecha(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static Optional<VersionRecurso> primera(List<VersionRecurso> versiones) {
+        return versiones.stream().findFirst();
+    }
+}
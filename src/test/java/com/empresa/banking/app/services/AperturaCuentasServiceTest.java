@@ -0,0 +1,195 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ClienteRepository;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.infrastructure.controllers.ProductoController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - AperturaCuentasService")
+class AperturaCuentasServiceTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AperturaCuentasService aperturaService;
+
+    @BeforeEach
+    void setUp() {
+        aperturaService = new AperturaCuentasService(productoRepository, clienteRepository, transactionManager);
+    }
+
+    private ProductoController.CrearProductoRequest solicitud(TipoCuenta tipo, Long clienteId, String saldo) {
+        ProductoController.CrearProductoRequest request = new ProductoController.CrearProductoRequest();
+        request.setTipoCuenta(tipo);
+        request.setClienteId(clienteId);
+        request.setSaldoInicial(saldo != null ? new BigDecimal(saldo) : null);
+        request.setExentaGmf(false);
+        return request;
+    }
+
+    private Cliente cliente(Long id) {
+        return Cliente.crear(id, TipoIdentificacion.CEDULA_CIUDADANIA, "1000" + id, "Juan Carlos", "Pérez García",
+                "cliente" + id + "@email.com", LocalDate.of(1990, 5, 15), LocalDateTime.now(), null);
+    }
+
+    private void conClientes(Long... ids) {
+        when(clienteRepository.findAllById(anyCollection())).thenAnswer(invocacion -> {
+            Collection<Long> solicitados = invocacion.getArgument(0);
+            return List.of(ids).stream().filter(solicitados::contains).map(this::cliente).toList();
+        });
+    }
+
+    private void asignaIds() {
+        AtomicLong secuencia = new AtomicLong();
+        when(productoRepository.insertarLote(anyList())).thenAnswer(invocacion -> {
+            List<Producto> productos = invocacion.getArgument(0);
+            return productos.stream()
+                    .map(p -> Producto.rehidratar(secuencia.incrementAndGet(), p.getTipoCuenta(), p.getNumeroCuenta(),
+                            p.getEstado(), p.saldo(), p.getExentaGmf(), p.getFechaCreacion(), null, p.getClienteId()))
+                    .toList();
+        });
+    }
+
+    // ========== TESTS APERTURA ==========
+
+    @Test
+    @DisplayName("Los clientes se validan una vez por ID y las cuentas válidas se insertan en un solo lote")
+    void abrirCuentas_VariasSolicitudes_ValidaClientesUnaVez() {
+        // Arrange
+        conClientes(1L, 2L);
+        asignaIds();
+        List<ProductoController.CrearProductoRequest> solicitudes = List.of(
+                solicitud(TipoCuenta.CUENTA_AHORROS, 1L, "100"),
+                solicitud(TipoCuenta.CUENTA_CORRIENTE, 1L, null),
+                solicitud(TipoCuenta.CUENTA_AHORROS, 2L, "0"),
+                solicitud(TipoCuenta.CUENTA_AHORROS, 99L, "0"),
+                solicitud(null, 2L, "0"));
+
+        // Act
+        AperturaCuentasService.ResultadoApertura resultado = aperturaService.abrirCuentas(solicitudes);
+
+        // Assert
+        assertEquals(3, resultado.getAbiertas());
+        assertEquals(2, resultado.getRechazadas());
+        verify(clienteRepository, times(1)).findAllById(anyCollection());
+        verify(productoRepository, times(1)).insertarLote(anyList());
+
+        List<AperturaCuentasService.ResultadoCuenta> cuentas = resultado.getCuentas();
+        assertTrue(cuentas.get(0).getNumeroCuenta().startsWith("53"));
+        assertTrue(cuentas.get(1).getNumeroCuenta().startsWith("33"));
+        assertEquals(1L, cuentas.get(0).getProductoId());
+        assertEquals(3L, cuentas.get(2).getProductoId());
+        assertEquals("Cliente no encontrado con ID: 99", cuentas.get(3).getError());
+        assertEquals("El tipo de cuenta es obligatorio", cuentas.get(4).getError());
+    }
+
+    @Test
+    @DisplayName("Los números asignados a un lote no se repiten ni coinciden con los ya registrados")
+    @SuppressWarnings("unchecked")
+    void abrirCuentas_Numeros_SinRepetir() {
+        // Arrange
+        conClientes(1L);
+        asignaIds();
+        when(productoRepository.existByNumeroCuenta(anyString())).thenReturn(true, true, false);
+        List<ProductoController.CrearProductoRequest> solicitudes = new ArrayList<>();
+        for (int i = 0; i < AperturaCuentasService.PRODUCTOS_POR_LOTE + 1; i++) {
+            solicitudes.add(solicitud(TipoCuenta.CUENTA_AHORROS, 1L, "0"));
+        }
+
+        // Act
+        AperturaCuentasService.ResultadoApertura resultado = aperturaService.abrirCuentas(solicitudes);
+
+        // Assert
+        assertEquals(solicitudes.size(), resultado.getAbiertas());
+        ArgumentCaptor<List<Producto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productoRepository, times(2)).insertarLote(captor.capture());
+        assertEquals(AperturaCuentasService.PRODUCTOS_POR_LOTE, captor.getAllValues().get(0).size());
+        List<String> numeros = captor.getAllValues().get(0).stream().map(Producto::getNumeroCuenta).toList();
+        assertEquals(numeros.size(), new HashSet<>(numeros).size());
+        verify(productoRepository, atLeast(solicitudes.size() + 2)).existByNumeroCuenta(anyString());
+        assertTrue(captor.getAllValues().get(0).stream().allMatch(p -> p.getEstado() == EstadoCuenta.ACTIVA));
+    }
+
+    @Test
+    @DisplayName("Si otro proceso tomó un número, el lote se reintenta con números nuevos")
+    void abrirCuentas_NumeroTomado_ReintentaLote() {
+        // Arrange
+        conClientes(1L);
+        when(productoRepository.insertarLote(anyList()))
+                .thenThrow(new DuplicateKeyException("numero_cuenta"))
+                .thenAnswer(invocacion -> {
+                    Producto p = invocacion.<List<Producto>>getArgument(0).get(0);
+                    return List.of(Producto.rehidratar(7L, p.getTipoCuenta(), p.getNumeroCuenta(), p.getEstado(),
+                            p.saldo(), p.getExentaGmf(), p.getFechaCreacion(), null, p.getClienteId()));
+                });
+
+        // Act
+        AperturaCuentasService.ResultadoApertura resultado =
+                aperturaService.abrirCuentas(List.of(solicitud(TipoCuenta.CUENTA_AHORROS, 1L, "0")));
+
+        // Assert
+        assertEquals(1, resultado.getAbiertas());
+        assertEquals(7L, resultado.getCuentas().get(0).getProductoId());
+        verify(productoRepository, times(2)).insertarLote(anyList());
+    }
+
+    @Test
+    @DisplayName("Si el lote no se puede guardar tras los reintentos, sus cuentas se reportan con error")
+    void abrirCuentas_ReintentosAgotados_ReportaError() {
+        // Arrange
+        conClientes(1L);
+        when(productoRepository.insertarLote(anyList())).thenThrow(new DuplicateKeyException("numero_cuenta"));
+
+        // Act
+        AperturaCuentasService.ResultadoApertura resultado =
+                aperturaService.abrirCuentas(List.of(solicitud(TipoCuenta.CUENTA_AHORROS, 1L, "0")));
+
+        // Assert
+        assertEquals(0, resultado.getAbiertas());
+        assertEquals("No se pudo abrir la cuenta: error al guardar el lote", resultado.getCuentas().get(0).getError());
+        verify(productoRepository, times(3)).insertarLote(anyList());
+    }
+
+    // ========== TESTS VALIDACIÓN ==========
+
+    @Test
+    @DisplayName("Un lote vacío se rechaza")
+    void abrirCuentas_LoteVacio_LanzaExcepcion() {
+        assertThrows(SolicitudInvalidaException.class, () -> aperturaService.abrirCuentas(List.of()));
+        verifyNoInteractions(clienteRepository, productoRepository);
+    }
+}
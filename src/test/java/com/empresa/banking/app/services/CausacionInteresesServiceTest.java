@@ -0,0 +1,177 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.CausacionInteresRepository;
+import com.empresa.banking.domain.repositories.CausacionInteresRepository.RangoIds;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - CausacionInteresesService")
+class CausacionInteresesServiceTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2025, 1, 15);
+
+    @Mock
+    private CausacionInteresRepository causacionRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private TransaccionRepository transaccionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CausacionInteresesService causacionService;
+
+    @BeforeEach
+    void setUp() {
+        CompensacionSaldosService compensacionSaldos =
+                new CompensacionSaldosService(productoRepository, transactionManager, Set.of());
+        causacionService = new CausacionInteresesService(causacionRepository, productoRepository,
+                transaccionRepository, compensacionSaldos, transactionManager, new BigDecimal("0.015"), 2000, 2);
+        // Primera reserva de cada cuenta: la última secuencia es la cantidad pedida
+        lenient().when(transaccionRepository.reservarSecuencias(any())).thenAnswer(invocacion -> {
+            Map<Long, Integer> cantidades = invocacion.getArgument(0);
+            Map<Long, Long> ultimas = new HashMap<>();
+            cantidades.forEach((cuentaId, cantidad) -> ultimas.put(cuentaId, (long) cantidad));
+            return ultimas;
+        });
+    }
+
+    private Producto cuentaAhorros(Long id, String saldo) {
+        return new Producto(id, TipoCuenta.CUENTA_AHORROS, "53" + String.format("%08d", id),
+                EstadoCuenta.ACTIVA, new BigDecimal(saldo), false, LocalDateTime.now(), null, 1L);
+    }
+
+    // ========== TESTS CÁLCULO ==========
+
+    @Test
+    @DisplayName("El interés diario equivale a la tasa efectiva anual y se redondea al centavo")
+    void calcularInteres_SaldoPositivo_AplicaTasaDiaria() {
+        // Act
+        Money interes = causacionService.calcularInteres(Money.of(BigDecimal.valueOf(1000000)));
+
+        // Assert: 1.000.000 × ((1,015)^(1/365) - 1) = 40,7915...
+        assertEquals(Money.of(new BigDecimal("40.79")), interes);
+    }
+
+    @Test
+    @DisplayName("Saldos en cero o negativos no causan intereses")
+    void calcularInteres_SaldoNoPositivo_RetornaCero() {
+        assertEquals(Money.CERO, causacionService.calcularInteres(Money.CERO));
+        assertEquals(Money.CERO, causacionService.calcularInteres(Money.of(BigDecimal.valueOf(-5000))));
+    }
+
+    // ========== TESTS EJECUCIÓN ==========
+
+    @Test
+    @DisplayName("Los rangos ya confirmados para la fecha se omiten y los pendientes se registran")
+    void causar_ConLoteConfirmado_ProcesaSoloPendientes() {
+        // Arrange
+        when(causacionRepository.rangoIdsCuentasAhorro()).thenReturn(Optional.of(new RangoIds(1, 5000)));
+        when(causacionRepository.lotesCausados(FECHA)).thenReturn(Set.of(1L));
+        when(causacionRepository.cuentasParaCausar(2001, 4000))
+                .thenReturn(List.of(cuentaAhorros(2001L, "1000000"), cuentaAhorros(2002L, "0")));
+        when(causacionRepository.cuentasParaCausar(4001, 6000))
+                .thenReturn(List.of(cuentaAhorros(4500L, "5000000")));
+
+        // Act
+        CausacionInteresesService.ResultadoCausacion resultado = causacionService.causar(FECHA);
+
+        // Assert
+        assertEquals(2, resultado.getLotesProcesados());
+        assertEquals(1, resultado.getLotesOmitidos());
+        assertEquals(0, resultado.getLotesFallidos());
+        assertEquals(2, resultado.getCuentas());
+        assertEquals(new BigDecimal("244.75"), resultado.getTotalIntereses());
+
+        verify(causacionRepository, never()).cuentasParaCausar(1, 2000);
+        verify(causacionRepository).registrarLote(FECHA, 2001, 4000, 1, Money.of(new BigDecimal("40.79")));
+        verify(causacionRepository).registrarLote(FECHA, 4001, 6000, 1, Money.of(new BigDecimal("203.96")));
+        verify(productoRepository).ajustarSaldos(Map.of(2001L, new BigDecimal("40.79")));
+    }
+
+    @Test
+    @DisplayName("Cada abono es una consignación con los saldos antes y después del interés")
+    @SuppressWarnings("unchecked")
+    void causar_CuentaConSaldo_RegistraAbonoConSaldos() {
+        // Arrange
+        when(causacionRepository.rangoIdsCuentasAhorro()).thenReturn(Optional.of(new RangoIds(7, 7)));
+        when(causacionRepository.lotesCausados(FECHA)).thenReturn(Set.of());
+        when(causacionRepository.cuentasParaCausar(1, 2000)).thenReturn(List.of(cuentaAhorros(7L, "1000000")));
+
+        // Act
+        causacionService.causar(FECHA);
+
+        // Assert
+        ArgumentCaptor<List<Transaccion>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transaccionRepository).saveAll(captor.capture());
+        Transaccion abono = captor.getValue().get(0);
+        assertEquals(TipoTransaccion.CONSIGNACION, abono.getTipoTransaccion());
+        assertEquals(CausacionInteresesService.DESCRIPCION_ABONO, abono.getDescripcion());
+        assertEquals(new BigDecimal("1000000.00"), abono.getSaldoAnterior());
+        assertEquals(new BigDecimal("1000040.79"), abono.getSaldoActual());
+    }
+
+    @Test
+    @DisplayName("Un lote que falla queda sin registrar y no detiene los demás")
+    void causar_LoteFalla_ContinuaConLosDemas() {
+        // Arrange
+        when(causacionRepository.rangoIdsCuentasAhorro()).thenReturn(Optional.of(new RangoIds(1, 4000)));
+        when(causacionRepository.lotesCausados(FECHA)).thenReturn(Set.of());
+        when(causacionRepository.cuentasParaCausar(1, 2000)).thenThrow(new IllegalStateException("bloqueo"));
+        when(causacionRepository.cuentasParaCausar(2001, 4000)).thenReturn(List.of(cuentaAhorros(2001L, "1000000")));
+
+        // Act
+        CausacionInteresesService.ResultadoCausacion resultado = causacionService.causar(FECHA);
+
+        // Assert
+        assertEquals(1, resultado.getLotesProcesados());
+        assertEquals(1, resultado.getLotesFallidos());
+        verify(causacionRepository, never()).registrarLote(eq(FECHA), eq(1L), anyLong(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("Sin cuentas de ahorro activas no se abre ningún lote")
+    void causar_SinCuentasAhorro_RetornaVacio() {
+        // Arrange
+        when(causacionRepository.rangoIdsCuentasAhorro()).thenReturn(Optional.empty());
+
+        // Act
+        CausacionInteresesService.ResultadoCausacion resultado = causacionService.causar(FECHA);
+
+        // Assert
+        assertEquals(0, resultado.getLotesProcesados());
+        verify(causacionRepository, never()).cuentasParaCausar(anyLong(), anyLong());
+        verifyNoInteractions(transaccionRepository);
+    }
+}
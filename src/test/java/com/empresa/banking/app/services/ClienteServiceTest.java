@@ -43,7 +43,7 @@ class ClienteServiceTest {
 
     @BeforeEach
     void setUp() {
-        clienteEjemplo = new Cliente(
+        clienteEjemplo = Cliente.crear(
                 1L,
                 TipoIdentificacion.CEDULA_CIUDADANIA,
                 "12345678",
@@ -0,0 +1,249 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.SaldoPendiente;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - CompensacionSaldosService")
+class CompensacionSaldosServiceTest {
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CompensacionSaldosService compensacionSaldos;
+
+    private Producto cuentaTesoreria;
+
+    @BeforeEach
+    void setUp() {
+        compensacionSaldos = new CompensacionSaldosService(productoRepository, transactionManager, Set.of(10L));
+
+        cuentaTesoreria = new Producto(
+                10L,
+                TipoCuenta.CUENTA_CORRIENTE,
+                "3300000010",
+                EstadoCuenta.ACTIVA,
+                BigDecimal.valueOf(1000),
+                false,
+                LocalDateTime.now(),
+                null,
+                1L
+        );
+    }
+
+    @Test
+    @DisplayName("Solo las cuentas configuradas operan en modo compensación")
+    void esCuentaCompensada_SegunConfiguracion() {
+        assertTrue(compensacionSaldos.esCuentaCompensada(10L));
+        assertFalse(compensacionSaldos.esCuentaCompensada(11L));
+        assertFalse(compensacionSaldos.esCuentaCompensada(null));
+    }
+
+    @Test
+    @DisplayName("El saldo leído incluye los deltas pendientes")
+    void leerConSaldoPendiente_ConDeltas_RetornaSaldoVigente() {
+        // Arrange
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(300));
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(-50));
+
+        // Act
+        Optional<Producto> resultado = compensacionSaldos.leerConSaldoPendiente(10L, id -> Optional.of(cuentaTesoreria));
+
+        // Assert
+        assertTrue(resultado.isPresent());
+        assertEquals(0, BigDecimal.valueOf(1250).compareTo(resultado.get().getSaldo()));
+    }
+
+    @Test
+    @DisplayName("La lectura de varias cuentas suma los deltas pendientes solo a las compensadas")
+    void leerTodasConSaldoPendiente_ConDeltas_RetornaSaldosVigentes() {
+        // Arrange
+        Producto cuentaCliente = new Producto(11L, TipoCuenta.CUENTA_AHORROS, "5300000011",
+                EstadoCuenta.ACTIVA, BigDecimal.valueOf(200), false, LocalDateTime.now(), null, 2L);
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(300));
+
+        // Act
+        List<Producto> resultado = compensacionSaldos.leerTodasConSaldoPendiente(List.of(10L, 11L),
+                ids -> List.of(cuentaTesoreria, cuentaCliente));
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(1300).compareTo(resultado.get(0).getSaldo()));
+        assertSame(cuentaCliente, resultado.get(1));
+    }
+
+    @Test
+    @DisplayName("La ventana aplica un único delta neto por cuenta")
+    void aplicarPendientes_VariosMovimientos_AplicaDeltaNeto() {
+        // Arrange
+        when(productoRepository.registrarSaldoPendiente(eq(10L), any())).thenReturn(1L, 2L, 3L);
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(100));
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(-40));
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(15));
+
+        // Act
+        compensacionSaldos.aplicarPendientes();
+
+        // Assert
+        verify(productoRepository, times(1)).aplicarSaldosPendientes(10L, List.of(1L, 2L, 3L));
+        Producto vigente = compensacionSaldos.conSaldoPendiente(cuentaTesoreria);
+        assertSame(cuentaTesoreria, vigente);
+    }
+
+    @Test
+    @DisplayName("Deltas que se anulan no actualizan el saldo pero sí eliminan sus registros")
+    void aplicarPendientes_DeltaNetoCero_NoActualiza() {
+        // Arrange
+        when(productoRepository.registrarSaldoPendiente(eq(10L), any())).thenReturn(1L, 2L);
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(100));
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(-100));
+
+        // Act
+        compensacionSaldos.aplicarPendientes();
+
+        // Assert
+        verify(productoRepository, never()).ajustarSaldo(any(), any());
+        verify(productoRepository).aplicarSaldosPendientes(10L, List.of(1L, 2L));
+        assertEquals(0, BigDecimal.ZERO.compareTo(compensacionSaldos.pendiente(10L)));
+    }
+
+    @Test
+    @DisplayName("Dentro de una transacción el delta se registra de inmediato y se acumula solo tras el commit")
+    void acumular_EnTransaccion_RegistraYAcumulaTrasCommit() {
+        // Arrange
+        when(productoRepository.registrarSaldoPendiente(10L, BigDecimal.valueOf(70))).thenReturn(5L);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            compensacionSaldos.acumular(10L, BigDecimal.valueOf(70));
+
+            // Assert
+            verify(productoRepository).registrarSaldoPendiente(10L, BigDecimal.valueOf(70));
+            assertEquals(0, BigDecimal.ZERO.compareTo(compensacionSaldos.pendiente(10L)));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(0, BigDecimal.valueOf(70).compareTo(compensacionSaldos.pendiente(10L)));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("El último delta pendiente fecha el saldo vigente hasta que la ventana lo aplica")
+    void ultimoPendiente_DeltaAcumulado_HastaAplicar() {
+        // Arrange
+        when(productoRepository.registrarSaldoPendiente(eq(10L), any())).thenReturn(1L);
+        LocalDateTime antes = LocalDateTime.now();
+        assertNull(compensacionSaldos.ultimoPendiente(10L));
+
+        // Act
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(40));
+
+        // Assert
+        LocalDateTime ultimo = compensacionSaldos.ultimoPendiente(10L);
+        assertNotNull(ultimo);
+        assertFalse(ultimo.isBefore(antes));
+        compensacionSaldos.aplicarPendientes();
+        assertNull(compensacionSaldos.ultimoPendiente(10L));
+    }
+
+    @Test
+    @DisplayName("Al arrancar se recuperan los deltas confirmados que no alcanzaron a aplicarse")
+    void recuperarPendientes_RegistrosEnBaseDeDatos_LosVuelveAAcumular() {
+        // Arrange
+        when(productoRepository.findSaldosPendientes()).thenReturn(List.of(
+                new SaldoPendiente(7L, 10L, Money.of(BigDecimal.valueOf(300))),
+                new SaldoPendiente(8L, 10L, Money.of(BigDecimal.valueOf(-50)))));
+
+        // Act
+        compensacionSaldos.recuperarPendientes();
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(1250).compareTo(compensacionSaldos.conSaldoPendiente(cuentaTesoreria).getSaldo()));
+        compensacionSaldos.aplicarPendientes();
+        verify(productoRepository).aplicarSaldosPendientes(10L, List.of(7L, 8L));
+    }
+
+    @Test
+    @DisplayName("Bloquear una cuenta compensada fuera de una transacción falla; las demás cuentas se ignoran")
+    void bloquear_SinTransaccion_LanzaExcepcion() {
+        // Act & Assert
+        assertDoesNotThrow(() -> compensacionSaldos.bloquear(List.of(11L)));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                compensacionSaldos.bloquear(List.of(11L, 10L)));
+        assertEquals("Los movimientos de cuentas compensadas requieren una transacción", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Consolidar aplica el delta y deja la cuenta bloqueada hasta que termina la transacción")
+    void consolidar_EnTransaccion_BloqueaHastaTerminar() throws Exception {
+        // Arrange
+        when(productoRepository.registrarSaldoPendiente(eq(10L), any())).thenReturn(1L);
+        compensacionSaldos.acumular(10L, BigDecimal.valueOf(40));
+        ExecutorService otroHilo = Executors.newSingleThreadExecutor();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            compensacionSaldos.consolidar(10L);
+            Future<?> movimiento = otroHilo.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    compensacionSaldos.bloquear(List.of(10L));
+                    TransactionSynchronizationManager.getSynchronizations()
+                            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+            });
+
+            // Assert: el movimiento espera a que termine la transacción que consolidó
+            verify(productoRepository).aplicarSaldosPendientes(10L, List.of(1L));
+            assertThrows(TimeoutException.class, () -> movimiento.get(200, TimeUnit.MILLISECONDS));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            movimiento.get(5, TimeUnit.SECONDS);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            otroHilo.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Consolidar una cuenta no compensada no hace nada")
+    void consolidar_CuentaNoCompensada_NoActualiza() {
+        // Act
+        compensacionSaldos.consolidar(11L);
+
+        // Assert
+        verifyNoInteractions(productoRepository);
+    }
+}
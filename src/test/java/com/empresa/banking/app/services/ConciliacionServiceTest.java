@@ -0,0 +1,283 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoDiscrepancia;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.MarcaConciliacion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.ConciliacionRepository;
+import com.empresa.banking.domain.repositories.ConciliacionRepository.RangoCuentas;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - ConciliacionService")
+class ConciliacionServiceTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    @Mock
+    private ConciliacionRepository conciliacionRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ConciliacionService conciliacionService;
+
+    @BeforeEach
+    void setUp() {
+        CompensacionSaldosService compensacionSaldos =
+                new CompensacionSaldosService(productoRepository, transactionManager, Set.of());
+        conciliacionService = new ConciliacionService(conciliacionRepository, compensacionSaldos,
+                transactionManager, 1000, 2);
+    }
+
+    private Producto cuenta(Long id, String saldo) {
+        return new Producto(id, TipoCuenta.CUENTA_AHORROS, "53" + String.format("%08d", id),
+                EstadoCuenta.ACTIVA, new BigDecimal(saldo), false, LocalDateTime.now(), null, 1L);
+    }
+
+    private Transaccion movimiento(Long id, TipoTransaccion tipo, String monto, Long cuentaId,
+                                   String saldoAnterior, String saldoActual) {
+        return Transaccion.rehidratar(id, tipo, Money.of(new BigDecimal(monto)), tipo.getDescripcion(),
+                FECHA.plusMinutes(id), cuentaId, null,
+                Money.of(new BigDecimal(saldoAnterior)), Money.of(new BigDecimal(saldoActual)), id);
+    }
+
+    private void conMovimientos(Transaccion... movimientos) {
+        doAnswer(invocacion -> {
+            Consumer<Transaccion> consumidor = invocacion.getArgument(2);
+            for (Transaccion movimiento : movimientos) {
+                consumidor.accept(movimiento);
+            }
+            return null;
+        }).when(conciliacionRepository).recorrerMovimientosPendientes(anyLong(), anyLong(), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MarcaConciliacion> marcasGuardadas() {
+        ArgumentCaptor<Collection<MarcaConciliacion>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(conciliacionRepository).guardarMarcas(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+
+    // ========== TESTS CADENA DE SALDOS ==========
+
+    @Test
+    @DisplayName("Una cadena de saldos continua no reporta discrepancias y avanza la marca al último movimiento")
+    void conciliar_CadenaContinua_AvanzaMarca() {
+        // Arrange
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 1L)));
+        when(conciliacionRepository.marcasEnRango(1L, 1L)).thenReturn(Map.of());
+        when(conciliacionRepository.cuentasEnRango(1L, 1L)).thenReturn(List.of(cuenta(1L, "700")));
+        conMovimientos(
+                movimiento(1L, TipoTransaccion.CONSIGNACION, "1000", 1L, "0", "1000"),
+                movimiento(2L, TipoTransaccion.RETIRO, "300", 1L, "1000", "700"));
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertEquals(1, reporte.getCuentas());
+        assertEquals(2, reporte.getMovimientos());
+        assertEquals(0, reporte.getTotalDiscrepancias());
+        List<MarcaConciliacion> marcas = marcasGuardadas();
+        assertEquals(1, marcas.size());
+        assertEquals(2L, marcas.get(0).getUltimaTransaccionId());
+        assertEquals(Money.of(BigDecimal.valueOf(700)), marcas.get(0).saldo());
+        assertSame(reporte, conciliacionService.obtenerUltimoReporte().orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Un movimiento que no parte del saldo anterior se reporta y la marca de la cuenta no avanza")
+    void conciliar_CadenaRota_ReportaSinAvanzarMarca() {
+        // Arrange
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 1L)));
+        when(conciliacionRepository.marcasEnRango(1L, 1L)).thenReturn(Map.of());
+        when(conciliacionRepository.cuentasEnRango(1L, 1L)).thenReturn(List.of(cuenta(1L, "650")));
+        conMovimientos(
+                movimiento(1L, TipoTransaccion.CONSIGNACION, "1000", 1L, "0", "1000"),
+                movimiento(2L, TipoTransaccion.RETIRO, "300", 1L, "950", "650"));
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertEquals(1, reporte.getTotalDiscrepancias());
+        ConciliacionService.DiscrepanciaDto discrepancia = reporte.getDiscrepancias().get(0);
+        assertEquals(TipoDiscrepancia.CADENA_SALDOS, discrepancia.getTipo());
+        assertEquals(2L, discrepancia.getTransaccionId());
+        assertEquals(0, new BigDecimal("1000").compareTo(discrepancia.getEsperado()));
+        assertEquals(0, new BigDecimal("950").compareTo(discrepancia.getEncontrado()));
+        verify(conciliacionRepository, never()).guardarMarcas(any());
+    }
+
+    @Test
+    @DisplayName("Un saldo posterior que no corresponde al monto del movimiento se reporta")
+    void conciliar_SaldoPosteriorIncorrecto_ReportaMovimiento() {
+        // Arrange
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 1L)));
+        when(conciliacionRepository.marcasEnRango(1L, 1L)).thenReturn(Map.of());
+        when(conciliacionRepository.cuentasEnRango(1L, 1L)).thenReturn(List.of(cuenta(1L, "800")));
+        conMovimientos(movimiento(1L, TipoTransaccion.RETIRO, "300", 1L, "1000", "800"));
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertEquals(1, reporte.getTotalDiscrepancias());
+        assertEquals(TipoDiscrepancia.MOVIMIENTO, reporte.getDiscrepancias().get(0).getTipo());
+    }
+
+    @Test
+    @DisplayName("Un saldo de producto distinto al del último movimiento se reporta")
+    void conciliar_SaldoProductoDistinto_ReportaSaldoProducto() {
+        // Arrange
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 1L)));
+        when(conciliacionRepository.marcasEnRango(1L, 1L)).thenReturn(Map.of());
+        when(conciliacionRepository.cuentasEnRango(1L, 1L)).thenReturn(List.of(cuenta(1L, "1500")));
+        conMovimientos(movimiento(1L, TipoTransaccion.CONSIGNACION, "1000", 1L, "0", "1000"));
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertEquals(1, reporte.getTotalDiscrepancias());
+        ConciliacionService.DiscrepanciaDto discrepancia = reporte.getDiscrepancias().get(0);
+        assertEquals(TipoDiscrepancia.SALDO_PRODUCTO, discrepancia.getTipo());
+        assertNull(discrepancia.getTransaccionId());
+        verify(conciliacionRepository, never()).guardarMarcas(any());
+    }
+
+    // ========== TESTS INCREMENTALES ==========
+
+    @Test
+    @DisplayName("Los movimientos nuevos se verifican a partir del saldo de la marca")
+    void conciliar_ConMarca_ContinuaDesdeSaldoMarcado() {
+        // Arrange
+        MarcaConciliacion marca = new MarcaConciliacion(1L, 2L, FECHA.plusMinutes(2), 2L,
+                Money.of(BigDecimal.valueOf(700)), FECHA);
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 1L)));
+        when(conciliacionRepository.marcasEnRango(1L, 1L)).thenReturn(Map.of(1L, marca));
+        when(conciliacionRepository.cuentasEnRango(1L, 1L)).thenReturn(List.of(cuenta(1L, "600")));
+        conMovimientos(movimiento(3L, TipoTransaccion.RETIRO, "100", 1L, "700", "600"));
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertEquals(0, reporte.getTotalDiscrepancias());
+        assertEquals(3L, marcasGuardadas().get(0).getUltimaTransaccionId());
+    }
+
+    @Test
+    @DisplayName("Un movimiento con fecha anterior a la marca que confirmó tarde se verifica por su secuencia")
+    void conciliar_ConfirmacionTardia_VerificaPorSecuencia() {
+        // Arrange: el movimiento 3 se creó antes que el 2 pero confirmó después y recibió la secuencia 3
+        MarcaConciliacion marca = new MarcaConciliacion(1L, 2L, FECHA.plusMinutes(2), 2L,
+                Money.of(BigDecimal.valueOf(700)), FECHA);
+        Transaccion tardio = Transaccion.rehidratar(3L, TipoTransaccion.RETIRO, Money.of(BigDecimal.valueOf(100)),
+                "Retiro", FECHA.plusMinutes(1), 1L, null,
+                Money.of(BigDecimal.valueOf(700)), Money.of(BigDecimal.valueOf(600)), 3L);
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 1L)));
+        when(conciliacionRepository.marcasEnRango(1L, 1L)).thenReturn(Map.of(1L, marca));
+        when(conciliacionRepository.cuentasEnRango(1L, 1L)).thenReturn(List.of(cuenta(1L, "600")));
+        conMovimientos(tardio);
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertTrue(marca.esPosterior(tardio));
+        assertEquals(0, reporte.getTotalDiscrepancias());
+        MarcaConciliacion nueva = marcasGuardadas().get(0);
+        assertEquals(3L, nueva.getUltimaSecuencia());
+        assertEquals(Money.of(BigDecimal.valueOf(600)), nueva.saldo());
+    }
+
+    @Test
+    @DisplayName("Una cuenta marcada sin movimientos nuevos y con el saldo esperado no reescribe su marca")
+    void conciliar_SinMovimientosNuevos_NoGuardaMarcas() {
+        // Arrange
+        MarcaConciliacion marca = new MarcaConciliacion(1L, 2L, FECHA.plusMinutes(2), 2L,
+                Money.of(BigDecimal.valueOf(700)), FECHA);
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 1L)));
+        when(conciliacionRepository.marcasEnRango(1L, 1L)).thenReturn(Map.of(1L, marca));
+        when(conciliacionRepository.cuentasEnRango(1L, 1L)).thenReturn(List.of(cuenta(1L, "700")));
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertEquals(0, reporte.getMovimientos());
+        assertEquals(0, reporte.getTotalDiscrepancias());
+        verify(conciliacionRepository, never()).guardarMarcas(any());
+    }
+
+    @Test
+    @DisplayName("El rango de cuentas se divide en lotes que cubren todos los IDs")
+    void conciliar_RangoMayorAlLote_DivideEnLotes() {
+        // Arrange
+        conciliacionService = new ConciliacionService(conciliacionRepository,
+                new CompensacionSaldosService(productoRepository, transactionManager, Set.of()),
+                transactionManager, 2, 2);
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.of(new RangoCuentas(1L, 5L)));
+        when(conciliacionRepository.marcasEnRango(anyLong(), anyLong())).thenReturn(Map.of());
+        when(conciliacionRepository.cuentasEnRango(anyLong(), anyLong())).thenReturn(List.of());
+
+        // Act
+        conciliacionService.conciliar();
+
+        // Assert
+        ArgumentCaptor<Long> desde = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Long> hasta = ArgumentCaptor.forClass(Long.class);
+        verify(conciliacionRepository, atLeast(3)).cuentasEnRango(desde.capture(), hasta.capture());
+        long cubiertas = 0;
+        for (int i = 0; i < desde.getAllValues().size(); i++) {
+            assertTrue(hasta.getAllValues().get(i) - desde.getAllValues().get(i) + 1 <= 2);
+            cubiertas += hasta.getAllValues().get(i) - desde.getAllValues().get(i) + 1;
+        }
+        assertEquals(5, cubiertas);
+    }
+
+    @Test
+    @DisplayName("Sin cuentas se genera un reporte vacío")
+    void conciliar_SinCuentas_ReporteVacio() {
+        // Arrange
+        when(conciliacionRepository.rangoIdsCuentas()).thenReturn(Optional.empty());
+
+        // Act
+        ConciliacionService.ReporteConciliacion reporte = conciliacionService.conciliar();
+
+        // Assert
+        assertEquals(0, reporte.getCuentas());
+        verify(conciliacionRepository, never()).cuentasEnRango(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,212 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.EstadoCuentaMensualRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - EstadosCuentaMensualesService")
+class EstadosCuentaMensualesServiceTest {
+
+    private static final YearMonth PERIODO = YearMonth.of(2025, 1);
+    private static final LocalDateTime FECHA = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    @Mock
+    private EstadoCuentaMensualRepository estadoCuentaRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directorio;
+
+    private EstadosCuentaMensualesService estadosCuentaService;
+
+    @BeforeEach
+    void setUp() {
+        estadosCuentaService = new EstadosCuentaMensualesService(estadoCuentaRepository, transactionManager,
+                directorio.toString(), "csv", 2);
+    }
+
+    private Producto cuenta(Long id, String saldo) {
+        return new Producto(id, TipoCuenta.CUENTA_AHORROS, "53000000" + id + "0",
+                EstadoCuenta.ACTIVA, new BigDecimal(saldo), false, LocalDateTime.now(), null, 1L);
+    }
+
+    private Transaccion movimiento(Long id, Long cuentaId, TipoTransaccion tipo, String monto, String saldoAnterior) {
+        Money anterior = saldoAnterior != null ? Money.of(new BigDecimal(saldoAnterior)) : null;
+        return Transaccion.rehidratar(id, tipo, Money.of(new BigDecimal(monto)), "Movimiento " + id,
+                FECHA.plusMinutes(id), cuentaId, null, anterior, null);
+    }
+
+    private void conMovimientos(Transaccion... movimientos) {
+        doAnswer(invocacion -> {
+            long cuentaExclusiva = invocacion.getArgument(2);
+            Consumer<Transaccion> consumidor = invocacion.getArgument(3);
+            for (Transaccion movimiento : movimientos) {
+                if (movimiento.getCuentaOrigenId() > cuentaExclusiva) {
+                    consumidor.accept(movimiento);
+                }
+            }
+            return null;
+        }).when(estadoCuentaRepository).recorrerMovimientosPeriodo(any(), any(), anyLong(), any());
+    }
+
+    private List<String> leer(String archivo) throws Exception {
+        return Files.readAllLines(directorio.resolve(PERIODO.toString()).resolve(archivo), StandardCharsets.UTF_8);
+    }
+
+    // ========== TESTS GENERACIÓN ==========
+
+    @Test
+    @DisplayName("Se genera un archivo por cuenta activa, con o sin movimientos, y una línea de manifiesto por cada uno")
+    void generar_CuentasConYSinMovimientos_GeneraArchivosYManifiesto() throws Exception {
+        // Arrange
+        when(estadoCuentaRepository.cuentasActivasDespuesDe(eq(0L), anyInt()))
+                .thenReturn(List.of(cuenta(1L, "700"), cuenta(2L, "350"), cuenta(3L, "90")));
+        // La cuenta 2 recibió 50 después del periodo; la 4 no está activa
+        when(estadoCuentaRepository.netoPorCuentaDesde(LocalDateTime.of(2025, 2, 1, 0, 0)))
+                .thenReturn(Map.of(2L, Money.of(new BigDecimal("50"))));
+        conMovimientos(
+                movimiento(1L, 1L, TipoTransaccion.CONSIGNACION, "1000", "0"),
+                movimiento(2L, 1L, TipoTransaccion.RETIRO, "300", null),
+                movimiento(3L, 3L, TipoTransaccion.CONSIGNACION, "90", "0"),
+                movimiento(4L, 4L, TipoTransaccion.CONSIGNACION, "10", "0"));
+
+        // Act
+        EstadosCuentaMensualesService.ResultadoGeneracion resultado = estadosCuentaService.generar(PERIODO);
+
+        // Assert
+        assertTrue(resultado.isCompletado());
+        assertEquals(3, resultado.getEstadosGenerados());
+        assertEquals(3, resultado.getMovimientos());
+
+        List<String> cuenta1 = leer("estado-cuenta-5300000010-2025-01.csv");
+        assertEquals(3, cuenta1.size());
+        assertTrue(cuenta1.get(1).endsWith(",,1000.00,1000.00"));
+        assertTrue(cuenta1.get(2).endsWith(",300.00,,700.00"));
+
+        List<String> cuenta2 = leer("estado-cuenta-5300000020-2025-01.csv");
+        assertEquals(1, cuenta2.size());
+        assertFalse(Files.exists(directorio.resolve("2025-01").resolve("estado-cuenta-5300000040-2025-01.csv")));
+
+        List<String> manifiesto = leer(EstadosCuentaMensualesService.ARCHIVO_MANIFIESTO);
+        assertEquals("cuenta_id,numero_cuenta,archivo,movimientos,saldo_final", manifiesto.get(0));
+        assertEquals(4, manifiesto.size());
+        assertTrue(manifiesto.contains("1,5300000010,estado-cuenta-5300000010-2025-01.csv,2,700.00"));
+        assertTrue(manifiesto.contains("2,5300000020,estado-cuenta-5300000020-2025-01.csv,0,300.00"));
+        assertTrue(manifiesto.contains("3,5300000030,estado-cuenta-5300000030-2025-01.csv,1,90.00"));
+
+        assertTrue(leer(EstadosCuentaMensualesService.ARCHIVO_PROGRESO).contains("completado=true"));
+    }
+
+    @Test
+    @DisplayName("Los bloques de una cuenta con muchos movimientos se escriben en orden")
+    void generar_MuchosMovimientos_ConservaOrden() throws Exception {
+        // Arrange
+        int cantidad = 2500;
+        when(estadoCuentaRepository.cuentasActivasDespuesDe(eq(0L), anyInt())).thenReturn(List.of(cuenta(1L, "2500")));
+        Transaccion[] movimientos = new Transaccion[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            movimientos[i] = movimiento((long) i + 1, 1L, TipoTransaccion.CONSIGNACION, "1", i == 0 ? "0" : null);
+        }
+        conMovimientos(movimientos);
+
+        // Act
+        estadosCuentaService.generar(PERIODO);
+
+        // Assert
+        List<String> lineas = leer("estado-cuenta-5300000010-2025-01.csv");
+        assertEquals(cantidad + 1, lineas.size());
+        for (int i = 1; i <= cantidad; i++) {
+            assertTrue(lineas.get(i).endsWith("," + i + ".00"), "Fila " + i);
+        }
+    }
+
+    // ========== TESTS REANUDACIÓN ==========
+
+    @Test
+    @DisplayName("Una ejecución interrumpida se reanuda desde la marca y omite las cuentas ya en el manifiesto")
+    void generar_ProgresoPrevio_ReanudaDesdeMarca() throws Exception {
+        // Arrange
+        Path carpeta = Files.createDirectories(directorio.resolve("2025-01"));
+        Files.writeString(carpeta.resolve(EstadosCuentaMensualesService.ARCHIVO_PROGRESO),
+                "cuenta-hasta=1\ncompletado=false\nestados=2\nmovimientos=5\n");
+        Files.writeString(carpeta.resolve(EstadosCuentaMensualesService.ARCHIVO_MANIFIESTO),
+                "cuenta_id,numero_cuenta,archivo,movimientos,saldo_final\n"
+                        + "1,5300000010,estado-cuenta-5300000010-2025-01.csv,4,10.00\n"
+                        + "3,5300000030,estado-cuenta-5300000030-2025-01.csv,1,90.00\n");
+        when(estadoCuentaRepository.cuentasActivasDespuesDe(eq(1L), anyInt()))
+                .thenReturn(List.of(cuenta(2L, "20"), cuenta(3L, "90")));
+        conMovimientos(
+                movimiento(1L, 1L, TipoTransaccion.CONSIGNACION, "10", "0"),
+                movimiento(2L, 2L, TipoTransaccion.CONSIGNACION, "20", "0"),
+                movimiento(3L, 3L, TipoTransaccion.CONSIGNACION, "90", "0"));
+
+        // Act
+        EstadosCuentaMensualesService.ResultadoGeneracion resultado = estadosCuentaService.generar(PERIODO);
+
+        // Assert
+        verify(estadoCuentaRepository).recorrerMovimientosPeriodo(any(), any(), eq(1L), any());
+        assertEquals(1, resultado.getEstadosGenerados());
+        assertEquals(3, resultado.getEstadosTotales());
+        assertFalse(Files.exists(carpeta.resolve("estado-cuenta-5300000030-2025-01.csv")));
+        List<String> manifiesto = leer(EstadosCuentaMensualesService.ARCHIVO_MANIFIESTO);
+        assertEquals(4, manifiesto.size());
+        assertEquals("2,5300000020,estado-cuenta-5300000020-2025-01.csv,1,20.00", manifiesto.get(3));
+    }
+
+    @Test
+    @DisplayName("Un periodo ya completado no se vuelve a generar")
+    void generar_PeriodoCompletado_NoRecorreMovimientos() throws Exception {
+        // Arrange
+        Path carpeta = Files.createDirectories(directorio.resolve("2025-01"));
+        Files.writeString(carpeta.resolve(EstadosCuentaMensualesService.ARCHIVO_PROGRESO),
+                "cuenta-hasta=3\ncompletado=true\nestados=3\nmovimientos=7\n");
+
+        // Act
+        EstadosCuentaMensualesService.ResultadoGeneracion resultado = estadosCuentaService.generar(PERIODO);
+
+        // Assert
+        assertTrue(resultado.isCompletado());
+        assertEquals(3, resultado.getEstadosTotales());
+        assertEquals(0, resultado.getEstadosGenerados());
+        verifyNoInteractions(estadoCuentaRepository);
+    }
+
+    // ========== TESTS VALIDACIÓN ==========
+
+    @Test
+    @DisplayName("El mes en curso no se puede generar")
+    void generar_MesEnCurso_LanzaExcepcion() {
+        assertThrows(SolicitudInvalidaException.class, () -> estadosCuentaService.generar(YearMonth.now()));
+        verifyNoInteractions(estadoCuentaRepository);
+    }
+}
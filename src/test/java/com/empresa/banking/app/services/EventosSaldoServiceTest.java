@@ -0,0 +1,284 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.app.services.EventosSaldoService.EventoSaldo;
+import com.empresa.banking.app.services.EventosSaldoService.PoliticaDesborde;
+import com.empresa.banking.app.services.EventosSaldoService.Receptor;
+import com.empresa.banking.app.services.EventosSaldoService.Suscripcion;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Transaccion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - EventosSaldoService")
+class EventosSaldoServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosSaldoServiceTest.class);
+
+    private EventosSaldoService eventosSaldo;
+
+    @AfterEach
+    void tearDown() {
+        if (eventosSaldo != null) {
+            eventosSaldo.cerrar();
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Transaccion movimiento(Long cuentaId, long secuencia) {
+        return Transaccion.rehidratar(100 + secuencia, TipoTransaccion.CONSIGNACION, Money.of(BigDecimal.TEN),
+                "Consignación", LocalDateTime.now(), cuentaId, null,
+                Money.of(BigDecimal.valueOf(secuencia * 10 - 10)), Money.of(BigDecimal.valueOf(secuencia * 10)),
+                secuencia);
+    }
+
+    /**
+     * Receptor que guarda los eventos y, si se le pide, se bloquea en el primero hasta que se libere
+     */
+    private static class ReceptorPrueba implements Receptor {
+        private final List<EventoSaldo> recibidos = new CopyOnWriteArrayList<>();
+        private final CountDownLatch esperados;
+        private final CountDownLatch primeroRecibido = new CountDownLatch(1);
+        private final CountDownLatch liberar;
+
+        ReceptorPrueba(int esperados, boolean bloquearPrimero) {
+            this.esperados = new CountDownLatch(esperados);
+            this.liberar = new CountDownLatch(bloquearPrimero ? 1 : 0);
+        }
+
+        @Override
+        public void recibir(EventoSaldo evento) throws InterruptedException {
+            recibidos.add(evento);
+            primeroRecibido.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            esperados.countDown();
+        }
+
+        @Override
+        public void latido() {
+        }
+
+        List<Long> secuencias() {
+            return recibidos.stream().map(EventoSaldo::getSecuencia).toList();
+        }
+
+        void esperar() throws InterruptedException {
+            assertTrue(esperados.await(5, TimeUnit.SECONDS), "No llegaron todos los eventos: " + secuencias());
+        }
+    }
+
+    private ReceptorPrueba bloqueadoConDesborde(PoliticaDesborde politica) throws InterruptedException {
+        ReceptorPrueba receptor = new ReceptorPrueba(3, true);
+        eventosSaldo.suscribir(1L, politica, receptor);
+
+        eventosSaldo.publicar(movimiento(1L, 1));
+        assertTrue(receptor.primeroRecibido.await(5, TimeUnit.SECONDS));
+        // Con el receptor bloqueado en el 1, cuatro eventos para un buffer de dos
+        for (long secuencia = 2; secuencia <= 5; secuencia++) {
+            eventosSaldo.publicar(movimiento(1L, secuencia));
+        }
+        receptor.liberar.countDown();
+        receptor.esperar();
+        return receptor;
+    }
+
+    // ========== TESTS DESBORDE ==========
+
+    @Test
+    @DisplayName("Con el buffer lleno COALESCER reemplaza el último pendiente y el saldo final siempre llega")
+    void publicar_ReceptorLento_Coalescer() throws InterruptedException {
+        eventosSaldo = new EventosSaldoService(1, 2);
+
+        ReceptorPrueba receptor = bloqueadoConDesborde(PoliticaDesborde.COALESCER);
+
+        assertEquals(List.of(1L, 2L, 5L), receptor.secuencias());
+        assertEquals(2, receptor.recibidos.get(1).getOmitidos());
+        assertEquals(0, receptor.recibidos.get(2).getOmitidos());
+        assertEquals(0, new BigDecimal("50").compareTo(receptor.recibidos.get(2).getSaldo()));
+    }
+
+    @Test
+    @DisplayName("Con el buffer lleno DESCARTAR_ANTIGUOS conserva los eventos más recientes")
+    void publicar_ReceptorLento_DescartarAntiguos() throws InterruptedException {
+        eventosSaldo = new EventosSaldoService(1, 2);
+
+        ReceptorPrueba receptor = bloqueadoConDesborde(PoliticaDesborde.DESCARTAR_ANTIGUOS);
+
+        assertEquals(List.of(1L, 4L, 5L), receptor.secuencias());
+        assertEquals(2, receptor.recibidos.get(1).getOmitidos());
+    }
+
+    @Test
+    @DisplayName("Un evento con secuencia anterior a la última entregada se descarta")
+    void publicar_FueraDeOrden_NoRetrocedeSaldo() throws InterruptedException {
+        eventosSaldo = new EventosSaldoService(1, 4);
+        ReceptorPrueba receptor = new ReceptorPrueba(2, false);
+        eventosSaldo.suscribir(1L, PoliticaDesborde.COALESCER, receptor);
+
+        eventosSaldo.publicar(movimiento(1L, 5));
+        eventosSaldo.publicar(movimiento(1L, 3));
+        eventosSaldo.publicar(movimiento(1L, 6));
+
+        receptor.esperar();
+        assertEquals(List.of(5L, 6L), receptor.secuencias());
+    }
+
+    @Test
+    @DisplayName("El estado inicial se entrega antes que los eventos ya encolados")
+    void iniciar_ConEventosPendientes_SeEntregaPrimero() throws InterruptedException {
+        eventosSaldo = new EventosSaldoService(1, 4);
+        ReceptorPrueba receptor = new ReceptorPrueba(1, true);
+        // Ocupa el único hilo de entrega para que el evento de la cuenta 2 quede encolado
+        eventosSaldo.suscribir(1L, PoliticaDesborde.COALESCER, receptor);
+        eventosSaldo.publicar(movimiento(1L, 1));
+        assertTrue(receptor.primeroRecibido.await(5, TimeUnit.SECONDS));
+
+        ReceptorPrueba cuenta2 = new ReceptorPrueba(2, false);
+        Suscripcion suscripcion = eventosSaldo.suscribir(2L, PoliticaDesborde.COALESCER, cuenta2);
+        eventosSaldo.publicar(movimiento(2L, 7));
+        suscripcion.iniciar(new EventoSaldo(2L, new BigDecimal("60"), null, null, null, null, LocalDateTime.now(), 0));
+        receptor.liberar.countDown();
+
+        cuenta2.esperar();
+        assertNull(cuenta2.recibidos.get(0).getSecuencia());
+        assertEquals(7L, cuenta2.recibidos.get(1).getSecuencia());
+    }
+
+    // ========== TESTS PUBLICACIÓN ==========
+
+    @Test
+    @DisplayName("Dentro de una transacción los eventos se difunden solo después del commit")
+    void publicar_EnTransaccion_EsperaCommit() throws InterruptedException {
+        eventosSaldo = new EventosSaldoService(1, 4);
+        ReceptorPrueba receptor = new ReceptorPrueba(2, false);
+        eventosSaldo.suscribir(1L, PoliticaDesborde.COALESCER, receptor);
+        TransactionSynchronizationManager.initSynchronization();
+
+        eventosSaldo.publicar(List.of(movimiento(1L, 1), movimiento(1L, 2)));
+
+        assertTrue(receptor.recibidos.isEmpty());
+        List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, sincronizaciones.size());
+        sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+        receptor.esperar();
+        assertEquals(List.of(1L, 2L), receptor.secuencias());
+    }
+
+    @Test
+    @DisplayName("Los movimientos de cuentas sin suscriptores no registran nada en la transacción")
+    void publicar_SinSuscriptores_NoRegistraSincronizacion() {
+        eventosSaldo = new EventosSaldoService(1, 4);
+        TransactionSynchronizationManager.initSynchronization();
+
+        eventosSaldo.publicar(movimiento(1L, 1));
+
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Si el receptor falla (conexión cerrada) la suscripción se cancela")
+    void publicar_ReceptorFalla_CancelaSuscripcion() throws InterruptedException {
+        eventosSaldo = new EventosSaldoService(1, 4);
+        Suscripcion suscripcion = eventosSaldo.suscribir(1L, PoliticaDesborde.COALESCER, new Receptor() {
+            @Override
+            public void recibir(EventoSaldo evento) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void latido() {
+            }
+        });
+
+        eventosSaldo.publicar(movimiento(1L, 1));
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (suscripcion.isActiva() && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertFalse(suscripcion.isActiva());
+        assertEquals(0, eventosSaldo.suscriptores());
+    }
+
+    @Test
+    @DisplayName("Configuración sin hilos o sin buffer lanza excepción")
+    void constructor_ConfiguracionInvalida_LanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> new EventosSaldoService(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new EventosSaldoService(4, 0));
+    }
+
+    // ========== TESTS CARGA ==========
+
+    @Test
+    @DisplayName("Los suscriptores inactivos solo ocupan su registro y comparten los hilos de entrega")
+    void suscribir_MilesDeSuscriptores_MemoriaEHilosAcotados() throws InterruptedException {
+        int hilosAntes = Thread.activeCount();
+        eventosSaldo = new EventosSaldoService(4, 16);
+        List<Suscripcion> suscripciones = new ArrayList<>();
+        long memoriaBase = memoriaUsada();
+        long bytesPorSuscriptor = 0;
+
+        for (int total : new int[] {1_000, 10_000, 50_000}) {
+            // Diez suscriptores por cuenta; cada uno recibe un evento y vuelve a quedar inactivo
+            CountDownLatch entregados = new CountDownLatch(total - suscripciones.size());
+            Receptor receptor = new Receptor() {
+                @Override
+                public void recibir(EventoSaldo evento) {
+                    entregados.countDown();
+                }
+
+                @Override
+                public void latido() {
+                }
+            };
+            int desde = suscripciones.size();
+            for (int i = desde; i < total; i++) {
+                suscripciones.add(eventosSaldo.suscribir((long) (i / 10), PoliticaDesborde.COALESCER, receptor));
+            }
+            for (long cuentaId = desde / 10; cuentaId < total / 10; cuentaId++) {
+                eventosSaldo.publicar(movimiento(cuentaId, 1));
+            }
+            assertTrue(entregados.await(30, TimeUnit.SECONDS));
+
+            bytesPorSuscriptor = (memoriaUsada() - memoriaBase) / total;
+            log.info("{} suscriptores: {} bytes por suscriptor, {} hilos activos", total, bytesPorSuscriptor,
+                    Thread.activeCount());
+            assertTrue(Thread.activeCount() <= hilosAntes + 4, "Los hilos crecen con los suscriptores");
+        }
+
+        assertEquals(50_000, eventosSaldo.suscriptores());
+        // Margen amplio sobre el registro (suscripción + entrada del conjunto) frente al ruido del GC
+        assertTrue(bytesPorSuscriptor < 2_048, "Memoria por suscriptor inactivo: " + bytesPorSuscriptor + " bytes");
+        suscripciones.forEach(Suscripcion::cancelar);
+        assertEquals(0, eventosSaldo.suscriptores());
+    }
+
+    private static long memoriaUsada() throws InterruptedException {
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memoria.getHeapMemoryUsage().getUsed();
+    }
+}
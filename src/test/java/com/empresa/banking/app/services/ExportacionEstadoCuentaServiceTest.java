@@ -0,0 +1,201 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.exceptions.RecursoNoEncontradoException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - ExportacionEstadoCuentaService")
+class ExportacionEstadoCuentaServiceTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    @Mock
+    private TransaccionRepository transaccionRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExportacionEstadoCuentaService exportacionService;
+
+    private Producto cuenta;
+
+    @BeforeEach
+    void setUp() {
+        CompensacionSaldosService compensacionSaldos =
+                new CompensacionSaldosService(productoRepository, transactionManager, Set.of());
+        exportacionService = new ExportacionEstadoCuentaService(transaccionRepository, productoRepository,
+                compensacionSaldos, transactionManager);
+        cuenta = new Producto(1L, TipoCuenta.CUENTA_AHORROS, "5312345678",
+                EstadoCuenta.ACTIVA, BigDecimal.valueOf(1200), false, LocalDateTime.now(), null, 1L);
+    }
+
+    private Transaccion movimiento(Long id, TipoTransaccion tipo, String monto, String descripcion,
+                                   String saldoAnterior) {
+        Money anterior = saldoAnterior != null ? Money.of(new BigDecimal(saldoAnterior)) : null;
+        return Transaccion.rehidratar(id, tipo, Money.of(new BigDecimal(monto)), descripcion,
+                FECHA.plusMinutes(id), 1L, null, anterior, null);
+    }
+
+    private void conMovimientos(Transaccion... movimientos) {
+        doAnswer(invocacion -> {
+            Consumer<Transaccion> consumidor = invocacion.getArgument(3);
+            for (Transaccion movimiento : movimientos) {
+                consumidor.accept(movimiento);
+            }
+            return null;
+        }).when(transaccionRepository).recorrerPorCuenta(eq(1L), any(), any(), any());
+    }
+
+    private String exportar(String formato) throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        exportacionService.prepararExportacion(1L, formato, null, null).escribir(salida);
+        return salida.toString(StandardCharsets.ISO_8859_1);
+    }
+
+    // ========== TESTS CSV ==========
+
+    @Test
+    @DisplayName("El CSV trae una fila por movimiento con débito, crédito y saldo corrido")
+    void exportar_Csv_CalculaSaldoCorrido() throws Exception {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuenta));
+        conMovimientos(
+                movimiento(1L, TipoTransaccion.CONSIGNACION, "1000", "Nómina", "500"),
+                movimiento(2L, TipoTransaccion.RETIRO, "300.5", "Cajero, centro", null));
+
+        // Act
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        exportacionService.prepararExportacion(1L, "csv", null, null).escribir(salida);
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\r\n");
+
+        // Assert
+        assertEquals(3, lineas.length);
+        assertEquals("fecha,transaccion_id,tipo,descripcion,debito,credito,saldo", lineas[0]);
+        assertEquals("2025-01-15 10:01:00,1,CONSIGNACION,Nómina,,1000.00,1500.00", lineas[1]);
+        assertEquals("2025-01-15 10:02:00,2,RETIRO,\"Cajero, centro\",300.50,,1199.50", lineas[2]);
+    }
+
+    @Test
+    @DisplayName("El rango de fechas es inclusivo y se consulta como intervalo semiabierto")
+    void exportar_ConPeriodo_ConsultaIntervalo() throws Exception {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuenta));
+
+        // Act
+        exportacionService.prepararExportacion(1L, "csv", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31))
+                .escribir(new ByteArrayOutputStream());
+
+        // Assert
+        verify(transaccionRepository).recorrerPorCuenta(eq(1L), eq(LocalDateTime.of(2025, 1, 1, 0, 0)),
+                eq(LocalDateTime.of(2025, 2, 1, 0, 0)), any());
+    }
+
+    @Test
+    @DisplayName("Los campos con comillas se escapan duplicándolas")
+    void campo_ConComillas_Escapa() {
+        assertEquals("\"Pago \"\"urgente\"\"\"", EscritorCsvEstadoCuenta.campo("Pago \"urgente\""));
+        assertEquals("Pago", EscritorCsvEstadoCuenta.campo("Pago"));
+        assertEquals("", EscritorCsvEstadoCuenta.campo(null));
+    }
+
+    // ========== TESTS PDF ==========
+
+    @Test
+    @DisplayName("El PDF tiene una página por bloque de filas y la tabla xref apunta a cada objeto")
+    void exportar_Pdf_EstructuraValida() throws Exception {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuenta));
+        int cantidad = EscritorPdfEstadoCuenta.FILAS_POR_PAGINA + 5;
+        Transaccion[] movimientos = new Transaccion[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            movimientos[i] = movimiento((long) i + 1, TipoTransaccion.CONSIGNACION, "10", "Abono (prueba)",
+                    i == 0 ? "0" : null);
+        }
+        conMovimientos(movimientos);
+
+        // Act
+        String pdf = exportar("pdf");
+
+        // Assert
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(pdf.endsWith("%%EOF\n"));
+        assertTrue(pdf.contains("/Count 2 "));
+        assertTrue(pdf.contains("Abono \\(prueba\\)"));
+
+        Matcher inicio = Pattern.compile("startxref\n(\\d+)\n").matcher(pdf);
+        assertTrue(inicio.find());
+        int posicionXref = Integer.parseInt(inicio.group(1));
+        assertTrue(pdf.startsWith("xref\n", posicionXref));
+        Matcher entradas = Pattern.compile("(\\d{10}) 00000 n \n").matcher(pdf.substring(posicionXref));
+        int numero = 1;
+        while (entradas.find()) {
+            int desplazamiento = Integer.parseInt(entradas.group(1));
+            assertTrue(pdf.startsWith(numero + " 0 obj\n", desplazamiento), "Objeto " + numero);
+            numero++;
+        }
+        assertEquals(4 + 2 * 2 + 1, numero);
+    }
+
+    // ========== TESTS VALIDACIÓN ==========
+
+    @Test
+    @DisplayName("Un formato no soportado se rechaza antes de consultar la cuenta")
+    void prepararExportacion_FormatoInvalido_LanzaExcepcion() {
+        // Act & Assert
+        SolicitudInvalidaException exception = assertThrows(SolicitudInvalidaException.class, () ->
+                exportacionService.prepararExportacion(1L, "xlsx", null, null));
+        assertEquals("Formato de exportación no soportado: xlsx (use csv o pdf)", exception.getMessage());
+        verifyNoInteractions(productoRepository);
+    }
+
+    @Test
+    @DisplayName("Un periodo con fecha inicial posterior a la final se rechaza")
+    void prepararExportacion_PeriodoInvertido_LanzaExcepcion() {
+        assertThrows(SolicitudInvalidaException.class, () ->
+                exportacionService.prepararExportacion(1L, "pdf", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    @DisplayName("Una cuenta inexistente se rechaza")
+    void prepararExportacion_CuentaInexistente_LanzaExcepcion() {
+        // Arrange
+        when(productoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(RecursoNoEncontradoException.class, () ->
+                exportacionService.prepararExportacion(99L, "csv", null, null));
+    }
+}
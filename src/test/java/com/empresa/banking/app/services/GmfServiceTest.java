@@ -0,0 +1,204 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.repositories.AcumuladoGmfRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - GmfService")
+class GmfServiceTest {
+
+    private static final BigDecimal TOPE = new BigDecimal("17429650");
+
+    @Mock
+    private AcumuladoGmfRepository acumuladoGmfRepository;
+
+    private GmfService gmfService;
+
+    private Producto cuentaGravada;
+    private Producto cuentaExenta;
+
+    @BeforeEach
+    void setUp() {
+        gmfService = new GmfService(acumuladoGmfRepository, 4, TOPE);
+
+        cuentaGravada = new Producto(1L, TipoCuenta.CUENTA_CORRIENTE, "3312345678",
+                EstadoCuenta.ACTIVA, BigDecimal.valueOf(1000000), false, LocalDateTime.now(), null, 10L);
+        cuentaExenta = new Producto(2L, TipoCuenta.CUENTA_AHORROS, "5312345678",
+                EstadoCuenta.ACTIVA, BigDecimal.valueOf(1000000), true, LocalDateTime.now(), null, 10L);
+    }
+
+    // ========== TESTS LIQUIDACIÓN ==========
+
+    @Test
+    @DisplayName("Cuenta no exenta paga 4x1000 sobre todo el monto sin consultar el acumulado")
+    void liquidarRetiro_CuentaGravada_CobraSobreTodoElMonto() {
+        // Act
+        GmfService.LiquidacionGmf liquidacion = gmfService.liquidarRetiro(cuentaGravada, Money.of(BigDecimal.valueOf(100000)));
+
+        // Assert
+        assertEquals(Money.CERO, liquidacion.exento());
+        assertEquals(Money.of(BigDecimal.valueOf(100000)), liquidacion.gravable());
+        assertEquals(Money.of(BigDecimal.valueOf(400)), liquidacion.impuesto());
+        verify(acumuladoGmfRepository, never()).obtenerParaActualizar(any(), any());
+    }
+
+    @Test
+    @DisplayName("Cuenta exenta dentro del tope mensual no paga GMF")
+    void liquidarRetiro_CuentaExentaDentroDelTope_SinImpuesto() {
+        // Arrange
+        when(acumuladoGmfRepository.obtenerParaActualizar(eq(10L), any()))
+                .thenAnswer(invocation -> AcumuladoGmf.vacio(10L, invocation.getArgument(1)));
+
+        // Act
+        GmfService.LiquidacionGmf liquidacion = gmfService.liquidarRetiro(cuentaExenta, Money.of(BigDecimal.valueOf(100000)));
+
+        // Assert
+        assertEquals(Money.of(BigDecimal.valueOf(100000)), liquidacion.exento());
+        assertEquals(Money.CERO, liquidacion.gravable());
+        assertFalse(liquidacion.tieneImpuesto());
+    }
+
+    @Test
+    @DisplayName("Cuenta exenta que supera el tope paga GMF solo sobre el excedente")
+    void liquidarRetiro_CuentaExentaSuperaTope_CobraSobreExcedente() {
+        // Arrange
+        Money utilizado = Money.of(TOPE.subtract(BigDecimal.valueOf(50000)));
+        when(acumuladoGmfRepository.obtenerParaActualizar(eq(10L), any()))
+                .thenAnswer(invocation -> new AcumuladoGmf(10L, invocation.getArgument(1), utilizado,
+                        Money.CERO, Money.CERO, 3, LocalDateTime.now()));
+
+        // Act
+        GmfService.LiquidacionGmf liquidacion = gmfService.liquidarRetiro(cuentaExenta, Money.of(BigDecimal.valueOf(100000)));
+
+        // Assert
+        assertEquals(Money.of(BigDecimal.valueOf(50000)), liquidacion.exento());
+        assertEquals(Money.of(BigDecimal.valueOf(50000)), liquidacion.gravable());
+        assertEquals(Money.of(BigDecimal.valueOf(200)), liquidacion.impuesto());
+    }
+
+    @Test
+    @DisplayName("El impuesto se redondea HALF_UP al centavo")
+    void liquidarRetiro_MontoConFraccion_RedondeaAlCentavo() {
+        // Act
+        GmfService.LiquidacionGmf mitad = gmfService.liquidarRetiro(cuentaGravada, Money.of(new BigDecimal("1.25")));
+        GmfService.LiquidacionGmf menor = gmfService.liquidarRetiro(cuentaGravada, Money.of(new BigDecimal("1.24")));
+
+        // Assert
+        assertEquals(Money.deCentavos(1), mitad.impuesto());
+        assertEquals(Money.CERO, menor.impuesto());
+    }
+
+    @Test
+    @DisplayName("Varios débitos consumen el tope en orden y redondean el impuesto de cada uno")
+    void liquidarDebitos_CuentaExentaCruzaTope_LiquidaCadaDebito() {
+        // Arrange
+        Money utilizado = Money.of(TOPE.subtract(BigDecimal.valueOf(50000)));
+        when(acumuladoGmfRepository.obtenerParaActualizar(eq(10L), any()))
+                .thenAnswer(invocation -> new AcumuladoGmf(10L, invocation.getArgument(1), utilizado,
+                        Money.CERO, Money.CERO, 3, LocalDateTime.now()));
+
+        // Act
+        GmfService.LiquidacionGmf liquidacion = gmfService.liquidarDebitos(cuentaExenta, List.of(
+                Money.of(BigDecimal.valueOf(40000)),
+                Money.of(new BigDecimal("10001.25")),
+                Money.of(new BigDecimal("1.25"))));
+
+        // Assert
+        assertEquals(Money.of(BigDecimal.valueOf(50000)), liquidacion.exento());
+        assertEquals(Money.of(new BigDecimal("2.50")), liquidacion.gravable());
+        assertEquals(Money.deCentavos(2), liquidacion.impuesto());
+        verify(acumuladoGmfRepository, times(1)).obtenerParaActualizar(eq(10L), any());
+    }
+
+    @Test
+    @DisplayName("Transferencia entre cuentas del mismo cliente no está gravada")
+    void liquidarTransferencia_MismoCliente_SinCargo() {
+        // Act
+        GmfService.LiquidacionGmf liquidacion = gmfService.liquidarTransferencia(
+                cuentaGravada, cuentaExenta, Money.of(BigDecimal.valueOf(100000)));
+
+        // Assert
+        assertFalse(liquidacion.tieneImpuesto());
+        gmfService.registrar(liquidacion);
+        verifyNoInteractions(acumuladoGmfRepository);
+    }
+
+    // ========== TESTS REGISTRO ==========
+
+    @Test
+    @DisplayName("Registrar suma la liquidación al acumulado del cliente")
+    void registrar_LiquidacionGravada_ActualizaAcumulado() {
+        // Arrange
+        GmfService.LiquidacionGmf liquidacion = gmfService.liquidarRetiro(cuentaGravada, Money.of(BigDecimal.valueOf(100000)));
+
+        // Act
+        gmfService.registrar(liquidacion);
+
+        // Assert
+        verify(acumuladoGmfRepository).acumular(10L, liquidacion.getPeriodo(), Money.CERO,
+                Money.of(BigDecimal.valueOf(100000)), Money.of(BigDecimal.valueOf(400)));
+    }
+
+    @Test
+    @DisplayName("El asiento del impuesto parte del saldo que dejó el movimiento")
+    void crearAsiento_LiquidacionGravada_RetornaRetiroConSaldos() {
+        // Arrange
+        GmfService.LiquidacionGmf liquidacion = gmfService.liquidarRetiro(cuentaGravada, Money.of(BigDecimal.valueOf(100000)));
+
+        // Act
+        Transaccion asiento = gmfService.crearAsiento(liquidacion, 1L, Money.of(BigDecimal.valueOf(900000)));
+
+        // Assert
+        assertEquals(TipoTransaccion.RETIRO, asiento.getTipoTransaccion());
+        assertEquals(GmfService.DESCRIPCION_ASIENTO, asiento.getDescripcion());
+        assertEquals(new BigDecimal("400.00"), asiento.getMonto());
+        assertEquals(new BigDecimal("900000.00"), asiento.getSaldoAnterior());
+        assertEquals(new BigDecimal("899600.00"), asiento.getSaldoActual());
+    }
+
+    // ========== TESTS REPORTE ==========
+
+    @Test
+    @DisplayName("El reporte mensual suma los acumulados por cliente")
+    void generarReporte_ConAcumulados_RetornaTotales() {
+        // Arrange
+        YearMonth periodo = YearMonth.of(2025, 1);
+        when(acumuladoGmfRepository.findByPeriodo(periodo)).thenReturn(List.of(
+                new AcumuladoGmf(10L, periodo, Money.of(BigDecimal.valueOf(500000)), Money.CERO, Money.CERO, 2, null),
+                new AcumuladoGmf(11L, periodo, Money.CERO, Money.of(BigDecimal.valueOf(250000)),
+                        Money.of(BigDecimal.valueOf(1000)), 5, null)
+        ));
+
+        // Act
+        GmfService.ReporteGmfDto reporte = gmfService.generarReporte(periodo);
+
+        // Assert
+        assertEquals(periodo, reporte.getPeriodo());
+        assertEquals(new BigDecimal("500000.00"), reporte.getTotalExento());
+        assertEquals(new BigDecimal("250000.00"), reporte.getTotalBaseGravable());
+        assertEquals(new BigDecimal("1000.00"), reporte.getTotalGmfCobrado());
+        assertEquals(7, reporte.getMovimientos());
+        assertEquals(2, reporte.getClientes().size());
+    }
+}
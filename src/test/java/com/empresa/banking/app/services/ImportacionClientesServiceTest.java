@@ -0,0 +1,341 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ImportacionClientesRepository;
+import com.empresa.banking.infrastructure.controllers.ClienteController;
+import com.empresa.banking.infrastructure.repositories.Memoria.AlmacenMemoria;
+import com.empresa.banking.infrastructure.repositories.Memoria.ClienteRepositoryMemoria;
+import com.empresa.banking.infrastructure.repositories.Memoria.DiarioTransacciones;
+import com.empresa.banking.infrastructure.repositories.Memoria.ImportacionClientesRepositoryMemoria;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - ImportacionClientesService")
+class ImportacionClientesServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionClientesServiceTest.class);
+
+    private static final String ENCABEZADO =
+            "tipo_identificacion,numero_identificacion,nombres,apellido,correo_electronico,fecha_nacimiento\n";
+
+    @Mock
+    private ImportacionClientesRepository importacionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ImportacionClientesService importacionService;
+
+    @BeforeEach
+    void setUp() {
+        importacionService = new ImportacionClientesService(importacionRepository, transactionManager, new ObjectMapper());
+    }
+
+    private ImportacionClientesService.ResultadoImportacion importar(String contenido, String formato) throws IOException {
+        return importacionService.importar(
+                new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8)), formato);
+    }
+
+    private void insertaTodos() {
+        when(importacionRepository.insertarLote(anyList())).thenAnswer(invocacion -> {
+            List<Cliente> clientes = invocacion.getArgument(0);
+            boolean[] insertados = new boolean[clientes.size()];
+            Arrays.fill(insertados, true);
+            return insertados;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Cliente> insertados() {
+        ArgumentCaptor<List<Cliente>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importacionRepository, atLeastOnce()).insertarLote(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    // ========== TESTS CSV ==========
+
+    @Test
+    @DisplayName("Las filas válidas se insertan y las inválidas se reportan con su línea")
+    void importar_Csv_ReportaErroresPorFila() throws Exception {
+        // Arrange
+        insertaTodos();
+        String csv = ENCABEZADO
+                + "CC,1001,Ana María,Gómez,ana@email.com,1990-05-15\n"
+                + "CEDULA_CIUDADANIA,1002,\"Luis, Jr\",Pérez,LUIS@email.com,1985-01-20\n"
+                + "CC,1003,Eva,Ruiz,correo-invalido,1990-01-01\n"
+                + "\n"
+                + "XX,1004,Eva,Ruiz,eva@email.com,1990-01-01\n"
+                + "CC,1005,Eva,Ruiz,eva@email.com,15/01/1990\n";
+
+        // Act
+        ImportacionClientesService.ResultadoImportacion resultado = importar(csv, "csv");
+
+        // Assert
+        assertEquals(5, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(3, resultado.getInvalidos());
+        assertEquals(4, resultado.getErrores().get(0).getLinea());
+        assertEquals("El formato del correo electrónico no es válido", resultado.getErrores().get(0).getMensaje());
+        assertEquals(6, resultado.getErrores().get(1).getLinea());
+        assertEquals("Tipo de identificación no válido: XX", resultado.getErrores().get(1).getMensaje());
+        assertTrue(resultado.getErrores().get(2).getMensaje().startsWith("Fecha de nacimiento no válida"));
+
+        List<Cliente> clientes = insertados();
+        assertEquals("Luis, Jr", clientes.get(1).getNombres());
+        assertEquals("luis@email.com", clientes.get(1).getCorreoElectronico());
+        assertEquals(TipoIdentificacion.CEDULA_CIUDADANIA, clientes.get(0).getTipoIdentificacion());
+    }
+
+    @Test
+    @DisplayName("Un encabezado sin las columnas obligatorias se rechaza")
+    void importar_EncabezadoIncompleto_LanzaExcepcion() {
+        SolicitudInvalidaException exception = assertThrows(SolicitudInvalidaException.class, () ->
+                importar("numero_identificacion,nombres\n1001,Ana\n", "csv"));
+        assertTrue(exception.getMessage().startsWith("Falta la columna tipo_identificacion"));
+        verifyNoInteractions(importacionRepository);
+    }
+
+    @Test
+    @DisplayName("Los campos CSV admiten comillas duplicadas dentro de comillas")
+    void camposCsv_ConComillas_Separa() {
+        assertEquals(List.of("a", "b \"c\", d", ""), ImportacionClientesService.camposCsv("a,\"b \"\"c\"\", d\","));
+    }
+
+    // ========== TESTS DUPLICADOS ==========
+
+    @Test
+    @DisplayName("Los repetidos del archivo y los ya registrados se reportan como duplicados")
+    void importar_Duplicados_SeReportan() throws Exception {
+        // Arrange
+        insertaTodos();
+        when(importacionRepository.identificacionesExistentes(anyCollection())).thenReturn(Set.of("2000"));
+        when(importacionRepository.correosExistentes(anyCollection())).thenReturn(Set.of("tomado@email.com"));
+        String csv = ENCABEZADO
+                + "CC,1001,Ana,Gómez,ana@email.com,1990-05-15\n"
+                + "CC,1001,Ana,Gómez,otra@email.com,1990-05-15\n"
+                + "CC,1002,Ana,Gómez,ANA@email.com,1990-05-15\n"
+                + "CC,2000,Ana,Gómez,nueva@email.com,1990-05-15\n"
+                + "CC,3000,Ana,Gómez,tomado@email.com,1990-05-15\n";
+
+        // Act
+        ImportacionClientesService.ResultadoImportacion resultado = importar(csv, "csv");
+
+        // Assert
+        assertEquals(1, resultado.getImportados());
+        assertEquals(4, resultado.getDuplicados());
+        assertEquals("Número de identificación repetido en el archivo (línea 2)", resultado.getErrores().get(0).getMensaje());
+        assertEquals("Correo electrónico repetido en el archivo (línea 2)", resultado.getErrores().get(1).getMensaje());
+        assertEquals("Ya existe un cliente con el número de identificación: 2000", resultado.getErrores().get(2).getMensaje());
+        assertEquals("Ya existe un cliente con el correo electrónico: tomado@email.com", resultado.getErrores().get(3).getMensaje());
+        assertEquals(List.of("1001"), insertados().stream().map(Cliente::getNumeroIdentificacion).toList());
+    }
+
+    @Test
+    @DisplayName("Una fila que otro proceso registró entre la consulta y la inserción se reporta como duplicada")
+    void importar_ConflictoAlInsertar_SeReportaDuplicado() throws Exception {
+        // Arrange
+        when(importacionRepository.insertarLote(anyList())).thenReturn(new boolean[]{true, false});
+        String csv = ENCABEZADO
+                + "CC,1001,Ana,Gómez,ana@email.com,1990-05-15\n"
+                + "CC,1002,Eva,Ruiz,eva@email.com,1990-05-15\n";
+
+        // Act
+        ImportacionClientesService.ResultadoImportacion resultado = importar(csv, "csv");
+
+        // Assert
+        assertEquals(1, resultado.getImportados());
+        assertEquals(1, resultado.getDuplicados());
+        assertEquals(3, resultado.getErrores().get(0).getLinea());
+    }
+
+    // ========== TESTS LOTES ==========
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("El archivo se procesa en lotes con una consulta de existentes por lote")
+    void importar_VariosLotes_ConsultaPorLote() throws Exception {
+        // Arrange
+        insertaTodos();
+        int filas = ImportacionClientesService.FILAS_POR_LOTE * 2 + 1;
+        StringBuilder csv = new StringBuilder(ENCABEZADO);
+        for (int i = 0; i < filas; i++) {
+            csv.append("CC,").append(10_000 + i).append(",Ana,Gómez,ana").append(i).append("@email.com,1990-05-15\n");
+        }
+
+        // Act
+        ImportacionClientesService.ResultadoImportacion resultado = importar(csv.toString(), "csv");
+
+        // Assert
+        assertEquals(filas, resultado.getImportados());
+        verify(importacionRepository, times(3)).identificacionesExistentes(anyCollection());
+        verify(importacionRepository, times(3)).insertarLote(anyList());
+        ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(importacionRepository, times(3)).correosExistentes(captor.capture());
+        assertEquals(ImportacionClientesService.FILAS_POR_LOTE, captor.getAllValues().get(0).size());
+    }
+
+    @Test
+    @DisplayName("El detalle de errores se acota y el resto solo se cuenta")
+    void importar_MuchosErrores_AcotaReporte() throws Exception {
+        // Arrange
+        int filas = ImportacionClientesService.MAXIMO_ERRORES_REPORTE + 5;
+        StringBuilder csv = new StringBuilder(ENCABEZADO);
+        for (int i = 0; i < filas; i++) {
+            csv.append("CC,").append(i).append(",A,Gómez,ana@email.com,1990-05-15\n");
+        }
+
+        // Act
+        ImportacionClientesService.ResultadoImportacion resultado = importar(csv.toString(), "csv");
+
+        // Assert
+        assertEquals(filas, resultado.getInvalidos());
+        assertEquals(ImportacionClientesService.MAXIMO_ERRORES_REPORTE, resultado.getErrores().size());
+        assertEquals(5, resultado.getErroresOmitidos());
+        verify(importacionRepository, never()).insertarLote(anyList());
+    }
+
+    // ========== TESTS NDJSON ==========
+
+    @Test
+    @DisplayName("El NDJSON admite los nombres de columna y los del API, y reporta líneas mal formadas")
+    void importar_Ndjson_LeeCadaLinea() throws Exception {
+        // Arrange
+        insertaTodos();
+        String ndjson = "{\"tipo_identificacion\":\"CC\",\"numero_identificacion\":\"1001\",\"nombres\":\"Ana\","
+                + "\"apellido\":\"Gómez\",\"correo_electronico\":\"ana@email.com\",\"fecha_nacimiento\":\"1990-05-15\"}\n"
+                + "{\"tipoIdentificacion\":\"PASAPORTE\",\"numeroIdentificacion\":\"P-1\",\"nombres\":\"Eva\","
+                + "\"apellido\":\"Ruiz\",\"correoElectronico\":\"eva@email.com\",\"fechaNacimiento\":\"1980-02-01\"}\n"
+                + "{no es json\n";
+
+        // Act
+        ImportacionClientesService.ResultadoImportacion resultado = importar(ndjson, "ndjson");
+
+        // Assert
+        assertEquals(3, resultado.getFilasLeidas());
+        assertEquals(2, resultado.getImportados());
+        assertEquals(3, resultado.getErrores().get(0).getLinea());
+        assertEquals(TipoIdentificacion.PASAPORTE, insertados().get(1).getTipoIdentificacion());
+    }
+
+    @Test
+    @DisplayName("Un formato no soportado se rechaza")
+    void importar_FormatoInvalido_LanzaExcepcion() {
+        SolicitudInvalidaException exception = assertThrows(SolicitudInvalidaException.class, () ->
+                importar("", "xlsx"));
+        assertEquals("Formato de importación no soportado: xlsx (use csv o ndjson)", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("La importación por lotes deja los mismos clientes que el alta cliente por cliente")
+    void importar_MismosClientesQueAltaPorFila(@TempDir Path directorio) throws Exception {
+        // Act & Assert: compararImportacion verifica ambos caminos
+        compararImportacion(directorio, 200);
+    }
+
+    // ========== TESTS BENCHMARK ==========
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: la importación por lotes supera al alta cliente por cliente sobre el almacén en memoria")
+    void benchmark_ImportacionPorLotes_SuperaAltaPorFila(@TempDir Path directorio) throws Exception {
+        // Calentamiento en almacenes aparte
+        compararImportacion(directorio.resolve("calentamiento"), 2_000);
+
+        // Act: 10.000 filas, una de cada 20 repite la identificación de la anterior
+        int filas = 10_000;
+        long[] nanos = compararImportacion(directorio.resolve("medicion"), filas);
+
+        log.info("Importación de {} clientes: por lotes {} filas/s ({} ms), alta por fila {} filas/s ({} ms)",
+                filas, filas * 1_000_000_000L / nanos[0], nanos[0] / 1_000_000,
+                filas * 1_000_000_000L / nanos[1], nanos[1] / 1_000_000);
+    }
+
+    /**
+     * Importa las mismas filas por lotes y con ClienteService.crearCliente en almacenes separados,
+     * verifica que ambos caminos dejen los mismos clientes y devuelve los nanosegundos de cada uno
+     */
+    private long[] compararImportacion(Path directorio, int filas) throws IOException {
+        StringBuilder csv = new StringBuilder(ENCABEZADO);
+        List<ClienteController.CrearClienteRequest> solicitudes = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            int numero = i % 20 == 19 ? i - 1 : i;
+            csv.append("CC,").append(10_000_000 + numero).append(",Ana,Gómez,cliente").append(i)
+                    .append("@email.com,1990-05-15\n");
+            ClienteController.CrearClienteRequest solicitud = new ClienteController.CrearClienteRequest();
+            solicitud.setTipoIdentificacion(TipoIdentificacion.CEDULA_CIUDADANIA);
+            solicitud.setNumeroIdentificacion(String.valueOf(10_000_000 + numero));
+            solicitud.setNombres("Ana");
+            solicitud.setApellido("Gómez");
+            solicitud.setCorreoElectronico("cliente" + i + "@email.com");
+            solicitud.setFechaNacimiento(LocalDate.of(1990, 5, 15));
+            solicitudes.add(solicitud);
+        }
+        byte[] archivo = csv.toString().getBytes(StandardCharsets.UTF_8);
+        AlmacenMemoria almacenLotes = almacen(directorio.resolve("lotes"));
+        AlmacenMemoria almacenFilas = almacen(directorio.resolve("filas"));
+        ImportacionClientesService porLotes = new ImportacionClientesService(
+                new ImportacionClientesRepositoryMemoria(almacenLotes), transactionManager, new ObjectMapper());
+        ClienteService porFila = new ClienteService(new ClienteRepositoryMemoria(almacenFilas), null);
+
+        long inicio = System.nanoTime();
+        ImportacionClientesService.ResultadoImportacion resultado =
+                porLotes.importar(new ByteArrayInputStream(archivo), "csv");
+        long nanosLotes = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        int rechazadas = 0;
+        for (ClienteController.CrearClienteRequest solicitud : solicitudes) {
+            try {
+                porFila.crearCliente(solicitud);
+            } catch (SolicitudInvalidaException e) {
+                rechazadas++;
+            }
+        }
+        long nanosFilas = System.nanoTime() - inicio;
+
+        // Mismo resultado por ambos caminos; el tiempo solo se reporta
+        assertEquals(filas - filas / 20, resultado.getImportados());
+        assertEquals(filas / 20, resultado.getDuplicados());
+        assertEquals(filas / 20, rechazadas);
+        assertEquals(almacenFilas.clientes().size(), almacenLotes.clientes().size());
+        almacenLotes.cerrar();
+        almacenFilas.cerrar();
+        return new long[]{nanosLotes, nanosFilas};
+    }
+
+    private static AlmacenMemoria almacen(Path directorio) throws IOException {
+        AlmacenMemoria almacen = new AlmacenMemoria(directorio.toString(), false,
+                new DiarioTransacciones(directorio.toString(), 64 * 1024, 1));
+        almacen.recuperar();
+        return almacen;
+    }
+}
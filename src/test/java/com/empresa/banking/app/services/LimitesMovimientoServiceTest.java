@@ -0,0 +1,182 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.TransaccionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - LimitesMovimientoService")
+class LimitesMovimientoServiceTest {
+
+    private static final long AHORA = 1_700_000_000_000L;
+
+    @Mock
+    private TransaccionRepository transaccionRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    private LimitesMovimientoService limites;
+
+    private Producto cuentaAhorros;
+    private Producto otraCuentaDelCliente;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("banking.limites.cuenta-ahorros.cantidad-hora", "2")
+                .withProperty("banking.limites.cuenta-ahorros.monto-dia", "1000")
+                .withProperty("banking.limites.cliente.monto-dia", "1500");
+        limites = new LimitesMovimientoService(transaccionRepository, productoRepository, environment);
+
+        cuentaAhorros = new Producto(1L, TipoCuenta.CUENTA_AHORROS, "5312345678",
+                EstadoCuenta.ACTIVA, BigDecimal.valueOf(5000), false, LocalDateTime.now(), null, 10L);
+        otraCuentaDelCliente = new Producto(2L, TipoCuenta.CUENTA_CORRIENTE, "3312345678",
+                EstadoCuenta.ACTIVA, BigDecimal.valueOf(5000), false, LocalDateTime.now(), null, 10L);
+    }
+
+    // ========== TESTS LÍMITES ==========
+
+    @Test
+    @DisplayName("Se rechaza el débito que supera la cantidad por hora de la cuenta")
+    void reservar_SuperaCantidadPorHora_LanzaExcepcion() {
+        // Arrange
+        limites.reservar(cuentaAhorros, Money.of(BigDecimal.TEN), AHORA);
+        limites.reservar(cuentaAhorros, Money.of(BigDecimal.TEN), AHORA + 1000);
+
+        // Act & Assert
+        OperacionRechazadaException exception = assertThrows(OperacionRechazadaException.class, () ->
+                limites.reservar(cuentaAhorros, Money.of(BigDecimal.TEN), AHORA + 2000));
+        assertEquals("Se superó el número de movimientos por hora permitido para la cuenta", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("La ventana por hora se desliza: los débitos de hace más de una hora dejan de contar")
+    void reservar_TranscurreUnaHora_LiberaCantidad() {
+        // Arrange
+        limites.reservar(cuentaAhorros, Money.of(BigDecimal.TEN), AHORA);
+        limites.reservar(cuentaAhorros, Money.of(BigDecimal.TEN), AHORA);
+
+        // Act & Assert
+        assertDoesNotThrow(() ->
+                limites.reservar(cuentaAhorros, Money.of(BigDecimal.TEN), AHORA + VentanaMovimientos.HORA_MS + 60_000));
+    }
+
+    @Test
+    @DisplayName("El límite diario del cliente suma los débitos de todas sus cuentas")
+    void reservar_SuperaMontoDiarioDelCliente_LanzaExcepcion() {
+        // Arrange
+        limites.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(900)), AHORA);
+
+        // Act & Assert
+        OperacionRechazadaException exception = assertThrows(OperacionRechazadaException.class, () ->
+                limites.reservar(otraCuentaDelCliente, Money.of(BigDecimal.valueOf(700)), AHORA + 1000));
+        assertEquals("Se superó el monto diario permitido para el cliente", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Un débito rechazado no consume cupo")
+    void reservar_Rechazado_NoConsumeCupo() {
+        // Arrange
+        assertThrows(OperacionRechazadaException.class, () ->
+                limites.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(1200)), AHORA));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> limites.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(1000)), AHORA));
+    }
+
+    @Test
+    @DisplayName("Si la transacción hace rollback la reserva se deshace")
+    void reservar_Rollback_LiberaCupo() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            limites.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(1000)), AHORA);
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertDoesNotThrow(() -> limites.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(1000)), AHORA));
+    }
+
+    // ========== TESTS RECONSTRUCCIÓN ==========
+
+    @Test
+    @DisplayName("Al arrancar se reconstruyen los contadores con los débitos recientes, sin asientos de GMF")
+    void reconstruir_ConDebitosRecientes_ConsumeCupo() {
+        // Arrange
+        LocalDateTime haceUnRato = LocalDateTime.now().minusMinutes(5);
+        when(transaccionRepository.findDebitosDesde(any())).thenReturn(List.of(
+                Transaccion.rehidratar(1L, TipoTransaccion.RETIRO, Money.of(BigDecimal.valueOf(800)), "Retiro",
+                        haceUnRato, 1L, null, null, null),
+                Transaccion.rehidratar(2L, TipoTransaccion.RETIRO, Money.of(BigDecimal.valueOf(3)),
+                        GmfService.DESCRIPCION_ASIENTO, haceUnRato, 1L, null, null, null)
+        ));
+        when(productoRepository.findAllById(anyCollection())).thenReturn(List.of(cuentaAhorros));
+
+        // Act
+        limites.reconstruir();
+
+        // Assert
+        assertThrows(OperacionRechazadaException.class, () ->
+                limites.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(201))));
+        assertDoesNotThrow(() -> limites.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(200))));
+    }
+
+    @Test
+    @DisplayName("Una dispersión consume el mismo cupo reservada en vivo que reconstruida desde su débito agregado")
+    void reconstruir_Dispersion_IgualQueReservaEnVivo() {
+        // Arrange: dispersión de 3 pagos por 600 en total; en vivo se reserva una vez el total
+        Money total = Money.of(BigDecimal.valueOf(600));
+        limites.reservar(cuentaAhorros, total);
+
+        LimitesMovimientoService reconstruido = new LimitesMovimientoService(transaccionRepository, productoRepository,
+                new MockEnvironment()
+                        .withProperty("banking.limites.cuenta-ahorros.cantidad-hora", "2")
+                        .withProperty("banking.limites.cuenta-ahorros.monto-dia", "1000"));
+        when(transaccionRepository.findDebitosDesde(any())).thenReturn(List.of(
+                Transaccion.rehidratar(1L, TipoTransaccion.RETIRO, total, "Nómina (3 pagos)",
+                        LocalDateTime.now().minusMinutes(1), 1L, null, null, null)));
+        when(productoRepository.findAllById(anyCollection())).thenReturn(List.of(cuentaAhorros));
+
+        // Act
+        reconstruido.reconstruir();
+
+        // Assert: a ambos les queda un movimiento en la hora y 400 en el día
+        for (LimitesMovimientoService servicio : List.of(limites, reconstruido)) {
+            assertThrows(OperacionRechazadaException.class, () ->
+                    servicio.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(401))));
+            assertDoesNotThrow(() -> servicio.reservar(cuentaAhorros, Money.of(BigDecimal.valueOf(400))));
+            assertThrows(OperacionRechazadaException.class, () ->
+                    servicio.reservar(cuentaAhorros, Money.deCentavos(1)));
+        }
+    }
+}
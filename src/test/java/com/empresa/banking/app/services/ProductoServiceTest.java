@@ -2,10 +2,12 @@ package com.empresa.banking.app.services;
 
 import com.empresa.banking.app.services.ProductoService;
 import com.empresa.banking.domain.entities.*;
+import com.empresa.banking.domain.entities.Enums.CampoProducto;
 import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
 import com.empresa.banking.domain.repositories.ClienteRepository;
 import com.empresa.banking.domain.repositories.ProductoRepository;
 import com.empresa.banking.domain.repositories.TransaccionRepository;
@@ -22,8 +24,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -42,6 +50,9 @@ class ProductoServiceTest {
     @Mock
     private TransaccionRepository transaccionRepository;
 
+    @Mock
+    private CompensacionSaldosService compensacionSaldos;
+
     @InjectMocks
     private ProductoService productoService;
 
@@ -51,7 +62,14 @@ class ProductoServiceTest {
 
     @BeforeEach
     void setUp() {
-        clienteEjemplo = new Cliente(
+        // Sin cuentas en modo compensación: la lectura delega directamente en el repositorio
+        lenient().when(compensacionSaldos.leerConSaldoPendiente(any(), any())).thenAnswer(invocation -> {
+            Function<Long, Optional<Producto>> lector = invocation.getArgument(1);
+            return lector.apply(invocation.getArgument(0));
+        });
+        lenient().when(compensacionSaldos.conSaldoPendiente(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        clienteEjemplo = Cliente.crear(
                 1L,
                 TipoIdentificacion.CEDULA_CIUDADANIA,
                 "12345678",
@@ -173,7 +191,7 @@ class ProductoServiceTest {
     @DisplayName("Buscar producto por número de cuenta")
     void buscarProductoPorNumeroCuenta_ProductoExiste_RetornaOptionalConProducto() {
         // Arrange
-        when(productoRepository.findAll()).thenReturn(Arrays.asList(productoEjemplo));
+        when(productoRepository.findByNumeroCuenta("5312345678")).thenReturn(Optional.of(productoEjemplo));
 
         // Act
         Optional<Producto> resultado = productoService.buscarProductoPorNumeroCuenta("5312345678");
@@ -181,7 +199,8 @@ class ProductoServiceTest {
         // Assert
         assertTrue(resultado.isPresent());
         assertEquals(productoEjemplo, resultado.get());
-        verify(productoRepository).findAll();
+        verify(productoRepository).findByNumeroCuenta("5312345678");
+        verify(productoRepository, never()).findAll();
     }
 
     // ========== TESTS OBTENER PRODUCTOS ==========
@@ -217,6 +236,68 @@ class ProductoServiceTest {
         verify(productoRepository).findAll();
     }
 
+    @Test
+    @DisplayName("Buscar productos por IDs conserva el orden solicitado y reporta los inexistentes")
+    void buscarProductosPorIds_OrdenSolicitado_ReportaFaltantes() {
+        // Arrange
+        Producto otroProducto = new Producto(2L, TipoCuenta.CUENTA_CORRIENTE, "3312345678", EstadoCuenta.ACTIVA,
+                BigDecimal.ZERO, false, LocalDateTime.now(), null, 1L);
+        when(productoRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(productoEjemplo, otroProducto));
+
+        // Act
+        ConsultaPorIds<Producto> resultado = productoService.buscarProductosPorIds(List.of(2L, 9L, 1L, 2L));
+
+        // Assert
+        assertEquals(List.of(otroProducto, productoEjemplo), resultado.getEncontrados());
+        assertEquals(List.of(9L), resultado.getNoEncontrados());
+        verify(productoRepository, times(1)).findAllById(Set.of(2L, 9L, 1L));
+        verify(compensacionSaldos, times(2)).conSaldoPendiente(any());
+    }
+
+    @Test
+    @DisplayName("Buscar productos por IDs rechaza listas vacías, con IDs nulos o demasiado grandes")
+    void buscarProductosPorIds_ListaInvalida_LanzaExcepcion() {
+        List<Long> demasiados = LongStream.rangeClosed(1, ConsultaPorIds.MAXIMO_IDS + 1).boxed().toList();
+
+        assertThrows(SolicitudInvalidaException.class, () -> productoService.buscarProductosPorIds(List.of()));
+        assertThrows(SolicitudInvalidaException.class, () -> productoService.buscarProductosPorIds(demasiados));
+        assertThrows(SolicitudInvalidaException.class, () -> productoService.buscarProductosPorIds(Arrays.asList(1L, null)));
+        verify(productoRepository, never()).findAllById(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Obtener productos con campos seleccionados lee solo esas columnas y suma el saldo pendiente")
+    void obtenerProductos_CamposSeleccionados_ProyectaYAplicaPendiente() {
+        // Arrange
+        Map<CampoProducto, Object> fila = new EnumMap<>(CampoProducto.class);
+        fila.put(CampoProducto.ID, 1L);
+        fila.put(CampoProducto.NUMERO_CUENTA, "5312345678");
+        fila.put(CampoProducto.SALDO, new BigDecimal("1000.00"));
+        when(productoRepository.findAllCampos(anySet())).thenReturn(List.of(fila));
+        when(compensacionSaldos.pendiente(1L)).thenReturn(new BigDecimal("50.00"));
+
+        // Act
+        List<Map<String, Object>> productos = productoService.obtenerProductos("numeroCuenta, saldo");
+
+        // Assert
+        assertEquals(List.of("numeroCuenta", "saldo"), List.copyOf(productos.get(0).keySet()));
+        assertEquals(new BigDecimal("1050.00"), productos.get(0).get("saldo"));
+        // El ID se lee para el saldo pendiente, pero no se devuelve
+        verify(productoRepository).findAllCampos(EnumSet.of(CampoProducto.ID, CampoProducto.NUMERO_CUENTA, CampoProducto.SALDO));
+        verify(productoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Obtener productos rechaza campos desconocidos o una lista vacía")
+    void obtenerProductos_CamposInvalidos_LanzaExcepcion() {
+        SolicitudInvalidaException exception = assertThrows(SolicitudInvalidaException.class,
+                () -> productoService.obtenerProductos("id,clave"));
+
+        assertTrue(exception.getMessage().startsWith("Campo desconocido: clave"));
+        assertThrows(SolicitudInvalidaException.class, () -> productoService.obtenerProductos(" , "));
+        verify(productoRepository, never()).findAllCampos(anySet());
+    }
+
     // ========== TESTS CAMBIAR ESTADO ==========
 
     @Test
@@ -419,21 +500,21 @@ class ProductoServiceTest {
     @DisplayName("Validar existencia por número de cuenta")
     void validarExistenciaProductoPorNumeroCuenta_ProductoExiste_RetornaProducto() {
         // Arrange
-        when(productoRepository.findAll()).thenReturn(Arrays.asList(productoEjemplo));
+        when(productoRepository.findByNumeroCuenta("5312345678")).thenReturn(Optional.of(productoEjemplo));
 
         // Act
         Producto resultado = productoService.validarExistenciaProductoPorNumeroCuenta("5312345678");
 
         // Assert
         assertEquals(productoEjemplo, resultado);
-        verify(productoRepository).findAll();
+        verify(productoRepository).findByNumeroCuenta("5312345678");
     }
 
     @Test
     @DisplayName("Validar existencia por número de cuenta inexistente")
     void validarExistenciaProductoPorNumeroCuenta_ProductoInexistente_LanzaExcepcion() {
         // Arrange
-        when(productoRepository.findAll()).thenReturn(Arrays.asList());
+        when(productoRepository.findByNumeroCuenta("9999999999")).thenReturn(Optional.empty());
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
@@ -441,6 +522,7 @@ class ProductoServiceTest {
         );
 
         assertEquals("Producto no encontrado con número de cuenta: 9999999999", exception.getMessage());
-        verify(productoRepository).findAll();
+        verify(productoRepository).findByNumeroCuenta("9999999999");
+        verify(productoRepository, never()).findAll();
     }
 }
\ No newline at end of file
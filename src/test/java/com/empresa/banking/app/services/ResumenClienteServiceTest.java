@@ -0,0 +1,175 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
+import com.empresa.banking.domain.repositories.ClienteRepository;
+import com.empresa.banking.domain.repositories.ProductoRepository;
+import com.empresa.banking.domain.repositories.ResumenClienteRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - ResumenClienteService")
+class ResumenClienteServiceTest {
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private ProductoRepository productoRepository;
+
+    @Mock
+    private ResumenClienteRepository resumenRepository;
+
+    @Mock
+    private CompensacionSaldosService compensacionSaldos;
+
+    private ResumenClienteService resumenService;
+
+    private Cliente cliente;
+    private Producto ahorros;
+    private Producto corriente;
+
+    @BeforeEach
+    void setUp() {
+        resumenService = new ResumenClienteService(clienteRepository, productoRepository, resumenRepository,
+                compensacionSaldos, 10, 100);
+        lenient().when(compensacionSaldos.conSaldoPendiente(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        cliente = Cliente.crear(1L, TipoIdentificacion.CEDULA_CIUDADANIA, "12345678", "Juan Carlos", "Pérez García",
+                "juan.perez@email.com", LocalDate.of(1990, 5, 15), LocalDateTime.now(), null);
+        ahorros = new Producto(10L, TipoCuenta.CUENTA_AHORROS, "5312345678", EstadoCuenta.ACTIVA,
+                BigDecimal.valueOf(1000), false, LocalDateTime.now(), null, 1L);
+        corriente = new Producto(11L, TipoCuenta.CUENTA_CORRIENTE, "3312345678", EstadoCuenta.ACTIVA,
+                BigDecimal.valueOf(500), false, LocalDateTime.now(), null, 1L);
+    }
+
+    private Transaccion movimiento(Long id, Long cuentaId) {
+        return Transaccion.rehidratar(id, TipoTransaccion.CONSIGNACION, Money.of(new BigDecimal("100")), "Consignación",
+                LocalDateTime.now(), cuentaId, null, Money.of(BigDecimal.ZERO), Money.of(new BigDecimal("100")));
+    }
+
+    private void conDatos() {
+        when(clienteRepository.findById(1L)).thenReturn(Optional.of(cliente));
+        when(productoRepository.findByClienteId(1L)).thenReturn(List.of(ahorros, corriente));
+        when(resumenRepository.ultimosMovimientos(anyCollection(), anyInt()))
+                .thenReturn(List.of(movimiento(3L, 10L), movimiento(2L, 11L), movimiento(1L, 10L)));
+    }
+
+    // ========== TESTS RESUMEN ==========
+
+    @Test
+    @DisplayName("El resumen agrupa los últimos movimientos por cuenta con una consulta por conjunto")
+    void resumen_VariasCuentas_ConsultasPorConjunto() {
+        // Arrange
+        when(resumenRepository.version(1L)).thenReturn(Optional.of("v1"));
+        conDatos();
+
+        // Act
+        ResumenClienteService.ResumenCliente resumen = resumenService.resumen(1L, 5).orElseThrow();
+
+        // Assert
+        assertEquals(cliente, resumen.getCliente());
+        assertEquals(2, resumen.getCuentas().size());
+        assertEquals(List.of(3L, 1L), resumen.getCuentas().get(0).getUltimosMovimientos().stream()
+                .map(Transaccion::getId).toList());
+        assertEquals(1, resumen.getCuentas().get(1).getUltimosMovimientos().size());
+        assertEquals("v1", resumen.getVersion());
+        verify(resumenRepository, times(1)).ultimosMovimientos(List.of(10L, 11L), 5);
+        verify(productoRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Mientras la versión no cambie, el resumen sale de la caché y solo se consulta la huella")
+    void resumen_MismaVersion_UsaCache() {
+        // Arrange
+        when(resumenRepository.version(1L)).thenReturn(Optional.of("v1"));
+        conDatos();
+
+        // Act
+        resumenService.resumen(1L, null);
+        resumenService.resumen(1L, null);
+
+        // Assert
+        verify(resumenRepository, times(2)).version(1L);
+        verify(clienteRepository, times(1)).findById(1L);
+        verify(productoRepository, times(1)).findByClienteId(1L);
+        verify(resumenRepository, times(1)).ultimosMovimientos(anyCollection(), eq(10));
+        verify(compensacionSaldos, times(4)).conSaldoPendiente(any());
+    }
+
+    @Test
+    @DisplayName("Si alguna cuenta del cliente cambió, el resumen se vuelve a armar")
+    void resumen_VersionDistinta_Recarga() {
+        // Arrange
+        when(resumenRepository.version(1L)).thenReturn(Optional.of("v1"), Optional.of("v2"));
+        conDatos();
+
+        // Act
+        resumenService.resumen(1L, null);
+        ResumenClienteService.ResumenCliente resumen = resumenService.resumen(1L, null).orElseThrow();
+
+        // Assert
+        assertEquals("v2", resumen.getVersion());
+        verify(productoRepository, times(2)).findByClienteId(1L);
+    }
+
+    @Test
+    @DisplayName("La versión del resumen no se serializa en el cuerpo de la respuesta")
+    void resumen_Serializado_NoExponeVersion() {
+        // Arrange
+        ResumenClienteService.ResumenCliente resumen = new ResumenClienteService.ResumenCliente(null, List.of(), "v1");
+
+        // Act
+        JsonNode json = new ObjectMapper().valueToTree(resumen);
+
+        // Assert
+        assertTrue(json.has("cuentas"));
+        assertFalse(json.has("version"));
+    }
+
+    @Test
+    @DisplayName("Un cliente inexistente no genera más consultas")
+    void resumen_ClienteInexistente_RetornaVacio() {
+        // Arrange
+        when(resumenRepository.version(99L)).thenReturn(Optional.empty());
+
+        // Act
+        Optional<ResumenClienteService.ResumenCliente> resumen = resumenService.resumen(99L, null);
+
+        // Assert
+        assertTrue(resumen.isEmpty());
+        verifyNoInteractions(clienteRepository, productoRepository);
+    }
+
+    @Test
+    @DisplayName("Los movimientos por cuenta fuera de rango se rechazan")
+    void resumen_MovimientosFueraDeRango_LanzaExcepcion() {
+        assertThrows(SolicitudInvalidaException.class,
+                () -> resumenService.resumen(1L, ResumenClienteService.MAXIMO_MOVIMIENTOS + 1));
+        verifyNoInteractions(resumenRepository);
+    }
+}
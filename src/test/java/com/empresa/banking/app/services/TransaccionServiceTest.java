@@ -5,21 +5,39 @@ import com.empresa.banking.domain.entities.*;
 import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.exceptions.OperacionRechazadaException;
+import com.empresa.banking.domain.exceptions.SolicitudInvalidaException;
 import com.empresa.banking.domain.repositories.ProductoRepository;
 import com.empresa.banking.domain.repositories.TransaccionRepository;
+import com.empresa.banking.infrastructure.controllers.TransaccionController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -35,6 +53,18 @@ class TransaccionServiceTest {
     @Mock
     private ProductoRepository productoRepository;
 
+    @Mock
+    private CompensacionSaldosService compensacionSaldos;
+
+    @Mock
+    private GmfService gmfService;
+
+    @Mock
+    private LimitesMovimientoService limitesMovimiento;
+
+    @Mock
+    private EventosSaldoService eventosSaldo;
+
     @InjectMocks
     private TransaccionService transaccionService;
 
@@ -45,6 +75,28 @@ class TransaccionServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Sin cuentas en modo compensación: la lectura delega directamente en el repositorio
+        lenient().when(compensacionSaldos.leerConSaldoPendiente(any(), any())).thenAnswer(invocation -> {
+            Function<Long, Optional<Producto>> lector = invocation.getArgument(1);
+            return lector.apply(invocation.getArgument(0));
+        });
+        lenient().when(compensacionSaldos.leerTodasConSaldoPendiente(any(), any())).thenAnswer(invocation -> {
+            Function<List<Long>, List<Producto>> lector = invocation.getArgument(1);
+            return lector.apply(invocation.getArgument(0));
+        });
+        lenient().when(compensacionSaldos.conSaldoPendiente(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        // Sin GMF salvo en los tests que lo configuran
+        lenient().when(gmfService.liquidarRetiro(any(), any())).thenReturn(GmfService.LiquidacionGmf.sinCargo());
+        lenient().when(gmfService.liquidarTransferencia(any(), any(), any())).thenReturn(GmfService.LiquidacionGmf.sinCargo());
+        lenient().when(gmfService.liquidarDebitos(any(), any())).thenReturn(GmfService.LiquidacionGmf.sinCargo());
+        // Primera reserva de cada cuenta: la última secuencia es la cantidad pedida
+        lenient().when(transaccionRepository.reservarSecuencias(any())).thenAnswer(invocacion -> {
+            Map<Long, Integer> cantidades = invocacion.getArgument(0);
+            Map<Long, Long> ultimas = new HashMap<>();
+            cantidades.forEach((cuentaId, cantidad) -> ultimas.put(cuentaId, (long) cantidad));
+            return ultimas;
+        });
+
         cuentaActivaConSaldo = new Producto(
                 1L,
                 TipoCuenta.CUENTA_AHORROS,
@@ -106,7 +158,7 @@ class TransaccionServiceTest {
         // Assert
         assertNotNull(resultado);
         assertEquals(TipoTransaccion.CONSIGNACION, resultado.getTipoTransaccion());
-        assertEquals(BigDecimal.valueOf(100), resultado.getMonto());
+        assertEquals(new BigDecimal("100.00"), resultado.getMonto());
         verify(productoRepository).findById(1L);
         verify(productoRepository).save(any(Producto.class));
         verify(transaccionRepository).save(any(Transaccion.class));
@@ -210,6 +262,23 @@ class TransaccionServiceTest {
         verify(transaccionRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("El rechazo por fondos insuficientes no captura traza de pila")
+    void realizarRetiro_FondosInsuficientes_RechazoSinTraza() {
+        // Arrange
+        Producto cuentaConPocoSaldo = new Producto(1L, TipoCuenta.CUENTA_AHORROS, "5312345678",
+                EstadoCuenta.ACTIVA, BigDecimal.valueOf(50), false, LocalDateTime.now(), null, 1L);
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaConPocoSaldo));
+
+        // Act
+        OperacionRechazadaException exception = assertThrows(OperacionRechazadaException.class, () ->
+                transaccionService.realizarRetiro(1L, BigDecimal.valueOf(100), "Test")
+        );
+
+        // Assert
+        assertEquals(0, exception.getStackTrace().length);
+    }
+
     @Test
     @DisplayName("Realizar retiro en cuenta inactiva")
     void realizarRetiro_CuentaInactiva_LanzaExcepcion() {
@@ -227,6 +296,68 @@ class TransaccionServiceTest {
         verify(transaccionRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("Realizar retiro gravado descuenta el GMF e inserta su asiento")
+    void realizarRetiro_CuentaGravada_DescuentaGmfYRegistraAsiento() {
+        // Arrange
+        GmfService.LiquidacionGmf liquidacion = new GmfService.LiquidacionGmf(1L, YearMonth.now(),
+                Money.CERO, Money.of(BigDecimal.valueOf(100)), Money.of(new BigDecimal("0.40")));
+        Transaccion asiento = Transaccion.crear(TipoTransaccion.RETIRO, new BigDecimal("0.40"), 1L, null, "GMF 4x1000");
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        when(gmfService.liquidarRetiro(eq(cuentaActivaConSaldo), any())).thenReturn(liquidacion);
+        when(gmfService.crearAsiento(eq(liquidacion), eq(1L), any())).thenReturn(asiento);
+        when(transaccionRepository.save(any(Transaccion.class))).thenReturn(transaccionEjemplo);
+
+        // Act
+        transaccionService.realizarRetiro(1L, BigDecimal.valueOf(100), "Test");
+
+        // Assert
+        ArgumentCaptor<Producto> cuentaCaptor = ArgumentCaptor.forClass(Producto.class);
+        verify(productoRepository).save(cuentaCaptor.capture());
+        assertEquals(new BigDecimal("899.60"), cuentaCaptor.getValue().getSaldo());
+        verify(gmfService).crearAsiento(liquidacion, 1L, Money.of(BigDecimal.valueOf(900)));
+        verify(gmfService).registrar(liquidacion);
+        verify(transaccionRepository).saveAll(List.of(asiento));
+    }
+
+    @Test
+    @DisplayName("Realizar retiro sin saldo para cubrir el GMF")
+    void realizarRetiro_SaldoNoCubreGmf_LanzaExcepcion() {
+        // Arrange
+        GmfService.LiquidacionGmf liquidacion = new GmfService.LiquidacionGmf(1L, YearMonth.now(),
+                Money.CERO, Money.of(BigDecimal.valueOf(1000)), Money.of(BigDecimal.valueOf(4)));
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        when(gmfService.liquidarRetiro(eq(cuentaActivaConSaldo), any())).thenReturn(liquidacion);
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                transaccionService.realizarRetiro(1L, BigDecimal.valueOf(1000), "Test")
+        );
+
+        assertEquals("Fondos insuficientes para cubrir el retiro y el GMF", exception.getMessage());
+        verify(gmfService, never()).registrar(any());
+        verify(productoRepository, never()).save(any());
+        verify(transaccionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Realizar retiro que supera el límite de la cuenta")
+    void realizarRetiro_LimiteExcedido_NoDebita() {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        doThrow(new OperacionRechazadaException("Se superó el monto diario permitido para la cuenta"))
+                .when(limitesMovimiento).reservar(eq(cuentaActivaConSaldo), any());
+
+        // Act & Assert
+        OperacionRechazadaException exception = assertThrows(OperacionRechazadaException.class, () ->
+                transaccionService.realizarRetiro(1L, BigDecimal.valueOf(100), "Test")
+        );
+
+        assertEquals("Se superó el monto diario permitido para la cuenta", exception.getMessage());
+        verify(productoRepository, never()).save(any());
+        verify(transaccionRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Realizar retiro sin descripción")
     void realizarRetiro_SinDescripcion_UsaDescripcionPorDefecto() {
@@ -243,6 +374,62 @@ class TransaccionServiceTest {
         verify(transaccionRepository).save(any(Transaccion.class));
     }
 
+
+    @Test
+    @DisplayName("Dos retiros concurrentes sobre una cuenta compensada no la sobregiran ni repiten saldo anterior")
+    void realizarRetiro_ConcurrentesEnCuentaCompensada_NoSobregira() throws Exception {
+        // Arrange: la cuenta 1 (saldo 1000) opera en compensación y cada retiro de 800 solo cabe una vez
+        CompensacionSaldosService compensacion = new CompensacionSaldosService(productoRepository,
+                mock(PlatformTransactionManager.class), Set.of(1L));
+        TransaccionService servicio = new TransaccionService(transaccionRepository, productoRepository, compensacion,
+                gmfService, limitesMovimiento, eventosSaldo);
+        CountDownLatch lecturas = new CountDownLatch(2);
+        when(productoRepository.findById(1L)).thenAnswer(invocation -> {
+            // Sin serialización los dos retiros leerían el saldo antes de que el otro acumule su delta
+            lecturas.countDown();
+            lecturas.await(200, TimeUnit.MILLISECONDS);
+            return Optional.of(cuentaActivaConSaldo);
+        });
+        when(productoRepository.registrarSaldoPendiente(eq(1L), any())).thenReturn(1L, 2L);
+        when(transaccionRepository.save(any(Transaccion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+        try {
+            // Act
+            Future<Boolean> primero = hilos.submit(() -> confirmar(() ->
+                    servicio.realizarRetiro(1L, BigDecimal.valueOf(800), "Retiro")));
+            Future<Boolean> segundo = hilos.submit(() -> confirmar(() ->
+                    servicio.realizarRetiro(1L, BigDecimal.valueOf(800), "Retiro")));
+
+            // Assert
+            assertEquals(1, (primero.get(5, TimeUnit.SECONDS) ? 1 : 0) + (segundo.get(5, TimeUnit.SECONDS) ? 1 : 0));
+        } finally {
+            hilos.shutdownNow();
+        }
+        assertEquals(0, new BigDecimal("-800.00").compareTo(compensacion.pendiente(1L)));
+        verify(transaccionRepository, times(1)).save(argThat(transaccion ->
+                transaccion.getSaldoAnterior().compareTo(BigDecimal.valueOf(1000)) == 0));
+    }
+
+    /**
+     * Ejecuta un movimiento con sincronización de transacción activa y simula su commit, o su rollback si se rechaza
+     */
+    private static boolean confirmar(Runnable movimiento) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            movimiento.run();
+            List<TransactionSynchronization> sincronizaciones = TransactionSynchronizationManager.getSynchronizations();
+            sincronizaciones.forEach(TransactionSynchronization::afterCommit);
+            sincronizaciones.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            return true;
+        } catch (OperacionRechazadaException e) {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            return false;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
     // ========== TESTS REALIZAR TRANSFERENCIA ==========
 
     @Test
@@ -377,6 +564,221 @@ class TransaccionServiceTest {
         verify(transaccionRepository, times(2)).save(any(Transaccion.class));
     }
 
+    @Test
+    @DisplayName("Realizar transferencia hacia cuenta en modo compensación")
+    void realizarTransferencia_CuentaDestinoCompensada_AcumulaDeltaSinActualizarProducto() {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        when(productoRepository.findById(3L)).thenReturn(Optional.of(cuentaDestino));
+        when(compensacionSaldos.esCuentaCompensada(1L)).thenReturn(false);
+        when(compensacionSaldos.esCuentaCompensada(3L)).thenReturn(true);
+        when(transaccionRepository.save(any(Transaccion.class))).thenReturn(transaccionEjemplo);
+
+        // Act
+        List<Transaccion> resultado = transaccionService.realizarTransferencia(1L, 3L, BigDecimal.valueOf(100), "Test");
+
+        // Assert
+        assertEquals(2, resultado.size());
+        verify(productoRepository, times(1)).save(any(Producto.class));
+        verify(compensacionSaldos).acumular(3L, new BigDecimal("100.00"));
+        verify(transaccionRepository, times(2)).save(any(Transaccion.class));
+    }
+
+    @Test
+    @DisplayName("Realizar transferencia numera el débito y el crédito en su cuenta con una sola reserva")
+    void realizarTransferencia_AsignaSecuenciaPorCuenta() {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        when(productoRepository.findById(3L)).thenReturn(Optional.of(cuentaDestino));
+        doReturn(Map.of(1L, 8L, 3L, 21L)).when(transaccionRepository).reservarSecuencias(any());
+        when(transaccionRepository.save(any(Transaccion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        List<Transaccion> resultado = transaccionService.realizarTransferencia(1L, 3L, BigDecimal.valueOf(100), "Test");
+
+        // Assert
+        verify(transaccionRepository, times(1)).reservarSecuencias(Map.of(1L, 1, 3L, 1));
+        assertEquals(8L, resultado.get(0).getSecuencia());
+        assertEquals(21L, resultado.get(1).getSecuencia());
+        verify(eventosSaldo).publicar(resultado);
+    }
+
+    @Test
+    @DisplayName("Si la reserva no devuelve la secuencia de una cuenta, el movimiento falla en lugar de numerarse desde 1")
+    void realizarTransferencia_SinReservaDeUnaCuenta_LanzaExcepcion() {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        when(productoRepository.findById(3L)).thenReturn(Optional.of(cuentaDestino));
+        doReturn(Map.of(1L, 8L)).when(transaccionRepository).reservarSecuencias(any());
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                transaccionService.realizarTransferencia(1L, 3L, BigDecimal.valueOf(100), "Test"));
+        assertEquals("No se reservó la secuencia de la cuenta 3", exception.getMessage());
+        verify(transaccionRepository, never()).save(any(Transaccion.class));
+        verify(eventosSaldo, never()).publicar(anyCollection());
+    }
+
+    // ========== TESTS REALIZAR DISPERSIÓN ==========
+
+    @Test
+    @DisplayName("Realizar dispersión con un pago inválido reporta el rechazo y aplica el resto")
+    void realizarDispersion_PagoInvalido_AplicaRestoYReportaRechazo() {
+        // Arrange
+        Producto otroBeneficiario = new Producto(4L, TipoCuenta.CUENTA_AHORROS, "5300000004",
+                EstadoCuenta.ACTIVA, BigDecimal.ZERO, false, LocalDateTime.now(), null, 3L);
+        TransaccionController.DispersionRequest request = dispersion(1L,
+                pago(3L, BigDecimal.valueOf(100)),
+                pago(999L, BigDecimal.valueOf(50)),
+                pago(4L, BigDecimal.valueOf(200)));
+
+        when(productoRepository.findAllByIdForUpdate(any()))
+                .thenReturn(List.of(cuentaActivaConSaldo, cuentaDestino, otroBeneficiario));
+        when(productoRepository.save(any(Producto.class))).thenReturn(cuentaActivaConSaldo);
+        when(transaccionRepository.save(any(Transaccion.class))).thenReturn(transaccionEjemplo);
+
+        // Act
+        TransaccionService.ResultadoDispersion resultado = transaccionService.realizarDispersion(request);
+
+        // Assert
+        assertEquals(2, resultado.getPagosAplicados());
+        assertEquals(new BigDecimal("300.00"), resultado.getTotalDebitado());
+        assertEquals(1, resultado.getPagosRechazados().size());
+        assertEquals(1, resultado.getPagosRechazados().get(0).getLinea());
+        assertEquals("Cuenta no encontrada con ID: 999", resultado.getPagosRechazados().get(0).getMotivo());
+        verify(productoRepository, times(1)).save(any(Producto.class));
+        verify(transaccionRepository, times(1)).save(any(Transaccion.class));
+        verify(productoRepository).ajustarSaldos(argThat(deltas ->
+                deltas.size() == 2 &&
+                        deltas.get(3L).equals(new BigDecimal("100.00")) &&
+                        deltas.get(4L).equals(new BigDecimal("200.00"))
+        ));
+        verify(transaccionRepository).saveAll(argThat(creditos -> creditos.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Realizar dispersión con fondos insuficientes para el total")
+    void realizarDispersion_FondosInsuficientesParaTotal_LanzaExcepcion() {
+        // Arrange
+        TransaccionController.DispersionRequest request = dispersion(1L,
+                pago(3L, BigDecimal.valueOf(600)),
+                pago(3L, BigDecimal.valueOf(600)));
+
+        when(productoRepository.findAllByIdForUpdate(any())).thenReturn(List.of(cuentaActivaConSaldo, cuentaDestino));
+
+        // Act & Assert
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                transaccionService.realizarDispersion(request)
+        );
+
+        assertEquals("Fondos insuficientes en la cuenta origen para el total de la dispersión", exception.getMessage());
+        verify(productoRepository, never()).save(any());
+        verify(productoRepository, never()).ajustarSaldos(any());
+        verify(transaccionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Realizar dispersión cobra GMF solo sobre los pagos a otros clientes y reserva el débito agregado")
+    void realizarDispersion_PagosAOtrosClientes_CobraGmfYReservaLimite() {
+        // Arrange
+        Producto cuentaPropia = new Producto(5L, TipoCuenta.CUENTA_CORRIENTE, "3300000005",
+                EstadoCuenta.ACTIVA, BigDecimal.ZERO, false, LocalDateTime.now(), null, 1L);
+        TransaccionController.DispersionRequest request = dispersion(1L,
+                pago(3L, BigDecimal.valueOf(100)),
+                pago(5L, BigDecimal.valueOf(200)));
+        GmfService.LiquidacionGmf liquidacion = new GmfService.LiquidacionGmf(1L, YearMonth.now(),
+                Money.CERO, Money.of(BigDecimal.valueOf(100)), Money.of(new BigDecimal("0.40")));
+        Transaccion asiento = Transaccion.crear(TipoTransaccion.RETIRO, new BigDecimal("0.40"), 1L, null, "GMF 4x1000");
+
+        // Origen y destinos en una sola consulta ordenada por ID
+        when(productoRepository.findAllByIdForUpdate(List.of(1L, 3L, 5L)))
+                .thenReturn(List.of(cuentaActivaConSaldo, cuentaDestino, cuentaPropia));
+        when(gmfService.liquidarDebitos(cuentaActivaConSaldo, List.of(Money.of(BigDecimal.valueOf(100)))))
+                .thenReturn(liquidacion);
+        when(gmfService.crearAsiento(eq(liquidacion), eq(1L), any())).thenReturn(asiento);
+        when(transaccionRepository.save(any(Transaccion.class))).thenReturn(transaccionEjemplo);
+
+        // Act
+        TransaccionService.ResultadoDispersion resultado = transaccionService.realizarDispersion(request);
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(300).compareTo(resultado.getTotalDebitado()));
+        verify(limitesMovimiento).reservar(cuentaActivaConSaldo, Money.of(BigDecimal.valueOf(300)));
+        ArgumentCaptor<Producto> cuentaCaptor = ArgumentCaptor.forClass(Producto.class);
+        verify(productoRepository).save(cuentaCaptor.capture());
+        assertEquals(0, new BigDecimal("699.60").compareTo(cuentaCaptor.getValue().getSaldo()));
+        verify(gmfService).registrar(liquidacion);
+        verify(gmfService).crearAsiento(liquidacion, 1L, Money.of(BigDecimal.valueOf(700)));
+        verify(transaccionRepository).saveAll(List.of(asiento));
+    }
+
+    @Test
+    @DisplayName("Realizar dispersión que supera el límite de la cuenta origen")
+    void realizarDispersion_LimiteExcedido_NoDebita() {
+        // Arrange
+        TransaccionController.DispersionRequest request = dispersion(1L, pago(3L, BigDecimal.valueOf(100)));
+        when(productoRepository.findAllByIdForUpdate(any())).thenReturn(List.of(cuentaActivaConSaldo, cuentaDestino));
+        doThrow(new OperacionRechazadaException("Se superó el monto diario permitido para la cuenta"))
+                .when(limitesMovimiento).reservar(eq(cuentaActivaConSaldo), any());
+
+        // Act & Assert
+        assertThrows(OperacionRechazadaException.class, () -> transaccionService.realizarDispersion(request));
+        verify(productoRepository, never()).save(any());
+        verify(productoRepository, never()).ajustarSaldos(any());
+        verify(gmfService, never()).registrar(any());
+    }
+
+    @Test
+    @DisplayName("Realizar dispersión desde cuenta inexistente")
+    void realizarDispersion_CuentaOrigenInexistente_LanzaExcepcion() {
+        // Arrange
+        TransaccionController.DispersionRequest request = dispersion(999L, pago(3L, BigDecimal.valueOf(100)));
+        when(productoRepository.findAllByIdForUpdate(List.of(3L, 999L))).thenReturn(List.of(cuentaDestino));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                transaccionService.realizarDispersion(request)
+        );
+
+        assertEquals("Cuenta no encontrada con ID: 999", exception.getMessage());
+        verify(productoRepository, never()).findByIdForUpdate(any());
+        verify(productoRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Realizar dispersión con más pagos que el máximo de una transacción")
+    void realizarDispersion_SuperaMaximoDePagos_LanzaExcepcion() {
+        // Arrange
+        TransaccionController.DispersionRequest request = dispersion(1L);
+        request.setPagos(Collections.nCopies(TransaccionService.MAXIMO_PAGOS_DISPERSION + 1,
+                pago(3L, BigDecimal.ONE)));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                transaccionService.realizarDispersion(request)
+        );
+
+        assertEquals("La dispersión admite como máximo 100000 pagos", exception.getMessage());
+        verify(compensacionSaldos, never()).bloquear(any());
+        verify(productoRepository, never()).findAllByIdForUpdate(any());
+    }
+
+    private TransaccionController.DispersionRequest dispersion(Long cuentaOrigenId,
+                                                               TransaccionController.PagoDispersion... pagos) {
+        TransaccionController.DispersionRequest request = new TransaccionController.DispersionRequest();
+        request.setCuentaOrigenId(cuentaOrigenId);
+        request.setPagos(Arrays.asList(pagos));
+        request.setDescripcion("Nómina");
+        return request;
+    }
+
+    private TransaccionController.PagoDispersion pago(Long cuentaDestinoId, BigDecimal monto) {
+        TransaccionController.PagoDispersion pago = new TransaccionController.PagoDispersion();
+        pago.setCuentaDestinoId(cuentaDestinoId);
+        pago.setMonto(monto);
+        return pago;
+    }
+
     // ========== TESTS OBTENER HISTORIAL ==========
 
     @Test
@@ -414,6 +816,56 @@ class TransaccionServiceTest {
         verify(transaccionRepository, never()).findByAccountNumber(any());
     }
 
+    // ========== TESTS CONSULTAR CAMBIOS ==========
+
+    private static Transaccion movimiento(long secuencia) {
+        return Transaccion.rehidratar(100 + secuencia, TipoTransaccion.CONSIGNACION, Money.of(BigDecimal.TEN),
+                "Consignación", LocalDateTime.now(), 1L, null, null, null, secuencia);
+    }
+
+    @Test
+    @DisplayName("Consultar cambios informa los números borrados dentro del rango y hasta la última secuencia")
+    void consultarCambios_ConHuecos_InformaFaltantes() {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        when(transaccionRepository.ultimaSecuencia(1L)).thenReturn(6L);
+        when(transaccionRepository.findCambios(1L, 2L, 100)).thenReturn(List.of(movimiento(3), movimiento(5)));
+
+        // Act
+        TransaccionService.CambiosCuentaDto cambios = transaccionService.consultarCambios(1L, 2L, null);
+
+        // Assert
+        assertEquals(2, cambios.getTransacciones().size());
+        assertEquals(List.of(4L, 6L), cambios.getFaltantes());
+        assertEquals(6L, cambios.getHasta());
+        assertFalse(cambios.isHayMas());
+    }
+
+    @Test
+    @DisplayName("Consultar cambios con la página llena continúa desde el último movimiento devuelto")
+    void consultarCambios_PaginaLlena_HayMas() {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+        when(transaccionRepository.ultimaSecuencia(1L)).thenReturn(9L);
+        when(transaccionRepository.findCambios(1L, 2L, 2)).thenReturn(List.of(movimiento(3), movimiento(4)));
+
+        // Act
+        TransaccionService.CambiosCuentaDto cambios = transaccionService.consultarCambios(1L, 2L, 2);
+
+        // Assert
+        assertEquals(4L, cambios.getHasta());
+        assertEquals(9L, cambios.getUltimaSecuencia());
+        assertTrue(cambios.getFaltantes().isEmpty());
+        assertTrue(cambios.isHayMas());
+    }
+
+    @Test
+    @DisplayName("Consultar cambios con un límite fuera de rango se rechaza sin consultar")
+    void consultarCambios_LimiteInvalido_LanzaExcepcion() {
+        assertThrows(SolicitudInvalidaException.class, () -> transaccionService.consultarCambios(1L, 0L, 5000));
+        verifyNoInteractions(productoRepository, transaccionRepository);
+    }
+
     // ========== TESTS BUSCAR TRANSACCIÓN ==========
 
     @Test
@@ -483,7 +935,7 @@ class TransaccionServiceTest {
         assertEquals("5312345678", resultado.getNumeroCuenta());
         assertEquals(TipoCuenta.CUENTA_AHORROS, resultado.getTipoCuenta());
         assertEquals(EstadoCuenta.ACTIVA, resultado.getEstado());
-        assertEquals(BigDecimal.valueOf(1000), resultado.getSaldoActual());
+        assertEquals(new BigDecimal("1000.00"), resultado.getSaldoActual());
         assertNotNull(resultado.getTransacciones());
         assertEquals(1, resultado.getTransacciones().size());
         verify(productoRepository).findById(1L);
@@ -506,6 +958,28 @@ class TransaccionServiceTest {
         verify(transaccionRepository, never()).findByAccountNumber(any());
     }
 
+    @Test
+    @DisplayName("Estado de cuenta con campos seleccionados sin transacciones no consulta el historial")
+    void consultarEstadoCuenta_CamposSinTransacciones_NoConsultaHistorial() {
+        // Arrange
+        when(productoRepository.findById(1L)).thenReturn(Optional.of(cuentaActivaConSaldo));
+
+        // Act
+        Map<String, Object> resultado = transaccionService.consultarEstadoCuenta(1L, "saldoActual,numeroCuenta");
+
+        // Assert
+        assertEquals(List.of("saldoActual", "numeroCuenta"), List.copyOf(resultado.keySet()));
+        assertEquals("5312345678", resultado.get("numeroCuenta"));
+        verify(transaccionRepository, never()).findByAccountNumber(any());
+    }
+
+    @Test
+    @DisplayName("Estado de cuenta con un campo desconocido se rechaza antes de consultar")
+    void consultarEstadoCuenta_CampoDesconocido_LanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> transaccionService.consultarEstadoCuenta(1L, "saldo"));
+        verifyNoInteractions(productoRepository, transaccionRepository);
+    }
+
     // ========== TESTS ELIMINAR TRANSACCIÓN ==========
 
     @Test
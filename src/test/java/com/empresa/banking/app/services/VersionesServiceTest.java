@@ -0,0 +1,116 @@
+package com.empresa.banking.app.services;
+
+import com.empresa.banking.domain.entities.VersionRecurso;
+import com.empresa.banking.domain.repositories.ResumenClienteRepository;
+import com.empresa.banking.domain.repositories.VersionesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - VersionesService")
+class VersionesServiceTest {
+
+    @Mock
+    private VersionesRepository versionesRepository;
+
+    @Mock
+    private ResumenClienteRepository resumenRepository;
+
+    @Mock
+    private CompensacionSaldosService compensacionSaldos;
+
+    private VersionesService versionesService;
+
+    private final LocalDateTime modificacion = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    @BeforeEach
+    void setUp() {
+        versionesService = new VersionesService(versionesRepository, resumenRepository, compensacionSaldos);
+    }
+
+    // ========== TESTS PRODUCTOS ==========
+
+    @Test
+    @DisplayName("El delta pendiente de una cuenta compensada cambia su versión y su última modificación aunque la fila no cambie")
+    void producto_CuentaCompensada_IncluyePendiente() {
+        // Arrange
+        when(versionesRepository.producto(1L)).thenReturn(Optional.of(new VersionRecurso("base", modificacion)));
+        when(compensacionSaldos.esCuentaCompensada(1L)).thenReturn(true);
+        when(compensacionSaldos.pendiente(1L)).thenReturn(BigDecimal.ZERO, new BigDecimal("150.00"));
+        when(compensacionSaldos.ultimoPendiente(1L)).thenReturn(null, modificacion.plusSeconds(30));
+
+        // Act
+        VersionRecurso antes = versionesService.producto(1L).orElseThrow();
+        VersionRecurso despues = versionesService.producto(1L).orElseThrow();
+
+        // Assert
+        assertNotEquals(antes.getHuella(), despues.getHuella());
+        assertEquals(modificacion, antes.getUltimaModificacion());
+        assertEquals(modificacion.plusSeconds(30), despues.getUltimaModificacion());
+    }
+
+    @Test
+    @DisplayName("La última modificación de los productos del cliente incluye el delta pendiente más reciente")
+    void productosDeCliente_CuentaCompensada_UltimaModificacionDelPendiente() {
+        // Arrange
+        Map<Long, LocalDateTime> modificaciones = new LinkedHashMap<>();
+        modificaciones.put(1L, modificacion);
+        modificaciones.put(2L, modificacion.minusDays(1));
+        when(versionesRepository.productosDeCliente(1L)).thenReturn(modificaciones);
+        when(compensacionSaldos.esCuentaCompensada(anyLong())).thenAnswer(invocacion -> invocacion.getArgument(0).equals(2L));
+        when(compensacionSaldos.pendiente(2L)).thenReturn(new BigDecimal("-20.00"));
+        when(compensacionSaldos.ultimoPendiente(2L)).thenReturn(modificacion.plusMinutes(1));
+
+        // Act
+        VersionRecurso version = versionesService.productosDeCliente(1L).orElseThrow();
+
+        // Assert
+        assertEquals(modificacion.plusMinutes(1), version.getUltimaModificacion());
+    }
+
+    @Test
+    @DisplayName("La versión de los productos del cliente cambia al modificar cualquiera de ellos")
+    void productosDeCliente_ProductoModificado_CambiaVersion() {
+        // Arrange
+        Map<Long, LocalDateTime> antes = new LinkedHashMap<>();
+        antes.put(1L, modificacion);
+        antes.put(2L, modificacion.minusDays(1));
+        Map<Long, LocalDateTime> despues = new LinkedHashMap<>(antes);
+        despues.put(2L, modificacion.plusMinutes(5));
+        when(versionesRepository.productosDeCliente(1L)).thenReturn(antes, despues);
+
+        // Act
+        VersionRecurso primera = versionesService.productosDeCliente(1L).orElseThrow();
+        VersionRecurso segunda = versionesService.productosDeCliente(1L).orElseThrow();
+
+        // Assert
+        assertNotEquals(primera.getHuella(), segunda.getHuella());
+        assertEquals(modificacion, primera.getUltimaModificacion());
+        assertEquals(modificacion.plusMinutes(5), segunda.getUltimaModificacion());
+    }
+
+    @Test
+    @DisplayName("Los movimientos de una cuenta inexistente no tienen versión")
+    void movimientosDeCuenta_CuentaInexistente_Vacio() {
+        // Arrange
+        when(versionesRepository.producto(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertTrue(versionesService.movimientosDeCuenta(99L).isEmpty());
+        verify(versionesRepository, never()).movimientosDeCuenta(99L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.empresa.banking.domain.entities;
+
+import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - Cliente")
+class ClienteTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ClienteTest.class);
+
+    private static final int FILAS = 200_000;
+
+    @Test
+    @DisplayName("El constructor valida el correo con el patrón precompilado")
+    void constructor_CorreoInvalido_LanzaExcepcion() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                Cliente.crear(TipoIdentificacion.CEDULA_CIUDADANIA, "12345678", "Juan Carlos",
+                        "Pérez García", "correo-invalido", LocalDate.of(1990, 5, 15))
+        );
+
+        assertEquals("El formato del correo electrónico no es válido", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("El correo válido se normaliza a minúsculas")
+    void constructor_CorreoValido_SeNormaliza() {
+        Cliente cliente = Cliente.crear(TipoIdentificacion.CEDULA_CIUDADANIA, "12345678", "Juan Carlos",
+                "Pérez García", "Juan.Perez@Email.com", LocalDate.of(1990, 5, 15));
+
+        assertEquals("juan.perez@email.com", cliente.getCorreoElectronico());
+    }
+
+    @Test
+    @DisplayName("La rehidratación conserva los datos persistidos sin revalidarlos")
+    void rehidratar_DatosPersistidos_NoRevalida() {
+        // Un cliente registrado con reglas anteriores (p. ej. correo hoy no admitido) debe poder leerse
+        LocalDateTime creacion = LocalDateTime.of(2020, 1, 1, 10, 0);
+        Cliente cliente = Cliente.rehidratar(1L, TipoIdentificacion.CEDULA_CIUDADANIA, "12345678",
+                "Juan Carlos", "Pérez García", "juan+banco@email", LocalDate.of(1990, 5, 15), creacion, null);
+
+        assertEquals(1L, cliente.getId());
+        assertEquals("juan+banco@email", cliente.getCorreoElectronico());
+        assertEquals(creacion, cliente.getFechaCreacion());
+    }
+
+    // ========== TESTS BENCHMARK ==========
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Filas por segundo al mapear clientes leídos: rehidratar frente al constructor validado")
+    void benchmark_MapeoDeFilas_RehidratarSinValidar() {
+        LocalDate nacimiento = LocalDate.of(1990, 5, 15);
+        LocalDateTime creacion = LocalDateTime.of(2020, 1, 1, 10, 0);
+        LongFunction<Cliente> validado = id -> Cliente.crear(id, TipoIdentificacion.CEDULA_CIUDADANIA,
+                "1000" + id, "Juan Carlos", "Pérez García", "cliente" + id + "@email.com", nacimiento, creacion, null);
+        LongFunction<Cliente> rehidratado = id -> Cliente.rehidratar(id, TipoIdentificacion.CEDULA_CIUDADANIA,
+                "1000" + id, "Juan Carlos", "Pérez García", "cliente" + id + "@email.com", nacimiento, creacion, null);
+
+        // Calentamiento
+        mapear(validado);
+        mapear(rehidratado);
+
+        long inicio = System.nanoTime();
+        long caracteresValidado = mapear(validado);
+        long nanosValidado = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        long caracteresRehidratado = mapear(rehidratado);
+        long nanosRehidratado = System.nanoTime() - inicio;
+
+        log.info("Mapeo de {} clientes: {} filas/s con validación, {} filas/s rehidratando",
+                FILAS, FILAS * 1_000_000_000L / nanosValidado, FILAS * 1_000_000_000L / nanosRehidratado);
+
+        assertEquals(caracteresValidado, caracteresRehidratado);
+    }
+
+    private static long mapear(LongFunction<Cliente> mapeo) {
+        long total = 0;
+        for (long id = 1; id <= FILAS; id++) {
+            total += mapeo.apply(id).getCorreoElectronico().length();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,132 @@
+package com.empresa.banking.domain.entities;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - Money")
+class MoneyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MoneyTest.class);
+
+    private static final int MOVIMIENTOS = 1_000_000;
+    private static final BigDecimal TARIFA_GMF = new BigDecimal("0.004");
+
+    @Test
+    @DisplayName("La conversión a BigDecimal usa siempre dos decimales")
+    void toBigDecimal_UsaEscalaDeDos() {
+        assertEquals(new BigDecimal("1000.00"), Money.of(BigDecimal.valueOf(1000)).toBigDecimal());
+        assertEquals(new BigDecimal("100.50"), Money.of(new BigDecimal("100.5")).toBigDecimal());
+        assertEquals(new BigDecimal("0.05"), Money.deCentavos(5).toBigDecimal());
+        assertEquals(new BigDecimal("-12.34"), Money.deCentavos(-1234).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Los valores con más de dos decimales se redondean HALF_UP")
+    void of_FraccionDeCentavo_RedondeaHalfUp() {
+        assertEquals(1001L, Money.of(new BigDecimal("10.005")).getCentavos());
+        assertEquals(1000L, Money.of(new BigDecimal("10.004")).getCentavos());
+        assertNull(Money.of(null));
+    }
+
+    @Test
+    @DisplayName("Aritmética en centavos")
+    void plusMinus_OperanEnCentavos() {
+        Money saldo = Money.of(new BigDecimal("1500.75"));
+
+        assertEquals(Money.deCentavos(160075), saldo.plus(Money.of(BigDecimal.valueOf(100))));
+        assertEquals(Money.deCentavos(140075), saldo.minus(Money.of(BigDecimal.valueOf(100))));
+        assertTrue(saldo.esMayorOIgualQue(Money.deCentavos(150075)));
+        assertTrue(saldo.minus(saldo).esCero());
+        assertTrue(saldo.negate().esNegativo());
+    }
+
+    @Test
+    @DisplayName("El desbordamiento se rechaza")
+    void plus_Desbordamiento_LanzaExcepcion() {
+        Money maximo = Money.deCentavos(Long.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> maximo.plus(Money.deCentavos(1)));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1E+30")));
+    }
+
+    @Test
+    @DisplayName("Una transferencia gravada deja el mismo saldo con Money que con BigDecimal")
+    void transferenciaGravada_MismoSaldoQueBigDecimal() {
+        // Act & Assert: mil montos distintos recorren todos los redondeos del GMF
+        assertEquals(transferenciasBigDecimal(1000), transferenciasMoney(1000).toBigDecimal());
+    }
+
+    // ========== TESTS BENCHMARK ==========
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Aritmética de una transferencia gravada: Money asigna menos memoria que BigDecimal")
+    void benchmark_TransferenciaGravada_MoneyAsignaMenos() {
+        // Calentamiento para medir código compilado
+        transferenciasBigDecimal(MOVIMIENTOS);
+        transferenciasMoney(MOVIMIENTOS);
+
+        com.sun.management.ThreadMXBean hilo = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long bytes = hilo.getCurrentThreadAllocatedBytes();
+        long inicio = System.nanoTime();
+        BigDecimal saldoBigDecimal = transferenciasBigDecimal(MOVIMIENTOS);
+        long nanosBigDecimal = System.nanoTime() - inicio;
+        long bytesBigDecimal = hilo.getCurrentThreadAllocatedBytes() - bytes;
+
+        bytes = hilo.getCurrentThreadAllocatedBytes();
+        inicio = System.nanoTime();
+        Money saldoMoney = transferenciasMoney(MOVIMIENTOS);
+        long nanosMoney = System.nanoTime() - inicio;
+        long bytesMoney = hilo.getCurrentThreadAllocatedBytes() - bytes;
+
+        log.info("Transferencia gravada con BigDecimal: {} movimientos/s, {} bytes por movimiento; " +
+                        "con Money: {} movimientos/s, {} bytes por movimiento",
+                MOVIMIENTOS * 1_000_000_000L / nanosBigDecimal, bytesBigDecimal / MOVIMIENTOS,
+                MOVIMIENTOS * 1_000_000_000L / nanosMoney, bytesMoney / MOVIMIENTOS);
+
+        assertEquals(saldoBigDecimal, saldoMoney.toBigDecimal());
+        assertTrue(bytesMoney < bytesBigDecimal);
+    }
+
+    /**
+     * Validación de fondos, GMF de 4x1000, débito del origen y crédito del destino, como antes de Money
+     */
+    private static BigDecimal transferenciasBigDecimal(int movimientos) {
+        BigDecimal origen = new BigDecimal("1000000000.00");
+        BigDecimal destino = BigDecimal.ZERO.setScale(2);
+        for (int i = 0; i < movimientos; i++) {
+            BigDecimal monto = BigDecimal.valueOf(10_000 + i % 1000, 2);
+            BigDecimal gmf = monto.multiply(TARIFA_GMF).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal total = monto.add(gmf);
+            if (origen.compareTo(total) >= 0) {
+                origen = origen.subtract(total);
+                destino = destino.add(monto);
+            }
+        }
+        return origen.add(destino);
+    }
+
+    private static Money transferenciasMoney(int movimientos) {
+        Money origen = Money.of(new BigDecimal("1000000000.00"));
+        Money destino = Money.CERO;
+        for (int i = 0; i < movimientos; i++) {
+            Money monto = Money.deCentavos(10_000 + i % 1000);
+            Money gmf = Money.deCentavos((monto.getCentavos() * 4 + 500) / 1000);
+            Money total = monto.plus(gmf);
+            if (origen.esMayorOIgualQue(total)) {
+                origen = origen.minus(total);
+                destino = destino.plus(monto);
+            }
+        }
+        return origen.plus(destino);
+    }
+}
@@ -0,0 +1,79 @@
+package com.empresa.banking.domain.exceptions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - OperacionRechazadaException")
+class OperacionRechazadaExceptionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OperacionRechazadaExceptionTest.class);
+
+    private static final int RECHAZOS = 200_000;
+    // Profundidad aproximada de la pila de una petición MVC hasta el servicio
+    private static final int PROFUNDIDAD = 100;
+
+    @Test
+    @DisplayName("El rechazo no captura la traza de pila y conserva el mensaje")
+    void constructor_SinTrazaDePila() {
+        OperacionRechazadaException rechazo = new OperacionRechazadaException("Fondos insuficientes");
+
+        assertEquals(0, rechazo.getStackTrace().length);
+        assertEquals("Fondos insuficientes", rechazo.getMessage());
+        assertInstanceOf(IllegalStateException.class, rechazo);
+    }
+
+    // ========== TESTS BENCHMARK ==========
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Rechazos por segundo con la pila de una petición: sin traza frente a IllegalStateException")
+    void benchmark_TormentaDeRechazos_SinTrazaMasRapido() {
+        Function<String, RuntimeException> conTraza = IllegalStateException::new;
+        Function<String, RuntimeException> sinTraza = OperacionRechazadaException::new;
+
+        // Calentamiento
+        rechazar(conTraza, RECHAZOS / 10);
+        rechazar(sinTraza, RECHAZOS / 10);
+
+        long inicio = System.nanoTime();
+        int rechazosConTraza = rechazar(conTraza, RECHAZOS);
+        long nanosConTraza = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        int rechazosSinTraza = rechazar(sinTraza, RECHAZOS);
+        long nanosSinTraza = System.nanoTime() - inicio;
+
+        log.info("Rechazos a {} marcos de profundidad: {} por segundo con IllegalStateException, " +
+                        "{} por segundo con OperacionRechazadaException",
+                PROFUNDIDAD, RECHAZOS * 1_000_000_000L / nanosConTraza, RECHAZOS * 1_000_000_000L / nanosSinTraza);
+
+        assertEquals(RECHAZOS, rechazosConTraza);
+        assertEquals(RECHAZOS, rechazosSinTraza);
+        assertTrue(nanosSinTraza < nanosConTraza);
+    }
+
+    private static int rechazar(Function<String, RuntimeException> rechazo, int veces) {
+        int capturados = 0;
+        for (int i = 0; i < veces; i++) {
+            try {
+                lanzar(rechazo, PROFUNDIDAD);
+            } catch (IllegalStateException e) {
+                capturados++;
+            }
+        }
+        return capturados;
+    }
+
+    private static void lanzar(Function<String, RuntimeException> rechazo, int profundidad) {
+        if (profundidad == 0) {
+            throw rechazo.apply("No se puede realizar el retiro. Fondos insuficientes o cuenta inactiva");
+        }
+        lanzar(rechazo, profundidad - 1);
+    }
+}
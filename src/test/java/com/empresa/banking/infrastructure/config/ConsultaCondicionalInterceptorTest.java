@@ -0,0 +1,176 @@
+package com.empresa.banking.infrastructure.config;
+
+import com.empresa.banking.app.interfaces.IVersionesService;
+import com.empresa.banking.domain.entities.VersionRecurso;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - ConsultaCondicionalInterceptor")
+class ConsultaCondicionalInterceptorTest {
+
+    @Mock
+    private IVersionesService versionesService;
+
+    private ConsultaCondicionalInterceptor interceptor;
+
+    private final VersionRecurso version = new VersionRecurso("v1", LocalDateTime.of(2025, 1, 15, 10, 30));
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConsultaCondicionalInterceptor(versionesService, 86400);
+    }
+
+    // Controlador de prueba con un método marcado por recurso
+    static class Controlador {
+        @ConsultaCondicional(ConsultaCondicional.Recurso.PRODUCTO)
+        public void producto() {
+        }
+
+        @ConsultaCondicional(ConsultaCondicional.Recurso.TRANSACCION)
+        public void transaccion() {
+        }
+    }
+
+    private HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(new Controlador(), Controlador.class.getMethod(metodo));
+    }
+
+    private MockHttpServletRequest get(String id) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recurso/" + id);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        return request;
+    }
+
+    // ========== TESTS ETAG ==========
+
+    @Test
+    @DisplayName("Sin If-None-Match la solicitud continúa con ETag, Last-Modified y revalidación obligatoria")
+    void preHandle_SinCondicion_ContinuaConEncabezados() throws Exception {
+        // Arrange
+        when(versionesService.producto(1L)).thenReturn(Optional.of(version));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean continua = interceptor.preHandle(get("1"), response, handler("producto"));
+
+        // Assert
+        assertTrue(continua);
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+        assertEquals("no-cache, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    @DisplayName("El ETag es débil y la respuesta varía según Accept, para compartirlo entre formatos y gzip")
+    void preHandle_EtagDebil_VariaPorAccept() throws Exception {
+        // Arrange
+        when(versionesService.producto(1L)).thenReturn(Optional.of(version));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(get("1"), response, handler("producto"));
+
+        // Assert
+        assertTrue(response.getHeader(HttpHeaders.ETAG).startsWith("W/\""));
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    @DisplayName("Con el ETag vigente se responde 304 sin invocar el controlador")
+    void preHandle_EtagVigente_Responde304() throws Exception {
+        // Arrange
+        when(versionesService.producto(1L)).thenReturn(Optional.of(version));
+        MockHttpServletResponse primera = new MockHttpServletResponse();
+        interceptor.preHandle(get("1"), primera, handler("producto"));
+        MockHttpServletRequest condicional = get("1");
+        condicional.addHeader(HttpHeaders.IF_NONE_MATCH, primera.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean continua = interceptor.preHandle(condicional, response, handler("producto"));
+
+        // Assert
+        assertFalse(continua);
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Si la versión cambió, el ETag anterior ya no coincide")
+    void preHandle_VersionDistinta_Continua() throws Exception {
+        // Arrange
+        when(versionesService.producto(1L)).thenReturn(Optional.of(version),
+                Optional.of(new VersionRecurso("v2", LocalDateTime.of(2025, 1, 15, 10, 31))));
+        MockHttpServletResponse primera = new MockHttpServletResponse();
+        interceptor.preHandle(get("1"), primera, handler("producto"));
+        MockHttpServletRequest condicional = get("1");
+        condicional.addHeader(HttpHeaders.IF_NONE_MATCH, primera.getHeader(HttpHeaders.ETAG));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean continua = interceptor.preHandle(condicional, response, handler("producto"));
+
+        // Assert
+        assertTrue(continua);
+        assertNotEquals(primera.getHeader(HttpHeaders.ETAG), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Los parámetros de la consulta forman parte del ETag")
+    void etiqueta_ParametrosDistintos_EtagDistinto() {
+        MockHttpServletRequest conParametros = get("1");
+        conParametros.setQueryString("movimientos=5");
+
+        assertNotEquals(
+                ConsultaCondicionalInterceptor.etiqueta(ConsultaCondicional.Recurso.RESUMEN_CLIENTE, 1L, version, get("1")),
+                ConsultaCondicionalInterceptor.etiqueta(ConsultaCondicional.Recurso.RESUMEN_CLIENTE, 1L, version, conParametros));
+    }
+
+    // ========== TESTS CACHE-CONTROL ==========
+
+    @Test
+    @DisplayName("Las transacciones se marcan como inmutables con vigencia larga")
+    void preHandle_Transaccion_CacheInmutable() throws Exception {
+        // Arrange
+        when(versionesService.transaccion(7L)).thenReturn(Optional.of(new VersionRecurso("7", version.getUltimaModificacion())));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(get("7"), response, handler("transaccion"));
+
+        // Assert
+        assertEquals("max-age=86400, private, immutable", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    @DisplayName("Un recurso inexistente llega al controlador sin encabezados de caché")
+    void preHandle_RecursoInexistente_Continua() throws Exception {
+        // Arrange
+        when(versionesService.producto(99L)).thenReturn(Optional.empty());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean continua = interceptor.preHandle(get("99"), response, handler("producto"));
+
+        // Assert
+        assertTrue(continua);
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+}
@@ -0,0 +1,133 @@
+package com.empresa.banking.infrastructure.config;
+
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Transaccion;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - FormatosRespuestaConfig")
+class FormatosRespuestaConfigTest {
+
+    private static final Logger log = LoggerFactory.getLogger(FormatosRespuestaConfigTest.class);
+
+    private static final int TRANSACCIONES = 10_000;
+    private static final int REPETICIONES = 5;
+
+    private static final FormatosRespuestaConfig config = new FormatosRespuestaConfig();
+    private static List<Transaccion> transacciones;
+
+    @BeforeAll
+    static void setUp() {
+        transacciones = new ArrayList<>(TRANSACCIONES);
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 1, 8, 0);
+        for (int i = 1; i <= TRANSACCIONES; i++) {
+            TipoTransaccion tipo = TipoTransaccion.values()[i % TipoTransaccion.values().length];
+            long saldo = 1_000_000L + i * 137L;
+            transacciones.add(Transaccion.rehidratar((long) i, tipo, Money.of(new BigDecimal(i % 500 + ".50")),
+                    "Movimiento de prueba " + tipo, fecha.plusMinutes(i), 1L + i % 20,
+                    tipo == TipoTransaccion.TRANSFERENCIA ? 21L + i % 20 : null,
+                    Money.of(BigDecimal.valueOf(saldo, 2)), Money.of(BigDecimal.valueOf(saldo + 5000, 2))));
+        }
+    }
+
+    private static ObjectMapper json() {
+        return new Jackson2ObjectMapperBuilder().build();
+    }
+
+    private static ObjectMapper cbor() {
+        return config.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+    }
+
+    private static ObjectMapper smile() {
+        return config.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+    }
+
+    private static byte[] gzip(byte[] datos) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        }
+        return salida.toByteArray();
+    }
+
+    /**
+     * Bytes en la red (sin y con gzip) y CPU de serialización por cada 10k transacciones, después de calentar
+     */
+    private static long[] medir(String formato, ObjectMapper mapper) throws IOException {
+        ThreadMXBean hilos = ManagementFactory.getThreadMXBean();
+        byte[] datos = mapper.writeValueAsBytes(transacciones);
+        long cpu = 0;
+        for (int i = 0; i < REPETICIONES; i++) {
+            long inicio = hilos.getCurrentThreadCpuTime();
+            datos = mapper.writeValueAsBytes(transacciones);
+            cpu += hilos.getCurrentThreadCpuTime() - inicio;
+        }
+        long inicioGzip = hilos.getCurrentThreadCpuTime();
+        byte[] comprimido = gzip(datos);
+        long cpuGzip = hilos.getCurrentThreadCpuTime() - inicioGzip;
+
+        log.info("{} por {} transacciones: {} bytes ({} con gzip), serialización {} ms de CPU (+{} ms gzip)",
+                formato, TRANSACCIONES, datos.length, comprimido.length,
+                cpu / REPETICIONES / 1_000_000, cpuGzip / 1_000_000);
+        return new long[]{datos.length, comprimido.length};
+    }
+
+    // ========== TESTS FORMATOS ==========
+
+    @Test
+    @DisplayName("CBOR y Smile representan las mismas transacciones que JSON")
+    void formatosBinarios_MismoContenidoQueJson() throws IOException {
+        // Act
+        JsonNode desdeJson = json().readTree(json().writeValueAsBytes(transacciones));
+        JsonNode desdeCbor = cbor().readTree(cbor().writeValueAsBytes(transacciones));
+        JsonNode desdeSmile = smile().readTree(smile().writeValueAsBytes(transacciones));
+
+        // Assert
+        assertEquals(TRANSACCIONES, desdeCbor.size());
+        assertEquals(TRANSACCIONES, desdeSmile.size());
+        for (JsonNode nodo : List.of(desdeCbor.get(7), desdeSmile.get(7))) {
+            assertEquals(desdeJson.get(7).get("id").asLong(), nodo.get("id").asLong());
+            assertEquals(desdeJson.get(7).get("descripcion").asText(), nodo.get("descripcion").asText());
+            assertEquals(desdeJson.get(7).get("fechaTransaccion").asText(), nodo.get("fechaTransaccion").asText());
+            assertEquals(0, desdeJson.get(7).get("saldoActual").decimalValue()
+                    .compareTo(nodo.get("saldoActual").decimalValue()));
+        }
+    }
+
+    // ========== TESTS BENCHMARK ==========
+
+    @Test
+    @DisplayName("Bytes y CPU por 10k transacciones: los formatos binarios y gzip reducen lo enviado")
+    void benchmark_10kTransacciones_BinariosYGzipMasPequenos() throws IOException {
+        // Act
+        long[] json = medir("JSON", json());
+        long[] cbor = medir("CBOR", cbor());
+        long[] smile = medir("Smile", smile());
+
+        // Assert
+        assertTrue(cbor[0] < json[0]);
+        assertTrue(smile[0] < json[0]);
+        for (long[] formato : List.of(json, cbor, smile)) {
+            assertTrue(formato[1] < formato[0]);
+        }
+    }
+}
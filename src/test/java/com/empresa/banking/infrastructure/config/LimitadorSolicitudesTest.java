@@ -0,0 +1,125 @@
+package com.empresa.banking.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - LimitadorSolicitudes")
+class LimitadorSolicitudesTest {
+
+    private static final String OPERACION = "TransaccionController.obtenerTodasLasTransacciones";
+    private static final String OTRA = "ProductoController.obtenerProducto";
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private LimitadorSolicitudes limitador;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("banking.limite-solicitudes.operaciones." + OPERACION + ".capacidad", "2")
+                .withProperty("banking.limite-solicitudes.operaciones." + OPERACION + ".por-segundo", "1");
+        limitador = new LimitadorSolicitudes(environment, 3, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Se admite una ráfaga hasta la capacidad y luego se rechaza con tiempo de espera")
+    void intentar_SuperaCapacidad_Rechaza() {
+        // Act
+        LimitadorSolicitudes.Decision primera = limitador.intentar("a", OTRA, 0);
+        limitador.intentar("a", OTRA, 0);
+        LimitadorSolicitudes.Decision tercera = limitador.intentar("a", OTRA, 0);
+        LimitadorSolicitudes.Decision cuarta = limitador.intentar("a", OTRA, 0);
+
+        // Assert
+        assertTrue(primera.admitida());
+        assertEquals(3, primera.limite());
+        assertEquals(2, primera.restantes());
+        assertTrue(tercera.admitida());
+        assertEquals(0, tercera.restantes());
+        assertFalse(cuarta.admitida());
+        assertEquals(SEGUNDO, cuarta.esperaNanos());
+        assertEquals(1, cuarta.esperaSegundos());
+    }
+
+    @Test
+    @DisplayName("Los tokens se recargan con el tiempo")
+    void intentar_TrasRecarga_Admite() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limitador.intentar("a", OTRA, 0);
+        }
+
+        // Act & Assert
+        assertFalse(limitador.intentar("a", OTRA, SEGUNDO / 2).admitida());
+        assertTrue(limitador.intentar("a", OTRA, SEGUNDO).admitida());
+    }
+
+    @Test
+    @DisplayName("Cada cliente y operación tiene su propia cubeta, y la tasa se configura con la misma clave")
+    void intentar_ClientesYMetodos_CubetasIndependientes() {
+        // Arrange
+        limitador.intentar("a", OPERACION, 0);
+        limitador.intentar("a", OPERACION, 0);
+
+        // Act & Assert
+        assertFalse(limitador.intentar("a", OPERACION, 0).admitida());
+        assertTrue(limitador.intentar("b", OPERACION, 0).admitida());
+        assertEquals(1L, limitador.metricas().get(OPERACION).get("rechazadas"));
+        assertEquals(3L, limitador.metricas().get(OPERACION).get("admitidas"));
+    }
+
+    @Test
+    @DisplayName("Con el tope de claves alcanzado los clientes nuevos se rechazan como desborde sin tocar cubetas ajenas")
+    void intentar_TopeDeClaves_RechazaComoDesborde() {
+        // Arrange: el tope es de 2 claves
+        limitador.intentar("a", OTRA, 0);
+        limitador.intentar("b", OTRA, 0);
+
+        // Act
+        LimitadorSolicitudes.Decision nuevo = limitador.intentar("c", OTRA, 0);
+        for (int i = 0; i < 10; i++) {
+            limitador.intentar("d", OTRA, 0);
+        }
+
+        // Assert
+        assertFalse(nuevo.admitida());
+        assertTrue(nuevo.desborde());
+        assertEquals(3 * SEGUNDO, nuevo.esperaNanos());
+        assertEquals(2, limitador.clavesActivas());
+        assertEquals(11L, limitador.metricas().get(OTRA).get("desbordadas"));
+        assertEquals(0L, limitador.metricas().get(OTRA).get("rechazadas"));
+        // Los clientes con cubeta conservan su cupo
+        assertTrue(limitador.intentar("a", OTRA, 0).admitida());
+        assertTrue(limitador.intentar("b", OTRA, 0).admitida());
+    }
+
+    @Test
+    @DisplayName("La purga elimina solo las cubetas llenas y deja espacio a los clientes nuevos")
+    void purgar_CubetasLlenas_LiberaClaves() {
+        // Arrange
+        limitador.intentar("a", OTRA, 0);
+        limitador.intentar("b", OTRA, 0);
+        limitador.intentar("b", OTRA, 0);
+        assertFalse(limitador.intentar("c", OTRA, 0).admitida());
+        assertEquals(2, limitador.clavesActivas());
+
+        // Act: en un segundo solo la cubeta de a vuelve a estar llena
+        limitador.purgar(SEGUNDO);
+
+        // Assert
+        assertEquals(1, limitador.clavesActivas());
+        assertTrue(limitador.intentar("c", OTRA, SEGUNDO).admitida());
+        assertEquals(2, limitador.clavesActivas());
+
+        // Act
+        limitador.purgar(3 * SEGUNDO);
+
+        // Assert
+        assertEquals(0, limitador.clavesActivas());
+    }
+}
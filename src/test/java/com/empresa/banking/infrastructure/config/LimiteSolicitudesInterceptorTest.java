@@ -0,0 +1,118 @@
+package com.empresa.banking.infrastructure.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - LimiteSolicitudesInterceptor")
+class LimiteSolicitudesInterceptorTest {
+
+    private LimitadorSolicitudes limitador;
+    private LimiteSolicitudesInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("banking.limite-solicitudes.operaciones.Controlador.listar.capacidad", "1");
+        limitador = new LimitadorSolicitudes(environment, 2, 1, 3);
+        interceptor = new LimiteSolicitudesInterceptor(limitador, Set.of("clave-valida"));
+    }
+
+    // Controlador de prueba
+    static class Controlador {
+        public void listar() {
+        }
+
+        public void consultar() {
+        }
+    }
+
+    private HandlerMethod handler(String metodo) throws NoSuchMethodException {
+        return new HandlerMethod(new Controlador(), Controlador.class.getMethod(metodo));
+    }
+
+    private MockHttpServletRequest get(String ip, String clave) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/recurso");
+        request.setRemoteAddr(ip);
+        if (clave != null) {
+            request.addHeader(LimiteSolicitudesInterceptor.ENCABEZADO_CLIENTE, clave);
+        }
+        return request;
+    }
+
+    @Test
+    @DisplayName("La tasa configurada para Controlador.metodo se aplica a la cubeta de esa operación")
+    void preHandle_TasaPorOperacion_MismaClave() throws Exception {
+        // Arrange
+        MockHttpServletResponse primera = new MockHttpServletResponse();
+        MockHttpServletResponse segunda = new MockHttpServletResponse();
+
+        // Act
+        interceptor.preHandle(get("10.0.0.1", null), primera, handler("listar"));
+        boolean continua = interceptor.preHandle(get("10.0.0.1", null), segunda, handler("listar"));
+
+        // Assert
+        assertEquals("1", primera.getHeader(LimiteSolicitudesInterceptor.ENCABEZADO_LIMITE));
+        assertFalse(continua);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), segunda.getStatus());
+        assertNotNull(segunda.getHeader("Retry-After"));
+        assertTrue(limitador.metricas().containsKey("Controlador.listar"));
+    }
+
+    @Test
+    @DisplayName("Una X-Api-Key desconocida no crea cubetas: la solicitud se limita por la IP remota")
+    void preHandle_ClaveDesconocida_LimitaPorIp() throws Exception {
+        // Act: claves inventadas desde la misma IP
+        interceptor.preHandle(get("10.0.0.1", "inventada-1"), new MockHttpServletResponse(), handler("listar"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean continua = interceptor.preHandle(get("10.0.0.1", "inventada-2"), response, handler("listar"));
+
+        // Assert
+        assertFalse(continua);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        assertEquals(1, limitador.clavesActivas());
+    }
+
+    @Test
+    @DisplayName("Una X-Api-Key configurada y el usuario autenticado tienen cubeta propia")
+    void preHandle_IdentidadDeConfianza_CubetaPropia() throws Exception {
+        // Arrange
+        interceptor.preHandle(get("10.0.0.1", null), new MockHttpServletResponse(), handler("listar"));
+        MockHttpServletRequest autenticado = get("10.0.0.1", null);
+        autenticado.setUserPrincipal(() -> "ana");
+
+        // Act & Assert
+        assertTrue(interceptor.preHandle(get("10.0.0.1", "clave-valida"), new MockHttpServletResponse(),
+                handler("listar")));
+        assertTrue(interceptor.preHandle(autenticado, new MockHttpServletResponse(), handler("listar")));
+        assertEquals(3, limitador.clavesActivas());
+    }
+
+    @Test
+    @DisplayName("Sin espacio para más cubetas un cliente nuevo recibe 503 y los demás conservan su cupo")
+    void preHandle_Desborde_RespondeNoDisponible() throws Exception {
+        // Arrange: el tope es de 3 claves
+        interceptor.preHandle(get("10.0.0.1", null), new MockHttpServletResponse(), handler("consultar"));
+        interceptor.preHandle(get("10.0.0.2", null), new MockHttpServletResponse(), handler("consultar"));
+        interceptor.preHandle(get("10.0.0.3", null), new MockHttpServletResponse(), handler("consultar"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean continua = interceptor.preHandle(get("10.0.0.4", null), response, handler("consultar"));
+
+        // Assert
+        assertFalse(continua);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertNotNull(response.getHeader("Retry-After"));
+        assertTrue(interceptor.preHandle(get("10.0.0.1", null), new MockHttpServletResponse(), handler("consultar")));
+    }
+}
@@ -37,7 +37,7 @@ class ClienteControllerTest {
 
     @BeforeEach
     void setUp() {
-        clienteEjemplo = new Cliente(
+        clienteEjemplo = Cliente.crear(
                 1L,
                 TipoIdentificacion.CEDULA_CIUDADANIA,
                 "12345678",
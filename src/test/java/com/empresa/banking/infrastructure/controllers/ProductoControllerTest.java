@@ -4,7 +4,9 @@ import com.empresa.banking.domain.entities.*;
 import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoCuenta;
 import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.app.interfaces.IVersionesService;
 import com.empresa.banking.app.services.ProductoService;
+import com.empresa.banking.infrastructure.config.LimitadorSolicitudes;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -30,6 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(MockitoExtension.class)
 @WebMvcTest(ProductoController.class)
+@Import(LimitadorSolicitudes.class)
 @DisplayName("Tests Unitarios - ProductoController")
 class ProductoControllerTest {
 
@@ -39,6 +43,10 @@ class ProductoControllerTest {
     @MockBean
     private ProductoService productoService;
 
+    // Sin versión el interceptor de GET condicional deja pasar todas las solicitudes al controlador
+    @MockBean
+    private IVersionesService versionesService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
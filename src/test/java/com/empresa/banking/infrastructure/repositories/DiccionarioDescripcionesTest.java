@@ -0,0 +1,119 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import com.empresa.banking.infrastructure.entities.DescripcionTransaccionEntity;
+import com.empresa.banking.infrastructure.repositories.SpringDataJpa.JpaDescripcionTransaccionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests Unitarios - DiccionarioDescripciones")
+class DiccionarioDescripcionesTest {
+
+    @Mock
+    private JpaDescripcionTransaccionRepository jpaRepository;
+
+    @InjectMocks
+    private DiccionarioDescripciones diccionario;
+
+    private static List<DescripcionTransaccionEntity> registradas(List<String> textos) {
+        List<DescripcionTransaccionEntity> entidades = new ArrayList<>();
+        for (int i = 0; i < textos.size(); i++) {
+            DescripcionTransaccionEntity entidad = new DescripcionTransaccionEntity(textos.get(i));
+            entidad.setId((short) (i + 1));
+            entidades.add(entidad);
+        }
+        return entidades;
+    }
+
+    private void conPredeterminadas() {
+        when(jpaRepository.findAll()).thenReturn(registradas(DiccionarioDescripciones.PREDETERMINADAS));
+        diccionario.cargar();
+    }
+
+    // ========== TESTS CODIFICACIÓN ==========
+
+    @Test
+    @DisplayName("Una descripción por defecto se guarda solo como código")
+    void codificar_DescripcionPredeterminada_SoloCodigo() {
+        conPredeterminadas();
+
+        DiccionarioDescripciones.Codificada codificada = diccionario.codificar("Retiro");
+
+        assertNotNull(codificada.codigo());
+        assertNull(codificada.sufijo());
+        assertEquals("Retiro", diccionario.decodificar(codificada.codigo(), codificada.sufijo()));
+    }
+
+    @Test
+    @DisplayName("Se usa el prefijo registrado más largo y el resto queda como sufijo")
+    void codificar_PrefijoRegistrado_CodigoYSufijo() {
+        conPredeterminadas();
+
+        DiccionarioDescripciones.Codificada codificada = diccionario.codificar("Transferencia recibida: arriendo");
+
+        assertEquals("arriendo", codificada.sufijo());
+        assertEquals("Transferencia recibida: arriendo",
+                diccionario.decodificar(codificada.codigo(), codificada.sufijo()));
+    }
+
+    @Test
+    @DisplayName("Una descripción libre o nula queda sin código")
+    void codificar_TextoLibre_SinCodigo() {
+        conPredeterminadas();
+
+        assertEquals(new DiccionarioDescripciones.Codificada(null, "Pago arriendo"), diccionario.codificar("Pago arriendo"));
+        assertEquals(new DiccionarioDescripciones.Codificada(null, null), diccionario.codificar(null));
+        // Las filas anteriores al diccionario no tienen código y se leen completas
+        assertEquals("Consignación", diccionario.decodificar(null, "Consignación"));
+    }
+
+    // ========== TESTS CARGA ==========
+
+    @Test
+    @DisplayName("Al cargar se registran solo las descripciones por defecto que faltan")
+    @SuppressWarnings("unchecked")
+    void cargar_FaltanPredeterminadas_LasRegistra() {
+        // Arrange
+        List<String> todas = DiccionarioDescripciones.PREDETERMINADAS;
+        when(jpaRepository.findAll()).thenReturn(registradas(todas.subList(0, 2)), registradas(todas));
+
+        // Act
+        diccionario.cargar();
+
+        // Assert
+        ArgumentCaptor<List<DescripcionTransaccionEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jpaRepository).saveAll(captor.capture());
+        assertEquals(todas.size() - 2, captor.getValue().size());
+        assertNotNull(diccionario.codificar("Causación de intereses").codigo());
+    }
+
+    @Test
+    @DisplayName("Un código registrado después de la carga se resuelve releyendo el diccionario")
+    void decodificar_CodigoNuevo_Recarga() {
+        // Arrange
+        List<String> ampliadas = new ArrayList<>(DiccionarioDescripciones.PREDETERMINADAS);
+        ampliadas.add("Pago PSE");
+        when(jpaRepository.findAll()).thenReturn(registradas(DiccionarioDescripciones.PREDETERMINADAS), registradas(ampliadas));
+        diccionario.cargar();
+
+        // Act
+        String texto = diccionario.decodificar((short) ampliadas.size(), " 123");
+
+        // Assert
+        assertEquals("Pago PSE 123", texto);
+        verify(jpaRepository, times(2)).findAll();
+        verify(jpaRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,74 @@
+package com.empresa.banking.infrastructure.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - IndiceNumeroCuenta")
+class IndiceNumeroCuentaTest {
+
+    private IndiceNumeroCuenta indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceNumeroCuenta();
+    }
+
+    @Test
+    @DisplayName("Registrar y buscar un número de cuenta")
+    void buscar_NumeroRegistrado_RetornaId() {
+        // Arrange
+        indice.registrar("5312345678", 7L);
+
+        // Act & Assert
+        assertEquals(7L, indice.buscar("5312345678"));
+        assertTrue(indice.contiene("5312345678"));
+        assertFalse(indice.contiene("3312345678"));
+    }
+
+    @Test
+    @DisplayName("Números con formato inválido no se encuentran")
+    void buscar_FormatoInvalido_RetornaNoEncontrado() {
+        assertEquals(IndiceNumeroCuenta.NO_ENCONTRADO, indice.buscar(null));
+        assertEquals(IndiceNumeroCuenta.NO_ENCONTRADO, indice.buscar("53123"));
+        assertEquals(IndiceNumeroCuenta.NO_ENCONTRADO, indice.buscar("53123456AB"));
+    }
+
+    @Test
+    @DisplayName("El índice crece y conserva todas las entradas")
+    void registrar_MuchasCuentas_ConservaEntradas() {
+        // Arrange
+        for (int i = 0; i < 10_000; i++) {
+            indice.registrar(String.format("53%08d", i), i + 1L);
+        }
+
+        // Act & Assert
+        assertEquals(10_000, indice.tamano());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i + 1L, indice.buscar(String.format("53%08d", i)));
+        }
+    }
+
+    @Test
+    @DisplayName("Eliminar no rompe las cadenas de sondeo de otras cuentas")
+    void eliminar_CuentaIntermedia_ConservaLasDemas() {
+        // Arrange
+        for (int i = 0; i < 2_000; i++) {
+            indice.registrar(String.format("33%08d", i), i + 1L);
+        }
+
+        // Act
+        for (int i = 0; i < 2_000; i += 2) {
+            indice.eliminar(String.format("33%08d", i));
+        }
+
+        // Assert
+        assertEquals(1_000, indice.tamano());
+        for (int i = 0; i < 2_000; i++) {
+            long esperado = i % 2 == 0 ? IndiceNumeroCuenta.NO_ENCONTRADO : i + 1L;
+            assertEquals(esperado, indice.buscar(String.format("33%08d", i)));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.AcumuladoGmf;
+import com.empresa.banking.domain.entities.Cliente;
+import com.empresa.banking.domain.entities.Enums.EstadoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoCuenta;
+import com.empresa.banking.domain.entities.Enums.TipoIdentificacion;
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Money;
+import com.empresa.banking.domain.entities.Producto;
+import com.empresa.banking.domain.entities.Transaccion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - AlmacenMemoria")
+class AlmacenMemoriaTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AlmacenMemoriaTest.class);
+
+    private static final int CUENTAS = 10_000;
+    private static final int MOVIMIENTOS = 100_000;
+
+    @TempDir
+    Path directorio;
+
+    private AlmacenMemoria almacen;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        almacen = abrir();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        almacen.cerrar();
+    }
+
+    @Test
+    @DisplayName("Los datos se recuperan reproduciendo el diario")
+    void recuperar_SinSnapshot_ReproduceDiario() throws IOException {
+        // Arrange
+        Cliente cliente = almacen.guardarCliente(nuevoCliente("12345678"));
+        Producto cuenta = almacen.guardarProducto(nuevaCuenta("5312345678", cliente.getId()));
+        almacen.guardarTransaccion(Transaccion.crear(TipoTransaccion.CONSIGNACION, BigDecimal.valueOf(100),
+                cuenta.getId(), null, "Consignación inicial"));
+        almacen.ajustarSaldos(Map.of(cuenta.getId(), BigDecimal.valueOf(100)));
+
+        // Act: se simula una caída sin snapshot de cierre
+        AlmacenMemoria recuperado = abrir();
+
+        // Assert
+        assertEquals(1, recuperado.clientes().size());
+        assertTrue(recuperado.buscarProductoPorNumeroCuenta("5312345678").isPresent());
+        assertEquals(0, BigDecimal.valueOf(100).compareTo(recuperado.buscarProducto(cuenta.getId()).get().getSaldo()));
+        assertEquals(1, recuperado.transaccionesDeCuenta(cuenta.getId()).size());
+        assertEquals(cliente.getId() + 1, recuperado.guardarCliente(nuevoCliente("87654321")).getId());
+        recuperado.cerrar();
+    }
+
+    @Test
+    @DisplayName("El snapshot rota el diario y conserva las escrituras posteriores")
+    void tomarSnapshot_ConEscriturasPosteriores_RecuperaTodo() throws IOException {
+        // Arrange
+        Cliente cliente = almacen.guardarCliente(nuevoCliente("12345678"));
+        almacen.tomarSnapshot();
+        Cliente posterior = almacen.guardarCliente(nuevoCliente("87654321"));
+        almacen.borrarCliente(cliente.getId());
+
+        // Act
+        AlmacenMemoria recuperado = abrir();
+
+        // Assert
+        assertTrue(Files.exists(directorio.resolve("snapshot.json")));
+        assertEquals(1, recuperado.clientes().size());
+        assertEquals(posterior.getId(), recuperado.clientes().get(0).getId());
+        assertTrue(recuperado.buscarClientePorIdentificacion("12345678").isEmpty());
+        recuperado.cerrar();
+    }
+
+    @Test
+    @DisplayName("Los acumulados de GMF se recuperan desde el snapshot y el diario")
+    void recuperar_AcumuladosGmf_SumaSnapshotYDiario() throws IOException {
+        // Arrange
+        YearMonth periodo = YearMonth.of(2025, 1);
+        almacen.acumularGmf(7L, periodo, Money.of(BigDecimal.valueOf(1000)), Money.CERO, Money.CERO);
+        almacen.tomarSnapshot();
+        almacen.acumularGmf(7L, periodo, Money.CERO, Money.of(BigDecimal.valueOf(500)), Money.of(BigDecimal.valueOf(2)));
+
+        // Act
+        AlmacenMemoria recuperado = abrir();
+
+        // Assert
+        AcumuladoGmf acumulado = recuperado.acumuladoGmf(7L, periodo);
+        assertEquals(Money.of(BigDecimal.valueOf(1000)), acumulado.exentoUtilizado());
+        assertEquals(Money.of(BigDecimal.valueOf(500)), acumulado.baseGravable());
+        assertEquals(Money.of(BigDecimal.valueOf(2)), acumulado.gmfCobrado());
+        assertEquals(2, acumulado.getMovimientos());
+        assertEquals(1, recuperado.acumuladosGmf(periodo).size());
+        assertTrue(recuperado.acumuladosGmf(periodo.plusMonths(1)).isEmpty());
+        recuperado.cerrar();
+    }
+
+    @Test
+    @DisplayName("Una entrada truncada al final del diario se descarta")
+    void recuperar_EntradaTruncada_SeDescarta() throws IOException {
+        // Arrange
+        almacen.guardarCliente(nuevoCliente("12345678"));
+        Path diario;
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            diario = archivos.filter(p -> p.getFileName().toString().startsWith("diario-")).findFirst().orElseThrow();
+        }
+        Files.writeString(diario, "{\"tipo\":\"C\",\"operacion\":\"S\",\"id\":2,\"clie",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // Act
+        AlmacenMemoria recuperado = abrir();
+
+        // Assert
+        assertEquals(1, recuperado.clientes().size());
+        recuperado.cerrar();
+    }
+
+    @Test
+    @DisplayName("El saldo se reconstruye desde el diario de transacciones si es más reciente")
+    void recuperar_TransaccionPosteriorAlProducto_ReconstruyeSaldo() throws IOException {
+        // Arrange: la cuenta nunca registró el nuevo saldo, solo la transacción
+        Cliente cliente = almacen.guardarCliente(nuevoCliente("12345678"));
+        Producto cuenta = almacen.guardarProducto(nuevaCuenta("5312345678", cliente.getId()));
+        almacen.guardarTransaccion(Transaccion.crear(TipoTransaccion.CONSIGNACION, BigDecimal.valueOf(250),
+                cuenta.getId(), null, "Consignación").conSaldos(BigDecimal.ZERO, BigDecimal.valueOf(250)));
+
+        // Act
+        AlmacenMemoria recuperado = abrir();
+
+        // Assert
+        assertEquals(0, BigDecimal.valueOf(250).compareTo(recuperado.buscarProducto(cuenta.getId()).get().getSaldo()));
+        recuperado.cerrar();
+    }
+
+    @Test
+    @DisplayName("No se admiten dos clientes con la misma identificación")
+    void guardarCliente_IdentificacionDuplicada_LanzaExcepcion() {
+        // Arrange
+        almacen.guardarCliente(nuevoCliente("12345678"));
+
+        // Act & Assert
+        assertThrows(DuplicateKeyException.class, () -> almacen.guardarCliente(nuevoCliente("12345678")));
+    }
+
+    // ========== TESTS BENCHMARK ==========
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Operaciones por segundo del almacén: alta de cuentas, lectura por número y movimientos")
+    void benchmark_CuentasYMovimientos_RecuperaTodo() throws IOException {
+        // Arrange
+        Cliente cliente = almacen.guardarCliente(nuevoCliente("12345678"));
+        long[] ids = new long[CUENTAS];
+
+        // Act
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CUENTAS; i++) {
+            ids[i] = almacen.guardarProducto(nuevaCuenta(String.valueOf(5300000000L + i), cliente.getId())).getId();
+        }
+        long altas = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            assertTrue(almacen.existeNumeroCuenta(String.valueOf(5300000000L + i % CUENTAS)));
+        }
+        long lecturas = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < MOVIMIENTOS; i++) {
+            Long cuentaId = ids[i % CUENTAS];
+            almacen.guardarTransaccion(Transaccion.crear(TipoTransaccion.CONSIGNACION, BigDecimal.ONE,
+                    cuentaId, null, "Consignación"));
+            almacen.ajustarSaldos(Map.of(cuentaId, BigDecimal.ONE));
+        }
+        long movimientos = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        AlmacenMemoria recuperado = abrir();
+        long recuperacion = System.nanoTime() - inicio;
+
+        log.info("Almacén en memoria: {} altas/s, {} lecturas por número/s, {} movimientos/s (transacción + saldo), " +
+                        "recuperación de {} entradas en {} ms",
+                porSegundo(CUENTAS, altas), porSegundo(MOVIMIENTOS, lecturas), porSegundo(MOVIMIENTOS, movimientos),
+                CUENTAS + 2 * MOVIMIENTOS, recuperacion / 1_000_000);
+
+        // Assert
+        long saldos = recuperado.productos().stream().mapToLong(p -> p.getSaldo().longValue()).sum();
+        assertEquals(MOVIMIENTOS, saldos);
+        assertEquals(MOVIMIENTOS / CUENTAS, recuperado.transaccionesDeCuenta(ids[0]).size());
+        recuperado.cerrar();
+    }
+
+    private static long porSegundo(int operaciones, long nanos) {
+        return operaciones * 1_000_000_000L / Math.max(nanos, 1);
+    }
+
+    private AlmacenMemoria abrir() throws IOException {
+        AlmacenMemoria nuevo = new AlmacenMemoria(directorio.toString(), false,
+                new DiarioTransacciones(directorio.toString(), 64 * 1024, 1));
+        nuevo.recuperar();
+        return nuevo;
+    }
+
+    private Cliente nuevoCliente(String numeroIdentificacion) {
+        return Cliente.crear(null, TipoIdentificacion.CEDULA_CIUDADANIA, numeroIdentificacion, "Juan Carlos",
+                "Pérez García", "juan.perez@email.com", LocalDate.of(1990, 5, 15), LocalDateTime.now(), null);
+    }
+
+    private Producto nuevaCuenta(String numeroCuenta, Long clienteId) {
+        return new Producto(null, TipoCuenta.CUENTA_AHORROS, numeroCuenta, EstadoCuenta.ACTIVA,
+                BigDecimal.ZERO, false, LocalDateTime.now(), null, clienteId);
+    }
+}
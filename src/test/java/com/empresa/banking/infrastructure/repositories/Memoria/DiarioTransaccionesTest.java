@@ -0,0 +1,225 @@
+package com.empresa.banking.infrastructure.repositories.Memoria;
+
+import com.empresa.banking.domain.entities.Enums.TipoTransaccion;
+import com.empresa.banking.domain.entities.Transaccion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tests Unitarios - DiarioTransacciones")
+class DiarioTransaccionesTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DiarioTransaccionesTest.class);
+
+    // Segmentos de 4 registros para forzar la rotación
+    private static final int SEGMENTO_BYTES = 4 * DiarioTransacciones.TAMANO_REGISTRO;
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("Los registros se reproducen en orden a través de varios segmentos")
+    void abrir_VariosSegmentos_ReproduceEnOrden() throws IOException {
+        // Arrange
+        DiarioTransacciones diario = nuevoDiario();
+        diario.abrir(transaccion -> fail("El diario debería estar vacío"));
+        for (long id = 1; id <= 10; id++) {
+            diario.anexar(transaccion(id));
+        }
+        diario.cerrar();
+
+        // Act
+        List<Transaccion> reproducidas = reproducir();
+
+        // Assert
+        assertEquals(10, reproducidas.size());
+        assertEquals(3, contarSegmentos());
+        Transaccion ultima = reproducidas.get(9);
+        assertEquals(10L, ultima.getId());
+        assertEquals(TipoTransaccion.TRANSFERENCIA, ultima.getTipoTransaccion());
+        assertEquals(0, new BigDecimal("150.25").compareTo(ultima.getMonto()));
+        assertEquals(2L, ultima.getCuentaDestinoId());
+        assertEquals(0, new BigDecimal("849.75").compareTo(ultima.getSaldoActual()));
+        assertEquals("Pago 10", ultima.getDescripcion());
+    }
+
+    @Test
+    @DisplayName("Un registro con CRC inválido detiene la reproducción")
+    void abrir_RegistroCorrupto_SeDetiene() throws IOException {
+        // Arrange
+        DiarioTransacciones diario = nuevoDiario();
+        diario.abrir(transaccion -> { });
+        diario.anexar(transaccion(1));
+        diario.anexar(transaccion(2));
+        diario.anexar(transaccion(3));
+        diario.cerrar();
+
+        try (Stream<Path> archivos = Files.list(directorio);
+             RandomAccessFile archivo = new RandomAccessFile(archivos.findFirst().orElseThrow().toFile(), "rw")) {
+            // Se altera el monto del segundo registro sin recalcular el CRC
+            archivo.seek(DiarioTransacciones.TAMANO_REGISTRO + 20);
+            archivo.write(0x7F);
+        }
+
+        // Act
+        List<Transaccion> reproducidas = reproducir();
+
+        // Assert
+        assertEquals(1, reproducidas.size());
+        assertEquals(1L, reproducidas.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Se descartan los segmentos cerrados cubiertos por un snapshot")
+    void descartarHasta_SegmentosCubiertos_LosElimina() throws IOException {
+        // Arrange
+        DiarioTransacciones diario = nuevoDiario();
+        diario.abrir(transaccion -> { });
+        for (long id = 1; id <= 10; id++) {
+            diario.anexar(transaccion(id));
+        }
+
+        // Act
+        diario.descartarHasta(6);
+        diario.cerrar();
+
+        // Assert: solo se elimina el primer segmento (IDs 1-4); el segundo llega hasta el ID 8
+        assertEquals(2, contarSegmentos());
+        assertEquals(5L, reproducir().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Una descripción larga se conserva completa en registros de continuación")
+    void anexar_DescripcionLarga_SeReproduceCompleta() throws IOException {
+        // Arrange: 500 caracteres con multibyte que cruzan los límites de cada registro
+        String descripcion = "Pago de nómina ñandú €".repeat(23).substring(0, 500);
+        DiarioTransacciones diario = new DiarioTransacciones(directorio.toString(), 64 * 1024, 2);
+        diario.abrir(transaccion -> { });
+        diario.anexar(transaccion(1));
+        diario.anexar(transaccion(2, descripcion));
+        diario.anexar(transaccion(3));
+        diario.cerrar();
+
+        // Act
+        List<Transaccion> reproducidas = new ArrayList<>();
+        new DiarioTransacciones(directorio.toString(), 64 * 1024, 2).abrir(reproducidas::add);
+
+        // Assert
+        assertEquals(3, reproducidas.size());
+        assertEquals(descripcion, reproducidas.get(1).getDescripcion());
+        assertEquals("Pago 3", reproducidas.get(2).getDescripcion());
+    }
+
+    @Test
+    @DisplayName("Una continuación dañada descarta la transacción completa")
+    void abrir_ContinuacionCorrupta_DescartaTransaccion() throws IOException {
+        // Arrange
+        DiarioTransacciones diario = new DiarioTransacciones(directorio.toString(), 64 * 1024, 2);
+        diario.abrir(transaccion -> { });
+        diario.anexar(transaccion(1));
+        diario.anexar(transaccion(2, "x".repeat(200)));
+        diario.cerrar();
+
+        try (Stream<Path> archivos = Files.list(directorio);
+             RandomAccessFile archivo = new RandomAccessFile(archivos.findFirst().orElseThrow().toFile(), "rw")) {
+            // Segunda continuación de la transacción 2
+            archivo.seek(3L * DiarioTransacciones.TAMANO_REGISTRO + 10);
+            archivo.write('y');
+        }
+
+        // Act
+        List<Transaccion> reproducidas = new ArrayList<>();
+        new DiarioTransacciones(directorio.toString(), 64 * 1024, 2).abrir(reproducidas::add);
+
+        // Assert
+        assertEquals(1, reproducidas.size());
+        assertEquals(1L, reproducidas.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Una transacción que no cabe en un segmento se rechaza sin escribir nada")
+    void anexar_DescripcionMayorQueSegmento_LanzaExcepcion() throws IOException {
+        // Arrange
+        DiarioTransacciones diario = nuevoDiario();
+        diario.abrir(transaccion -> { });
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> diario.anexar(transaccion(1, "x".repeat(500))));
+        diario.anexar(transaccion(2));
+        diario.cerrar();
+        assertEquals(List.of(2L), reproducir().stream().map(Transaccion::getId).toList());
+    }
+
+    // ========== TESTS BENCHMARK ==========
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Registros por segundo del diario según el agrupamiento de fsync y la longitud de la descripción")
+    void benchmark_Escritura_AgrupamientoDeFsync() throws IOException {
+        int registros = 20_000;
+        for (int fsyncCada : new int[] {1, 64, 1024}) {
+            for (String descripcion : List.of("Pago", "x".repeat(300))) {
+                Path ruta = Files.createTempDirectory(directorio, "diario");
+                DiarioTransacciones diario = new DiarioTransacciones(ruta.toString(), 64 * 1024 * 1024, fsyncCada);
+                diario.abrir(transaccion -> { });
+                // Con fsync por registro se escriben menos para que la prueba no se alargue
+                int total = fsyncCada == 1 ? registros / 20 : registros;
+
+                long inicio = System.nanoTime();
+                for (long id = 1; id <= total; id++) {
+                    diario.anexar(transaccion(id, descripcion));
+                }
+                diario.cerrar();
+                long nanos = System.nanoTime() - inicio;
+
+                log.info("Diario con fsync cada {} registros, descripción de {} bytes: {} transacciones/s",
+                        fsyncCada, descripcion.length(), total * 1_000_000_000L / Math.max(nanos, 1));
+
+                List<Transaccion> reproducidas = new ArrayList<>();
+                new DiarioTransacciones(ruta.toString(), 64 * 1024 * 1024, fsyncCada).abrir(reproducidas::add);
+                assertEquals(total, reproducidas.size());
+                assertEquals(descripcion, reproducidas.get(total - 1).getDescripcion());
+            }
+        }
+    }
+
+    private DiarioTransacciones nuevoDiario() {
+        return new DiarioTransacciones(directorio.toString(), SEGMENTO_BYTES, 2);
+    }
+
+    private List<Transaccion> reproducir() throws IOException {
+        List<Transaccion> reproducidas = new ArrayList<>();
+        nuevoDiario().abrir(reproducidas::add);
+        return reproducidas;
+    }
+
+    private long contarSegmentos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.count();
+        }
+    }
+
+    private Transaccion transaccion(long id) {
+        return transaccion(id, "Pago " + id);
+    }
+
+    private Transaccion transaccion(long id, String descripcion) {
+        return new Transaccion(id, TipoTransaccion.TRANSFERENCIA, new BigDecimal("150.25"), descripcion,
+                LocalDateTime.now(), 1L, 2L, new BigDecimal("1000.00"), new BigDecimal("849.75"));
+    }
+}